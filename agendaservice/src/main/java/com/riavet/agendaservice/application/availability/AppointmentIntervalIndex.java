@@ -0,0 +1,193 @@
+package com.riavet.agendaservice.application.availability;
+
+import com.riavet.agendaservice.domain.event.AppointmentChangedEvent;
+import com.riavet.agendaservice.domain.model.Appointment;
+import com.riavet.agendaservice.domain.model.Appointment.AppointmentStatus;
+import com.riavet.agendaservice.domain.repository.AppointmentRepository;
+import com.riavet.agendaservice.domain.repository.AppointmentSlotView;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Índice en memoria de los intervalos ocupados por cada veterinario.
+ *
+ * Se precarga desde {@link AppointmentRepository} al arrancar y se mantiene al día con
+ * {@link AppointmentChangedEvent} una vez confirmada la transacción, de modo que las
+ * consultas de disponibilidad y de solapamiento no recorren la tabla de citas.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AppointmentIntervalIndex implements SmartInitializingSingleton {
+
+    /** Estados que ocupan el horario del veterinario. */
+    public static final Set<AppointmentStatus> BLOCKING_STATUSES =
+            EnumSet.of(AppointmentStatus.PENDING, AppointmentStatus.CONFIRMED, AppointmentStatus.COMPLETED);
+
+    /** Las citas que terminaron hace más de este tiempo se descartan del índice. */
+    private static final Duration RETENTION = Duration.ofDays(1);
+
+    private static final UUID MIN_UUID = new UUID(Long.MIN_VALUE, Long.MIN_VALUE);
+
+    private final AppointmentRepository appointmentRepository;
+
+    private final ConcurrentMap<UUID, VeterinarianSchedule> schedules = new ConcurrentHashMap<>();
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        LocalDateTime from = LocalDateTime.now().minus(RETENTION);
+        List<AppointmentSlotView> slots = appointmentRepository.findSlotsScheduledFrom(BLOCKING_STATUSES, from);
+        for (AppointmentSlotView slot : slots) {
+            int minutes = slot.getDurationMinutes() != null
+                    ? slot.getDurationMinutes()
+                    : Appointment.DEFAULT_DURATION_MINUTES;
+            book(slot.getVeterinarianId(), slot.getId(), slot.getScheduledAt(),
+                    slot.getScheduledAt().plusMinutes(minutes));
+        }
+        log.info("Appointment interval index warmed with {} bookings for {} veterinarians",
+                slots.size(), schedules.size());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAppointmentChanged(AppointmentChangedEvent event) {
+        if (BLOCKING_STATUSES.contains(event.getStatus())) {
+            book(event.getVeterinarianId(), event.getAppointmentId(), event.getScheduledAt(), event.getEndsAt());
+        } else {
+            release(event.getVeterinarianId(), event.getAppointmentId());
+        }
+    }
+
+    public void book(UUID veterinarianId, UUID appointmentId, LocalDateTime start, LocalDateTime end) {
+        schedules.computeIfAbsent(veterinarianId, id -> new VeterinarianSchedule())
+                .add(new Booking(appointmentId, start, end));
+    }
+
+    public void release(UUID veterinarianId, UUID appointmentId) {
+        VeterinarianSchedule schedule = schedules.get(veterinarianId);
+        if (schedule != null) {
+            schedule.remove(appointmentId);
+        }
+    }
+
+    /**
+     * Indica si el intervalo semiabierto [start, end) no se solapa con ninguna cita del veterinario.
+     */
+    public boolean isFree(UUID veterinarianId, LocalDateTime start, LocalDateTime end) {
+        VeterinarianSchedule schedule = schedules.get(veterinarianId);
+        return schedule == null || schedule.overlapping(start, end).isEmpty();
+    }
+
+    /**
+     * Devuelve los huecos libres del veterinario dentro de [from, to), en orden cronológico.
+     */
+    public List<TimeInterval> findFreeIntervals(UUID veterinarianId, LocalDateTime from, LocalDateTime to) {
+        VeterinarianSchedule schedule = schedules.get(veterinarianId);
+        List<Booking> bookings = schedule == null ? List.of() : schedule.overlapping(from, to);
+
+        List<TimeInterval> free = new ArrayList<>();
+        LocalDateTime cursor = from;
+        for (Booking booking : bookings) {
+            if (booking.getStart().isAfter(cursor)) {
+                free.add(new TimeInterval(cursor, booking.getStart()));
+            }
+            if (booking.getEnd().isAfter(cursor)) {
+                cursor = booking.getEnd();
+            }
+        }
+        if (cursor.isBefore(to)) {
+            free.add(new TimeInterval(cursor, to));
+        }
+        return free;
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class TimeInterval {
+        private LocalDateTime start;
+        private LocalDateTime end;
+    }
+
+    @Data
+    @AllArgsConstructor
+    private static class Booking {
+        private UUID appointmentId;
+        private LocalDateTime start;
+        private LocalDateTime end;
+    }
+
+    /**
+     * Citas de un veterinario ordenadas por inicio. Guarda la duración máxima vista para
+     * acotar la búsqueda de solapamientos a un rango del árbol: O(log n + k).
+     */
+    private static class VeterinarianSchedule {
+
+        private static final Comparator<Booking> ORDER = Comparator
+                .comparing(Booking::getStart)
+                .thenComparing(Booking::getAppointmentId);
+
+        private final NavigableSet<Booking> bookings = new TreeSet<>(ORDER);
+        private final Map<UUID, Booking> byAppointment = new HashMap<>();
+        private Duration maxDuration = Duration.ZERO;
+
+        synchronized void add(Booking booking) {
+            Booking previous = byAppointment.put(booking.getAppointmentId(), booking);
+            if (previous != null) {
+                bookings.remove(previous);
+            }
+            bookings.add(booking);
+
+            Duration duration = Duration.between(booking.getStart(), booking.getEnd());
+            if (duration.compareTo(maxDuration) > 0) {
+                maxDuration = duration;
+            }
+            evictExpired();
+        }
+
+        synchronized void remove(UUID appointmentId) {
+            Booking booking = byAppointment.remove(appointmentId);
+            if (booking != null) {
+                bookings.remove(booking);
+            }
+        }
+
+        synchronized List<Booking> overlapping(LocalDateTime from, LocalDateTime to) {
+            Booking lower = new Booking(MIN_UUID, from.minus(maxDuration), from.minus(maxDuration));
+            Booking upper = new Booking(MIN_UUID, to, to);
+            List<Booking> result = new ArrayList<>();
+            for (Booking booking : bookings.subSet(lower, true, upper, false)) {
+                if (booking.getEnd().isAfter(from)) {
+                    result.add(booking);
+                }
+            }
+            return result;
+        }
+
+        private void evictExpired() {
+            LocalDateTime cutoff = LocalDateTime.now().minus(RETENTION).minus(maxDuration);
+            while (!bookings.isEmpty() && bookings.first().getStart().isBefore(cutoff)) {
+                byAppointment.remove(bookings.pollFirst().getAppointmentId());
+            }
+        }
+    }
+}
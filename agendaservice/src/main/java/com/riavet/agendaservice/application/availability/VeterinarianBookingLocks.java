@@ -0,0 +1,65 @@
+package com.riavet.agendaservice.application.availability;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Locks de reserva por veterinario dentro de un nodo.
+ *
+ * Cada veterinario tiene su propio lock (una franja por clave), así que las reservas de
+ * veterinarios distintos nunca se serializan entre sí. Las entradas se crean bajo demanda y
+ * se eliminan cuando ningún hilo las usa, por lo que el mapa sólo crece con las reservas en curso.
+ */
+@Component
+public class VeterinarianBookingLocks {
+
+    private final ConcurrentMap<UUID, Stripe> stripes = new ConcurrentHashMap<>();
+
+    public <T> T withLock(UUID veterinarianId, Supplier<T> action) {
+        Stripe stripe = stripes.compute(veterinarianId, (id, current) -> {
+            Stripe acquired = current != null ? current : new Stripe();
+            acquired.holders++;
+            return acquired;
+        });
+
+        stripe.lock.lock();
+        try {
+            return action.get();
+        } finally {
+            stripe.lock.unlock();
+            stripes.compute(veterinarianId, (id, current) -> --current.holders == 0 ? null : current);
+        }
+    }
+
+    /**
+     * Toma los locks de varios veterinarios siempre en el mismo orden (por id) para evitar interbloqueos.
+     */
+    public <T> T withLocks(Collection<UUID> veterinarianIds, Supplier<T> action) {
+        List<UUID> ordered = veterinarianIds.stream().distinct().sorted().toList();
+        return withLocks(ordered, 0, action);
+    }
+
+    private <T> T withLocks(List<UUID> ordered, int next, Supplier<T> action) {
+        if (next == ordered.size()) {
+            return action.get();
+        }
+        return withLock(ordered.get(next), () -> withLocks(ordered, next + 1, action));
+    }
+
+    int activeStripes() {
+        return stripes.size();
+    }
+
+    private static final class Stripe {
+        private final ReentrantLock lock = new ReentrantLock();
+        // Sólo se modifica dentro de compute(), que es atómico por clave
+        private int holders;
+    }
+}
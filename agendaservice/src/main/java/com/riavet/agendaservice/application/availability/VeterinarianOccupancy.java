@@ -0,0 +1,64 @@
+package com.riavet.agendaservice.application.availability;
+
+import com.riavet.agendaservice.domain.model.Appointment;
+import com.riavet.agendaservice.domain.repository.AppointmentSlotView;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Intervalos ocupados de un veterinario, fusionados en tramos disjuntos ordenados por inicio.
+ * Se construye a partir de las citas leídas de la base de datos dentro de la transacción de reserva.
+ */
+public class VeterinarianOccupancy {
+
+    private final TreeMap<LocalDateTime, LocalDateTime> intervals = new TreeMap<>();
+
+    public static VeterinarianOccupancy of(Collection<AppointmentSlotView> slots) {
+        VeterinarianOccupancy occupancy = new VeterinarianOccupancy();
+        slots.stream()
+                .sorted(Comparator.comparing(AppointmentSlotView::getScheduledAt))
+                .forEach(slot -> occupancy.add(slot.getScheduledAt(), slot.getScheduledAt().plusMinutes(
+                        slot.getDurationMinutes() != null
+                                ? slot.getDurationMinutes()
+                                : Appointment.DEFAULT_DURATION_MINUTES)));
+        return occupancy;
+    }
+
+    /**
+     * Indica si [start, end) se solapa con algún tramo ocupado.
+     */
+    public boolean overlaps(LocalDateTime start, LocalDateTime end) {
+        Map.Entry<LocalDateTime, LocalDateTime> before = intervals.floorEntry(start);
+        if (before != null && before.getValue().isAfter(start)) {
+            return true;
+        }
+        LocalDateTime nextStart = intervals.higherKey(start);
+        return nextStart != null && nextStart.isBefore(end);
+    }
+
+    /**
+     * Marca [start, end) como ocupado, fusionándolo con los tramos que toque.
+     */
+    public void add(LocalDateTime start, LocalDateTime end) {
+        Map.Entry<LocalDateTime, LocalDateTime> before = intervals.floorEntry(start);
+        if (before != null && !before.getValue().isBefore(start)) {
+            start = before.getKey();
+            if (before.getValue().isAfter(end)) {
+                end = before.getValue();
+            }
+        }
+        Map.Entry<LocalDateTime, LocalDateTime> next = intervals.ceilingEntry(start);
+        while (next != null && !next.getKey().isAfter(end)) {
+            if (next.getValue().isAfter(end)) {
+                end = next.getValue();
+            }
+            intervals.remove(next.getKey());
+            next = intervals.ceilingEntry(start);
+        }
+        intervals.put(start, end);
+    }
+}
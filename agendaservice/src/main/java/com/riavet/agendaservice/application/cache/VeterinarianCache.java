@@ -0,0 +1,93 @@
+package com.riavet.agendaservice.application.cache;
+
+import com.riavet.agendaservice.application.dto.VeterinarianResponse;
+import com.riavet.agendaservice.application.mapper.VeterinarianMapper;
+import com.riavet.agendaservice.domain.event.VeterinarianChangedEvent;
+import com.riavet.agendaservice.domain.model.Veterinarian;
+import com.riavet.agendaservice.domain.repository.VeterinarianRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Caché de lectura del roster de veterinarios (entidades y respuestas ya mapeadas).
+ *
+ * Los cachés son Caffeine acotados (ver spring.cache en application.yml) y se invalidan tras el
+ * commit de cualquier cambio hecho por {@code VeterinarianServiceImpl}. Los cambios hechos en
+ * otros nodos se ven al expirar la entrada. Las ausencias no se cachean.
+ */
+@Component
+@RequiredArgsConstructor
+public class VeterinarianCache {
+
+    public static final String VETERINARIANS = "veterinarians";
+    public static final String VETERINARIAN_RESPONSES = "veterinarianResponses";
+
+    private final CacheManager cacheManager;
+    private final VeterinarianRepository veterinarianRepository;
+    private final VeterinarianMapper veterinarianMapper;
+
+    /**
+     * Devuelve el veterinario (desacoplado de la sesión) leyendo de la base de datos sólo si no está en caché.
+     */
+    public Optional<Veterinarian> findById(UUID id) {
+        Cache cache = veterinarians();
+        Veterinarian cached = cache.get(id, Veterinarian.class);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        Optional<Veterinarian> loaded = veterinarianRepository.findById(id);
+        loaded.ifPresent(veterinarian -> cache.put(id, veterinarian));
+        return loaded;
+    }
+
+    public Optional<VeterinarianResponse> findResponseById(UUID id) {
+        VeterinarianResponse cached = responses().get(id, VeterinarianResponse.class);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        return findById(id).map(this::toResponse);
+    }
+
+    /**
+     * Mapea un veterinario ya cargado reutilizando la respuesta cacheada si existe.
+     */
+    public VeterinarianResponse toResponse(Veterinarian veterinarian) {
+        if (veterinarian == null) {
+            return null;
+        }
+        Cache cache = responses();
+        VeterinarianResponse cached = cache.get(veterinarian.getId(), VeterinarianResponse.class);
+        if (cached != null) {
+            return cached;
+        }
+        VeterinarianResponse response = veterinarianMapper.toResponse(veterinarian);
+        cache.put(veterinarian.getId(), response);
+        return response;
+    }
+
+    public void evict(UUID id) {
+        veterinarians().evict(id);
+        responses().evict(id);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onVeterinarianChanged(VeterinarianChangedEvent event) {
+        evict(event.getVeterinarianId());
+    }
+
+    private Cache veterinarians() {
+        return Objects.requireNonNull(cacheManager.getCache(VETERINARIANS));
+    }
+
+    private Cache responses() {
+        return Objects.requireNonNull(cacheManager.getCache(VETERINARIAN_RESPONSES));
+    }
+}
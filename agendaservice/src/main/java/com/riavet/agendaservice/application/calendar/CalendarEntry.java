@@ -0,0 +1,24 @@
+package com.riavet.agendaservice.application.calendar;
+
+import com.riavet.agendaservice.domain.model.Appointment.AppointmentStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Cita tal como la guarda el modelo de lectura del calendario.
+ */
+@Data
+@AllArgsConstructor
+public class CalendarEntry {
+
+    private UUID appointmentId;
+    private UUID veterinarianId;
+    private UUID patientId;
+    private LocalDateTime start;
+    private LocalDateTime end;
+    private AppointmentStatus status;
+    private boolean virtual;
+}
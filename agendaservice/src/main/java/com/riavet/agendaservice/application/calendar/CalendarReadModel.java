@@ -0,0 +1,219 @@
+package com.riavet.agendaservice.application.calendar;
+
+import com.riavet.agendaservice.application.availability.AppointmentIntervalIndex;
+import com.riavet.agendaservice.domain.event.AppointmentChangedEvent;
+import com.riavet.agendaservice.domain.model.Appointment;
+import com.riavet.agendaservice.domain.repository.AppointmentCalendarView;
+import com.riavet.agendaservice.domain.repository.AppointmentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Modelo de lectura del calendario: citas agrupadas por día y veterinario, ordenadas por hora.
+ *
+ * Cada día se carga de la base de datos la primera vez que se consulta (una consulta por rango de
+ * días que falten) y desde entonces se mantiene con los {@link AppointmentChangedEvent} publicados
+ * tras cada commit. Leer un día o una semana cuesta lo que ocupen sus citas, no el total de citas.
+ *
+ * La carga toma el lock de escritura y los eventos el de lectura: un evento que llega mientras se
+ * carga su día espera a que termine, así que ningún cambio confirmado se pierde.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CalendarReadModel {
+
+    private static final Comparator<CalendarEntry> ORDER = Comparator
+            .comparing(CalendarEntry::getStart)
+            .thenComparing(CalendarEntry::getAppointmentId);
+
+    private final AppointmentRepository appointmentRepository;
+
+    @Value("${agenda.calendar.max-days:370}")
+    private int maxDays;
+
+    private final ConcurrentMap<LocalDate, DayBucket> days = new ConcurrentHashMap<>();
+    private final ConcurrentMap<UUID, LocalDate> dayByAppointment = new ConcurrentHashMap<>();
+    private final ReadWriteLock loadLock = new ReentrantReadWriteLock();
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAppointmentChanged(AppointmentChangedEvent event) {
+        loadLock.readLock().lock();
+        try {
+            LocalDate previousDay = dayByAppointment.remove(event.getAppointmentId());
+            if (previousDay != null) {
+                DayBucket previous = days.get(previousDay);
+                if (previous != null) {
+                    previous.remove(event.getAppointmentId());
+                }
+            }
+            if (!AppointmentIntervalIndex.BLOCKING_STATUSES.contains(event.getStatus())) {
+                return;
+            }
+            // Si el día no está cargado se leerá de la base de datos, que ya incluye este cambio
+            LocalDate day = event.getScheduledAt().toLocalDate();
+            DayBucket bucket = days.get(day);
+            if (bucket != null) {
+                bucket.put(new CalendarEntry(event.getAppointmentId(), event.getVeterinarianId(),
+                        event.getPatientId(), event.getScheduledAt(), event.getEndsAt(), event.getStatus(), false));
+                dayByAppointment.put(event.getAppointmentId(), day);
+            }
+        } finally {
+            loadLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Citas de un veterinario en los días indicados, ordenadas por hora.
+     */
+    public Map<LocalDate, List<CalendarEntry>> findVeterinarianDays(UUID veterinarianId, Collection<LocalDate> dates) {
+        return read(dates, bucket -> bucket.veterinarianEntries(veterinarianId));
+    }
+
+    /**
+     * Citas de todos los veterinarios en un día, agrupadas por veterinario.
+     */
+    public Map<UUID, List<CalendarEntry>> findDay(LocalDate date) {
+        return read(List.of(date), DayBucket::entriesByVeterinarian).get(date);
+    }
+
+    private <T> Map<LocalDate, T> read(Collection<LocalDate> dates, Function<DayBucket, T> reader) {
+        while (true) {
+            loadLock.readLock().lock();
+            try {
+                if (dates.stream().allMatch(days::containsKey)) {
+                    Map<LocalDate, T> result = new HashMap<>();
+                    for (LocalDate date : dates) {
+                        result.put(date, reader.apply(days.get(date)));
+                    }
+                    return result;
+                }
+            } finally {
+                loadLock.readLock().unlock();
+            }
+            load(dates);
+        }
+    }
+
+    private void load(Collection<LocalDate> dates) {
+        loadLock.writeLock().lock();
+        try {
+            List<LocalDate> missing = dates.stream()
+                    .filter(date -> !days.containsKey(date))
+                    .sorted()
+                    .collect(Collectors.toList());
+            if (missing.isEmpty()) {
+                return;
+            }
+            LocalDate first = missing.get(0);
+            LocalDate last = missing.get(missing.size() - 1);
+
+            Map<LocalDate, DayBucket> loaded = new HashMap<>();
+            missing.forEach(date -> loaded.put(date, new DayBucket()));
+            List<AppointmentCalendarView> rows = appointmentRepository.findCalendarEntriesBetween(
+                    AppointmentIntervalIndex.BLOCKING_STATUSES, first.atStartOfDay(), last.plusDays(1).atStartOfDay());
+            for (AppointmentCalendarView row : rows) {
+                LocalDate day = row.getScheduledAt().toLocalDate();
+                DayBucket bucket = loaded.get(day);
+                if (bucket == null) {
+                    continue;
+                }
+                int minutes = row.getDurationMinutes() != null
+                        ? row.getDurationMinutes()
+                        : Appointment.DEFAULT_DURATION_MINUTES;
+                bucket.put(new CalendarEntry(row.getId(), row.getVeterinarianId(), row.getPatientId(),
+                        row.getScheduledAt(), row.getScheduledAt().plusMinutes(minutes), row.getStatus(), false));
+                dayByAppointment.put(row.getId(), day);
+            }
+            days.putAll(loaded);
+            log.debug("Calendar read model loaded {} days ({} appointments)", missing.size(), rows.size());
+
+            evictBeyondCapacity(loaded.keySet());
+        } finally {
+            loadLock.writeLock().unlock();
+        }
+    }
+
+    // Descarta los días más alejados de hoy cuando se supera la capacidad
+    private void evictBeyondCapacity(Set<LocalDate> justLoaded) {
+        int excess = days.size() - maxDays;
+        if (excess <= 0) {
+            return;
+        }
+        LocalDate today = LocalDate.now();
+        List<LocalDate> candidates = days.keySet().stream()
+                .filter(date -> !justLoaded.contains(date))
+                .sorted(Comparator.comparingLong((LocalDate date) -> Math.abs(ChronoUnit.DAYS.between(today, date)))
+                        .reversed())
+                .limit(excess)
+                .collect(Collectors.toList());
+        for (LocalDate date : candidates) {
+            DayBucket bucket = days.remove(date);
+            bucket.appointmentIds().forEach(dayByAppointment::remove);
+        }
+    }
+
+    private static class DayBucket {
+
+        private final Map<UUID, NavigableSet<CalendarEntry>> byVeterinarian = new HashMap<>();
+        private final Map<UUID, CalendarEntry> byAppointment = new HashMap<>();
+
+        synchronized void put(CalendarEntry entry) {
+            CalendarEntry previous = byAppointment.put(entry.getAppointmentId(), entry);
+            if (previous != null) {
+                byVeterinarian.get(previous.getVeterinarianId()).remove(previous);
+            }
+            byVeterinarian.computeIfAbsent(entry.getVeterinarianId(), id -> new TreeSet<>(ORDER)).add(entry);
+        }
+
+        synchronized void remove(UUID appointmentId) {
+            CalendarEntry entry = byAppointment.remove(appointmentId);
+            if (entry != null) {
+                NavigableSet<CalendarEntry> entries = byVeterinarian.get(entry.getVeterinarianId());
+                entries.remove(entry);
+                if (entries.isEmpty()) {
+                    byVeterinarian.remove(entry.getVeterinarianId());
+                }
+            }
+        }
+
+        synchronized List<CalendarEntry> veterinarianEntries(UUID veterinarianId) {
+            NavigableSet<CalendarEntry> entries = byVeterinarian.get(veterinarianId);
+            return entries == null ? new ArrayList<>() : new ArrayList<>(entries);
+        }
+
+        synchronized Map<UUID, List<CalendarEntry>> entriesByVeterinarian() {
+            Map<UUID, List<CalendarEntry>> result = new HashMap<>();
+            byVeterinarian.forEach((veterinarianId, entries) -> result.put(veterinarianId, new ArrayList<>(entries)));
+            return result;
+        }
+
+        synchronized List<UUID> appointmentIds() {
+            return new ArrayList<>(byAppointment.keySet());
+        }
+    }
+}
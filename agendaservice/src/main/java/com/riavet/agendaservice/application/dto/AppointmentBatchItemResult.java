@@ -0,0 +1,23 @@
+package com.riavet.agendaservice.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AppointmentBatchItemResult {
+
+    private int index;
+    private ItemStatus status;
+    private AppointmentResponse appointment;
+    private String error;
+
+    public enum ItemStatus {
+        CREATED,
+        REJECTED
+    }
+}
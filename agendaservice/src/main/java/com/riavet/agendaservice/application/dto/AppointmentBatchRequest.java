@@ -0,0 +1,22 @@
+package com.riavet.agendaservice.application.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AppointmentBatchRequest {
+
+    // Los elementos se validan uno a uno en el servicio para devolver un resultado por cita
+    @NotEmpty(message = "At least one appointment is required")
+    @Size(max = 5000, message = "A batch cannot contain more than 5000 appointments")
+    private List<AppointmentRequest> appointments;
+}
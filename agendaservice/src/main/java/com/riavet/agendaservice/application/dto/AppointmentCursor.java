@@ -0,0 +1,61 @@
+package com.riavet.agendaservice.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Posición de continuación para la paginación por keyset de citas.
+ * Se serializa como un token opaco (Base64 URL-safe de "scheduledAt|id").
+ */
+@Data
+@AllArgsConstructor
+public class AppointmentCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private LocalDateTime scheduledAt;
+    private UUID id;
+
+    /**
+     * Orden del keyset (scheduledAt, id). Los UUID se comparan sin signo, igual que en la base de datos.
+     */
+    public static int compare(LocalDateTime scheduledAt, UUID id, LocalDateTime otherScheduledAt, UUID otherId) {
+        int byTime = scheduledAt.compareTo(otherScheduledAt);
+        if (byTime != 0) {
+            return byTime;
+        }
+        int byHigh = Long.compareUnsigned(id.getMostSignificantBits(), otherId.getMostSignificantBits());
+        return byHigh != 0 ? byHigh : Long.compareUnsigned(id.getLeastSignificantBits(), otherId.getLeastSignificantBits());
+    }
+
+    public boolean isBefore(LocalDateTime otherScheduledAt, UUID otherId) {
+        return compare(scheduledAt, id, otherScheduledAt, otherId) < 0;
+    }
+
+    public String encode() {
+        String raw = scheduledAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static AppointmentCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid pagination cursor");
+            }
+            return new AppointmentCursor(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    UUID.fromString(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid pagination cursor");
+        }
+    }
+}
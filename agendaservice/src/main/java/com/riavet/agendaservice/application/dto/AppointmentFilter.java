@@ -0,0 +1,29 @@
+package com.riavet.agendaservice.application.dto;
+
+import com.riavet.agendaservice.domain.model.Appointment.AppointmentStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AppointmentFilter {
+
+    private UUID veterinarianId;
+    // Con paciente se devuelve su historial, de la cita más reciente a la más antigua
+    private UUID patientId;
+    private AppointmentStatus status;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private String cursor;
+    private Integer size;
+    private boolean includeVirtual;
+    // Solo en el historial de un paciente: sin él no se rellena AppointmentResponse.veterinarian
+    private boolean includeVeterinarian;
+}
@@ -0,0 +1,20 @@
+package com.riavet.agendaservice.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AppointmentPageResponse {
+
+    private List<AppointmentResponse> items;
+    private int size;
+    private boolean hasMore;
+    private String nextCursor;
+}
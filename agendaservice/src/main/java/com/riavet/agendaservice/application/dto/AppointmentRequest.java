@@ -1,5 +1,8 @@
 package com.riavet.agendaservice.application.dto;
 
+import com.riavet.agendaservice.domain.model.Appointment;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -23,4 +26,8 @@ public class AppointmentRequest {
 
     @NotNull(message = "Scheduled date and time is required")
     private LocalDateTime scheduledAt;
+
+    @Min(value = Appointment.MIN_DURATION_MINUTES, message = "Duration must be at least 5 minutes")
+    @Max(value = Appointment.MAX_DURATION_MINUTES, message = "Duration must be at most 480 minutes")
+    private Integer durationMinutes;
 }
@@ -20,7 +20,13 @@ public class AppointmentResponse {
     private UUID veterinarianId;
     private VeterinarianResponse veterinarian;
     private LocalDateTime scheduledAt;
+    private Integer durationMinutes;
     private Appointment.AppointmentStatus status;
+    private UUID seriesId;
+    private Integer occurrenceIndex;
+    // true para ocurrencias de una serie que aún no se han materializado (id estable, sin fila)
+    private boolean virtual;
+    private Long version;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 }
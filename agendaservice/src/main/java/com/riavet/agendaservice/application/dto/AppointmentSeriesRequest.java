@@ -0,0 +1,50 @@
+package com.riavet.agendaservice.application.dto;
+
+import com.riavet.agendaservice.domain.model.Appointment;
+import com.riavet.agendaservice.domain.model.AppointmentSeries;
+import com.riavet.agendaservice.domain.model.AppointmentSeries.Frequency;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AppointmentSeriesRequest {
+
+    @NotNull(message = "Patient ID is required")
+    private UUID patientId;
+
+    @NotNull(message = "Veterinarian ID is required")
+    private UUID veterinarianId;
+
+    @NotNull(message = "First occurrence date and time is required")
+    private LocalDateTime startsAt;
+
+    @NotNull(message = "Frequency is required")
+    private Frequency frequency;
+
+    // Cada cuántos días o semanas se repite (por defecto 1)
+    @Min(value = 1, message = "Interval must be at least 1")
+    @Max(value = 52, message = "Interval must be at most 52")
+    private Integer interval;
+
+    @Min(value = Appointment.MIN_DURATION_MINUTES, message = "Duration must be at least 5 minutes")
+    @Max(value = Appointment.MAX_DURATION_MINUTES, message = "Duration must be at most 480 minutes")
+    private Integer durationMinutes;
+
+    // Se indica el número de ocurrencias o la fecha límite (inclusive)
+    @Min(value = 1, message = "Occurrences must be at least 1")
+    @Max(value = AppointmentSeries.MAX_OCCURRENCES, message = "A series cannot have more than 520 occurrences")
+    private Integer occurrences;
+
+    private LocalDateTime until;
+}
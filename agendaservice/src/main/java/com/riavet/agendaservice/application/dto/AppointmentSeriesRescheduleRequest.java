@@ -0,0 +1,27 @@
+package com.riavet.agendaservice.application.dto;
+
+import com.riavet.agendaservice.domain.model.Appointment;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AppointmentSeriesRescheduleRequest {
+
+    // Nueva fecha de la próxima ocurrencia pendiente; las siguientes conservan la frecuencia
+    @NotNull(message = "New start date and time is required")
+    private LocalDateTime startsAt;
+
+    @Min(value = Appointment.MIN_DURATION_MINUTES, message = "Duration must be at least 5 minutes")
+    @Max(value = Appointment.MAX_DURATION_MINUTES, message = "Duration must be at most 480 minutes")
+    private Integer durationMinutes;
+}
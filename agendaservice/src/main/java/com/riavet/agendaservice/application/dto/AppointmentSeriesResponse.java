@@ -0,0 +1,32 @@
+package com.riavet.agendaservice.application.dto;
+
+import com.riavet.agendaservice.domain.model.AppointmentSeries;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AppointmentSeriesResponse {
+
+    private UUID id;
+    private UUID patientId;
+    private UUID veterinarianId;
+    private VeterinarianResponse veterinarian;
+    private AppointmentSeries.Frequency frequency;
+    private Integer interval;
+    private LocalDateTime startsAt;
+    private Integer durationMinutes;
+    private Integer occurrenceCount;
+    private LocalDateTime lastOccurrenceAt;
+    private Integer materializedOccurrences;
+    private AppointmentSeries.SeriesStatus status;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
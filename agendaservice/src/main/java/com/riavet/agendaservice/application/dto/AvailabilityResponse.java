@@ -0,0 +1,23 @@
+package com.riavet.agendaservice.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AvailabilityResponse {
+
+    private UUID veterinarianId;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private Integer durationMinutes;
+    private List<TimeSlotResponse> slots;
+}
@@ -0,0 +1,23 @@
+package com.riavet.agendaservice.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Columna de un veterinario en el calendario diario.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CalendarColumnResponse {
+
+    private UUID veterinarianId;
+    private String veterinarianName;
+    private List<CalendarEntryResponse> entries;
+}
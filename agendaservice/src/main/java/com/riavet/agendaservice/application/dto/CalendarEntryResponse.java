@@ -0,0 +1,30 @@
+package com.riavet.agendaservice.application.dto;
+
+import com.riavet.agendaservice.domain.model.Appointment;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalTime;
+import java.util.UUID;
+
+/**
+ * Cita ya ubicada en la rejilla del día: {@code startSlot} es la fila donde empieza y
+ * {@code slotCount} cuántas filas ocupa (recortado al final del día).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CalendarEntryResponse {
+
+    private UUID appointmentId;
+    private UUID patientId;
+    private LocalTime start;
+    private LocalTime end;
+    private int startSlot;
+    private int slotCount;
+    private Appointment.AppointmentStatus status;
+    private boolean virtual;
+}
@@ -0,0 +1,23 @@
+package com.riavet.agendaservice.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Calendario de un día con una columna por veterinario activo.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DayCalendarResponse {
+
+    private LocalDate date;
+    private int slotMinutes;
+    private List<CalendarColumnResponse> veterinarians;
+}
@@ -0,0 +1,26 @@
+package com.riavet.agendaservice.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Semana (lunes a domingo) de un veterinario.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VeterinarianCalendarResponse {
+
+    private UUID veterinarianId;
+    private String veterinarianName;
+    private LocalDate weekStart;
+    private int slotMinutes;
+    private List<CalendarDayResponse> days;
+}
@@ -0,0 +1,26 @@
+package com.riavet.agendaservice.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VeterinarianImportItemResult {
+
+    private int index;
+    private ItemStatus status;
+    private VeterinarianResponse veterinarian;
+    // Campo del request -> motivo (validación o conflicto de unicidad)
+    private Map<String, String> errors;
+
+    public enum ItemStatus {
+        CREATED,
+        REJECTED
+    }
+}
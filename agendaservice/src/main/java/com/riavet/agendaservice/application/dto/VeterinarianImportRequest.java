@@ -0,0 +1,22 @@
+package com.riavet.agendaservice.application.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VeterinarianImportRequest {
+
+    // Los elementos se validan uno a uno en el servicio para devolver un resultado por veterinario
+    @NotEmpty(message = "At least one veterinarian is required")
+    @Size(max = 1000, message = "An import cannot contain more than 1000 veterinarians")
+    private List<VeterinarianRequest> veterinarians;
+}
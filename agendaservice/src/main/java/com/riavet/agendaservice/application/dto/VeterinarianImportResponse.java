@@ -0,0 +1,20 @@
+package com.riavet.agendaservice.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VeterinarianImportResponse {
+
+    private int requested;
+    private int created;
+    private int rejected;
+    private List<VeterinarianImportItemResult> results;
+}
@@ -0,0 +1,21 @@
+package com.riavet.agendaservice.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VeterinarianSearchResponse {
+
+    private List<VeterinarianResponse> items;
+    private int page;
+    private int size;
+    private int total;
+    private boolean hasMore;
+}
@@ -0,0 +1,34 @@
+package com.riavet.agendaservice.application.dto;
+
+import com.riavet.agendaservice.domain.model.Appointment.AppointmentStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VeterinarianWorkloadResponse {
+
+    private UUID veterinarianId;
+    private String veterinarianName;
+    private LocalDate from;
+    private LocalDate to;
+    private Map<AppointmentStatus, Long> appointmentsByStatus;
+    private long totalAppointments;
+    private long bookedMinutes;
+    private double bookedHours;
+    // Minutos de jornada en el rango (días laborables por duración de la jornada)
+    private long capacityMinutes;
+    // Porcentaje de la jornada ocupado por citas no canceladas; null si el rango no tiene días laborables
+    private Double utilizationPercent;
+    // Solo en la consulta de un veterinario
+    private List<WorkloadDayResponse> days;
+}
@@ -0,0 +1,33 @@
+package com.riavet.agendaservice.application.dto;
+
+import com.riavet.agendaservice.domain.model.WaitlistEntry.Urgency;
+import com.riavet.agendaservice.domain.model.WaitlistEntry.WaitlistStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WaitlistEntryResponse {
+
+    private UUID id;
+    private UUID patientId;
+    private UUID veterinarianId;
+    private String specialization;
+    private Urgency urgency;
+    private Integer durationMinutes;
+    private WaitlistStatus status;
+    private UUID offeredVeterinarianId;
+    private LocalDateTime offeredScheduledAt;
+    private Integer offeredDurationMinutes;
+    private LocalDateTime offeredAt;
+    private UUID appointmentId;
+    private LocalDateTime requestedAt;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,35 @@
+package com.riavet.agendaservice.application.dto;
+
+import com.riavet.agendaservice.domain.model.Appointment;
+import com.riavet.agendaservice.domain.model.WaitlistEntry.Urgency;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WaitlistRequest {
+
+    @NotNull(message = "Patient ID is required")
+    private UUID patientId;
+
+    // Se indica un veterinario concreto o una especialidad
+    private UUID veterinarianId;
+
+    private String specialization;
+
+    // Por defecto ROUTINE
+    private Urgency urgency;
+
+    @Min(value = Appointment.MIN_DURATION_MINUTES, message = "Duration must be at least 5 minutes")
+    @Max(value = Appointment.MAX_DURATION_MINUTES, message = "Duration must be at most 480 minutes")
+    private Integer durationMinutes;
+}
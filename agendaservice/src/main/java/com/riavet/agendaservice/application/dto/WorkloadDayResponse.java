@@ -0,0 +1,23 @@
+package com.riavet.agendaservice.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WorkloadDayResponse {
+
+    private LocalDate date;
+    private long pending;
+    private long confirmed;
+    private long completed;
+    private long canceled;
+    private long bookedMinutes;
+    private double bookedHours;
+}
@@ -1,9 +1,12 @@
 package com.riavet.agendaservice.application.mapper;
 
+import com.riavet.agendaservice.application.cache.VeterinarianCache;
 import com.riavet.agendaservice.application.dto.AppointmentRequest;
 import com.riavet.agendaservice.application.dto.AppointmentResponse;
+import com.riavet.agendaservice.application.series.SeriesOccurrence;
 import com.riavet.agendaservice.domain.model.Appointment;
 import com.riavet.agendaservice.domain.model.Veterinarian;
+import com.riavet.agendaservice.domain.repository.AppointmentHistoryRow;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
@@ -14,13 +17,16 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class AppointmentMapper {
 
-    private final VeterinarianMapper veterinarianMapper;
+    private final VeterinarianCache veterinarianCache;
 
     public Appointment toEntity(AppointmentRequest request, Veterinarian veterinarian) {
         return Appointment.builder()
                 .patientId(request.getPatientId())
                 .veterinarian(veterinarian)
                 .scheduledAt(request.getScheduledAt())
+                .durationMinutes(request.getDurationMinutes() != null
+                        ? request.getDurationMinutes()
+                        : Appointment.DEFAULT_DURATION_MINUTES)
                 .status(Appointment.AppointmentStatus.PENDING)
                 .build();
     }
@@ -30,14 +36,53 @@ public class AppointmentMapper {
                 .id(appointment.getId())
                 .patientId(appointment.getPatientId())
                 .veterinarianId(appointment.getVeterinarian().getId())
-                .veterinarian(veterinarianMapper.toResponse(appointment.getVeterinarian()))
+                .veterinarian(veterinarianCache.toResponse(appointment.getVeterinarian()))
                 .scheduledAt(appointment.getScheduledAt())
+                .durationMinutes(appointment.getDurationMinutes())
                 .status(appointment.getStatus())
+                .seriesId(appointment.getSeriesId())
+                .occurrenceIndex(appointment.getOccurrenceIndex())
+                .version(appointment.getVersion())
                 .createdAt(appointment.getCreatedAt())
                 .updatedAt(appointment.getUpdatedAt())
                 .build();
     }
 
+    public AppointmentResponse toResponse(SeriesOccurrence occurrence) {
+        return AppointmentResponse.builder()
+                .id(occurrence.getId())
+                .patientId(occurrence.getSeries().getPatientId())
+                .veterinarianId(occurrence.getSeries().getVeterinarian().getId())
+                .veterinarian(veterinarianCache.toResponse(occurrence.getSeries().getVeterinarian()))
+                .scheduledAt(occurrence.getScheduledAt())
+                .durationMinutes(occurrence.getSeries().getDurationMinutes())
+                .status(Appointment.AppointmentStatus.PENDING)
+                .seriesId(occurrence.getSeries().getId())
+                .occurrenceIndex(occurrence.getIndex())
+                .virtual(true)
+                .build();
+    }
+
+    public AppointmentResponse toResponse(AppointmentHistoryRow row, boolean includeVeterinarian) {
+        return AppointmentResponse.builder()
+                .id(row.getId())
+                .patientId(row.getPatientId())
+                .veterinarianId(row.getVeterinarianId())
+                // Los datos del veterinario salen de la caché, no de la consulta del historial
+                .veterinarian(includeVeterinarian
+                        ? veterinarianCache.findResponseById(row.getVeterinarianId()).orElse(null)
+                        : null)
+                .scheduledAt(row.getScheduledAt())
+                .durationMinutes(row.getDurationMinutes())
+                .status(row.getStatus())
+                .seriesId(row.getSeriesId())
+                .occurrenceIndex(row.getOccurrenceIndex())
+                .version(row.getVersion())
+                .createdAt(row.getCreatedAt())
+                .updatedAt(row.getUpdatedAt())
+                .build();
+    }
+
     public List<AppointmentResponse> toResponseList(List<Appointment> appointments) {
         return appointments.stream()
                 .map(this::toResponse)
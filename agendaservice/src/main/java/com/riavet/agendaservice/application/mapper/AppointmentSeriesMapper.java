@@ -0,0 +1,33 @@
+package com.riavet.agendaservice.application.mapper;
+
+import com.riavet.agendaservice.application.cache.VeterinarianCache;
+import com.riavet.agendaservice.application.dto.AppointmentSeriesResponse;
+import com.riavet.agendaservice.domain.model.AppointmentSeries;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class AppointmentSeriesMapper {
+
+    private final VeterinarianCache veterinarianCache;
+
+    public AppointmentSeriesResponse toResponse(AppointmentSeries series) {
+        return AppointmentSeriesResponse.builder()
+                .id(series.getId())
+                .patientId(series.getPatientId())
+                .veterinarianId(series.getVeterinarian().getId())
+                .veterinarian(veterinarianCache.toResponse(series.getVeterinarian()))
+                .frequency(series.getFrequency())
+                .interval(series.getInterval())
+                .startsAt(series.getStartsAt())
+                .durationMinutes(series.getDurationMinutes())
+                .occurrenceCount(series.getOccurrenceCount())
+                .lastOccurrenceAt(series.getLastOccurrenceAt())
+                .materializedOccurrences(series.getMaterializedThroughIndex() + 1)
+                .status(series.getStatus())
+                .createdAt(series.getCreatedAt())
+                .updatedAt(series.getUpdatedAt())
+                .build();
+    }
+}
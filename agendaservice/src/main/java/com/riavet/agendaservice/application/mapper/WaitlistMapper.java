@@ -0,0 +1,28 @@
+package com.riavet.agendaservice.application.mapper;
+
+import com.riavet.agendaservice.application.dto.WaitlistEntryResponse;
+import com.riavet.agendaservice.domain.model.WaitlistEntry;
+import org.springframework.stereotype.Component;
+
+@Component
+public class WaitlistMapper {
+
+    public WaitlistEntryResponse toResponse(WaitlistEntry entry) {
+        return WaitlistEntryResponse.builder()
+                .id(entry.getId())
+                .patientId(entry.getPatientId())
+                .veterinarianId(entry.getVeterinarianId())
+                .specialization(entry.getSpecialization())
+                .urgency(entry.getUrgency())
+                .durationMinutes(entry.getDurationMinutes())
+                .status(entry.getStatus())
+                .offeredVeterinarianId(entry.getOfferedVeterinarianId())
+                .offeredScheduledAt(entry.getOfferedScheduledAt())
+                .offeredDurationMinutes(entry.getOfferedDurationMinutes())
+                .offeredAt(entry.getOfferedAt())
+                .appointmentId(entry.getAppointmentId())
+                .requestedAt(entry.getRequestedAt())
+                .updatedAt(entry.getUpdatedAt())
+                .build();
+    }
+}
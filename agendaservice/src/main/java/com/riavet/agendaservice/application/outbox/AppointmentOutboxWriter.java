@@ -0,0 +1,63 @@
+package com.riavet.agendaservice.application.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.riavet.agendaservice.domain.event.AppointmentChangedEvent;
+import com.riavet.agendaservice.domain.model.OutboxMessage;
+import com.riavet.agendaservice.domain.model.OutboxMessage.EventType;
+import com.riavet.agendaservice.domain.repository.OutboxMessageRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Escribe cada {@link AppointmentChangedEvent} en el outbox antes del commit, dentro de la misma
+ * transacción que el cambio: o se guardan los dos o ninguno.
+ *
+ * Un evento publicado fuera de una transacción no tiene commit al que engancharse y se perdería sin
+ * aviso; en ese caso el listener se ejecuta igualmente y lanza la excepción al que lo publicó.
+ */
+@Component
+@RequiredArgsConstructor
+public class AppointmentOutboxWriter {
+
+    private final OutboxMessageRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+
+    // Primero: sin transacción falla antes de que el resto de listeners aplique el cambio
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onAppointmentChanged(AppointmentChangedEvent event) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Appointment event for " + event.getAppointmentId()
+                    + " published outside a transaction, it would never reach the outbox");
+        }
+        outboxRepository.save(OutboxMessage.builder()
+                .appointmentId(event.getAppointmentId())
+                .appointmentVersion(event.getVersion())
+                .eventType(eventType(event))
+                .payload(serialize(event))
+                .build());
+    }
+
+    private static EventType eventType(AppointmentChangedEvent event) {
+        if (event.isCreation()) {
+            return EventType.APPOINTMENT_CREATED;
+        }
+        return event.getPreviousStatus() != event.getStatus()
+                ? EventType.APPOINTMENT_STATUS_CHANGED
+                : EventType.APPOINTMENT_RESCHEDULED;
+    }
+
+    private String serialize(AppointmentChangedEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize appointment event: " + event.getAppointmentId(), e);
+        }
+    }
+}
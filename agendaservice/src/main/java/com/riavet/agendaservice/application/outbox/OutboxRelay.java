@@ -0,0 +1,75 @@
+package com.riavet.agendaservice.application.outbox;
+
+import com.riavet.agendaservice.domain.model.OutboxMessage;
+import com.riavet.agendaservice.domain.repository.OutboxMessageRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Vacía el outbox por lotes: lee hasta {@code batchSize} mensajes ordenados por cita y versión, los
+ * publica y los borra con un único DELETE, todo en una transacción por lote.
+ *
+ * Se ejecuta cada {@code linger}: un lote incompleto espera como mucho ese tiempo a llenarse, y
+ * mientras haya lotes completos se siguen enviando sin esperar.
+ *
+ * Garantía de orden: los cambios de una misma cita se publican en el orden de su versión, que es el
+ * orden en que se confirmaron, aunque los escriban instancias distintas. Entre citas distintas no hay
+ * orden. Un mensaje solo se borra después de publicarse, así que ninguno se pierde aunque se confirme
+ * después de que el relay haya pasado por mensajes con ids mayores.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxRelay {
+
+    private final OutboxMessageRepository outboxRepository;
+    private final OutboxTransport transport;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${agenda.outbox.batch-size:200}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${agenda.outbox.linger:PT1S}")
+    public void relay() {
+        try {
+            drain();
+        } catch (RuntimeException e) {
+            log.error("Error relaying outbox messages: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Publica lotes hasta dejar el outbox vacío. Devuelve el número de mensajes publicados.
+     */
+    public int drain() {
+        int total = 0;
+        while (true) {
+            Integer relayed = transactionTemplate.execute(status -> relayBatch());
+            total += relayed;
+            if (relayed < batchSize) {
+                if (total > 0) {
+                    log.debug("Relayed {} outbox messages", total);
+                }
+                return total;
+            }
+        }
+    }
+
+    private int relayBatch() {
+        List<OutboxMessage> batch = outboxRepository.findNextBatch(PageRequest.of(0, batchSize));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        transport.publish(batch);
+        outboxRepository.deleteByIdIn(batch.stream().map(OutboxMessage::getId).collect(Collectors.toList()));
+        return batch.size();
+    }
+}
@@ -0,0 +1,19 @@
+package com.riavet.agendaservice.application.outbox;
+
+import com.riavet.agendaservice.domain.model.OutboxMessage;
+
+import java.util.List;
+
+/**
+ * Transporte al que el relay entrega los mensajes del outbox, en orden de versión dentro de cada cita.
+ *
+ * La entrega es al menos una vez: si la transacción del relay falla después de publicar, el lote
+ * se vuelve a enviar. Los consumidores deben descartar duplicados por {@link OutboxMessage#getId()}.
+ */
+public interface OutboxTransport {
+
+    /**
+     * Publica un lote. Si lanza una excepción, el lote se queda en el outbox y se reintenta.
+     */
+    void publish(List<OutboxMessage> messages);
+}
@@ -0,0 +1,165 @@
+package com.riavet.agendaservice.application.reminder;
+
+import com.riavet.agendaservice.domain.event.AppointmentChangedEvent;
+import com.riavet.agendaservice.domain.event.AppointmentReminderEvent;
+import com.riavet.agendaservice.domain.model.Appointment.AppointmentStatus;
+import com.riavet.agendaservice.domain.repository.AppointmentCalendarView;
+import com.riavet.agendaservice.domain.repository.AppointmentRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Motor de recordatorios en memoria.
+ *
+ * Mantiene en una {@link ReminderTimingWheel} los recordatorios que vencen dentro de las próximas
+ * {@code horizon} horas. La ventana se amplía por tramos: cada recarga solo consulta por rango de
+ * fecha las citas que acaban de entrar en ella, nunca la tabla entera. Los cambios de las citas ya
+ * cargadas llegan con los {@link AppointmentChangedEvent} y actualizan la rueda en O(1).
+ *
+ * La recarga toma el lock de escritura y los eventos el de lectura, igual que el modelo de lectura
+ * del calendario, para que un cambio confirmado durante la recarga no se pierda.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AppointmentReminderScheduler {
+
+    public static final Set<AppointmentStatus> REMINDABLE_STATUSES =
+            EnumSet.of(AppointmentStatus.PENDING, AppointmentStatus.CONFIRMED);
+
+    private final AppointmentRepository appointmentRepository;
+    private final List<ReminderSink> sinks;
+
+    @Value("${agenda.reminders.lead-time:PT24H}")
+    private Duration leadTime;
+
+    @Value("${agenda.reminders.horizon:PT6H}")
+    private Duration horizon;
+
+    @Value("${agenda.reminders.tick:PT1M}")
+    private Duration tick;
+
+    @Value("${agenda.reminders.wheel-size:512}")
+    private int wheelSize;
+
+    private final ReadWriteLock loadLock = new ReentrantReadWriteLock();
+    private ReminderTimingWheel wheel;
+
+    // Hora de aviso hasta la que ya se han cargado las citas; null hasta la primera recarga
+    private volatile LocalDateTime loadedUntil;
+
+    @PostConstruct
+    void init() {
+        wheel = new ReminderTimingWheel(tick, wheelSize, LocalDateTime.now());
+    }
+
+    @Scheduled(fixedDelayString = "${agenda.reminders.refill-interval:PT15M}")
+    public void refill() {
+        try {
+            loadWindow(LocalDateTime.now());
+        } catch (RuntimeException e) {
+            log.error("Error loading appointment reminders: {}", e.getMessage(), e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${agenda.reminders.tick:PT1M}")
+    public void tick() {
+        fireDue(LocalDateTime.now());
+    }
+
+    /**
+     * Carga las citas cuyo aviso cae entre el final de la ventana actual y {@code now + horizon}.
+     */
+    public void loadWindow(LocalDateTime now) {
+        loadLock.writeLock().lock();
+        try {
+            LocalDateTime from = loadedUntil == null || loadedUntil.isBefore(now) ? now : loadedUntil;
+            LocalDateTime to = now.plus(horizon);
+            if (!from.isBefore(to)) {
+                return;
+            }
+            List<AppointmentCalendarView> rows = appointmentRepository.findCalendarEntriesBetween(
+                    REMINDABLE_STATUSES, from.plus(leadTime), to.plus(leadTime));
+            for (AppointmentCalendarView row : rows) {
+                wheel.schedule(AppointmentReminderEvent.builder()
+                        .appointmentId(row.getId())
+                        .patientId(row.getPatientId())
+                        .veterinarianId(row.getVeterinarianId())
+                        .scheduledAt(row.getScheduledAt())
+                        .status(row.getStatus())
+                        .remindAt(row.getScheduledAt().minus(leadTime))
+                        .build(), row.getScheduledAt().minus(leadTime));
+            }
+            loadedUntil = to;
+            log.debug("Loaded {} appointment reminders due between {} and {}", rows.size(), from, to);
+        } finally {
+            loadLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Avanza la rueda hasta {@code now} y entrega los recordatorios vencidos a todos los sinks.
+     */
+    public int fireDue(LocalDateTime now) {
+        List<AppointmentReminderEvent> due = wheel.advance(now);
+        for (AppointmentReminderEvent reminder : due) {
+            for (ReminderSink sink : sinks) {
+                try {
+                    sink.send(reminder);
+                } catch (RuntimeException e) {
+                    log.error("Error sending reminder for appointment: {}: {}",
+                            reminder.getAppointmentId(), e.getMessage(), e);
+                }
+            }
+        }
+        return due.size();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAppointmentChanged(AppointmentChangedEvent event) {
+        loadLock.readLock().lock();
+        try {
+            LocalDateTime remindAt = event.getScheduledAt().minus(leadTime);
+            // Fuera de la ventana cargada la cita la recogerá la recarga que la cubra
+            boolean inWindow = loadedUntil != null && remindAt.isBefore(loadedUntil);
+            if (!inWindow || !REMINDABLE_STATUSES.contains(event.getStatus())
+                    || !event.getScheduledAt().isAfter(LocalDateTime.now())) {
+                wheel.cancel(event.getAppointmentId());
+                return;
+            }
+            wheel.schedule(AppointmentReminderEvent.builder()
+                    .appointmentId(event.getAppointmentId())
+                    .patientId(event.getPatientId())
+                    .veterinarianId(event.getVeterinarianId())
+                    .scheduledAt(event.getScheduledAt())
+                    .status(event.getStatus())
+                    .remindAt(remindAt)
+                    .build(), remindAt);
+        } finally {
+            loadLock.readLock().unlock();
+        }
+    }
+
+    public boolean isScheduled(UUID appointmentId) {
+        return wheel.isScheduled(appointmentId);
+    }
+
+    public int pendingReminders() {
+        return wheel.size();
+    }
+}
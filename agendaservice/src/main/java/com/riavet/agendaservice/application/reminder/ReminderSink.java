@@ -0,0 +1,12 @@
+package com.riavet.agendaservice.application.reminder;
+
+import com.riavet.agendaservice.domain.event.AppointmentReminderEvent;
+
+/**
+ * Destino de los recordatorios. Cada bean que implemente esta interfaz recibe todos los
+ * recordatorios que vencen; basta con registrar uno nuevo para enviarlos a otro servicio.
+ */
+public interface ReminderSink {
+
+    void send(AppointmentReminderEvent reminder);
+}
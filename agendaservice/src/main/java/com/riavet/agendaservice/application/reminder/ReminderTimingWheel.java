@@ -0,0 +1,163 @@
+package com.riavet.agendaservice.application.reminder;
+
+import com.riavet.agendaservice.domain.event.AppointmentReminderEvent;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Rueda de tiempo (hashed timing wheel) para los recordatorios pendientes.
+ *
+ * El tiempo se divide en ticks de duración fija y cada tick cae en una de {@code wheelSize} ranuras.
+ * Cada ranura es una lista doblemente enlazada, y el mapa por cita permite programar, reprogramar y
+ * cancelar en O(1). Avanzar la rueda solo recorre las ranuras de los ticks transcurridos; los
+ * recordatorios que están a más de una vuelta llevan un contador de vueltas pendientes.
+ */
+public class ReminderTimingWheel {
+
+    private static final LocalDateTime ORIGIN = LocalDate.EPOCH.atStartOfDay();
+
+    private final long tickMillis;
+    private final Slot[] slots;
+    private final int mask;
+    private final Map<UUID, Timeout> timeouts = new HashMap<>();
+
+    // Siguiente tick que se procesará
+    private long currentTick;
+
+    public ReminderTimingWheel(Duration tick, int wheelSize, LocalDateTime start) {
+        if (tick.toMillis() <= 0) {
+            throw new IllegalArgumentException("Tick duration must be positive");
+        }
+        if (wheelSize <= 0) {
+            throw new IllegalArgumentException("Wheel size must be greater than zero");
+        }
+        // Tamaño potencia de dos para calcular la ranura con una máscara
+        int size = Integer.highestOneBit(wheelSize - 1) << 1;
+        size = Math.max(size, 1);
+        this.tickMillis = tick.toMillis();
+        this.slots = new Slot[size];
+        for (int i = 0; i < size; i++) {
+            slots[i] = new Slot();
+        }
+        this.mask = size - 1;
+        this.currentTick = floorTick(start);
+    }
+
+    /**
+     * Programa el recordatorio para {@code fireAt}, sustituyendo el que tuviera la misma cita.
+     * Si la hora ya pasó, se emite en el siguiente tick.
+     */
+    public synchronized void schedule(AppointmentReminderEvent reminder, LocalDateTime fireAt) {
+        cancel(reminder.getAppointmentId());
+        long deadline = Math.max(ceilTick(fireAt), currentTick);
+        Timeout timeout = new Timeout(reminder, (deadline - currentTick) / slots.length);
+        slots[(int) (deadline & mask)].add(timeout);
+        timeouts.put(reminder.getAppointmentId(), timeout);
+    }
+
+    /**
+     * Quita el recordatorio de la cita. Devuelve {@code false} si no estaba programado.
+     */
+    public synchronized boolean cancel(UUID appointmentId) {
+        Timeout timeout = timeouts.remove(appointmentId);
+        if (timeout == null) {
+            return false;
+        }
+        timeout.slot.remove(timeout);
+        return true;
+    }
+
+    /**
+     * Procesa los ticks hasta {@code now} y devuelve los recordatorios vencidos en orden de tick.
+     */
+    public synchronized List<AppointmentReminderEvent> advance(LocalDateTime now) {
+        List<AppointmentReminderEvent> expired = new ArrayList<>();
+        long lastTick = floorTick(now);
+        for (; currentTick <= lastTick; currentTick++) {
+            Timeout timeout = slots[(int) (currentTick & mask)].head;
+            while (timeout != null) {
+                Timeout next = timeout.next;
+                if (timeout.remainingRounds <= 0) {
+                    timeout.slot.remove(timeout);
+                    timeouts.remove(timeout.reminder.getAppointmentId());
+                    expired.add(timeout.reminder);
+                } else {
+                    timeout.remainingRounds--;
+                }
+                timeout = next;
+            }
+        }
+        return expired;
+    }
+
+    public synchronized boolean isScheduled(UUID appointmentId) {
+        return timeouts.containsKey(appointmentId);
+    }
+
+    public synchronized int size() {
+        return timeouts.size();
+    }
+
+    private long floorTick(LocalDateTime time) {
+        return Math.floorDiv(Duration.between(ORIGIN, time).toMillis(), tickMillis);
+    }
+
+    // Redondeo hacia arriba para no emitir nunca antes de la hora pedida
+    private long ceilTick(LocalDateTime time) {
+        return -Math.floorDiv(-Duration.between(ORIGIN, time).toMillis(), tickMillis);
+    }
+
+    private static class Timeout {
+
+        private final AppointmentReminderEvent reminder;
+        private long remainingRounds;
+        private Slot slot;
+        private Timeout prev;
+        private Timeout next;
+
+        Timeout(AppointmentReminderEvent reminder, long remainingRounds) {
+            this.reminder = reminder;
+            this.remainingRounds = remainingRounds;
+        }
+    }
+
+    private static class Slot {
+
+        private Timeout head;
+        private Timeout tail;
+
+        void add(Timeout timeout) {
+            timeout.slot = this;
+            timeout.prev = tail;
+            if (tail == null) {
+                head = timeout;
+            } else {
+                tail.next = timeout;
+            }
+            tail = timeout;
+        }
+
+        void remove(Timeout timeout) {
+            if (timeout.prev == null) {
+                head = timeout.next;
+            } else {
+                timeout.prev.next = timeout.next;
+            }
+            if (timeout.next == null) {
+                tail = timeout.prev;
+            } else {
+                timeout.next.prev = timeout.prev;
+            }
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.slot = null;
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package com.riavet.agendaservice.application.search;
+
+import com.riavet.agendaservice.application.dto.VeterinarianResponse;
+import com.riavet.agendaservice.application.mapper.VeterinarianMapper;
+import com.riavet.agendaservice.domain.event.VeterinarianChangedEvent;
+import com.riavet.agendaservice.domain.model.Veterinarian;
+import com.riavet.agendaservice.domain.repository.VeterinarianRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Índice en memoria para buscar veterinarios mientras se escribe.
+ *
+ * Las palabras de nombre, apellidos y especialidad se guardan en un trie sin tildes ni mayúsculas;
+ * cada nodo conoce los veterinarios que tienen alguna palabra con ese prefijo, así que resolver un
+ * término cuesta lo que mide el término. Con varios términos se intersectan los conjuntos. El índice
+ * se carga al arrancar y se actualiza tras el commit de cada cambio de {@code VeterinarianServiceImpl}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class VeterinarianSearchIndex {
+
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+    private static final Comparator<Document> ORDER = Comparator
+            .comparing((Document document) -> document.sortKey)
+            .thenComparing(document -> document.response.getId());
+
+    private final VeterinarianRepository veterinarianRepository;
+    private final VeterinarianMapper veterinarianMapper;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Node root = new Node();
+    private final Map<UUID, Document> documents = new HashMap<>();
+    private final Map<String, Set<UUID>> bySpecialization = new HashMap<>();
+
+    @PostConstruct
+    void load() {
+        List<Veterinarian> veterinarians = veterinarianRepository.findAll();
+        lock.writeLock().lock();
+        try {
+            veterinarians.forEach(veterinarian -> index(veterinarianMapper.toResponse(veterinarian)));
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Veterinarian search index loaded with {} veterinarians", veterinarians.size());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onVeterinarianChanged(VeterinarianChangedEvent event) {
+        if (event.isDeleted()) {
+            remove(event.getVeterinarianId());
+            return;
+        }
+        veterinarianRepository.findById(event.getVeterinarianId())
+                .ifPresentOrElse(this::put, () -> remove(event.getVeterinarianId()));
+    }
+
+    public void put(Veterinarian veterinarian) {
+        VeterinarianResponse response = veterinarianMapper.toResponse(veterinarian);
+        lock.writeLock().lock();
+        try {
+            unindex(response.getId());
+            index(response);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(UUID id) {
+        lock.writeLock().lock();
+        try {
+            unindex(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Veterinarios cuyo nombre, apellidos o especialidad tienen una palabra que empieza por cada uno de
+     * los términos de {@code query}, ordenados por apellidos y nombre.
+     *
+     * @param query          términos separados por espacios; vacío o null no filtra
+     * @param specialization especialidad exacta (sin distinguir tildes ni mayúsculas); null no filtra
+     */
+    public SearchResult search(String query, String specialization, boolean onlyActive, long offset, int limit) {
+        List<String> terms = tokenize(query).stream()
+                // Los términos más largos tienen conjuntos más pequeños: se intersecta desde ellos
+                .sorted(Comparator.comparingInt(String::length).reversed())
+                .collect(Collectors.toList());
+        lock.readLock().lock();
+        try {
+            Set<UUID> matches = null;
+            if (specialization != null && !specialization.isBlank()) {
+                matches = new HashSet<>(bySpecialization.getOrDefault(normalize(specialization), Collections.emptySet()));
+            }
+            for (String term : terms) {
+                Set<UUID> ids = lookup(term);
+                if (matches == null) {
+                    matches = new HashSet<>(ids);
+                } else {
+                    matches.retainAll(ids);
+                }
+                if (matches.isEmpty()) {
+                    break;
+                }
+            }
+            List<Document> found = (matches == null ? documents.keySet() : matches).stream()
+                    .map(documents::get)
+                    .filter(document -> !onlyActive || Boolean.TRUE.equals(document.response.getActive()))
+                    .sorted(ORDER)
+                    .collect(Collectors.toList());
+            List<VeterinarianResponse> page = found.stream()
+                    .skip(offset)
+                    .limit(limit)
+                    .map(document -> document.response)
+                    .collect(Collectors.toList());
+            return new SearchResult(page, found.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void index(VeterinarianResponse response) {
+        Set<String> tokens = new LinkedHashSet<>();
+        tokens.addAll(tokenize(response.getFirstName()));
+        tokens.addAll(tokenize(response.getLastName()));
+        tokens.addAll(tokenize(response.getSpecialization()));
+        String specializationKey = response.getSpecialization() != null && !response.getSpecialization().isBlank()
+                ? normalize(response.getSpecialization())
+                : null;
+        Document document = new Document(response, tokens, specializationKey,
+                normalize(response.getLastName()) + " " + normalize(response.getFirstName()));
+
+        for (String token : tokens) {
+            Node node = root;
+            for (int i = 0; i < token.length(); i++) {
+                node = node.children.computeIfAbsent(token.charAt(i), c -> new Node());
+                node.ids.add(response.getId());
+            }
+        }
+        if (specializationKey != null) {
+            bySpecialization.computeIfAbsent(specializationKey, key -> new HashSet<>()).add(response.getId());
+        }
+        documents.put(response.getId(), document);
+    }
+
+    private void unindex(UUID id) {
+        Document document = documents.remove(id);
+        if (document == null) {
+            return;
+        }
+        for (String token : document.tokens) {
+            removePath(root, token, 0, id);
+        }
+        if (document.specializationKey != null) {
+            Set<UUID> ids = bySpecialization.get(document.specializationKey);
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                bySpecialization.remove(document.specializationKey);
+            }
+        }
+    }
+
+    // Quita el id de la rama y poda los nodos que se quedan sin veterinarios
+    private static void removePath(Node node, String token, int depth, UUID id) {
+        if (depth == token.length()) {
+            return;
+        }
+        Node child = node.children.get(token.charAt(depth));
+        if (child == null) {
+            return;
+        }
+        child.ids.remove(id);
+        removePath(child, token, depth + 1, id);
+        if (child.ids.isEmpty()) {
+            node.children.remove(token.charAt(depth));
+        }
+    }
+
+    private Set<UUID> lookup(String prefix) {
+        Node node = root;
+        for (int i = 0; i < prefix.length() && node != null; i++) {
+            node = node.children.get(prefix.charAt(i));
+        }
+        return node != null ? node.ids : Collections.emptySet();
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return new ArrayList<>();
+        }
+        return Arrays.stream(SEPARATORS.split(normalize(text)))
+                .filter(token -> !token.isEmpty())
+                .distinct()
+                .collect(Collectors.toList());
+    }
+
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return MARKS.matcher(Normalizer.normalize(text.trim(), Normalizer.Form.NFD))
+                .replaceAll("")
+                .toLowerCase(Locale.ROOT);
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static final class SearchResult {
+        private final List<VeterinarianResponse> items;
+        private final int total;
+    }
+
+    private static final class Node {
+        private final Map<Character, Node> children = new HashMap<>();
+        private final Set<UUID> ids = new HashSet<>();
+    }
+
+    @AllArgsConstructor
+    private static final class Document {
+        private final VeterinarianResponse response;
+        private final Set<String> tokens;
+        private final String specializationKey;
+        private final String sortKey;
+    }
+}
@@ -0,0 +1,28 @@
+package com.riavet.agendaservice.application.series;
+
+import com.riavet.agendaservice.application.service.AppointmentSeriesService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Avanza periódicamente el horizonte de materialización de las series activas.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SeriesMaterializationJob {
+
+    private final AppointmentSeriesService seriesService;
+
+    @Scheduled(initialDelayString = "${agenda.series.materialize-initial-delay:PT1M}",
+            fixedDelayString = "${agenda.series.materialize-interval:PT1H}")
+    public void materialize() {
+        try {
+            seriesService.materializeDueOccurrences();
+        } catch (RuntimeException e) {
+            log.error("Error materializing series occurrences: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.riavet.agendaservice.application.series;
+
+import com.riavet.agendaservice.domain.model.AppointmentSeries;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Ocurrencia virtual de una serie: todavía no existe como fila en appointments.
+ */
+@Data
+@AllArgsConstructor
+public class SeriesOccurrence {
+
+    private AppointmentSeries series;
+    private int index;
+    private LocalDateTime scheduledAt;
+    private LocalDateTime endsAt;
+
+    public static SeriesOccurrence of(AppointmentSeries series, int index) {
+        LocalDateTime start = series.occurrenceStart(index);
+        return new SeriesOccurrence(series, index, start, start.plusMinutes(series.getDurationMinutes()));
+    }
+
+    /**
+     * Id estable de la ocurrencia virtual, usado para ordenar y paginar junto a las citas reales.
+     */
+    public UUID getId() {
+        return virtualId(series.getId(), index);
+    }
+
+    public static UUID virtualId(UUID seriesId, int index) {
+        return UUID.nameUUIDFromBytes((seriesId + ":" + index).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,118 @@
+package com.riavet.agendaservice.application.series;
+
+import com.riavet.agendaservice.application.dto.AppointmentCursor;
+import com.riavet.agendaservice.domain.model.Appointment;
+import com.riavet.agendaservice.domain.model.AppointmentSeries;
+import com.riavet.agendaservice.domain.model.AppointmentSeries.SeriesStatus;
+import com.riavet.agendaservice.domain.repository.AppointmentSeriesRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.UUID;
+
+/**
+ * Expande las series activas en ocurrencias virtuales (las que aún no se han materializado).
+ *
+ * Cada ocurrencia se calcula en O(1) a partir de su índice, así que expandir una ventana solo
+ * cuesta las ocurrencias que caen dentro de ella, sin importar lo larga que sea la serie.
+ */
+@Component
+@RequiredArgsConstructor
+public class SeriesOccurrenceExpander {
+
+    private static final LocalDateTime MIN_TIME = LocalDate.EPOCH.atStartOfDay();
+
+    private static final Comparator<SeriesOccurrence> KEYSET_ORDER = (a, b) ->
+            AppointmentCursor.compare(a.getScheduledAt(), a.getId(), b.getScheduledAt(), b.getId());
+
+    private final AppointmentSeriesRepository seriesRepository;
+
+    /**
+     * Ocurrencias virtuales de un veterinario que se solapan con [from, to).
+     */
+    public List<SeriesOccurrence> findVirtualOccurrences(UUID veterinarianId, LocalDateTime from, LocalDateTime to) {
+        List<AppointmentSeries> series = seriesRepository.findVeterinarianSeriesWithVirtualOccurrencesFrom(
+                veterinarianId, SeriesStatus.ACTIVE, from.minusMinutes(Appointment.MAX_DURATION_MINUTES));
+        List<SeriesOccurrence> occurrences = new ArrayList<>();
+        for (AppointmentSeries s : series) {
+            occurrences.addAll(expand(s, from, to));
+        }
+        return occurrences;
+    }
+
+    /**
+     * Ocurrencias virtuales de una serie que se solapan con [from, to).
+     */
+    public static List<SeriesOccurrence> expand(AppointmentSeries series, LocalDateTime from, LocalDateTime to) {
+        List<SeriesOccurrence> occurrences = new ArrayList<>();
+        int index = Math.max(firstVirtualIndex(series), series.firstIndexEndingAfter(from));
+        for (; index <= series.getLastIndex(); index++) {
+            SeriesOccurrence occurrence = SeriesOccurrence.of(series, index);
+            if (!occurrence.getScheduledAt().isBefore(to)) {
+                break;
+            }
+            occurrences.add(occurrence);
+        }
+        return occurrences;
+    }
+
+    /**
+     * Primeras {@code limit} ocurrencias virtuales en orden de keyset (scheduledAt, id),
+     * empezando en {@code from} y estrictamente después de {@code after} si se indica.
+     * Mezcla las series con un heap, por lo que solo se calculan las ocurrencias que se devuelven.
+     */
+    public List<SeriesOccurrence> findVirtualPage(UUID veterinarianId, LocalDateTime from, LocalDateTime to,
+                                                  AppointmentCursor after, int limit) {
+        LocalDateTime lower = from != null ? from : MIN_TIME;
+        if (after != null && after.getScheduledAt().isAfter(lower)) {
+            lower = after.getScheduledAt();
+        }
+        List<AppointmentSeries> series = veterinarianId != null
+                ? seriesRepository.findVeterinarianSeriesWithVirtualOccurrencesFrom(veterinarianId, SeriesStatus.ACTIVE, lower)
+                : seriesRepository.findWithVirtualOccurrencesFrom(SeriesStatus.ACTIVE, lower);
+
+        PriorityQueue<SeriesOccurrence> heads = new PriorityQueue<>(KEYSET_ORDER);
+        for (AppointmentSeries s : series) {
+            int index = Math.max(firstVirtualIndex(s), s.firstIndexStartingAtOrAfter(lower));
+            SeriesOccurrence head = nextOccurrence(s, index, to, after);
+            if (head != null) {
+                heads.add(head);
+            }
+        }
+
+        List<SeriesOccurrence> page = new ArrayList<>(Math.min(limit, heads.size()));
+        while (page.size() < limit && !heads.isEmpty()) {
+            SeriesOccurrence occurrence = heads.poll();
+            page.add(occurrence);
+            SeriesOccurrence next = nextOccurrence(occurrence.getSeries(), occurrence.getIndex() + 1, to, after);
+            if (next != null) {
+                heads.add(next);
+            }
+        }
+        return page;
+    }
+
+    private static SeriesOccurrence nextOccurrence(AppointmentSeries series, int index, LocalDateTime to,
+                                                   AppointmentCursor after) {
+        for (; index <= series.getLastIndex(); index++) {
+            SeriesOccurrence occurrence = SeriesOccurrence.of(series, index);
+            if (to != null && !occurrence.getScheduledAt().isBefore(to)) {
+                return null;
+            }
+            if (after == null || after.isBefore(occurrence.getScheduledAt(), occurrence.getId())) {
+                return occurrence;
+            }
+        }
+        return null;
+    }
+
+    private static int firstVirtualIndex(AppointmentSeries series) {
+        return Math.max(series.getAnchorIndex(), series.getMaterializedThroughIndex() + 1);
+    }
+}
@@ -0,0 +1,11 @@
+package com.riavet.agendaservice.application.service;
+
+import com.riavet.agendaservice.application.dto.AppointmentBatchResponse;
+import com.riavet.agendaservice.application.dto.AppointmentRequest;
+
+import java.util.List;
+
+public interface AppointmentBatchService {
+
+    AppointmentBatchResponse createAppointments(List<AppointmentRequest> requests);
+}
@@ -0,0 +1,222 @@
+package com.riavet.agendaservice.application.service;
+
+import com.riavet.agendaservice.application.availability.AppointmentIntervalIndex;
+import com.riavet.agendaservice.application.availability.VeterinarianBookingLocks;
+import com.riavet.agendaservice.application.availability.VeterinarianOccupancy;
+import com.riavet.agendaservice.application.cache.VeterinarianCache;
+import com.riavet.agendaservice.application.dto.AppointmentBatchItemResult;
+import com.riavet.agendaservice.application.dto.AppointmentBatchItemResult.ItemStatus;
+import com.riavet.agendaservice.application.dto.AppointmentBatchResponse;
+import com.riavet.agendaservice.application.dto.AppointmentRequest;
+import com.riavet.agendaservice.application.mapper.AppointmentMapper;
+import com.riavet.agendaservice.application.series.SeriesOccurrence;
+import com.riavet.agendaservice.application.series.SeriesOccurrenceExpander;
+import com.riavet.agendaservice.domain.event.AppointmentChangedEvent;
+import com.riavet.agendaservice.domain.model.Appointment;
+import com.riavet.agendaservice.domain.model.Veterinarian;
+import com.riavet.agendaservice.domain.repository.AppointmentRepository;
+import com.riavet.agendaservice.domain.repository.VeterinarianRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Creación masiva de citas (campañas de vacunación, series de rehabilitación, etc.).
+ *
+ * Valida cada veterinario una sola vez, comprueba los solapamientos de todo el lote con una
+ * consulta por veterinario y persiste las citas con batching JDBC de Hibernate. Cada elemento
+ * recibe su propio resultado: las citas inválidas o en conflicto se rechazan sin abortar el resto.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AppointmentBatchServiceImpl implements AppointmentBatchService {
+
+    public static final int MAX_BATCH_SIZE = 5000;
+
+    private final AppointmentRepository appointmentRepository;
+    private final VeterinarianRepository veterinarianRepository;
+    private final VeterinarianCache veterinarianCache;
+    private final AppointmentMapper appointmentMapper;
+    private final VeterinarianBookingLocks bookingLocks;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Validator validator;
+    private final SeriesOccurrenceExpander occurrenceExpander;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:100}")
+    private int flushSize;
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public AppointmentBatchResponse createAppointments(List<AppointmentRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new IllegalArgumentException("At least one appointment is required");
+        }
+        if (requests.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("A batch cannot contain more than " + MAX_BATCH_SIZE + " appointments");
+        }
+        log.info("Creating batch of {} appointments", requests.size());
+
+        AppointmentBatchItemResult[] results = new AppointmentBatchItemResult[requests.size()];
+
+        // Validación de campos y de veterinarios (una vez por veterinario distinto)
+        Map<UUID, Optional<Veterinarian>> veterinarians = new HashMap<>();
+        Map<UUID, List<Integer>> pendingByVeterinarian = new LinkedHashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            AppointmentRequest request = requests.get(i);
+            String error = validate(request);
+            if (error == null) {
+                Optional<Veterinarian> veterinarian = veterinarians.computeIfAbsent(
+                        request.getVeterinarianId(), veterinarianCache::findById);
+                if (veterinarian.isEmpty()) {
+                    error = "Veterinarian not found with ID: " + request.getVeterinarianId();
+                } else if (!veterinarian.get().getActive()) {
+                    error = "Cannot create appointment with inactive veterinarian: " + request.getVeterinarianId();
+                }
+            }
+            if (error != null) {
+                results[i] = rejected(i, error);
+            } else {
+                pendingByVeterinarian.computeIfAbsent(request.getVeterinarianId(), id -> new ArrayList<>()).add(i);
+            }
+        }
+
+        if (!pendingByVeterinarian.isEmpty()) {
+            List<Appointment> created = bookingLocks.withLocks(pendingByVeterinarian.keySet(),
+                    () -> transactionTemplate.execute(status ->
+                            insert(requests, pendingByVeterinarian, veterinarians, results)));
+            log.info("Batch created {} appointments", created.size());
+        }
+
+        List<AppointmentBatchItemResult> resultList = List.of(results);
+        int createdCount = (int) resultList.stream().filter(r -> r.getStatus() == ItemStatus.CREATED).count();
+        return AppointmentBatchResponse.builder()
+                .requested(requests.size())
+                .created(createdCount)
+                .rejected(requests.size() - createdCount)
+                .results(resultList)
+                .build();
+    }
+
+    private List<Appointment> insert(List<AppointmentRequest> requests,
+                                     Map<UUID, List<Integer>> pendingByVeterinarian,
+                                     Map<UUID, Optional<Veterinarian>> veterinarians,
+                                     AppointmentBatchItemResult[] results) {
+        // Bloquear las filas de todos los veterinarios del lote en una sola consulta (ordenada por id)
+        Set<UUID> locked = new HashSet<>(veterinarianRepository.lockAllById(pendingByVeterinarian.keySet()));
+
+        List<Appointment> toInsert = new ArrayList<>();
+        List<Integer> insertedIndexes = new ArrayList<>();
+        for (Map.Entry<UUID, List<Integer>> entry : pendingByVeterinarian.entrySet()) {
+            UUID veterinarianId = entry.getKey();
+            if (!locked.contains(veterinarianId)) {
+                veterinarianCache.evict(veterinarianId);
+                entry.getValue().forEach(i -> results[i] = rejected(i, "Veterinarian not found with ID: " + veterinarianId));
+                continue;
+            }
+
+            Veterinarian veterinarian = veterinarians.get(veterinarianId).orElseThrow();
+            List<Appointment> candidates = entry.getValue().stream()
+                    .map(i -> appointmentMapper.toEntity(requests.get(i), veterinarian))
+                    .collect(Collectors.toList());
+
+            // Una sola consulta por veterinario cubre la ventana de todo el lote
+            LocalDateTime windowStart = candidates.stream().map(Appointment::getScheduledAt)
+                    .min(LocalDateTime::compareTo).orElseThrow()
+                    .minusMinutes(Appointment.MAX_DURATION_MINUTES + 1L);
+            LocalDateTime windowEnd = candidates.stream().map(Appointment::getEndsAt)
+                    .max(LocalDateTime::compareTo).orElseThrow();
+            VeterinarianOccupancy occupancy = VeterinarianOccupancy.of(
+                    appointmentRepository.findVeterinarianSlotsStartingBetween(
+                            veterinarianId, AppointmentIntervalIndex.BLOCKING_STATUSES, windowStart, windowEnd));
+            for (SeriesOccurrence occurrence : occurrenceExpander.findVirtualOccurrences(
+                    veterinarianId, windowStart, windowEnd)) {
+                occupancy.add(occurrence.getScheduledAt(), occurrence.getEndsAt());
+            }
+
+            // En caso de solapamiento dentro del lote gana el elemento que aparece primero
+            for (int c = 0; c < candidates.size(); c++) {
+                Appointment appointment = candidates.get(c);
+                int index = entry.getValue().get(c);
+                if (occupancy.overlaps(appointment.getScheduledAt(), appointment.getEndsAt())) {
+                    results[index] = rejected(index, "Veterinarian " + veterinarianId
+                            + " already has an appointment overlapping " + appointment.getScheduledAt());
+                } else {
+                    occupancy.add(appointment.getScheduledAt(), appointment.getEndsAt());
+                    toInsert.add(appointment);
+                    insertedIndexes.add(index);
+                }
+            }
+        }
+
+        // Los ids UUID se generan en memoria, así que Hibernate agrupa los INSERT en lotes JDBC
+        for (int i = 0; i < toInsert.size(); i++) {
+            entityManager.persist(toInsert.get(i));
+            if ((i + 1) % flushSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        for (int i = 0; i < toInsert.size(); i++) {
+            Appointment appointment = toInsert.get(i);
+            int index = insertedIndexes.get(i);
+            results[index] = AppointmentBatchItemResult.builder()
+                    .index(index)
+                    .status(ItemStatus.CREATED)
+                    .appointment(appointmentMapper.toResponse(appointment))
+                    .build();
+            eventPublisher.publishEvent(AppointmentChangedEvent.of(appointment, null));
+        }
+        return toInsert;
+    }
+
+    private String validate(AppointmentRequest request) {
+        if (request == null) {
+            return "Appointment is required";
+        }
+        Set<ConstraintViolation<AppointmentRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private AppointmentBatchItemResult rejected(int index, String error) {
+        return AppointmentBatchItemResult.builder()
+                .index(index)
+                .status(ItemStatus.REJECTED)
+                .error(error)
+                .build();
+    }
+}
@@ -0,0 +1,16 @@
+package com.riavet.agendaservice.application.service;
+
+import com.riavet.agendaservice.application.dto.AppointmentFilter;
+import com.riavet.agendaservice.application.dto.ExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface AppointmentExportService {
+
+    /**
+     * Escribe las citas que cumplen el filtro en {@code out} a medida que se leen de la base de datos.
+     * Devuelve el número de filas exportadas.
+     */
+    long exportAppointments(AppointmentFilter filter, ExportFormat format, OutputStream out) throws IOException;
+}
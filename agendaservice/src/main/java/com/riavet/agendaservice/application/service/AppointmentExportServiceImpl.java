@@ -0,0 +1,115 @@
+package com.riavet.agendaservice.application.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.riavet.agendaservice.application.dto.AppointmentFilter;
+import com.riavet.agendaservice.application.dto.ExportFormat;
+import com.riavet.agendaservice.domain.repository.AppointmentExportRow;
+import com.riavet.agendaservice.domain.repository.AppointmentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Exportación de citas fila a fila. La consulta se recorre con un cursor de {@code fetchSize} filas
+ * y cada fila se escribe y se descarta, así que la memoria usada no depende del tamaño del rango.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AppointmentExportServiceImpl implements AppointmentExportService {
+
+    static final String CSV_HEADER = "id,patientId,veterinarianId,veterinarianName,scheduledAt,"
+            + "durationMinutes,status,seriesId,createdAt,updatedAt";
+
+    private final AppointmentRepository appointmentRepository;
+    private final ObjectMapper objectMapper;
+
+    @Value("${agenda.export.fetch-size:500}")
+    private int fetchSize;
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportAppointments(AppointmentFilter filter, ExportFormat format, OutputStream out) throws IOException {
+        if (filter.getFrom() != null && filter.getTo() != null && !filter.getFrom().isBefore(filter.getTo())) {
+            throw new IllegalArgumentException("'from' must be before 'to'");
+        }
+        log.info("Exporting appointments as {}. VeterinarianId: {}, status: {}, from: {}, to: {}",
+                format, filter.getVeterinarianId(), filter.getStatus(), filter.getFrom(), filter.getTo());
+
+        ObjectWriter jsonWriter = objectMapper.writerFor(AppointmentExportRow.class);
+        // No se cierra el writer: el stream de salida pertenece a quien llama
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        if (format == ExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        long rows = 0;
+        try (Stream<AppointmentExportRow> stream = appointmentRepository.streamForExport(filter.getVeterinarianId(),
+                filter.getStatus(), filter.getFrom(), filter.getTo(), fetchSize)) {
+            Iterator<AppointmentExportRow> iterator = stream.iterator();
+            while (iterator.hasNext()) {
+                AppointmentExportRow row = iterator.next();
+                if (format == ExportFormat.CSV) {
+                    writeCsv(writer, row);
+                } else {
+                    writer.write(jsonWriter.writeValueAsString(row));
+                }
+                writer.write('\n');
+                // Se vacía el buffer por bloques para que el cliente reciba datos mientras avanza el cursor
+                if (++rows % fetchSize == 0) {
+                    writer.flush();
+                }
+            }
+        }
+        writer.flush();
+
+        log.info("Exported {} appointments as {}", rows, format);
+        return rows;
+    }
+
+    private static void writeCsv(Writer writer, AppointmentExportRow row) throws IOException {
+        writer.write(csv(row.getId()));
+        writer.write(',');
+        writer.write(csv(row.getPatientId()));
+        writer.write(',');
+        writer.write(csv(row.getVeterinarianId()));
+        writer.write(',');
+        writer.write(csv(row.getVeterinarianName()));
+        writer.write(',');
+        writer.write(csv(row.getScheduledAt()));
+        writer.write(',');
+        writer.write(csv(row.getDurationMinutes()));
+        writer.write(',');
+        writer.write(csv(row.getStatus()));
+        writer.write(',');
+        writer.write(csv(row.getSeriesId()));
+        writer.write(',');
+        writer.write(csv(row.getCreatedAt()));
+        writer.write(',');
+        writer.write(csv(row.getUpdatedAt()));
+    }
+
+    private static String csv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
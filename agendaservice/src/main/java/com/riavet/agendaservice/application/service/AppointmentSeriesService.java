@@ -0,0 +1,21 @@
+package com.riavet.agendaservice.application.service;
+
+import com.riavet.agendaservice.application.dto.AppointmentSeriesRequest;
+import com.riavet.agendaservice.application.dto.AppointmentSeriesRescheduleRequest;
+import com.riavet.agendaservice.application.dto.AppointmentSeriesResponse;
+
+import java.util.Optional;
+import java.util.UUID;
+
+public interface AppointmentSeriesService {
+
+    AppointmentSeriesResponse createSeries(AppointmentSeriesRequest request);
+
+    Optional<AppointmentSeriesResponse> getSeriesById(UUID id);
+
+    AppointmentSeriesResponse cancelSeries(UUID seriesId, String reason);
+
+    AppointmentSeriesResponse rescheduleSeries(UUID seriesId, AppointmentSeriesRescheduleRequest request);
+
+    int materializeDueOccurrences();
+}
@@ -0,0 +1,400 @@
+package com.riavet.agendaservice.application.service;
+
+import com.riavet.agendaservice.application.availability.AppointmentIntervalIndex;
+import com.riavet.agendaservice.application.availability.VeterinarianBookingLocks;
+import com.riavet.agendaservice.application.availability.VeterinarianOccupancy;
+import com.riavet.agendaservice.application.cache.VeterinarianCache;
+import com.riavet.agendaservice.application.dto.AppointmentSeriesRequest;
+import com.riavet.agendaservice.application.dto.AppointmentSeriesRescheduleRequest;
+import com.riavet.agendaservice.application.dto.AppointmentSeriesResponse;
+import com.riavet.agendaservice.application.mapper.AppointmentSeriesMapper;
+import com.riavet.agendaservice.application.series.SeriesOccurrence;
+import com.riavet.agendaservice.application.series.SeriesOccurrenceExpander;
+import com.riavet.agendaservice.domain.event.AppointmentChangedEvent;
+import com.riavet.agendaservice.domain.model.Appointment;
+import com.riavet.agendaservice.domain.model.Appointment.AppointmentStatus;
+import com.riavet.agendaservice.domain.model.AppointmentSeries;
+import com.riavet.agendaservice.domain.model.AppointmentSeries.SeriesStatus;
+import com.riavet.agendaservice.domain.model.Veterinarian;
+import com.riavet.agendaservice.domain.repository.AppointmentRepository;
+import com.riavet.agendaservice.domain.repository.AppointmentSeriesRepository;
+import com.riavet.agendaservice.domain.repository.VeterinarianRepository;
+import com.riavet.agendaservice.infrastructure.exception.AppointmentConflictException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Series de citas recurrentes.
+ *
+ * Solo se escriben como filas las ocurrencias que caen dentro del horizonte
+ * ({@code agenda.series.horizon-days}); el resto son virtuales y se calculan a partir de la regla.
+ * {@link #materializeDueOccurrences()} avanza el horizonte periódicamente. Todas las operaciones
+ * que ocupan horario toman el mismo lock de veterinario que la reserva individual.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class AppointmentSeriesServiceImpl implements AppointmentSeriesService {
+
+    private static final Set<AppointmentStatus> MOVABLE_STATUSES =
+            EnumSet.of(AppointmentStatus.PENDING, AppointmentStatus.CONFIRMED);
+
+    private final AppointmentSeriesRepository seriesRepository;
+    private final AppointmentRepository appointmentRepository;
+    private final VeterinarianRepository veterinarianRepository;
+    private final VeterinarianCache veterinarianCache;
+    private final AppointmentSeriesMapper seriesMapper;
+    private final SeriesOccurrenceExpander occurrenceExpander;
+    private final VeterinarianBookingLocks bookingLocks;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${agenda.series.horizon-days:28}")
+    private int horizonDays;
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public AppointmentSeriesResponse createSeries(AppointmentSeriesRequest request) {
+        log.info("Creating {} appointment series for patient: {} with veterinarian: {}",
+                request.getFrequency(), request.getPatientId(), request.getVeterinarianId());
+
+        try {
+            return bookingLocks.withLock(request.getVeterinarianId(),
+                    () -> transactionTemplate.execute(status -> insertSeries(request)));
+        } catch (DataAccessException | TransactionException e) {
+            throw overlapConflict(request.getVeterinarianId(), e);
+        }
+    }
+
+    private AppointmentSeriesResponse insertSeries(AppointmentSeriesRequest request) {
+        Veterinarian veterinarian = veterinarianCache.findById(request.getVeterinarianId())
+                .orElseThrow(() -> new RuntimeException("Veterinarian not found with ID: " + request.getVeterinarianId()));
+
+        if (!veterinarian.getActive()) {
+            throw new RuntimeException("Cannot create appointment series with inactive veterinarian: " + request.getVeterinarianId());
+        }
+
+        if (veterinarianRepository.lockById(veterinarian.getId()).isEmpty()) {
+            veterinarianCache.evict(veterinarian.getId());
+            throw new RuntimeException("Veterinarian not found with ID: " + request.getVeterinarianId());
+        }
+
+        AppointmentSeries series = AppointmentSeries.builder()
+                .patientId(request.getPatientId())
+                .veterinarian(veterinarian)
+                .frequency(request.getFrequency())
+                .interval(request.getInterval() != null ? request.getInterval() : 1)
+                .startsAt(request.getStartsAt())
+                .durationMinutes(request.getDurationMinutes() != null
+                        ? request.getDurationMinutes()
+                        : Appointment.DEFAULT_DURATION_MINUTES)
+                .status(SeriesStatus.ACTIVE)
+                .build();
+        series.setOccurrenceCount(resolveOccurrenceCount(series, request));
+        series.setLastOccurrenceAt(series.occurrenceStart(series.getLastIndex()));
+
+        // Se comprueba la serie completa una sola vez: una consulta de citas y otra de series
+        VeterinarianOccupancy occupancy = loadOccupancy(series, 0, Set.of());
+        for (int index = 0; index <= series.getLastIndex(); index++) {
+            SeriesOccurrence occurrence = SeriesOccurrence.of(series, index);
+            if (occupancy.overlaps(occurrence.getScheduledAt(), occurrence.getEndsAt())) {
+                throw new AppointmentConflictException("Veterinarian " + veterinarian.getId()
+                        + " already has an appointment overlapping occurrence " + index
+                        + " at " + occurrence.getScheduledAt());
+            }
+        }
+
+        AppointmentSeries savedSeries = seriesRepository.save(series);
+        int materialized = materialize(savedSeries, LocalDateTime.now().plusDays(horizonDays), null);
+
+        log.info("Appointment series created successfully with ID: {} ({} occurrences, {} materialized)",
+                savedSeries.getId(), savedSeries.getOccurrenceCount(), materialized);
+        return seriesMapper.toResponse(savedSeries);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<AppointmentSeriesResponse> getSeriesById(UUID id) {
+        log.info("Retrieving appointment series with ID: {}", id);
+        return seriesRepository.findByIdWithVeterinarian(id)
+                .map(seriesMapper::toResponse);
+    }
+
+    @Override
+    public AppointmentSeriesResponse cancelSeries(UUID seriesId, String reason) {
+        log.info("Canceling appointment series with ID: {}. Reason: {}", seriesId, reason);
+
+        AppointmentSeries series = seriesRepository.findByIdWithVeterinarian(seriesId)
+                .orElseThrow(() -> new RuntimeException("Appointment series not found with ID: " + seriesId));
+
+        if (series.getStatus() == SeriesStatus.CANCELED) {
+            throw new RuntimeException("Appointment series is already canceled");
+        }
+
+        // Las ocurrencias virtuales desaparecen con la serie; solo hay que cancelar las materializadas futuras
+        series.setStatus(SeriesStatus.CANCELED);
+        LocalDateTime now = LocalDateTime.now();
+        List<Appointment> canceled = new ArrayList<>();
+        List<AppointmentChangedEvent> events = new ArrayList<>();
+        for (Appointment appointment : appointmentRepository.findSeriesOccurrencesFrom(seriesId, 0, MOVABLE_STATUSES)) {
+            if (appointment.getScheduledAt().isBefore(now)) {
+                continue;
+            }
+            AppointmentStatus previousStatus = appointment.getStatus();
+            appointment.setStatus(AppointmentStatus.CANCELED);
+            canceled.add(appointment);
+            events.add(AppointmentChangedEvent.of(appointment, previousStatus));
+        }
+        publishFlushed(canceled, events);
+
+        log.info("Appointment series canceled successfully with ID: {} ({} materialized occurrences canceled)",
+                seriesId, canceled.size());
+        return seriesMapper.toResponse(seriesRepository.save(series));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public AppointmentSeriesResponse rescheduleSeries(UUID seriesId, AppointmentSeriesRescheduleRequest request) {
+        log.info("Rescheduling appointment series with ID: {} to start at {}", seriesId, request.getStartsAt());
+
+        AppointmentSeries current = seriesRepository.findByIdWithVeterinarian(seriesId)
+                .orElseThrow(() -> new RuntimeException("Appointment series not found with ID: " + seriesId));
+
+        // En PostgreSQL la restricción de exclusión es diferida: se comprueba al hacer commit sobre las
+        // ocurrencias ya movidas, sin depender del orden en que el flush emite los UPDATE
+        try {
+            return bookingLocks.withLock(current.getVeterinarian().getId(),
+                    () -> transactionTemplate.execute(status -> moveSeries(seriesId, request)));
+        } catch (DataAccessException | TransactionException e) {
+            throw overlapConflict(current.getVeterinarian().getId(), e);
+        }
+    }
+
+    private AppointmentSeriesResponse moveSeries(UUID seriesId, AppointmentSeriesRescheduleRequest request) {
+        AppointmentSeries series = seriesRepository.findByIdWithVeterinarian(seriesId)
+                .orElseThrow(() -> new RuntimeException("Appointment series not found with ID: " + seriesId));
+
+        if (series.getStatus() == SeriesStatus.CANCELED) {
+            throw new RuntimeException("Cannot reschedule a canceled appointment series");
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        if (request.getStartsAt().isBefore(now)) {
+            throw new IllegalArgumentException("'startsAt' must be in the future");
+        }
+
+        int firstPending = series.firstIndexStartingAtOrAfter(now);
+        if (firstPending > series.getLastIndex()) {
+            throw new RuntimeException("Appointment series has no pending occurrences");
+        }
+
+        veterinarianRepository.lockById(series.getVeterinarian().getId());
+
+        // Se re-ancla la regla: la primera ocurrencia pendiente pasa a startsAt y las siguientes
+        // conservan la frecuencia. Las ocurrencias pasadas no cambian.
+        series.setAnchorIndex(firstPending);
+        series.setStartsAt(request.getStartsAt());
+        if (request.getDurationMinutes() != null) {
+            series.setDurationMinutes(request.getDurationMinutes());
+        }
+        series.setLastOccurrenceAt(series.occurrenceStart(series.getLastIndex()));
+
+        Map<Integer, Appointment> moved = appointmentRepository
+                .findSeriesOccurrencesFrom(seriesId, firstPending, MOVABLE_STATUSES).stream()
+                .collect(Collectors.toMap(Appointment::getOccurrenceIndex, Function.identity()));
+
+        VeterinarianOccupancy occupancy = loadOccupancy(series, firstPending,
+                moved.values().stream().map(Appointment::getId).collect(Collectors.toSet()));
+        for (int index = firstPending; index <= series.getLastIndex(); index++) {
+            // Las ocurrencias materializadas que ya se cancelaron o completaron no se mueven
+            if (index <= series.getMaterializedThroughIndex() && !moved.containsKey(index)) {
+                continue;
+            }
+            SeriesOccurrence occurrence = SeriesOccurrence.of(series, index);
+            if (occupancy.overlaps(occurrence.getScheduledAt(), occurrence.getEndsAt())) {
+                throw new AppointmentConflictException("Veterinarian " + series.getVeterinarian().getId()
+                        + " already has an appointment overlapping occurrence " + index
+                        + " at " + occurrence.getScheduledAt());
+            }
+        }
+
+        List<Appointment> rescheduled = new ArrayList<>(moved.values());
+        List<AppointmentChangedEvent> events = new ArrayList<>();
+        for (Appointment appointment : rescheduled) {
+            LocalDateTime previousScheduledAt = appointment.getScheduledAt();
+            LocalDateTime previousEndsAt = appointment.getEndsAt();
+            appointment.setScheduledAt(series.occurrenceStart(appointment.getOccurrenceIndex()));
+            appointment.setDurationMinutes(series.getDurationMinutes());
+            events.add(AppointmentChangedEvent.rescheduled(appointment, previousScheduledAt, previousEndsAt));
+        }
+        publishFlushed(rescheduled, events);
+        materialize(series, now.plusDays(horizonDays), null);
+
+        log.info("Appointment series rescheduled successfully with ID: {} ({} materialized occurrences moved)",
+                seriesId, moved.size());
+        return seriesMapper.toResponse(seriesRepository.save(series));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int materializeDueOccurrences() {
+        LocalDateTime horizon = LocalDateTime.now().plusDays(horizonDays);
+        List<AppointmentSeries> due = seriesRepository.findWithVirtualOccurrencesFrom(SeriesStatus.ACTIVE, LocalDateTime.now())
+                .stream()
+                .filter(series -> series.occurrenceStart(series.getMaterializedThroughIndex() + 1).isBefore(horizon))
+                .collect(Collectors.toList());
+
+        int total = 0;
+        for (AppointmentSeries series : due) {
+            try {
+                total += materializeSeries(series, horizon);
+            } catch (DataAccessException | TransactionException e) {
+                if (!AppointmentServiceImpl.isOverlapViolation(e)) {
+                    throw e;
+                }
+                // Otro nodo ocupó el horario sin pasar por el lock; la siguiente ronda lo vuelve a intentar
+                log.warn("Could not materialize series {}: an occurrence overlaps another appointment", series.getId());
+            }
+        }
+        if (total > 0) {
+            log.info("Materialized {} series occurrences up to {}", total, horizon);
+        }
+        return total;
+    }
+
+    private int materializeSeries(AppointmentSeries series, LocalDateTime horizon) {
+        return bookingLocks.withLock(series.getVeterinarian().getId(), () -> transactionTemplate.execute(status -> {
+            AppointmentSeries locked = seriesRepository.findByIdWithVeterinarian(series.getId()).orElse(null);
+            if (locked == null || locked.getStatus() != SeriesStatus.ACTIVE) {
+                return 0;
+            }
+            veterinarianRepository.lockById(locked.getVeterinarian().getId());
+            LocalDateTime windowStart = locked.occurrenceStart(locked.getMaterializedThroughIndex() + 1);
+            VeterinarianOccupancy occupancy = VeterinarianOccupancy.of(appointmentRepository
+                    .findVeterinarianSlotsStartingBetween(locked.getVeterinarian().getId(),
+                            AppointmentIntervalIndex.BLOCKING_STATUSES,
+                            windowStart.minusMinutes(Appointment.MAX_DURATION_MINUTES + 1L),
+                            horizon.plusMinutes(locked.getDurationMinutes())));
+            int created = materialize(locked, horizon, occupancy);
+            seriesRepository.save(locked);
+            return created;
+        }));
+    }
+
+    // Flush antes de publicar: cada evento lleva la versión con la que queda su cita, que es la que
+    // ordena los mensajes del outbox
+    private void publishFlushed(List<Appointment> appointments, List<AppointmentChangedEvent> events) {
+        appointmentRepository.flush();
+        for (int i = 0; i < events.size(); i++) {
+            AppointmentChangedEvent event = events.get(i);
+            event.setVersion(appointments.get(i).getVersion());
+            eventPublisher.publishEvent(event);
+        }
+    }
+
+    private static RuntimeException overlapConflict(UUID veterinarianId, RuntimeException e) {
+        if (!AppointmentServiceImpl.isOverlapViolation(e)) {
+            return e;
+        }
+        return new AppointmentConflictException("Veterinarian " + veterinarianId
+                + " already has an appointment overlapping an occurrence of the series", e);
+    }
+
+    /**
+     * Escribe como citas las ocurrencias virtuales que empiezan antes de {@code horizon}.
+     * Si se pasa {@code occupancy}, las ocurrencias que chocan con otra cita se omiten.
+     */
+    private int materialize(AppointmentSeries series, LocalDateTime horizon, VeterinarianOccupancy occupancy) {
+        List<Appointment> appointments = new ArrayList<>();
+        int index = Math.max(series.getAnchorIndex(), series.getMaterializedThroughIndex() + 1);
+        for (; index <= series.getLastIndex(); index++) {
+            SeriesOccurrence occurrence = SeriesOccurrence.of(series, index);
+            if (!occurrence.getScheduledAt().isBefore(horizon)) {
+                break;
+            }
+            if (occupancy != null && occupancy.overlaps(occurrence.getScheduledAt(), occurrence.getEndsAt())) {
+                log.warn("Skipping occurrence {} of series {} at {}: veterinarian slot already taken",
+                        index, series.getId(), occurrence.getScheduledAt());
+                continue;
+            }
+            appointments.add(Appointment.builder()
+                    .patientId(series.getPatientId())
+                    .veterinarian(series.getVeterinarian())
+                    .scheduledAt(occurrence.getScheduledAt())
+                    .durationMinutes(series.getDurationMinutes())
+                    .status(AppointmentStatus.PENDING)
+                    .seriesId(series.getId())
+                    .occurrenceIndex(index)
+                    .build());
+        }
+        series.setMaterializedThroughIndex(Math.max(series.getMaterializedThroughIndex(), index - 1));
+
+        for (Appointment appointment : appointmentRepository.saveAll(appointments)) {
+            eventPublisher.publishEvent(AppointmentChangedEvent.of(appointment, null));
+        }
+        return appointments.size();
+    }
+
+    /**
+     * Ocupación del veterinario en el rango de la serie a partir de {@code fromIndex}: citas en base
+     * de datos (salvo {@code ignoredAppointments}) y ocurrencias virtuales de sus otras series.
+     */
+    private VeterinarianOccupancy loadOccupancy(AppointmentSeries series, int fromIndex, Set<UUID> ignoredAppointments) {
+        UUID veterinarianId = series.getVeterinarian().getId();
+        LocalDateTime from = series.occurrenceStart(fromIndex);
+        LocalDateTime to = series.getLastOccurrenceAt().plusMinutes(series.getDurationMinutes());
+
+        VeterinarianOccupancy occupancy = VeterinarianOccupancy.of(appointmentRepository
+                .findVeterinarianSlotsStartingBetween(veterinarianId, AppointmentIntervalIndex.BLOCKING_STATUSES,
+                        from.minusMinutes(Appointment.MAX_DURATION_MINUTES + 1L), to)
+                .stream()
+                .filter(slot -> !ignoredAppointments.contains(slot.getId()))
+                .collect(Collectors.toList()));
+        for (SeriesOccurrence other : occurrenceExpander.findVirtualOccurrences(veterinarianId, from, to)) {
+            if (!other.getSeries().getId().equals(series.getId())) {
+                occupancy.add(other.getScheduledAt(), other.getEndsAt());
+            }
+        }
+        return occupancy;
+    }
+
+    private int resolveOccurrenceCount(AppointmentSeries series, AppointmentSeriesRequest request) {
+        if (request.getOccurrences() == null && request.getUntil() == null) {
+            throw new IllegalArgumentException("Either 'occurrences' or 'until' is required");
+        }
+        long count = request.getOccurrences() != null ? request.getOccurrences() : Long.MAX_VALUE;
+        if (request.getUntil() != null) {
+            if (request.getUntil().isBefore(series.getStartsAt())) {
+                throw new IllegalArgumentException("'until' must not be before 'startsAt'");
+            }
+            Duration span = Duration.between(series.getStartsAt(), request.getUntil());
+            count = Math.min(count, span.toSeconds() / series.getPeriod().toSeconds() + 1);
+        }
+        if (count > AppointmentSeries.MAX_OCCURRENCES) {
+            throw new IllegalArgumentException("A series cannot have more than "
+                    + AppointmentSeries.MAX_OCCURRENCES + " occurrences");
+        }
+        return (int) count;
+    }
+}
@@ -1,11 +1,14 @@
 package com.riavet.agendaservice.application.service;
 
+import com.riavet.agendaservice.application.dto.AppointmentFilter;
+import com.riavet.agendaservice.application.dto.AppointmentPageResponse;
 import com.riavet.agendaservice.application.dto.AppointmentRequest;
 import com.riavet.agendaservice.application.dto.AppointmentResponse;
 import com.riavet.agendaservice.application.dto.AppointmentUpdateRequest;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 public interface AppointmentService {
@@ -16,9 +19,25 @@ public interface AppointmentService {
 
     List<AppointmentResponse> getAppointmentsByVeterinarian(UUID veterinarianId);
 
+    AppointmentPageResponse getAppointments(AppointmentFilter filter);
+
     Optional<AppointmentResponse> getAppointmentById(UUID id);
 
+    /**
+     * Versión actual de la cita, sin cargarla entera. Sirve para responder a peticiones condicionales.
+     */
+    Optional<Long> getAppointmentVersion(UUID id);
+
     AppointmentResponse updateAppointmentStatus(UUID appointmentId, AppointmentUpdateRequest request);
 
+    /**
+     * Igual que {@link #updateAppointmentStatus(UUID, AppointmentUpdateRequest)}, pero solo si la cita
+     * sigue en alguna de las {@code expectedVersions}. Con {@code null} no se comprueba la versión.
+     */
+    AppointmentResponse updateAppointmentStatus(UUID appointmentId, AppointmentUpdateRequest request,
+                                                Set<Long> expectedVersions);
+
     AppointmentResponse cancelAppointment(UUID appointmentId, String reason);
+
+    AppointmentResponse cancelAppointment(UUID appointmentId, String reason, Set<Long> expectedVersions);
 }
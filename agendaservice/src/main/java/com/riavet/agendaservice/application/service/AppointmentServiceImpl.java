@@ -1,22 +1,50 @@
 package com.riavet.agendaservice.application.service;
 
+import com.riavet.agendaservice.application.availability.AppointmentIntervalIndex;
+import com.riavet.agendaservice.application.availability.VeterinarianBookingLocks;
+import com.riavet.agendaservice.application.availability.VeterinarianOccupancy;
+import com.riavet.agendaservice.application.cache.VeterinarianCache;
+import com.riavet.agendaservice.application.dto.AppointmentCursor;
+import com.riavet.agendaservice.application.dto.AppointmentFilter;
+import com.riavet.agendaservice.application.dto.AppointmentPageResponse;
 import com.riavet.agendaservice.application.dto.AppointmentRequest;
 import com.riavet.agendaservice.application.dto.AppointmentResponse;
 import com.riavet.agendaservice.application.dto.AppointmentUpdateRequest;
 import com.riavet.agendaservice.application.mapper.AppointmentMapper;
+import com.riavet.agendaservice.application.series.SeriesOccurrence;
+import com.riavet.agendaservice.application.series.SeriesOccurrenceExpander;
+import com.riavet.agendaservice.domain.event.AppointmentChangedEvent;
 import com.riavet.agendaservice.domain.model.Appointment;
 import com.riavet.agendaservice.domain.model.Appointment.AppointmentStatus;
 import com.riavet.agendaservice.domain.model.Veterinarian;
 import com.riavet.agendaservice.domain.repository.AppointmentRepository;
+import com.riavet.agendaservice.domain.repository.AppointmentSlotView;
 import com.riavet.agendaservice.domain.repository.VeterinarianRepository;
+import com.riavet.agendaservice.infrastructure.exception.AppointmentConflictException;
+import com.riavet.agendaservice.infrastructure.exception.AppointmentVersionMismatchException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static com.riavet.agendaservice.domain.repository.AppointmentSpecifications.*;
 
 @Service
 @RequiredArgsConstructor
@@ -24,35 +52,113 @@ import java.util.UUID;
 @Transactional
 public class AppointmentServiceImpl implements AppointmentService {
 
+    static final int DEFAULT_PAGE_SIZE = 50;
+    static final int MAX_PAGE_SIZE = 200;
+
+    private static final Sort KEYSET_SORT = Sort.by(Sort.Direction.ASC, "scheduledAt")
+            .and(Sort.by(Sort.Direction.ASC, "id"));
+
     private final AppointmentRepository appointmentRepository;
     private final VeterinarianRepository veterinarianRepository;
+    private final VeterinarianCache veterinarianCache;
     private final AppointmentMapper appointmentMapper;
+    private final AppointmentIntervalIndex appointmentIntervalIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final VeterinarianBookingLocks bookingLocks;
+    private final TransactionTemplate transactionTemplate;
+    private final SeriesOccurrenceExpander occurrenceExpander;
 
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public AppointmentResponse createAppointment(AppointmentRequest request) {
         log.info("Creating appointment for patient: {} with veterinarian: {}", 
                 request.getPatientId(), request.getVeterinarianId());
 
+        // El lock del veterinario cubre la verificación y el commit: cuando el siguiente hilo
+        // del mismo veterinario entra, el índice ya refleja la cita recién creada
+        try {
+            return bookingLocks.withLock(request.getVeterinarianId(),
+                    () -> transactionTemplate.execute(status -> bookAppointment(request)));
+        } catch (DataAccessException | TransactionException e) {
+            // En PostgreSQL la restricción de exclusión es diferida y rechaza al hacer commit el solape
+            // que otro nodo haya escrito sin pasar por el lock de la fila del veterinario
+            if (!isOverlapViolation(e)) {
+                throw e;
+            }
+            throw new AppointmentConflictException("Veterinarian " + request.getVeterinarianId()
+                    + " already has an appointment overlapping " + request.getScheduledAt(), e);
+        }
+    }
+
+    private AppointmentResponse bookAppointment(AppointmentRequest request) {
         // Verificar que el veterinario existe y está activo
-        Veterinarian veterinarian = veterinarianRepository.findById(request.getVeterinarianId())
+        Veterinarian veterinarian = veterinarianCache.findById(request.getVeterinarianId())
                 .orElseThrow(() -> new RuntimeException("Veterinarian not found with ID: " + request.getVeterinarianId()));
 
         if (!veterinarian.getActive()) {
             throw new RuntimeException("Cannot create appointment with inactive veterinarian: " + request.getVeterinarianId());
         }
 
+        // Bloquear la fila del veterinario frente a reservas concurrentes de otros nodos
+        if (veterinarianRepository.lockById(veterinarian.getId()).isEmpty()) {
+            veterinarianCache.evict(veterinarian.getId());
+            throw new RuntimeException("Veterinarian not found with ID: " + request.getVeterinarianId());
+        }
+
         Appointment appointment = appointmentMapper.toEntity(request, veterinarian);
-        Appointment savedAppointment = appointmentRepository.save(appointment);
+
+        // Verificar que el horario del veterinario esté libre: primero en memoria y luego en base
+        // de datos, que también ve las citas creadas por otros nodos
+        if (!appointmentIntervalIndex.isFree(veterinarian.getId(), appointment.getScheduledAt(), appointment.getEndsAt())
+                || hasOverlappingAppointment(appointment)) {
+            throw new AppointmentConflictException("Veterinarian " + veterinarian.getId()
+                    + " already has an appointment overlapping " + appointment.getScheduledAt());
+        }
+
+        Appointment savedAppointment = appointmentRepository.saveAndFlush(appointment);
+        eventPublisher.publishEvent(AppointmentChangedEvent.of(savedAppointment, null));
 
         log.info("Appointment created successfully with ID: {}", savedAppointment.getId());
         return appointmentMapper.toResponse(savedAppointment);
     }
 
+    // Al hacer commit la violación no siempre llega como DataIntegrityViolationException: según dónde
+    // falle el commit puede venir envuelta en JpaSystemException o TransactionSystemException
+    static boolean isOverlapViolation(RuntimeException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            String detail = cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null
+                    ? violation.getConstraintName()
+                    : cause.getMessage();
+            if (detail != null && detail.toLowerCase(Locale.ROOT).contains(Appointment.OVERLAP_CONSTRAINT)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean hasOverlappingAppointment(Appointment appointment) {
+        LocalDateTime start = appointment.getScheduledAt();
+        LocalDateTime end = appointment.getEndsAt();
+        // Ninguna cita dura más que MAX_DURATION_MINUTES, así que basta mirar las que empiezan en esa ventana
+        List<AppointmentSlotView> slots = appointmentRepository.findVeterinarianSlotsStartingBetween(
+                appointment.getVeterinarian().getId(),
+                AppointmentIntervalIndex.BLOCKING_STATUSES,
+                start.minusMinutes(Appointment.MAX_DURATION_MINUTES + 1L),
+                end);
+        VeterinarianOccupancy occupancy = VeterinarianOccupancy.of(slots);
+        // Las ocurrencias virtuales de las series también ocupan el horario
+        for (SeriesOccurrence occurrence : occurrenceExpander.findVirtualOccurrences(
+                appointment.getVeterinarian().getId(), start, end)) {
+            occupancy.add(occurrence.getScheduledAt(), occurrence.getEndsAt());
+        }
+        return occupancy.overlaps(start, end);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<AppointmentResponse> getAllAppointments() {
         log.info("Retrieving all appointments");
-        List<Appointment> appointments = appointmentRepository.findAll();
+        List<Appointment> appointments = appointmentRepository.findAllWithVeterinarian();
         return appointmentMapper.toResponseList(appointments);
     }
 
@@ -64,28 +170,107 @@ public class AppointmentServiceImpl implements AppointmentService {
         return appointmentMapper.toResponseList(appointments);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public AppointmentPageResponse getAppointments(AppointmentFilter filter) {
+        log.info("Retrieving appointments page with filter: {}", filter);
+
+        int size = resolvePageSize(filter.getSize());
+        if (filter.getFrom() != null && filter.getTo() != null && !filter.getFrom().isBefore(filter.getTo())) {
+            throw new IllegalArgumentException("'from' must be before 'to'");
+        }
+        if (filter.getPatientId() != null) {
+            return getPatientHistory(filter, size);
+        }
+
+        Specification<Appointment> specification = Specification
+                .where(hasVeterinarian(filter.getVeterinarianId()))
+                .and(hasStatus(filter.getStatus()))
+                .and(scheduledFrom(filter.getFrom()))
+                .and(scheduledBefore(filter.getTo()));
+
+        AppointmentCursor cursor = null;
+        if (filter.getCursor() != null && !filter.getCursor().isBlank()) {
+            cursor = AppointmentCursor.decode(filter.getCursor());
+            specification = specification.and(after(cursor.getScheduledAt(), cursor.getId()));
+        }
+
+        // Se pide una fila extra para saber si existe una página siguiente sin hacer COUNT.
+        // El veterinario se carga en la misma consulta para no disparar un SELECT por fila.
+        List<Appointment> rows = appointmentRepository.findBy(specification,
+                query -> query.sortBy(KEYSET_SORT).limit(size + 1).project("veterinarian").all());
+        List<AppointmentResponse> items = appointmentMapper.toResponseList(rows);
+
+        // Las ocurrencias virtuales son PENDING; se mezclan por keyset con las filas materializadas
+        if (filter.isIncludeVirtual()
+                && (filter.getStatus() == null || filter.getStatus() == AppointmentStatus.PENDING)) {
+            List<SeriesOccurrence> virtual = occurrenceExpander.findVirtualPage(
+                    filter.getVeterinarianId(), filter.getFrom(), filter.getTo(), cursor, size + 1);
+            items = merge(items, virtual, size + 1);
+        }
+
+        return toPage(items, size);
+    }
+
+    private AppointmentPageResponse getPatientHistory(AppointmentFilter filter, int size) {
+        if (filter.isIncludeVirtual()) {
+            throw new IllegalArgumentException("'includeVirtual' is not supported together with 'patientId'");
+        }
+        AppointmentCursor cursor = null;
+        if (filter.getCursor() != null && !filter.getCursor().isBlank()) {
+            cursor = AppointmentCursor.decode(filter.getCursor());
+        }
+
+        // Misma técnica que el listado general: una fila extra indica si hay página siguiente
+        List<AppointmentResponse> items = appointmentRepository.findPatientHistory(
+                        filter.getPatientId(), filter.getVeterinarianId(), filter.getStatus(),
+                        filter.getFrom(), filter.getTo(),
+                        cursor != null ? cursor.getScheduledAt() : null, cursor != null ? cursor.getId() : null,
+                        size + 1).stream()
+                .map(row -> appointmentMapper.toResponse(row, filter.isIncludeVeterinarian()))
+                .collect(Collectors.toList());
+
+        return toPage(items, size);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Optional<AppointmentResponse> getAppointmentById(UUID id) {
         log.info("Retrieving appointment with ID: {}", id);
-        return appointmentRepository.findById(id)
+        return appointmentRepository.findByIdWithVeterinarian(id)
                 .map(appointmentMapper::toResponse);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Long> getAppointmentVersion(UUID id) {
+        return appointmentRepository.findVersionById(id);
+    }
+
     @Override
     public AppointmentResponse updateAppointmentStatus(UUID appointmentId, AppointmentUpdateRequest request) {
+        return updateAppointmentStatus(appointmentId, request, null);
+    }
+
+    @Override
+    public AppointmentResponse updateAppointmentStatus(UUID appointmentId, AppointmentUpdateRequest request,
+                                                       Set<Long> expectedVersions) {
         log.info("Updating appointment status for ID: {} to status: {}", appointmentId, request.getStatus());
 
-        Appointment appointment = appointmentRepository.findById(appointmentId)
+        Appointment appointment = appointmentRepository.findByIdWithVeterinarian(appointmentId)
                 .orElseThrow(() -> new RuntimeException("Appointment not found with ID: " + appointmentId));
+        checkVersion(appointment, expectedVersions);
 
         // Validar transiciones de estado permitidas
         if (!isValidStatusTransition(appointment.getStatus(), request.getStatus())) {
             throw new RuntimeException("Invalid status transition from " + appointment.getStatus() + " to " + request.getStatus());
         }
 
+        AppointmentStatus previousStatus = appointment.getStatus();
         appointment.setStatus(request.getStatus());
-        Appointment updatedAppointment = appointmentRepository.save(appointment);
+        // Flush para que @Version se compruebe aquí y la respuesta lleve la versión nueva
+        Appointment updatedAppointment = appointmentRepository.saveAndFlush(appointment);
+        eventPublisher.publishEvent(AppointmentChangedEvent.of(updatedAppointment, previousStatus));
 
         log.info("Appointment status updated successfully. ID: {}, New status: {}", 
                 appointmentId, request.getStatus());
@@ -95,10 +280,16 @@ public class AppointmentServiceImpl implements AppointmentService {
 
     @Override
     public AppointmentResponse cancelAppointment(UUID appointmentId, String reason) {
+        return cancelAppointment(appointmentId, reason, null);
+    }
+
+    @Override
+    public AppointmentResponse cancelAppointment(UUID appointmentId, String reason, Set<Long> expectedVersions) {
         log.info("Canceling appointment with ID: {}. Reason: {}", appointmentId, reason);
 
-        Appointment appointment = appointmentRepository.findById(appointmentId)
+        Appointment appointment = appointmentRepository.findByIdWithVeterinarian(appointmentId)
                 .orElseThrow(() -> new RuntimeException("Appointment not found with ID: " + appointmentId));
+        checkVersion(appointment, expectedVersions);
 
         if (appointment.getStatus() == AppointmentStatus.CANCELED) {
             throw new RuntimeException("Appointment is already canceled");
@@ -108,13 +299,67 @@ public class AppointmentServiceImpl implements AppointmentService {
             throw new RuntimeException("Cannot cancel a completed appointment");
         }
 
+        AppointmentStatus previousStatus = appointment.getStatus();
         appointment.setStatus(AppointmentStatus.CANCELED);
-        Appointment canceledAppointment = appointmentRepository.save(appointment);
+        Appointment canceledAppointment = appointmentRepository.saveAndFlush(appointment);
+        eventPublisher.publishEvent(AppointmentChangedEvent.of(canceledAppointment, previousStatus));
 
         log.info("Appointment canceled successfully with ID: {}", appointmentId);
         return appointmentMapper.toResponse(canceledAppointment);
     }
 
+    private static void checkVersion(Appointment appointment, Set<Long> expectedVersions) {
+        if (expectedVersions != null && !expectedVersions.contains(appointment.getVersion())) {
+            throw new AppointmentVersionMismatchException(appointment.getId(), appointment.getVersion());
+        }
+    }
+
+    private List<AppointmentResponse> merge(List<AppointmentResponse> materialized, List<SeriesOccurrence> virtual,
+                                            int limit) {
+        List<AppointmentResponse> merged = new ArrayList<>(Math.min(limit, materialized.size() + virtual.size()));
+        int m = 0;
+        int v = 0;
+        while (merged.size() < limit && (m < materialized.size() || v < virtual.size())) {
+            boolean takeVirtual = m == materialized.size()
+                    || (v < virtual.size() && AppointmentCursor.compare(
+                            virtual.get(v).getScheduledAt(), virtual.get(v).getId(),
+                            materialized.get(m).getScheduledAt(), materialized.get(m).getId()) < 0);
+            merged.add(takeVirtual ? appointmentMapper.toResponse(virtual.get(v++)) : materialized.get(m++));
+        }
+        return merged;
+    }
+
+    /**
+     * Recorta la fila extra pedida de más y arma el cursor de la página siguiente a partir de la última fila.
+     */
+    private static AppointmentPageResponse toPage(List<AppointmentResponse> items, int size) {
+        boolean hasMore = items.size() > size;
+        List<AppointmentResponse> page = hasMore ? items.subList(0, size) : items;
+
+        String nextCursor = null;
+        if (hasMore) {
+            AppointmentResponse last = page.get(page.size() - 1);
+            nextCursor = new AppointmentCursor(last.getScheduledAt(), last.getId()).encode();
+        }
+
+        return AppointmentPageResponse.builder()
+                .items(page)
+                .size(page.size())
+                .hasMore(hasMore)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    private int resolvePageSize(Integer requestedSize) {
+        if (requestedSize == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        if (requestedSize < 1) {
+            throw new IllegalArgumentException("Page size must be greater than zero");
+        }
+        return Math.min(requestedSize, MAX_PAGE_SIZE);
+    }
+
     private boolean isValidStatusTransition(AppointmentStatus currentStatus, AppointmentStatus newStatus) {
         // Definir las transiciones válidas
         switch (currentStatus) {
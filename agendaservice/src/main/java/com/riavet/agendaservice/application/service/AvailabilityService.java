@@ -0,0 +1,13 @@
+package com.riavet.agendaservice.application.service;
+
+import com.riavet.agendaservice.application.dto.AvailabilityResponse;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface AvailabilityService {
+
+    Optional<AvailabilityResponse> getAvailability(UUID veterinarianId, LocalDateTime from,
+                                                   LocalDateTime to, int durationMinutes);
+}
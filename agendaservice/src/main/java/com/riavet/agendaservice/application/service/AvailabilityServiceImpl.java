@@ -0,0 +1,108 @@
+package com.riavet.agendaservice.application.service;
+
+import com.riavet.agendaservice.application.availability.AppointmentIntervalIndex;
+import com.riavet.agendaservice.application.availability.AppointmentIntervalIndex.TimeInterval;
+import com.riavet.agendaservice.application.cache.VeterinarianCache;
+import com.riavet.agendaservice.application.dto.AvailabilityResponse;
+import com.riavet.agendaservice.application.dto.TimeSlotResponse;
+import com.riavet.agendaservice.application.series.SeriesOccurrence;
+import com.riavet.agendaservice.application.series.SeriesOccurrenceExpander;
+import com.riavet.agendaservice.domain.model.Appointment;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class AvailabilityServiceImpl implements AvailabilityService {
+
+    static final Duration MAX_RANGE = Duration.ofDays(31);
+
+    private final AppointmentIntervalIndex appointmentIntervalIndex;
+    private final VeterinarianCache veterinarianCache;
+    private final SeriesOccurrenceExpander occurrenceExpander;
+
+    @Override
+    public Optional<AvailabilityResponse> getAvailability(UUID veterinarianId, LocalDateTime from,
+                                                          LocalDateTime to, int durationMinutes) {
+        log.info("Retrieving availability for veterinarian: {} between {} and {} ({} min)",
+                veterinarianId, from, to, durationMinutes);
+
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("'from' must be before 'to'");
+        }
+        if (Duration.between(from, to).compareTo(MAX_RANGE) > 0) {
+            throw new IllegalArgumentException("Availability range cannot exceed " + MAX_RANGE.toDays() + " days");
+        }
+        if (durationMinutes < Appointment.MIN_DURATION_MINUTES || durationMinutes > Appointment.MAX_DURATION_MINUTES) {
+            throw new IllegalArgumentException("Duration must be between " + Appointment.MIN_DURATION_MINUTES
+                    + " and " + Appointment.MAX_DURATION_MINUTES + " minutes");
+        }
+
+        if (veterinarianCache.findById(veterinarianId).isEmpty()) {
+            return Optional.empty();
+        }
+
+        List<TimeInterval> freeIntervals = subtract(appointmentIntervalIndex.findFreeIntervals(veterinarianId, from, to),
+                occurrenceExpander.findVirtualOccurrences(veterinarianId, from, to));
+
+        List<TimeSlotResponse> slots = new ArrayList<>();
+        for (TimeInterval free : freeIntervals) {
+            LocalDateTime start = free.getStart();
+            LocalDateTime end = start.plusMinutes(durationMinutes);
+            while (!end.isAfter(free.getEnd())) {
+                slots.add(new TimeSlotResponse(start, end));
+                start = end;
+                end = start.plusMinutes(durationMinutes);
+            }
+        }
+
+        return Optional.of(AvailabilityResponse.builder()
+                .veterinarianId(veterinarianId)
+                .from(from)
+                .to(to)
+                .durationMinutes(durationMinutes)
+                .slots(slots)
+                .build());
+    }
+
+    /**
+     * Resta a los huecos libres del índice las ocurrencias virtuales de las series del veterinario.
+     */
+    private List<TimeInterval> subtract(List<TimeInterval> free, List<SeriesOccurrence> occurrences) {
+        if (occurrences.isEmpty()) {
+            return free;
+        }
+        List<SeriesOccurrence> busy = new ArrayList<>(occurrences);
+        busy.sort(Comparator.comparing(SeriesOccurrence::getScheduledAt));
+
+        List<TimeInterval> result = new ArrayList<>();
+        for (TimeInterval interval : free) {
+            LocalDateTime start = interval.getStart();
+            for (SeriesOccurrence occurrence : busy) {
+                if (!occurrence.getEndsAt().isAfter(start) || !occurrence.getScheduledAt().isBefore(interval.getEnd())) {
+                    continue;
+                }
+                if (occurrence.getScheduledAt().isAfter(start)) {
+                    result.add(new TimeInterval(start, occurrence.getScheduledAt()));
+                }
+                start = occurrence.getEndsAt();
+            }
+            if (start.isBefore(interval.getEnd())) {
+                result.add(new TimeInterval(start, interval.getEnd()));
+            }
+        }
+        return result;
+    }
+}
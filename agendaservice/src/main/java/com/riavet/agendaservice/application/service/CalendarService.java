@@ -0,0 +1,15 @@
+package com.riavet.agendaservice.application.service;
+
+import com.riavet.agendaservice.application.dto.DayCalendarResponse;
+import com.riavet.agendaservice.application.dto.VeterinarianCalendarResponse;
+
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface CalendarService {
+
+    Optional<VeterinarianCalendarResponse> getVeterinarianWeek(UUID veterinarianId, LocalDate week);
+
+    DayCalendarResponse getDay(LocalDate date);
+}
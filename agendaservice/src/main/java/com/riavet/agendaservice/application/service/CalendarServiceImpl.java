@@ -0,0 +1,161 @@
+package com.riavet.agendaservice.application.service;
+
+import com.riavet.agendaservice.application.calendar.CalendarEntry;
+import com.riavet.agendaservice.application.calendar.CalendarReadModel;
+import com.riavet.agendaservice.application.cache.VeterinarianCache;
+import com.riavet.agendaservice.application.dto.CalendarColumnResponse;
+import com.riavet.agendaservice.application.dto.CalendarDayResponse;
+import com.riavet.agendaservice.application.dto.CalendarEntryResponse;
+import com.riavet.agendaservice.application.dto.DayCalendarResponse;
+import com.riavet.agendaservice.application.dto.VeterinarianCalendarResponse;
+import com.riavet.agendaservice.application.series.SeriesOccurrence;
+import com.riavet.agendaservice.application.series.SeriesOccurrenceExpander;
+import com.riavet.agendaservice.domain.model.Appointment.AppointmentStatus;
+import com.riavet.agendaservice.domain.model.Veterinarian;
+import com.riavet.agendaservice.domain.repository.VeterinarianRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Vistas de calendario servidas desde {@link CalendarReadModel}. Las ocurrencias virtuales de las
+ * series se añaden al vuelo porque no existen como citas.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class CalendarServiceImpl implements CalendarService {
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    private static final Comparator<CalendarEntry> ORDER = Comparator
+            .comparing(CalendarEntry::getStart)
+            .thenComparing(CalendarEntry::getAppointmentId);
+
+    private final CalendarReadModel calendarReadModel;
+    private final SeriesOccurrenceExpander occurrenceExpander;
+    private final VeterinarianCache veterinarianCache;
+    private final VeterinarianRepository veterinarianRepository;
+
+    @Value("${agenda.calendar.slot-minutes:15}")
+    private int slotMinutes;
+
+    @Override
+    public Optional<VeterinarianCalendarResponse> getVeterinarianWeek(UUID veterinarianId, LocalDate week) {
+        log.info("Retrieving calendar of veterinarian: {} for week of {}", veterinarianId, week);
+
+        Optional<Veterinarian> veterinarian = veterinarianCache.findById(veterinarianId);
+        if (veterinarian.isEmpty()) {
+            return Optional.empty();
+        }
+
+        LocalDate weekStart = week.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        List<LocalDate> dates = weekStart.datesUntil(weekStart.plusWeeks(1)).collect(Collectors.toList());
+        Map<LocalDate, List<CalendarEntry>> entries = calendarReadModel.findVeterinarianDays(veterinarianId, dates);
+
+        for (SeriesOccurrence occurrence : occurrenceExpander.findVirtualOccurrences(
+                veterinarianId, weekStart.atStartOfDay(), weekStart.plusWeeks(1).atStartOfDay())) {
+            List<CalendarEntry> day = entries.get(occurrence.getScheduledAt().toLocalDate());
+            if (day != null) {
+                day.add(toEntry(occurrence));
+            }
+        }
+
+        List<CalendarDayResponse> days = new ArrayList<>(dates.size());
+        for (LocalDate date : dates) {
+            days.add(CalendarDayResponse.builder()
+                    .date(date)
+                    .entries(toResponses(entries.get(date)))
+                    .build());
+        }
+
+        return Optional.of(VeterinarianCalendarResponse.builder()
+                .veterinarianId(veterinarianId)
+                .veterinarianName(fullName(veterinarian.get()))
+                .weekStart(weekStart)
+                .slotMinutes(slotMinutes)
+                .days(days)
+                .build());
+    }
+
+    @Override
+    public DayCalendarResponse getDay(LocalDate date) {
+        log.info("Retrieving calendar for {}", date);
+
+        Map<UUID, List<CalendarEntry>> entries = calendarReadModel.findDay(date);
+        for (SeriesOccurrence occurrence : occurrenceExpander.findVirtualPage(
+                null, date.atStartOfDay(), date.plusDays(1).atStartOfDay(), null, Integer.MAX_VALUE)) {
+            entries.computeIfAbsent(occurrence.getSeries().getVeterinarian().getId(), id -> new ArrayList<>())
+                    .add(toEntry(occurrence));
+        }
+
+        // Una columna por veterinario activo, aunque no tenga citas ese día
+        List<CalendarColumnResponse> columns = veterinarianRepository.findAllActive().stream()
+                .sorted(Comparator.comparing(Veterinarian::getLastName).thenComparing(Veterinarian::getFirstName))
+                .map(veterinarian -> CalendarColumnResponse.builder()
+                        .veterinarianId(veterinarian.getId())
+                        .veterinarianName(fullName(veterinarian))
+                        .entries(toResponses(entries.get(veterinarian.getId())))
+                        .build())
+                .collect(Collectors.toList());
+
+        return DayCalendarResponse.builder()
+                .date(date)
+                .slotMinutes(slotMinutes)
+                .veterinarians(columns)
+                .build();
+    }
+
+    private List<CalendarEntryResponse> toResponses(List<CalendarEntry> entries) {
+        if (entries == null) {
+            return List.of();
+        }
+        entries.sort(ORDER);
+        return entries.stream().map(this::toResponse).collect(Collectors.toList());
+    }
+
+    private CalendarEntryResponse toResponse(CalendarEntry entry) {
+        int startMinute = entry.getStart().toLocalTime().toSecondOfDay() / 60;
+        // Las citas que cruzan la medianoche se recortan al final del día
+        int endMinute = entry.getEnd().toLocalDate().isAfter(entry.getStart().toLocalDate())
+                ? MINUTES_PER_DAY
+                : entry.getEnd().toLocalTime().toSecondOfDay() / 60;
+        int startSlot = startMinute / slotMinutes;
+        int endSlot = (endMinute + slotMinutes - 1) / slotMinutes;
+
+        return CalendarEntryResponse.builder()
+                .appointmentId(entry.getAppointmentId())
+                .patientId(entry.getPatientId())
+                .start(entry.getStart().toLocalTime())
+                .end(entry.getEnd().toLocalTime())
+                .startSlot(startSlot)
+                .slotCount(Math.max(1, endSlot - startSlot))
+                .status(entry.getStatus())
+                .virtual(entry.isVirtual())
+                .build();
+    }
+
+    private CalendarEntry toEntry(SeriesOccurrence occurrence) {
+        return new CalendarEntry(occurrence.getId(), occurrence.getSeries().getVeterinarian().getId(),
+                occurrence.getSeries().getPatientId(), occurrence.getScheduledAt(), occurrence.getEndsAt(),
+                AppointmentStatus.PENDING, true);
+    }
+
+    private String fullName(Veterinarian veterinarian) {
+        return veterinarian.getFirstName() + " " + veterinarian.getLastName();
+    }
+}
@@ -1,7 +1,9 @@
 package com.riavet.agendaservice.application.service;
 
+import com.riavet.agendaservice.application.dto.VeterinarianImportResponse;
 import com.riavet.agendaservice.application.dto.VeterinarianRequest;
 import com.riavet.agendaservice.application.dto.VeterinarianResponse;
+import com.riavet.agendaservice.application.dto.VeterinarianSearchResponse;
 
 import java.util.List;
 import java.util.Optional;
@@ -11,10 +13,22 @@ public interface VeterinarianService {
 
     VeterinarianResponse createVeterinarian(VeterinarianRequest request);
 
+    /**
+     * Alta masiva del roster. Cada elemento se valida por separado y recibe su propio resultado;
+     * los válidos se insertan en lotes JDBC dentro de una misma transacción.
+     */
+    VeterinarianImportResponse importVeterinarians(List<VeterinarianRequest> requests);
+
     List<VeterinarianResponse> getAllVeterinarians();
 
     List<VeterinarianResponse> getActiveVeterinarians();
 
+    /**
+     * Búsqueda por prefijo sobre nombre, apellidos y especialidad, paginada y ordenada por apellidos.
+     */
+    VeterinarianSearchResponse searchVeterinarians(String query, String specialization, boolean onlyActive,
+                                                   int page, int size);
+
     Optional<VeterinarianResponse> getVeterinarianById(UUID id);
 
     Optional<VeterinarianResponse> getVeterinarianByEmail(String email);
@@ -1,18 +1,46 @@
 package com.riavet.agendaservice.application.service;
 
+import com.riavet.agendaservice.application.cache.VeterinarianCache;
+import com.riavet.agendaservice.application.dto.VeterinarianImportItemResult;
+import com.riavet.agendaservice.application.dto.VeterinarianImportItemResult.ItemStatus;
+import com.riavet.agendaservice.application.dto.VeterinarianImportResponse;
 import com.riavet.agendaservice.application.dto.VeterinarianRequest;
 import com.riavet.agendaservice.application.dto.VeterinarianResponse;
+import com.riavet.agendaservice.application.dto.VeterinarianSearchResponse;
 import com.riavet.agendaservice.application.mapper.VeterinarianMapper;
+import com.riavet.agendaservice.application.search.VeterinarianSearchIndex;
+import com.riavet.agendaservice.domain.event.VeterinarianChangedEvent;
 import com.riavet.agendaservice.domain.model.Veterinarian;
+import com.riavet.agendaservice.domain.repository.VeterinarianKeyView;
 import com.riavet.agendaservice.domain.repository.VeterinarianRepository;
+import com.riavet.agendaservice.infrastructure.exception.VeterinarianConflictException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -20,28 +48,160 @@ import java.util.UUID;
 @Transactional
 public class VeterinarianServiceImpl implements VeterinarianService {
 
+    static final int MAX_SEARCH_PAGE_SIZE = 100;
+    public static final int MAX_IMPORT_SIZE = 1000;
+
     private final VeterinarianRepository veterinarianRepository;
     private final VeterinarianMapper veterinarianMapper;
+    private final VeterinarianCache veterinarianCache;
+    private final VeterinarianSearchIndex searchIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:100}")
+    private int flushSize;
 
     @Override
     public VeterinarianResponse createVeterinarian(VeterinarianRequest request) {
         log.info("Creating veterinarian with email: {}", request.getEmail());
 
-        // Validar que el email no exista
-        if (veterinarianRepository.findByEmail(request.getEmail()).isPresent()) {
-            throw new RuntimeException("Veterinarian with email " + request.getEmail() + " already exists");
+        // La unicidad de email y matrícula la garantizan las restricciones de la tabla: un solo INSERT,
+        // sin consultas previas que además no protegen frente a altas concurrentes
+        Veterinarian veterinarian = veterinarianMapper.toEntity(request);
+        Veterinarian savedVeterinarian;
+        try {
+            savedVeterinarian = veterinarianRepository.saveAndFlush(veterinarian);
+        } catch (DataIntegrityViolationException e) {
+            throw toConflict(e, request);
+        }
+        eventPublisher.publishEvent(new VeterinarianChangedEvent(savedVeterinarian.getId(), false));
+
+        log.info("Veterinarian created successfully with ID: {}", savedVeterinarian.getId());
+        return veterinarianMapper.toResponse(savedVeterinarian);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public VeterinarianImportResponse importVeterinarians(List<VeterinarianRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new IllegalArgumentException("At least one veterinarian is required");
+        }
+        if (requests.size() > MAX_IMPORT_SIZE) {
+            throw new IllegalArgumentException("An import cannot contain more than " + MAX_IMPORT_SIZE + " veterinarians");
         }
+        log.info("Importing {} veterinarians", requests.size());
 
-        // Validar que el license number no exista
-        if (veterinarianRepository.findByLicenseNumber(request.getLicenseNumber()).isPresent()) {
-            throw new RuntimeException("Veterinarian with license number " + request.getLicenseNumber() + " already exists");
+        List<Veterinarian> created = new ArrayList<>();
+        VeterinarianImportItemResult[] results;
+        try {
+            results = transactionTemplate.execute(status -> insertRoster(requests, created));
+        } catch (DataIntegrityViolationException e) {
+            // Otro nodo registró el mismo email o matrícula entre la consulta de claves y el INSERT:
+            // se repite una vez y la consulta ya lo ve como existente
+            log.warn("Concurrent veterinarian write during import, retrying: {}", e.getMostSpecificCause().getMessage());
+            created.clear();
+            try {
+                results = transactionTemplate.execute(status -> insertRoster(requests, created));
+            } catch (DataIntegrityViolationException retryFailure) {
+                throw toConflict(retryFailure, null);
+            }
         }
 
-        Veterinarian veterinarian = veterinarianMapper.toEntity(request);
-        Veterinarian savedVeterinarian = veterinarianRepository.save(veterinarian);
+        // Ya confirmado: se indexan directamente las entidades guardadas, sin releerlas una a una
+        created.forEach(searchIndex::put);
 
-        log.info("Veterinarian created successfully with ID: {}", savedVeterinarian.getId());
-        return veterinarianMapper.toResponse(savedVeterinarian);
+        List<VeterinarianImportItemResult> resultList = List.of(results);
+        int createdCount = created.size();
+        log.info("Import created {} veterinarians", createdCount);
+        return VeterinarianImportResponse.builder()
+                .requested(requests.size())
+                .created(createdCount)
+                .rejected(requests.size() - createdCount)
+                .results(resultList)
+                .build();
+    }
+
+    private VeterinarianImportItemResult[] insertRoster(List<VeterinarianRequest> requests, List<Veterinarian> created) {
+        VeterinarianImportItemResult[] results = new VeterinarianImportItemResult[requests.size()];
+
+        // Validación de campos y duplicados dentro del propio lote (gana el primero)
+        Map<String, Integer> emails = new HashMap<>();
+        Map<String, Integer> licenseNumbers = new HashMap<>();
+        List<Integer> pending = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            VeterinarianRequest request = requests.get(i);
+            Map<String, String> errors = validate(request);
+            if (errors.isEmpty()) {
+                Integer firstEmail = emails.putIfAbsent(request.getEmail(), i);
+                if (firstEmail != null) {
+                    errors.put("email", "Email " + request.getEmail() + " is repeated in this import at index " + firstEmail);
+                }
+                Integer firstLicense = licenseNumbers.putIfAbsent(request.getLicenseNumber(), i);
+                if (firstLicense != null) {
+                    errors.put("licenseNumber", "License number " + request.getLicenseNumber()
+                            + " is repeated in this import at index " + firstLicense);
+                }
+            }
+            if (errors.isEmpty()) {
+                pending.add(i);
+            } else {
+                results[i] = rejected(i, errors);
+            }
+        }
+        if (pending.isEmpty()) {
+            return results;
+        }
+
+        // Una sola consulta para todas las claves del lote contra las ya registradas
+        Set<String> existingEmails = new HashSet<>();
+        Set<String> existingLicenseNumbers = new HashSet<>();
+        for (VeterinarianKeyView key : veterinarianRepository.findKeysByEmailInOrLicenseNumberIn(
+                pending.stream().map(i -> requests.get(i).getEmail()).collect(Collectors.toSet()),
+                pending.stream().map(i -> requests.get(i).getLicenseNumber()).collect(Collectors.toSet()))) {
+            existingEmails.add(key.getEmail());
+            existingLicenseNumbers.add(key.getLicenseNumber());
+        }
+
+        List<Integer> insertedIndexes = new ArrayList<>();
+        for (int i : pending) {
+            VeterinarianRequest request = requests.get(i);
+            Map<String, String> conflicts = new LinkedHashMap<>();
+            if (existingEmails.contains(request.getEmail())) {
+                conflicts.put("email", emailTaken(request.getEmail()));
+            }
+            if (existingLicenseNumbers.contains(request.getLicenseNumber())) {
+                conflicts.put("licenseNumber", licenseNumberTaken(request.getLicenseNumber()));
+            }
+            if (conflicts.isEmpty()) {
+                created.add(veterinarianMapper.toEntity(request));
+                insertedIndexes.add(i);
+            } else {
+                results[i] = rejected(i, conflicts);
+            }
+        }
+
+        // Los ids UUID se generan en memoria, así que Hibernate agrupa los INSERT en lotes JDBC. Se guarda y
+        // vacía a través del repositorio para que una violación de unicidad llegue traducida como
+        // DataIntegrityViolationException y active el reintento de importVeterinarians
+        for (int from = 0; from < created.size(); from += flushSize) {
+            veterinarianRepository.saveAll(created.subList(from, Math.min(from + flushSize, created.size())));
+            veterinarianRepository.flush();
+            entityManager.clear();
+        }
+
+        for (int i = 0; i < created.size(); i++) {
+            int index = insertedIndexes.get(i);
+            results[index] = VeterinarianImportItemResult.builder()
+                    .index(index)
+                    .status(ItemStatus.CREATED)
+                    .veterinarian(veterinarianMapper.toResponse(created.get(i)))
+                    .build();
+        }
+        return results;
     }
 
     @Override
@@ -64,12 +224,36 @@ public class VeterinarianServiceImpl implements VeterinarianService {
                 .toList();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public VeterinarianSearchResponse searchVeterinarians(String query, String specialization, boolean onlyActive,
+                                                          int page, int size) {
+        log.info("Searching veterinarians. Query: {}, specialization: {}, onlyActive: {}", query, specialization, onlyActive);
+
+        if (page < 0) {
+            throw new IllegalArgumentException("Page must not be negative");
+        }
+        if (size < 1 || size > MAX_SEARCH_PAGE_SIZE) {
+            throw new IllegalArgumentException("Size must be between 1 and " + MAX_SEARCH_PAGE_SIZE);
+        }
+
+        // Se responde desde el índice en memoria, sin consultar la base de datos
+        VeterinarianSearchIndex.SearchResult result = searchIndex.search(query, specialization, onlyActive,
+                (long) page * size, size);
+        return VeterinarianSearchResponse.builder()
+                .items(result.getItems())
+                .page(page)
+                .size(size)
+                .total(result.getTotal())
+                .hasMore((long) (page + 1) * size < result.getTotal())
+                .build();
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Optional<VeterinarianResponse> getVeterinarianById(UUID id) {
         log.info("Retrieving veterinarian by ID: {}", id);
-        return veterinarianRepository.findById(id)
-                .map(veterinarianMapper::toResponse);
+        return veterinarianCache.findResponseById(id);
     }
 
     @Override
@@ -95,18 +279,15 @@ public class VeterinarianServiceImpl implements VeterinarianService {
         Veterinarian veterinarian = veterinarianRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Veterinarian not found with ID: " + id));
 
-        // Validar que el email no exista en otro veterinario
-        if (veterinarianRepository.existsByEmailAndIdNot(request.getEmail(), id)) {
-            throw new RuntimeException("Email " + request.getEmail() + " is already used by another veterinarian");
-        }
-
-        // Validar que el license number no exista en otro veterinario
-        if (veterinarianRepository.existsByLicenseNumberAndIdNot(request.getLicenseNumber(), id)) {
-            throw new RuntimeException("License number " + request.getLicenseNumber() + " is already used by another veterinarian");
-        }
-
         veterinarianMapper.updateEntity(veterinarian, request);
-        Veterinarian updatedVeterinarian = veterinarianRepository.save(veterinarian);
+        Veterinarian updatedVeterinarian;
+        try {
+            // El flush lanza aquí la violación de unicidad para poder traducirla al campo
+            updatedVeterinarian = veterinarianRepository.saveAndFlush(veterinarian);
+        } catch (DataIntegrityViolationException e) {
+            throw toConflict(e, request);
+        }
+        eventPublisher.publishEvent(new VeterinarianChangedEvent(id, false));
 
         log.info("Veterinarian updated successfully with ID: {}", updatedVeterinarian.getId());
         return veterinarianMapper.toResponse(updatedVeterinarian);
@@ -121,6 +302,7 @@ public class VeterinarianServiceImpl implements VeterinarianService {
 
         veterinarian.setActive(false);
         veterinarianRepository.save(veterinarian);
+        eventPublisher.publishEvent(new VeterinarianChangedEvent(id, false));
 
         log.info("Veterinarian deactivated successfully with ID: {}", id);
     }
@@ -134,6 +316,79 @@ public class VeterinarianServiceImpl implements VeterinarianService {
         }
 
         veterinarianRepository.deleteById(id);
+        eventPublisher.publishEvent(new VeterinarianChangedEvent(id, true));
         log.info("Veterinarian deleted successfully with ID: {}", id);
     }
+
+    /**
+     * Traduce la violación de una restricción única al campo del request que la provoca.
+     * Si no es una de las restricciones de email o matrícula se relanza tal cual.
+     */
+    private RuntimeException toConflict(DataIntegrityViolationException e, VeterinarianRequest request) {
+        String field = conflictingField(e);
+        if (field == null) {
+            return e;
+        }
+        String message;
+        if (request == null) {
+            message = "Another veterinarian with the same " + field + " was registered concurrently, retry the request";
+        } else if ("email".equals(field)) {
+            message = emailTaken(request.getEmail());
+        } else {
+            message = licenseNumberTaken(request.getLicenseNumber());
+        }
+        return new VeterinarianConflictException(Map.of(field, message), e);
+    }
+
+    static String conflictingField(DataIntegrityViolationException e) {
+        String constraintName = e.getCause() instanceof ConstraintViolationException violation
+                ? violation.getConstraintName()
+                : null;
+        String detail = ((constraintName != null ? constraintName : "") + " "
+                + e.getMostSpecificCause().getMessage()).toLowerCase(Locale.ROOT);
+        if (detail.contains(Veterinarian.EMAIL_CONSTRAINT)) {
+            return "email";
+        }
+        if (detail.contains(Veterinarian.LICENSE_NUMBER_CONSTRAINT)) {
+            return "licenseNumber";
+        }
+        // Tablas creadas antes de nombrar las restricciones: el driver nombra la columna, p. ej.
+        // "Key (email)=(...)" en PostgreSQL o "VETERINARIANS(EMAIL NULLS FIRST)" en H2
+        if (detail.contains("(email")) {
+            return "email";
+        }
+        if (detail.contains("(license_number")) {
+            return "licenseNumber";
+        }
+        return null;
+    }
+
+    private static String emailTaken(String email) {
+        return "Veterinarian with email " + email + " already exists";
+    }
+
+    private static String licenseNumberTaken(String licenseNumber) {
+        return "Veterinarian with license number " + licenseNumber + " already exists";
+    }
+
+    private Map<String, String> validate(VeterinarianRequest request) {
+        Map<String, String> errors = new LinkedHashMap<>();
+        if (request == null) {
+            errors.put("veterinarian", "Veterinarian is required");
+            return errors;
+        }
+        Set<ConstraintViolation<VeterinarianRequest>> violations = validator.validate(request);
+        violations.stream()
+                .sorted(Comparator.comparing(violation -> violation.getPropertyPath().toString()))
+                .forEach(violation -> errors.putIfAbsent(violation.getPropertyPath().toString(), violation.getMessage()));
+        return errors;
+    }
+
+    private VeterinarianImportItemResult rejected(int index, Map<String, String> errors) {
+        return VeterinarianImportItemResult.builder()
+                .index(index)
+                .status(ItemStatus.REJECTED)
+                .errors(errors)
+                .build();
+    }
 }
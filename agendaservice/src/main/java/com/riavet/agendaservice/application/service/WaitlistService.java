@@ -0,0 +1,39 @@
+package com.riavet.agendaservice.application.service;
+
+import com.riavet.agendaservice.application.dto.WaitlistEntryResponse;
+import com.riavet.agendaservice.application.dto.WaitlistRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface WaitlistService {
+
+    WaitlistEntryResponse addToWaitlist(WaitlistRequest request);
+
+    Optional<WaitlistEntryResponse> getEntryById(UUID id);
+
+    /**
+     * Entradas en espera para un veterinario o una especialidad, en el orden en que se ofrecerán huecos.
+     */
+    List<WaitlistEntryResponse> getWaitingEntries(UUID veterinarianId, String specialization);
+
+    /**
+     * Ofrece un hueco liberado a la mejor entrada en espera que quepa en él.
+     * Devuelve la entrada a la que se ofreció, si hubo alguna.
+     */
+    Optional<UUID> offerFreedSlot(UUID veterinarianId, LocalDateTime scheduledAt, int durationMinutes);
+
+    WaitlistEntryResponse acceptOffer(UUID id);
+
+    WaitlistEntryResponse declineOffer(UUID id);
+
+    WaitlistEntryResponse withdraw(UUID id);
+
+    /**
+     * Devuelve a la cola las entradas cuya oferta lleva más de {@code agenda.waitlist.offer-ttl} sin
+     * respuesta y ofrece cada hueco al siguiente candidato. Devuelve cuántas ofertas caducaron.
+     */
+    int expireOffers();
+}
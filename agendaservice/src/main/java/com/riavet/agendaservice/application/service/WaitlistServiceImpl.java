@@ -0,0 +1,284 @@
+package com.riavet.agendaservice.application.service;
+
+import com.riavet.agendaservice.application.cache.VeterinarianCache;
+import com.riavet.agendaservice.application.dto.AppointmentRequest;
+import com.riavet.agendaservice.application.dto.AppointmentResponse;
+import com.riavet.agendaservice.application.dto.WaitlistEntryResponse;
+import com.riavet.agendaservice.application.dto.WaitlistRequest;
+import com.riavet.agendaservice.application.mapper.WaitlistMapper;
+import com.riavet.agendaservice.application.waitlist.WaitlistCandidate;
+import com.riavet.agendaservice.application.waitlist.WaitlistIndex;
+import com.riavet.agendaservice.domain.model.Appointment;
+import com.riavet.agendaservice.domain.model.Veterinarian;
+import com.riavet.agendaservice.domain.model.WaitlistEntry;
+import com.riavet.agendaservice.domain.model.WaitlistEntry.Urgency;
+import com.riavet.agendaservice.domain.model.WaitlistEntry.WaitlistStatus;
+import com.riavet.agendaservice.domain.repository.WaitlistEntryRepository;
+import com.riavet.agendaservice.infrastructure.exception.AppointmentConflictException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Lista de espera con relleno automático de huecos. Las colas viven en {@link WaitlistIndex}; la
+ * base de datos guarda el estado de cada entrada y las transiciones se hacen con UPDATE condicionales
+ * para que ofertas, aceptaciones y retiradas concurrentes no se pisen.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class WaitlistServiceImpl implements WaitlistService {
+
+    private final WaitlistEntryRepository waitlistRepository;
+    private final WaitlistIndex waitlistIndex;
+    private final WaitlistMapper waitlistMapper;
+    private final VeterinarianCache veterinarianCache;
+    private final AppointmentService appointmentService;
+
+    @Value("${agenda.waitlist.offer-ttl:PT2H}")
+    private Duration offerTtl;
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public WaitlistEntryResponse addToWaitlist(WaitlistRequest request) {
+        log.info("Adding patient: {} to waitlist. VeterinarianId: {}, specialization: {}",
+                request.getPatientId(), request.getVeterinarianId(), request.getSpecialization());
+
+        String specialization = request.getSpecialization() != null && !request.getSpecialization().isBlank()
+                ? request.getSpecialization().trim()
+                : null;
+        if (request.getVeterinarianId() == null && specialization == null) {
+            throw new IllegalArgumentException("Either veterinarianId or specialization is required");
+        }
+        if (request.getVeterinarianId() != null) {
+            Veterinarian veterinarian = veterinarianCache.findById(request.getVeterinarianId())
+                    .orElseThrow(() -> new IllegalArgumentException(
+                            "Veterinarian not found with ID: " + request.getVeterinarianId()));
+            if (!Boolean.TRUE.equals(veterinarian.getActive())) {
+                throw new IllegalArgumentException("Cannot wait for inactive veterinarian: " + veterinarian.getId());
+            }
+        }
+
+        // Se guarda antes de indexar: el índice nunca apunta a una entrada que no exista
+        WaitlistEntry entry = waitlistRepository.save(WaitlistEntry.builder()
+                .patientId(request.getPatientId())
+                .veterinarianId(request.getVeterinarianId())
+                .specialization(request.getVeterinarianId() == null ? specialization : null)
+                .urgency(request.getUrgency() != null ? request.getUrgency() : Urgency.ROUTINE)
+                .durationMinutes(request.getDurationMinutes() != null
+                        ? request.getDurationMinutes()
+                        : Appointment.DEFAULT_DURATION_MINUTES)
+                .status(WaitlistStatus.WAITING)
+                .build());
+        waitlistIndex.add(WaitlistCandidate.of(entry));
+
+        log.info("Waitlist entry created with ID: {}", entry.getId());
+        return waitlistMapper.toResponse(entry);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<WaitlistEntryResponse> getEntryById(UUID id) {
+        return waitlistRepository.findById(id).map(waitlistMapper::toResponse);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<WaitlistEntryResponse> getWaitingEntries(UUID veterinarianId, String specialization) {
+        List<WaitlistCandidate> queue;
+        if (veterinarianId != null) {
+            queue = waitlistIndex.waitingForVeterinarian(veterinarianId);
+        } else if (specialization != null && !specialization.isBlank()) {
+            queue = waitlistIndex.waitingForSpecialization(specialization);
+        } else {
+            throw new IllegalArgumentException("Either veterinarianId or specialization is required");
+        }
+        Map<UUID, WaitlistEntry> entries = waitlistRepository.findAllById(
+                        queue.stream().map(WaitlistCandidate::getEntryId).collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(WaitlistEntry::getId, Function.identity()));
+        return queue.stream()
+                .map(candidate -> entries.get(candidate.getEntryId()))
+                .filter(entry -> entry != null)
+                .map(waitlistMapper::toResponse)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public Optional<UUID> offerFreedSlot(UUID veterinarianId, LocalDateTime scheduledAt, int durationMinutes) {
+        if (!scheduledAt.isAfter(LocalDateTime.now())) {
+            return Optional.empty();
+        }
+        Optional<Veterinarian> veterinarian = veterinarianCache.findById(veterinarianId);
+        if (veterinarian.isEmpty() || !Boolean.TRUE.equals(veterinarian.get().getActive())) {
+            return Optional.empty();
+        }
+        String specialization = veterinarian.get().getSpecialization();
+
+        while (true) {
+            Optional<WaitlistCandidate> claimed = waitlistIndex.claimBest(veterinarianId, specialization, durationMinutes);
+            if (claimed.isEmpty()) {
+                log.debug("No waitlist entry fits freed slot of veterinarian: {} at {}", veterinarianId, scheduledAt);
+                return Optional.empty();
+            }
+            WaitlistCandidate candidate = claimed.get();
+            UUID entryId = candidate.getEntryId();
+            int updated;
+            try {
+                updated = waitlistRepository.markOffered(entryId, veterinarianId, scheduledAt, durationMinutes,
+                        LocalDateTime.now(), WaitlistStatus.OFFERED, WaitlistStatus.WAITING);
+            } catch (RuntimeException e) {
+                // La entrada sigue en WAITING en base de datos: vuelve a la cola
+                waitlistIndex.add(candidate);
+                throw e;
+            }
+            // 0 filas: la entrada se retiró entre tanto; se prueba con la siguiente
+            if (updated == 1) {
+                restoreOnRollback(candidate);
+                log.info("Offered slot of veterinarian: {} at {} to waitlist entry: {}",
+                        veterinarianId, scheduledAt, entryId);
+                return Optional.of(entryId);
+            }
+        }
+    }
+
+    @Override
+    public WaitlistEntryResponse acceptOffer(UUID id) {
+        log.info("Accepting waitlist offer for entry: {}", id);
+
+        WaitlistEntry entry = waitlistRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Waitlist entry not found with ID: " + id));
+        // Se reclama la oferta antes de reservar para que dos aceptaciones no reserven dos veces
+        if (waitlistRepository.transition(id, WaitlistStatus.OFFERED, WaitlistStatus.BOOKED, LocalDateTime.now()) == 0) {
+            throw new RuntimeException("Waitlist entry has no pending offer: " + id);
+        }
+
+        AppointmentResponse appointment;
+        try {
+            appointment = appointmentService.createAppointment(AppointmentRequest.builder()
+                    .patientId(entry.getPatientId())
+                    .veterinarianId(entry.getOfferedVeterinarianId())
+                    .scheduledAt(entry.getOfferedScheduledAt())
+                    .durationMinutes(entry.getDurationMinutes())
+                    .build());
+        } catch (AppointmentConflictException e) {
+            // Alguien reservó el hueco antes: la entrada vuelve a la cola con su antigüedad
+            log.warn("Offered slot for waitlist entry: {} is no longer free", id);
+            waitlistRepository.transition(id, WaitlistStatus.BOOKED, WaitlistStatus.WAITING, LocalDateTime.now());
+            requeue(id);
+            throw e;
+        }
+
+        WaitlistEntry booked = waitlistRepository.findById(id).orElseThrow();
+        booked.setAppointmentId(appointment.getId());
+        log.info("Waitlist entry: {} booked as appointment: {}", id, appointment.getId());
+        return waitlistMapper.toResponse(waitlistRepository.save(booked));
+    }
+
+    @Override
+    public WaitlistEntryResponse declineOffer(UUID id) {
+        log.info("Declining waitlist offer for entry: {}", id);
+
+        WaitlistEntry entry = waitlistRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Waitlist entry not found with ID: " + id));
+        if (waitlistRepository.transition(id, WaitlistStatus.OFFERED, WaitlistStatus.WAITING, LocalDateTime.now()) == 0) {
+            throw new RuntimeException("Waitlist entry has no pending offer: " + id);
+        }
+        // El hueco pasa al siguiente antes de devolver esta entrada a la cola
+        reofferSlot(entry);
+        return waitlistMapper.toResponse(requeue(id));
+    }
+
+    @Override
+    public WaitlistEntryResponse withdraw(UUID id) {
+        log.info("Withdrawing waitlist entry: {}", id);
+
+        WaitlistEntry entry = waitlistRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Waitlist entry not found with ID: " + id));
+        WaitlistStatus previous = entry.getStatus();
+        if (previous != WaitlistStatus.WAITING && previous != WaitlistStatus.OFFERED) {
+            throw new RuntimeException("Cannot withdraw a waitlist entry in status " + previous);
+        }
+        if (waitlistRepository.transition(id, previous, WaitlistStatus.WITHDRAWN, LocalDateTime.now()) == 0) {
+            throw new RuntimeException("Waitlist entry changed concurrently: " + id);
+        }
+        waitlistIndex.remove(id);
+        if (previous == WaitlistStatus.OFFERED) {
+            reofferSlot(entry);
+        }
+        return waitlistMapper.toResponse(waitlistRepository.findById(id).orElseThrow());
+    }
+
+    @Override
+    public int expireOffers() {
+        LocalDateTime now = LocalDateTime.now();
+        int expired = 0;
+        for (WaitlistEntry entry : waitlistRepository.findByStatusAndOfferedAtBefore(WaitlistStatus.OFFERED,
+                now.minus(offerTtl))) {
+            if (waitlistRepository.expireOffer(entry.getId(), entry.getOfferedAt(), now,
+                    WaitlistStatus.OFFERED, WaitlistStatus.WAITING) == 0) {
+                continue;
+            }
+            log.info("Offer of slot at {} to waitlist entry: {} expired", entry.getOfferedScheduledAt(), entry.getId());
+            // Como en un rechazo: el hueco pasa al siguiente antes de devolver esta entrada a la cola
+            reofferSlot(entry);
+            requeue(entry.getId());
+            expired++;
+        }
+        return expired;
+    }
+
+    // Limpia la oferta de una entrada que ya volvió a WAITING y la devuelve al índice
+    private WaitlistEntry requeue(UUID id) {
+        WaitlistEntry entry = waitlistRepository.findById(id).orElseThrow();
+        entry.setOfferedVeterinarianId(null);
+        entry.setOfferedScheduledAt(null);
+        entry.setOfferedDurationMinutes(null);
+        entry.setOfferedAt(null);
+        WaitlistEntry saved = waitlistRepository.save(entry);
+        waitlistIndex.add(WaitlistCandidate.of(saved));
+        return saved;
+    }
+
+    // La entrada sale del índice antes del commit; si la oferta no llega a confirmarse, vuelve a la cola
+    private void restoreOnRollback(WaitlistCandidate candidate) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    log.warn("Offer to waitlist entry: {} was rolled back, returning it to the queue",
+                            candidate.getEntryId());
+                    waitlistIndex.add(candidate);
+                }
+            }
+        });
+    }
+
+        private void reofferSlot(WaitlistEntry entry) {
+        if (entry.getOfferedVeterinarianId() != null && entry.getOfferedScheduledAt() != null) {
+            offerFreedSlot(entry.getOfferedVeterinarianId(), entry.getOfferedScheduledAt(),
+                    entry.getOfferedDurationMinutes() != null
+                            ? entry.getOfferedDurationMinutes()
+                            : entry.getDurationMinutes());
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.riavet.agendaservice.application.service;
+
+import com.riavet.agendaservice.application.dto.VeterinarianWorkloadResponse;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface WorkloadService {
+
+    /**
+     * Carga de un veterinario entre dos fechas (ambas incluidas), con el desglose por día.
+     */
+    Optional<VeterinarianWorkloadResponse> getVeterinarianWorkload(UUID veterinarianId, LocalDate from, LocalDate to);
+
+    /**
+     * Totales de carga de todos los veterinarios entre dos fechas (ambas incluidas).
+     */
+    List<VeterinarianWorkloadResponse> getWorkload(LocalDate from, LocalDate to, boolean onlyActive);
+}
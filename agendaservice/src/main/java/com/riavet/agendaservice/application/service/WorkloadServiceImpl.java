@@ -0,0 +1,153 @@
+package com.riavet.agendaservice.application.service;
+
+import com.riavet.agendaservice.application.cache.VeterinarianCache;
+import com.riavet.agendaservice.application.dto.VeterinarianWorkloadResponse;
+import com.riavet.agendaservice.application.dto.WorkloadDayResponse;
+import com.riavet.agendaservice.domain.model.Appointment.AppointmentStatus;
+import com.riavet.agendaservice.domain.model.Veterinarian;
+import com.riavet.agendaservice.domain.model.VeterinarianDailyStats;
+import com.riavet.agendaservice.domain.repository.VeterinarianDailyStatsRepository;
+import com.riavet.agendaservice.domain.repository.WorkloadTotalsRow;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Estadísticas de carga de los veterinarios. Se leen de las filas de resumen diario que mantiene
+ * {@code WorkloadRollupWriter}, nunca de la tabla de citas: un año son como mucho 366 filas por veterinario.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class WorkloadServiceImpl implements WorkloadService {
+
+    static final int MAX_RANGE_DAYS = 366;
+
+    private final VeterinarianDailyStatsRepository statsRepository;
+    private final VeterinarianCache veterinarianCache;
+
+    // Jornada de referencia para calcular el porcentaje de utilización
+    @Value("${agenda.workload.daily-capacity:PT8H}")
+    private Duration dailyCapacity;
+
+    @Value("${agenda.workload.working-days:MONDAY,TUESDAY,WEDNESDAY,THURSDAY,FRIDAY}")
+    private List<DayOfWeek> workingDays;
+
+    @Override
+    public Optional<VeterinarianWorkloadResponse> getVeterinarianWorkload(UUID veterinarianId, LocalDate from,
+                                                                         LocalDate to) {
+        log.info("Retrieving workload of veterinarian: {} between {} and {}", veterinarianId, from, to);
+        validateRange(from, to);
+
+        Optional<Veterinarian> veterinarian = veterinarianCache.findById(veterinarianId);
+        if (veterinarian.isEmpty()) {
+            return Optional.empty();
+        }
+
+        List<VeterinarianDailyStats> days = statsRepository
+                .findByVeterinarianIdAndStatDateBetweenOrderByStatDate(veterinarianId, from, to);
+        Map<AppointmentStatus, Long> byStatus = new EnumMap<>(AppointmentStatus.class);
+        long bookedMinutes = 0;
+        for (VeterinarianDailyStats day : days) {
+            for (AppointmentStatus status : AppointmentStatus.values()) {
+                byStatus.merge(status, day.getCount(status), Long::sum);
+            }
+            bookedMinutes += day.getBookedMinutes();
+        }
+
+        VeterinarianWorkloadResponse response = toResponse(veterinarianId,
+                veterinarian.get().getFirstName() + " " + veterinarian.get().getLastName(),
+                from, to, byStatus, bookedMinutes);
+        // Los días que han quedado a cero (citas movidas a otro día) no se muestran
+        response.setDays(days.stream()
+                .filter(day -> day.getBookedMinutes() > 0 || day.getPendingCount() + day.getConfirmedCount()
+                        + day.getCompletedCount() + day.getCanceledCount() > 0)
+                .map(day -> WorkloadDayResponse.builder()
+                        .date(day.getStatDate())
+                        .pending(day.getPendingCount())
+                        .confirmed(day.getConfirmedCount())
+                        .completed(day.getCompletedCount())
+                        .canceled(day.getCanceledCount())
+                        .bookedMinutes(day.getBookedMinutes())
+                        .bookedHours(hours(day.getBookedMinutes()))
+                        .build())
+                .collect(Collectors.toList()));
+        return Optional.of(response);
+    }
+
+    @Override
+    public List<VeterinarianWorkloadResponse> getWorkload(LocalDate from, LocalDate to, boolean onlyActive) {
+        log.info("Retrieving workload of all veterinarians between {} and {}. OnlyActive: {}", from, to, onlyActive);
+        validateRange(from, to);
+
+        // Una sola consulta agrupada sobre el resumen diario para todo el roster
+        return statsRepository.summarize(from, to, onlyActive).stream()
+                .map(row -> {
+                    Map<AppointmentStatus, Long> byStatus = new EnumMap<>(AppointmentStatus.class);
+                    byStatus.put(AppointmentStatus.PENDING, row.getPendingCount());
+                    byStatus.put(AppointmentStatus.CONFIRMED, row.getConfirmedCount());
+                    byStatus.put(AppointmentStatus.COMPLETED, row.getCompletedCount());
+                    byStatus.put(AppointmentStatus.CANCELED, row.getCanceledCount());
+                    return toResponse(row.getVeterinarianId(), row.getFirstName() + " " + row.getLastName(),
+                            from, to, byStatus, row.getBookedMinutes());
+                })
+                .collect(Collectors.toList());
+    }
+
+    private VeterinarianWorkloadResponse toResponse(UUID veterinarianId, String veterinarianName, LocalDate from,
+                                                    LocalDate to, Map<AppointmentStatus, Long> byStatus,
+                                                    long bookedMinutes) {
+        long capacityMinutes = capacityMinutes(from, to);
+        return VeterinarianWorkloadResponse.builder()
+                .veterinarianId(veterinarianId)
+                .veterinarianName(veterinarianName)
+                .from(from)
+                .to(to)
+                .appointmentsByStatus(byStatus)
+                .totalAppointments(byStatus.values().stream().mapToLong(Long::longValue).sum())
+                .bookedMinutes(bookedMinutes)
+                .bookedHours(hours(bookedMinutes))
+                .capacityMinutes(capacityMinutes)
+                .utilizationPercent(capacityMinutes > 0
+                        ? Math.round(bookedMinutes * 1000.0 / capacityMinutes) / 10.0
+                        : null)
+                .build();
+    }
+
+    private long capacityMinutes(LocalDate from, LocalDate to) {
+        long workingDayCount = from.datesUntil(to.plusDays(1))
+                .filter(date -> workingDays.contains(date.getDayOfWeek()))
+                .count();
+        return workingDayCount * dailyCapacity.toMinutes();
+    }
+
+    private static void validateRange(LocalDate from, LocalDate to) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("'from' and 'to' are required");
+        }
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("'from' must not be after 'to'");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+            throw new IllegalArgumentException("Workload range cannot exceed " + MAX_RANGE_DAYS + " days");
+        }
+    }
+
+    private static double hours(long minutes) {
+        return Math.round(minutes * 100.0 / 60) / 100.0;
+    }
+}
@@ -0,0 +1,38 @@
+package com.riavet.agendaservice.application.waitlist;
+
+import com.riavet.agendaservice.application.service.WaitlistService;
+import com.riavet.agendaservice.domain.event.AppointmentChangedEvent;
+import com.riavet.agendaservice.domain.model.Appointment.AppointmentStatus;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+
+/**
+ * Ofrece a la lista de espera cada hueco que libera una cancelación, justo después del commit.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class WaitlistBackfillListener {
+
+    private final WaitlistService waitlistService;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAppointmentChanged(AppointmentChangedEvent event) {
+        if (event.getStatus() != AppointmentStatus.CANCELED || event.getPreviousStatus() == null
+                || event.getPreviousStatus() == AppointmentStatus.CANCELED) {
+            return;
+        }
+        int durationMinutes = (int) Duration.between(event.getScheduledAt(), event.getEndsAt()).toMinutes();
+        try {
+            waitlistService.offerFreedSlot(event.getVeterinarianId(), event.getScheduledAt(), durationMinutes);
+        } catch (RuntimeException e) {
+            // La cancelación ya está confirmada; un fallo aquí solo deja el hueco sin ofrecer
+            log.error("Error offering freed slot of appointment: {}: {}", event.getAppointmentId(), e.getMessage(), e);
+        }
+    }
+}
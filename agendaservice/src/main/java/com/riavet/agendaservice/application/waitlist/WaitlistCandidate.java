@@ -0,0 +1,29 @@
+package com.riavet.agendaservice.application.waitlist;
+
+import com.riavet.agendaservice.domain.model.WaitlistEntry;
+import com.riavet.agendaservice.domain.model.WaitlistEntry.Urgency;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Entrada en espera tal como la guarda {@link WaitlistIndex}: solo lo necesario para ordenar y casar huecos.
+ */
+@Data
+@AllArgsConstructor
+public class WaitlistCandidate {
+
+    private UUID entryId;
+    private UUID veterinarianId;
+    private String specialization;
+    private Urgency urgency;
+    private int durationMinutes;
+    private LocalDateTime requestedAt;
+
+    public static WaitlistCandidate of(WaitlistEntry entry) {
+        return new WaitlistCandidate(entry.getId(), entry.getVeterinarianId(), entry.getSpecialization(),
+                entry.getUrgency(), entry.getDurationMinutes(), entry.getRequestedAt());
+    }
+}
@@ -0,0 +1,151 @@
+package com.riavet.agendaservice.application.waitlist;
+
+import com.riavet.agendaservice.domain.model.WaitlistEntry.WaitlistStatus;
+import com.riavet.agendaservice.domain.repository.WaitlistEntryRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Colas de prioridad en memoria de la lista de espera: una por veterinario (entradas para un
+ * veterinario concreto) y otra por especialidad (entradas para cualquiera de la especialidad).
+ *
+ * Las colas se ordenan por urgencia y luego por antigüedad. Para un hueco liberado solo se miran las
+ * cabezas de dos colas, y la entrada se reclama quitándola del mapa por id de forma atómica, así que
+ * muchas cancelaciones simultáneas nunca ofrecen la misma entrada dos veces ni se bloquean entre sí.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class WaitlistIndex {
+
+    public static final Comparator<WaitlistCandidate> PRIORITY = Comparator
+            .comparing(WaitlistCandidate::getUrgency, Comparator.reverseOrder())
+            .thenComparing(WaitlistCandidate::getRequestedAt)
+            .thenComparing(WaitlistCandidate::getEntryId);
+
+    private final WaitlistEntryRepository waitlistRepository;
+
+    // Entradas con más duración de la que cabe en el hueco se saltan; se mira como mucho este número
+    @Value("${agenda.waitlist.max-probe:64}")
+    private int maxProbe;
+
+    private final ConcurrentMap<UUID, WaitlistCandidate> candidates = new ConcurrentHashMap<>();
+    private final ConcurrentMap<UUID, NavigableSet<WaitlistCandidate>> byVeterinarian = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, NavigableSet<WaitlistCandidate>> bySpecialization = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void load() {
+        waitlistRepository.findByStatus(WaitlistStatus.WAITING).stream()
+                .map(WaitlistCandidate::of)
+                .forEach(this::add);
+        log.info("Waitlist index loaded with {} waiting entries", candidates.size());
+    }
+
+    public void add(WaitlistCandidate candidate) {
+        candidates.put(candidate.getEntryId(), candidate);
+        queueOf(candidate).add(candidate);
+    }
+
+    public boolean remove(UUID entryId) {
+        WaitlistCandidate candidate = candidates.remove(entryId);
+        if (candidate == null) {
+            return false;
+        }
+        queueOf(candidate).remove(candidate);
+        return true;
+    }
+
+    /**
+     * Reclama la mejor entrada que quepa en un hueco de {@code slotMinutes} con el veterinario indicado,
+     * ya sea de su cola o de la de su especialidad. La entrada devuelta ya no está en el índice: si la
+     * oferta no llega a confirmarse, quien la reclamó tiene que devolverla con {@link #add}.
+     */
+    public Optional<WaitlistCandidate> claimBest(UUID veterinarianId, String specialization, int slotMinutes) {
+        NavigableSet<WaitlistCandidate> veterinarianQueue = byVeterinarian.get(veterinarianId);
+        NavigableSet<WaitlistCandidate> specializationQueue = specialization != null
+                ? bySpecialization.get(key(specialization))
+                : null;
+        while (true) {
+            WaitlistCandidate best = better(firstFitting(veterinarianQueue, slotMinutes),
+                    firstFitting(specializationQueue, slotMinutes));
+            if (best == null) {
+                return Optional.empty();
+            }
+            // Solo un hilo consigue quitarla del mapa; el resto prueba con la siguiente
+            if (candidates.remove(best.getEntryId(), best)) {
+                queueOf(best).remove(best);
+                return Optional.of(best);
+            }
+            queueOf(best).remove(best);
+        }
+    }
+
+    /**
+     * Entradas en espera de una cola, en orden de prioridad.
+     */
+    public List<WaitlistCandidate> waitingForVeterinarian(UUID veterinarianId) {
+        NavigableSet<WaitlistCandidate> queue = byVeterinarian.get(veterinarianId);
+        return queue != null ? new ArrayList<>(queue) : new ArrayList<>();
+    }
+
+    public List<WaitlistCandidate> waitingForSpecialization(String specialization) {
+        NavigableSet<WaitlistCandidate> queue = bySpecialization.get(key(specialization));
+        return queue != null ? new ArrayList<>(queue) : new ArrayList<>();
+    }
+
+    public int size() {
+        return candidates.size();
+    }
+
+    private WaitlistCandidate firstFitting(NavigableSet<WaitlistCandidate> queue, int slotMinutes) {
+        if (queue == null) {
+            return null;
+        }
+        Iterator<WaitlistCandidate> iterator = queue.iterator();
+        for (int probed = 0; probed < maxProbe && iterator.hasNext(); probed++) {
+            WaitlistCandidate candidate = iterator.next();
+            if (candidate.getDurationMinutes() <= slotMinutes) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    private static WaitlistCandidate better(WaitlistCandidate a, WaitlistCandidate b) {
+        if (a == null) {
+            return b;
+        }
+        if (b == null) {
+            return a;
+        }
+        return PRIORITY.compare(a, b) <= 0 ? a : b;
+    }
+
+    private NavigableSet<WaitlistCandidate> queueOf(WaitlistCandidate candidate) {
+        if (candidate.getVeterinarianId() != null) {
+            return byVeterinarian.computeIfAbsent(candidate.getVeterinarianId(),
+                    id -> new ConcurrentSkipListSet<>(PRIORITY));
+        }
+        return bySpecialization.computeIfAbsent(key(candidate.getSpecialization()),
+                name -> new ConcurrentSkipListSet<>(PRIORITY));
+    }
+
+    private static String key(String specialization) {
+        return specialization.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,30 @@
+package com.riavet.agendaservice.application.waitlist;
+
+import com.riavet.agendaservice.application.service.WaitlistService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Caduca periódicamente las ofertas de la lista de espera que nadie ha aceptado ni rechazado.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class WaitlistOfferExpiryJob {
+
+    private final WaitlistService waitlistService;
+
+    @Scheduled(fixedDelayString = "${agenda.waitlist.offer-sweep-interval:PT1M}")
+    public void expireOffers() {
+        try {
+            int expired = waitlistService.expireOffers();
+            if (expired > 0) {
+                log.info("Expired {} waitlist offers", expired);
+            }
+        } catch (RuntimeException e) {
+            log.error("Error expiring waitlist offers: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.riavet.agendaservice.application.workload;
+
+import com.riavet.agendaservice.domain.model.Appointment.AppointmentStatus;
+import com.riavet.agendaservice.domain.model.VeterinarianDailyStats;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Cambios pendientes sobre una fila de resumen diario dentro de una transacción.
+ */
+class WorkloadDelta {
+
+    private final Map<AppointmentStatus, Long> counts = new EnumMap<>(AppointmentStatus.class);
+    private long bookedMinutes;
+
+    void add(AppointmentStatus status, int count, long minutes) {
+        counts.merge(status, (long) count, Long::sum);
+        // Las canceladas no ocupan horario
+        if (status != AppointmentStatus.CANCELED) {
+            bookedMinutes += minutes;
+        }
+    }
+
+    boolean isEmpty() {
+        return bookedMinutes == 0 && counts.values().stream().allMatch(count -> count == 0);
+    }
+
+    void applyTo(VeterinarianDailyStats stats) {
+        counts.forEach(stats::addCount);
+        stats.setBookedMinutes(stats.getBookedMinutes() + bookedMinutes);
+    }
+}
@@ -0,0 +1,185 @@
+package com.riavet.agendaservice.application.workload;
+
+import com.riavet.agendaservice.domain.event.AppointmentChangedEvent;
+import com.riavet.agendaservice.domain.model.Appointment.AppointmentStatus;
+import com.riavet.agendaservice.domain.model.VeterinarianDailyStats;
+import com.riavet.agendaservice.domain.repository.AppointmentRepository;
+import com.riavet.agendaservice.domain.repository.VeterinarianDailyStatsRepository;
+import com.riavet.agendaservice.domain.repository.WorkloadDayRow;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Mantiene las filas de resumen diario ({@link VeterinarianDailyStats}) a partir de los cambios de citas.
+ *
+ * Cada {@link AppointmentChangedEvent} se traduce en deltas por veterinario y día (restar el estado y
+ * horario anteriores, sumar los nuevos) que se acumulan durante la transacción y se aplican justo antes
+ * del commit: un lote de mil citas toca unas pocas filas con una consulta y un par de lotes JDBC, y el
+ * resumen se confirma o se descarta junto con las citas.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class WorkloadRollupWriter {
+
+    private static final Object PENDING_DELTAS = new Object();
+
+    private final VeterinarianDailyStatsRepository statsRepository;
+    private final AppointmentRepository appointmentRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:100}")
+    private int flushSize;
+
+    @PostConstruct
+    void initialize() {
+        // Primer arranque con citas ya existentes: se calcula el resumen desde la tabla de citas
+        if (statsRepository.count() == 0 && appointmentRepository.count() > 0) {
+            rebuild();
+        }
+    }
+
+    @EventListener
+    public void onAppointmentChanged(AppointmentChangedEvent event) {
+        boolean inTransaction = TransactionSynchronizationManager.isSynchronizationActive()
+                && TransactionSynchronizationManager.isActualTransactionActive();
+        Map<VeterinarianDailyStats.Key, WorkloadDelta> deltas = inTransaction ? pendingDeltas() : new HashMap<>();
+
+        if (event.getPreviousStatus() != null) {
+            LocalDateTime previousStart = event.getPreviousScheduledAt() != null
+                    ? event.getPreviousScheduledAt()
+                    : event.getScheduledAt();
+            LocalDateTime previousEnd = event.getPreviousEndsAt() != null
+                    ? event.getPreviousEndsAt()
+                    : event.getEndsAt();
+            accumulate(deltas, event.getVeterinarianId(), event.getPreviousStatus(), previousStart, previousEnd, -1);
+        }
+        accumulate(deltas, event.getVeterinarianId(), event.getStatus(), event.getScheduledAt(), event.getEndsAt(), 1);
+
+        if (!inTransaction) {
+            transactionTemplate.executeWithoutResult(status -> apply(deltas));
+        }
+    }
+
+    /**
+     * Recalcula todas las filas de resumen con un GROUP BY sobre las citas.
+     */
+    public int rebuild() {
+        Integer rows = transactionTemplate.execute(status -> {
+            statsRepository.deleteAllRows();
+            List<WorkloadDayRow> days = appointmentRepository.summarizeByVeterinarianAndDay(
+                    AppointmentStatus.PENDING, AppointmentStatus.CONFIRMED,
+                    AppointmentStatus.COMPLETED, AppointmentStatus.CANCELED);
+            for (int i = 0; i < days.size(); i++) {
+                WorkloadDayRow day = days.get(i);
+                entityManager.persist(VeterinarianDailyStats.builder()
+                        .veterinarianId(day.getVeterinarianId())
+                        .statDate(day.getDate())
+                        .pendingCount(day.getPendingCount())
+                        .confirmedCount(day.getConfirmedCount())
+                        .completedCount(day.getCompletedCount())
+                        .canceledCount(day.getCanceledCount())
+                        .bookedMinutes(day.getBookedMinutes())
+                        .build());
+                if ((i + 1) % flushSize == 0) {
+                    entityManager.flush();
+                    entityManager.clear();
+                }
+            }
+            return days.size();
+        });
+        log.info("Workload rollups rebuilt with {} veterinarian days", rows);
+        return rows != null ? rows : 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<VeterinarianDailyStats.Key, WorkloadDelta> pendingDeltas() {
+        Map<VeterinarianDailyStats.Key, WorkloadDelta> deltas =
+                (Map<VeterinarianDailyStats.Key, WorkloadDelta>) TransactionSynchronizationManager.getResource(PENDING_DELTAS);
+        if (deltas != null) {
+            return deltas;
+        }
+        Map<VeterinarianDailyStats.Key, WorkloadDelta> created = new HashMap<>();
+        TransactionSynchronizationManager.bindResource(PENDING_DELTAS, created);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                apply(created);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(PENDING_DELTAS);
+            }
+        });
+        return created;
+    }
+
+    private static void accumulate(Map<VeterinarianDailyStats.Key, WorkloadDelta> deltas, UUID veterinarianId,
+                                   AppointmentStatus status, LocalDateTime start, LocalDateTime end, int sign) {
+        // La cita cuenta entera en el día en que empieza
+        WorkloadDelta delta = deltas.computeIfAbsent(
+                new VeterinarianDailyStats.Key(veterinarianId, start.toLocalDate()), key -> new WorkloadDelta());
+        delta.add(status, sign, sign * Duration.between(start, end).toMinutes());
+    }
+
+    private void apply(Map<VeterinarianDailyStats.Key, WorkloadDelta> deltas) {
+        deltas.values().removeIf(WorkloadDelta::isEmpty);
+        if (deltas.isEmpty()) {
+            return;
+        }
+        Set<UUID> veterinarianIds = deltas.keySet().stream()
+                .map(VeterinarianDailyStats.Key::getVeterinarianId)
+                .collect(Collectors.toSet());
+        LocalDate from = deltas.keySet().stream().map(VeterinarianDailyStats.Key::getStatDate)
+                .min(LocalDate::compareTo).orElseThrow();
+        LocalDate to = deltas.keySet().stream().map(VeterinarianDailyStats.Key::getStatDate)
+                .max(LocalDate::compareTo).orElseThrow();
+
+        // Una consulta bloquea las filas existentes; las que faltan se insertan. Las altas de un mismo
+        // veterinario ya van serializadas por el bloqueo de su fila, así que no compiten por insertar
+        Map<VeterinarianDailyStats.Key, VeterinarianDailyStats> existing = statsRepository
+                .lockRange(veterinarianIds, from, to).stream()
+                .collect(Collectors.toMap(
+                        stats -> new VeterinarianDailyStats.Key(stats.getVeterinarianId(), stats.getStatDate()),
+                        Function.identity()));
+        deltas.forEach((key, delta) -> {
+            VeterinarianDailyStats stats = existing.get(key);
+            if (stats != null) {
+                delta.applyTo(stats);
+                return;
+            }
+            // Las filas nuevas se persisten ya con el delta aplicado para que salgan en un solo INSERT
+            stats = VeterinarianDailyStats.builder()
+                    .veterinarianId(key.getVeterinarianId())
+                    .statDate(key.getStatDate())
+                    .build();
+            delta.applyTo(stats);
+            entityManager.persist(stats);
+        });
+        deltas.clear();
+    }
+}
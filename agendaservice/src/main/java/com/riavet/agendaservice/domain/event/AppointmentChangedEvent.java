@@ -0,0 +1,61 @@
+package com.riavet.agendaservice.domain.event;
+
+import com.riavet.agendaservice.domain.model.Appointment;
+import com.riavet.agendaservice.domain.model.Appointment.AppointmentStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Evento publicado cuando se crea una cita, cambia su estado o se reprograma.
+ * Lleva una copia de los datos de la cita para que los listeners no
+ * dependan de la sesión de Hibernate.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AppointmentChangedEvent {
+
+    private UUID appointmentId;
+    private UUID patientId;
+    private UUID veterinarianId;
+    private LocalDateTime scheduledAt;
+    private LocalDateTime endsAt;
+    private AppointmentStatus previousStatus;
+    private AppointmentStatus status;
+    // Solo en reprogramaciones: horario anterior de la cita (null si no cambió)
+    private LocalDateTime previousScheduledAt;
+    private LocalDateTime previousEndsAt;
+    // Versión con la que la cita queda tras el cambio: crece con cada transacción que la modifica
+    private Long version;
+
+    public static AppointmentChangedEvent of(Appointment appointment, AppointmentStatus previousStatus) {
+        return AppointmentChangedEvent.builder()
+                .appointmentId(appointment.getId())
+                .patientId(appointment.getPatientId())
+                .veterinarianId(appointment.getVeterinarian().getId())
+                .scheduledAt(appointment.getScheduledAt())
+                .endsAt(appointment.getEndsAt())
+                .previousStatus(previousStatus)
+                .status(appointment.getStatus())
+                .version(appointment.getVersion())
+                .build();
+    }
+
+    public static AppointmentChangedEvent rescheduled(Appointment appointment, LocalDateTime previousScheduledAt,
+                                                      LocalDateTime previousEndsAt) {
+        AppointmentChangedEvent event = of(appointment, appointment.getStatus());
+        event.setPreviousScheduledAt(previousScheduledAt);
+        event.setPreviousEndsAt(previousEndsAt);
+        return event;
+    }
+
+    public boolean isCreation() {
+        return previousStatus == null;
+    }
+}
@@ -0,0 +1,27 @@
+package com.riavet.agendaservice.domain.event;
+
+import com.riavet.agendaservice.domain.model.Appointment.AppointmentStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Recordatorio de una cita próxima, emitido cuando llega su hora de aviso.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AppointmentReminderEvent {
+
+    private UUID appointmentId;
+    private UUID patientId;
+    private UUID veterinarianId;
+    private LocalDateTime scheduledAt;
+    private AppointmentStatus status;
+    private LocalDateTime remindAt;
+}
@@ -0,0 +1,19 @@
+package com.riavet.agendaservice.domain.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Evento publicado cuando se crea, modifica, desactiva o elimina un veterinario.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VeterinarianChangedEvent {
+
+    private UUID veterinarianId;
+    private boolean deleted;
+}
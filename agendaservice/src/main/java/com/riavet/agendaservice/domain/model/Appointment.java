@@ -12,15 +12,31 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "appointments")
+@Table(name = "appointments", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_appointments_series_occurrence", columnNames = {"series_id", "occurrence_index"})
+}, indexes = {
+        // Creados por las migraciones V2 y V3; se declaran aquí para que el modelo refleje el esquema
+        @Index(name = "idx_appointments_vet_scheduled", columnList = "veterinarian_id, scheduled_at, id"),
+        @Index(name = "idx_appointments_status_scheduled", columnList = "status, scheduled_at, id"),
+        @Index(name = "idx_appointments_scheduled", columnList = "scheduled_at, id"),
+        // Historial de un paciente, de la cita más reciente a la más antigua
+        @Index(name = "idx_appointments_patient_scheduled", columnList = "patient_id, scheduled_at DESC, id DESC")
+})
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class Appointment {
 
+    public static final int DEFAULT_DURATION_MINUTES = 30;
+    public static final int MIN_DURATION_MINUTES = 5;
+    public static final int MAX_DURATION_MINUTES = 480;
+
+    // Restricción de exclusión de PostgreSQL (migración V6) que impide dos citas solapadas del mismo veterinario
+    public static final String OVERLAP_CONSTRAINT = "ex_appointments_veterinarian_overlap";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.UUID)
     @Column(columnDefinition = "UUID")
     private UUID id;
 
@@ -34,10 +50,29 @@ public class Appointment {
     @Column(name = "scheduled_at", nullable = false)
     private LocalDateTime scheduledAt;
 
+    // Nullable para no romper filas existentes: se asume DEFAULT_DURATION_MINUTES
+    @Column(name = "duration_minutes")
+    @Builder.Default
+    private Integer durationMinutes = DEFAULT_DURATION_MINUTES;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private AppointmentStatus status;
 
+    // Solo para ocurrencias materializadas de una AppointmentSeries
+    @Column(name = "series_id", columnDefinition = "UUID")
+    private UUID seriesId;
+
+    @Column(name = "occurrence_index")
+    private Integer occurrenceIndex;
+
+    // Control de concurrencia optimista. Null en las citas nuevas: Spring Data las reconoce así como nuevas
+    // y usa persist (con batching JDBC) en vez de merge; Hibernate la pone a 0 al persistir. El DEFAULT 0 de
+    // la columna solo rellena las filas anteriores a ella
+    @Version
+    @Column(nullable = false, columnDefinition = "BIGINT DEFAULT 0")
+    private Long version;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -46,6 +81,11 @@ public class Appointment {
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
 
+    public LocalDateTime getEndsAt() {
+        int minutes = durationMinutes != null ? durationMinutes : DEFAULT_DURATION_MINUTES;
+        return scheduledAt.plusMinutes(minutes);
+    }
+
     public enum AppointmentStatus {
         PENDING,
         CONFIRMED,
@@ -0,0 +1,143 @@
+package com.riavet.agendaservice.domain.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Serie de citas recurrentes ("cada martes a las 10:00 durante 12 semanas").
+ *
+ * La serie solo guarda la regla; las ocurrencias se calculan con {@link #occurrenceStart(int)}
+ * y se materializan como filas de {@link Appointment} a medida que entran en el horizonte.
+ * Las ocurrencias con índice mayor que {@code materializedThroughIndex} son virtuales.
+ *
+ * Al reprogramar, la regla se re-ancla: la ocurrencia {@code anchorIndex} empieza en
+ * {@code startsAt} y las siguientes se separan un {@link #getPeriod() periodo}.
+ */
+@Entity
+@Table(name = "appointment_series", indexes = {
+        @Index(name = "idx_appointment_series_vet_status", columnList = "veterinarian_id, status")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AppointmentSeries {
+
+    public static final int MAX_OCCURRENCES = 520;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(columnDefinition = "UUID")
+    private UUID id;
+
+    @Column(name = "patient_id", nullable = false, columnDefinition = "UUID")
+    private UUID patientId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "veterinarian_id", nullable = false)
+    private Veterinarian veterinarian;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Frequency frequency;
+
+    @Column(name = "repeat_interval", nullable = false)
+    private Integer interval;
+
+    @Column(name = "starts_at", nullable = false)
+    private LocalDateTime startsAt;
+
+    @Column(name = "anchor_index", nullable = false)
+    @Builder.Default
+    private Integer anchorIndex = 0;
+
+    @Column(name = "duration_minutes", nullable = false)
+    private Integer durationMinutes;
+
+    @Column(name = "occurrence_count", nullable = false)
+    private Integer occurrenceCount;
+
+    // Se desnormaliza para filtrar series por rango sin expandirlas
+    @Column(name = "last_occurrence_at", nullable = false)
+    private LocalDateTime lastOccurrenceAt;
+
+    @Column(name = "materialized_through_index", nullable = false)
+    @Builder.Default
+    private Integer materializedThroughIndex = -1;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private SeriesStatus status;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public Duration getPeriod() {
+        return frequency.period().multipliedBy(interval);
+    }
+
+    public int getLastIndex() {
+        return occurrenceCount - 1;
+    }
+
+    public LocalDateTime occurrenceStart(int index) {
+        return startsAt.plus(getPeriod().multipliedBy(index - anchorIndex));
+    }
+
+    /**
+     * Primer índice (desde el ancla) cuya ocurrencia empieza en {@code time} o después.
+     */
+    public int firstIndexStartingAtOrAfter(LocalDateTime time) {
+        long elapsed = Duration.between(startsAt, time).toSeconds();
+        if (elapsed <= 0) {
+            return anchorIndex;
+        }
+        long period = getPeriod().toSeconds();
+        return (int) Math.min(Integer.MAX_VALUE, anchorIndex + (elapsed + period - 1) / period);
+    }
+
+    /**
+     * Primer índice (desde el ancla) cuya ocurrencia sigue en curso o empieza después de {@code time}.
+     */
+    public int firstIndexEndingAfter(LocalDateTime time) {
+        long elapsed = Duration.between(startsAt, time).toSeconds() - durationMinutes * 60L;
+        if (elapsed < 0) {
+            return anchorIndex;
+        }
+        return (int) Math.min(Integer.MAX_VALUE, anchorIndex + elapsed / getPeriod().toSeconds() + 1);
+    }
+
+    public enum Frequency {
+        DAILY(Duration.ofDays(1)),
+        WEEKLY(Duration.ofDays(7));
+
+        private final Duration period;
+
+        Frequency(Duration period) {
+            this.period = period;
+        }
+
+        public Duration period() {
+            return period;
+        }
+    }
+
+    public enum SeriesStatus {
+        ACTIVE,
+        CANCELED
+    }
+}
@@ -0,0 +1,57 @@
+package com.riavet.agendaservice.domain.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Cambio de una cita pendiente de publicar a otros servicios. Se escribe en la misma transacción
+ * que el cambio y el relay lo borra una vez publicado.
+ */
+@Entity
+@Table(name = "appointment_outbox")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxMessage {
+
+    // Los ids se reservan en bloques del tamaño del batch JDBC para no añadir consultas a la secuencia.
+    // No siguen el orden de commit (cada instancia tiene su bloque): el relay no ordena por id sino por
+    // cita y versión, y el id solo desempata los mensajes de una misma transacción
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "appointment_outbox_seq")
+    @SequenceGenerator(name = "appointment_outbox_seq", sequenceName = "appointment_outbox_seq", allocationSize = 100)
+    private Long id;
+
+    @Column(name = "appointment_id", nullable = false, columnDefinition = "UUID")
+    private UUID appointmentId;
+
+    // Versión de la cita tras el cambio (AppointmentChangedEvent#getVersion)
+    @Column(name = "appointment_version", nullable = false)
+    private Long appointmentVersion;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, length = 40)
+    private EventType eventType;
+
+    // AppointmentChangedEvent serializado en JSON
+    @Column(nullable = false, length = 2000)
+    private String payload;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    public enum EventType {
+        APPOINTMENT_CREATED,
+        APPOINTMENT_STATUS_CHANGED,
+        APPOINTMENT_RESCHEDULED
+    }
+}
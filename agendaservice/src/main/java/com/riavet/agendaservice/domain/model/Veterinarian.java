@@ -12,13 +12,20 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "veterinarians")
+@Table(name = "veterinarians", uniqueConstraints = {
+        @UniqueConstraint(name = Veterinarian.EMAIL_CONSTRAINT, columnNames = "email"),
+        @UniqueConstraint(name = Veterinarian.LICENSE_NUMBER_CONSTRAINT, columnNames = "license_number")
+})
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class Veterinarian {
 
+    // Nombres fijos para poder traducir una violación de unicidad al campo que la provoca
+    public static final String EMAIL_CONSTRAINT = "uk_veterinarians_email";
+    public static final String LICENSE_NUMBER_CONSTRAINT = "uk_veterinarians_license_number";
+
     @Id
     @GeneratedValue(strategy = GenerationType.AUTO)
     @Column(columnDefinition = "UUID")
@@ -30,13 +37,13 @@ public class Veterinarian {
     @Column(name = "last_name", nullable = false)
     private String lastName;
 
-    @Column(unique = true, nullable = false)
+    @Column(nullable = false)
     private String email;
 
     @Column(name = "phone_number")
     private String phoneNumber;
 
-    @Column(name = "license_number", unique = true, nullable = false)
+    @Column(name = "license_number", nullable = false)
     private String licenseNumber;
 
     @Column(name = "specialization")
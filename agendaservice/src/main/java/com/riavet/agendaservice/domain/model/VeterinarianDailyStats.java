@@ -0,0 +1,78 @@
+package com.riavet.agendaservice.domain.model;
+
+import com.riavet.agendaservice.domain.model.Appointment.AppointmentStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Fila de resumen diario de la carga de un veterinario: citas por estado y minutos reservados
+ * (citas no canceladas) de las citas que empiezan ese día. Se mantiene de forma incremental con
+ * cada cambio de cita, de modo que las estadísticas de un año leen como mucho 366 filas por veterinario.
+ */
+@Entity
+@Table(name = "veterinarian_daily_stats", indexes = {
+        @Index(name = "idx_veterinarian_daily_stats_date", columnList = "stat_date")
+})
+@IdClass(VeterinarianDailyStats.Key.class)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VeterinarianDailyStats {
+
+    @Id
+    @Column(name = "veterinarian_id", columnDefinition = "UUID")
+    private UUID veterinarianId;
+
+    @Id
+    @Column(name = "stat_date")
+    private LocalDate statDate;
+
+    @Column(name = "pending_count", nullable = false)
+    private long pendingCount;
+
+    @Column(name = "confirmed_count", nullable = false)
+    private long confirmedCount;
+
+    @Column(name = "completed_count", nullable = false)
+    private long completedCount;
+
+    @Column(name = "canceled_count", nullable = false)
+    private long canceledCount;
+
+    @Column(name = "booked_minutes", nullable = false)
+    private long bookedMinutes;
+
+    public void addCount(AppointmentStatus status, long delta) {
+        switch (status) {
+            case PENDING -> pendingCount += delta;
+            case CONFIRMED -> confirmedCount += delta;
+            case COMPLETED -> completedCount += delta;
+            case CANCELED -> canceledCount += delta;
+        }
+    }
+
+    public long getCount(AppointmentStatus status) {
+        return switch (status) {
+            case PENDING -> pendingCount;
+            case CONFIRMED -> confirmedCount;
+            case COMPLETED -> completedCount;
+            case CANCELED -> canceledCount;
+        };
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private UUID veterinarianId;
+        private LocalDate statDate;
+    }
+}
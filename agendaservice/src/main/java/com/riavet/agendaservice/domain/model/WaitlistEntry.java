@@ -0,0 +1,92 @@
+package com.riavet.agendaservice.domain.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Paciente en lista de espera para un veterinario concreto o para cualquier veterinario de una
+ * especialidad. Cuando se libera un hueco que le sirve se le ofrece; si lo acepta se reserva la cita.
+ */
+@Entity
+@Table(name = "waitlist_entries", indexes = {
+        @Index(name = "idx_waitlist_entries_status", columnList = "status")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WaitlistEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(columnDefinition = "UUID")
+    private UUID id;
+
+    @Column(name = "patient_id", nullable = false, columnDefinition = "UUID")
+    private UUID patientId;
+
+    // Si es null vale cualquier veterinario activo de la especialidad
+    @Column(name = "veterinarian_id", columnDefinition = "UUID")
+    private UUID veterinarianId;
+
+    private String specialization;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Urgency urgency;
+
+    @Column(name = "duration_minutes", nullable = false)
+    private Integer durationMinutes;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private WaitlistStatus status;
+
+    // Hueco ofrecido mientras la entrada está OFFERED
+    @Column(name = "offered_veterinarian_id", columnDefinition = "UUID")
+    private UUID offeredVeterinarianId;
+
+    @Column(name = "offered_scheduled_at")
+    private LocalDateTime offeredScheduledAt;
+
+    // Duración del hueco liberado, que puede ser mayor que la que pidió el paciente
+    @Column(name = "offered_duration_minutes")
+    private Integer offeredDurationMinutes;
+
+    // Cuándo se hizo la oferta; pasado agenda.waitlist.offer-ttl caduca y el hueco pasa al siguiente
+    @Column(name = "offered_at")
+    private LocalDateTime offeredAt;
+
+    @Column(name = "appointment_id", columnDefinition = "UUID")
+    private UUID appointmentId;
+
+    // Marca el orden de llegada dentro de la misma urgencia
+    @CreationTimestamp
+    @Column(name = "requested_at", nullable = false, updatable = false)
+    private LocalDateTime requestedAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public enum Urgency {
+        ROUTINE,
+        PRIORITY,
+        URGENT
+    }
+
+    public enum WaitlistStatus {
+        WAITING,
+        OFFERED,
+        BOOKED,
+        WITHDRAWN
+    }
+}
@@ -0,0 +1,24 @@
+package com.riavet.agendaservice.domain.repository;
+
+import com.riavet.agendaservice.domain.model.Appointment.AppointmentStatus;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Proyección de una cita con lo necesario para pintar el calendario.
+ */
+public interface AppointmentCalendarView {
+
+    UUID getId();
+
+    UUID getVeterinarianId();
+
+    UUID getPatientId();
+
+    LocalDateTime getScheduledAt();
+
+    Integer getDurationMinutes();
+
+    AppointmentStatus getStatus();
+}
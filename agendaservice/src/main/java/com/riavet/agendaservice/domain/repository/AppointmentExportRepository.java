@@ -0,0 +1,20 @@
+package com.riavet.agendaservice.domain.repository;
+
+import com.riavet.agendaservice.domain.model.Appointment.AppointmentStatus;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Fragmento de {@link AppointmentRepository} para recorrer citas sin cargarlas todas en memoria.
+ */
+public interface AppointmentExportRepository {
+
+    /**
+     * Devuelve las citas ordenadas por (scheduledAt, id) leyendo de a {@code fetchSize} filas.
+     * Los filtros nulos se ignoran. El stream debe cerrarse y consumirse dentro de una transacción.
+     */
+    Stream<AppointmentExportRow> streamForExport(UUID veterinarianId, AppointmentStatus status,
+                                                 LocalDateTime from, LocalDateTime to, int fetchSize);
+}
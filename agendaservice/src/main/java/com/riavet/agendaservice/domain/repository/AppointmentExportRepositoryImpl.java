@@ -0,0 +1,62 @@
+package com.riavet.agendaservice.domain.repository;
+
+import com.riavet.agendaservice.domain.model.Appointment.AppointmentStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.HibernateHints;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+public class AppointmentExportRepositoryImpl implements AppointmentExportRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Stream<AppointmentExportRow> streamForExport(UUID veterinarianId, AppointmentStatus status,
+                                                        LocalDateTime from, LocalDateTime to, int fetchSize) {
+        // Solo se añaden las condiciones con valor para no enviar parámetros nulos sin tipo
+        List<String> conditions = new ArrayList<>();
+        if (veterinarianId != null) {
+            conditions.add("v.id = :veterinarianId");
+        }
+        if (status != null) {
+            conditions.add("a.status = :status");
+        }
+        if (from != null) {
+            conditions.add("a.scheduledAt >= :from");
+        }
+        if (to != null) {
+            conditions.add("a.scheduledAt < :to");
+        }
+
+        String jpql = "SELECT new com.riavet.agendaservice.domain.repository.AppointmentExportRow("
+                + "a.id, a.patientId, v.id, CONCAT(v.firstName, ' ', v.lastName), a.scheduledAt, a.durationMinutes, "
+                + "a.status, a.seriesId, a.createdAt, a.updatedAt) "
+                + "FROM Appointment a JOIN a.veterinarian v"
+                + (conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions))
+                + " ORDER BY a.scheduledAt, a.id";
+
+        TypedQuery<AppointmentExportRow> query = entityManager.createQuery(jpql, AppointmentExportRow.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true);
+        if (veterinarianId != null) {
+            query.setParameter("veterinarianId", veterinarianId);
+        }
+        if (status != null) {
+            query.setParameter("status", status);
+        }
+        if (from != null) {
+            query.setParameter("from", from);
+        }
+        if (to != null) {
+            query.setParameter("to", to);
+        }
+        return query.getResultStream();
+    }
+}
@@ -0,0 +1,28 @@
+package com.riavet.agendaservice.domain.repository;
+
+import com.riavet.agendaservice.domain.model.Appointment.AppointmentStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Fila plana de exportación. Se construye directamente en la consulta (no es una entidad),
+ * así que no se acumula en el contexto de persistencia mientras se recorre el resultado.
+ */
+@Data
+@AllArgsConstructor
+public class AppointmentExportRow {
+
+    private UUID id;
+    private UUID patientId;
+    private UUID veterinarianId;
+    private String veterinarianName;
+    private LocalDateTime scheduledAt;
+    private Integer durationMinutes;
+    private AppointmentStatus status;
+    private UUID seriesId;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,22 @@
+package com.riavet.agendaservice.domain.repository;
+
+import com.riavet.agendaservice.domain.model.Appointment.AppointmentStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Fragmento de {@link AppointmentRepository} para el historial de citas de un paciente.
+ */
+public interface AppointmentHistoryRepository {
+
+    /**
+     * Devuelve hasta {@code limit} citas del paciente de la más reciente a la más antigua, ordenadas por
+     * (scheduledAt, id) descendente. Si se indica {@code beforeScheduledAt}/{@code beforeId}, solo las
+     * estrictamente anteriores a esa posición. Los filtros nulos se ignoran.
+     */
+    List<AppointmentHistoryRow> findPatientHistory(UUID patientId, UUID veterinarianId, AppointmentStatus status,
+                                                   LocalDateTime from, LocalDateTime to,
+                                                   LocalDateTime beforeScheduledAt, UUID beforeId, int limit);
+}
@@ -0,0 +1,75 @@
+package com.riavet.agendaservice.domain.repository;
+
+import com.riavet.agendaservice.domain.model.Appointment.AppointmentStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.HibernateHints;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+public class AppointmentHistoryRepositoryImpl implements AppointmentHistoryRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<AppointmentHistoryRow> findPatientHistory(UUID patientId, UUID veterinarianId,
+                                                          AppointmentStatus status, LocalDateTime from,
+                                                          LocalDateTime to, LocalDateTime beforeScheduledAt,
+                                                          UUID beforeId, int limit) {
+        // Solo se añaden las condiciones con valor para no enviar parámetros nulos sin tipo
+        List<String> conditions = new ArrayList<>();
+        conditions.add("a.patientId = :patientId");
+        if (veterinarianId != null) {
+            conditions.add("a.veterinarian.id = :veterinarianId");
+        }
+        if (status != null) {
+            conditions.add("a.status = :status");
+        }
+        if (from != null) {
+            conditions.add("a.scheduledAt >= :from");
+        }
+        if (to != null) {
+            conditions.add("a.scheduledAt < :to");
+        }
+        boolean keyset = beforeScheduledAt != null && beforeId != null;
+        if (keyset) {
+            conditions.add("(a.scheduledAt < :beforeScheduledAt "
+                    + "OR (a.scheduledAt = :beforeScheduledAt AND a.id < :beforeId))");
+        }
+
+        // a.veterinarian.id se resuelve con la columna veterinarian_id, sin JOIN; el orden coincide con
+        // el índice (patient_id, scheduled_at DESC, id DESC), así que cada página es un recorrido de rango
+        String jpql = "SELECT new com.riavet.agendaservice.domain.repository.AppointmentHistoryRow("
+                + "a.id, a.patientId, a.veterinarian.id, a.scheduledAt, a.durationMinutes, a.status, "
+                + "a.seriesId, a.occurrenceIndex, a.version, a.createdAt, a.updatedAt) "
+                + "FROM Appointment a WHERE " + String.join(" AND ", conditions)
+                + " ORDER BY a.scheduledAt DESC, a.id DESC";
+
+        TypedQuery<AppointmentHistoryRow> query = entityManager.createQuery(jpql, AppointmentHistoryRow.class)
+                .setParameter("patientId", patientId)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .setMaxResults(limit);
+        if (veterinarianId != null) {
+            query.setParameter("veterinarianId", veterinarianId);
+        }
+        if (status != null) {
+            query.setParameter("status", status);
+        }
+        if (from != null) {
+            query.setParameter("from", from);
+        }
+        if (to != null) {
+            query.setParameter("to", to);
+        }
+        if (keyset) {
+            query.setParameter("beforeScheduledAt", beforeScheduledAt);
+            query.setParameter("beforeId", beforeId);
+        }
+        return query.getResultList();
+    }
+}
@@ -0,0 +1,29 @@
+package com.riavet.agendaservice.domain.repository;
+
+import com.riavet.agendaservice.domain.model.Appointment.AppointmentStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Cita del historial de un paciente, construida en la consulta sin unir la tabla de veterinarios:
+ * del veterinario solo se lee la clave foránea.
+ */
+@Data
+@AllArgsConstructor
+public class AppointmentHistoryRow {
+
+    private UUID id;
+    private UUID patientId;
+    private UUID veterinarianId;
+    private LocalDateTime scheduledAt;
+    private Integer durationMinutes;
+    private AppointmentStatus status;
+    private UUID seriesId;
+    private Integer occurrenceIndex;
+    private Long version;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
@@ -1,23 +1,75 @@
 package com.riavet.agendaservice.domain.repository;
 
 import com.riavet.agendaservice.domain.model.Appointment;
+import com.riavet.agendaservice.domain.model.Appointment.AppointmentStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface AppointmentRepository extends JpaRepository<Appointment, UUID> {
+public interface AppointmentRepository extends JpaRepository<Appointment, UUID>, JpaSpecificationExecutor<Appointment>,
+        AppointmentExportRepository, AppointmentHistoryRepository {
     
-    @Query("SELECT a FROM Appointment a WHERE a.veterinarian.id = :veterinarianId")
+    @Query("SELECT a FROM Appointment a JOIN FETCH a.veterinarian v WHERE v.id = :veterinarianId")
     List<Appointment> findByVeterinarianId(@Param("veterinarianId") UUID veterinarianId);
 
     @Query("SELECT a FROM Appointment a JOIN FETCH a.veterinarian")
     List<Appointment> findAllWithVeterinarian();
 
+    // Resumen diario por veterinario calculado sobre la tabla de citas, para reconstruir las filas de carga
+    @Query("SELECT new com.riavet.agendaservice.domain.repository.WorkloadDayRow("
+            + "a.veterinarian.id, cast(a.scheduledAt as LocalDate), "
+            + "SUM(CASE WHEN a.status = :pending THEN 1 ELSE 0 END), "
+            + "SUM(CASE WHEN a.status = :confirmed THEN 1 ELSE 0 END), "
+            + "SUM(CASE WHEN a.status = :completed THEN 1 ELSE 0 END), "
+            + "SUM(CASE WHEN a.status = :canceled THEN 1 ELSE 0 END), "
+            + "SUM(CASE WHEN a.status <> :canceled THEN COALESCE(a.durationMinutes, "
+            + Appointment.DEFAULT_DURATION_MINUTES + ") ELSE 0 END)) "
+            + "FROM Appointment a GROUP BY a.veterinarian.id, cast(a.scheduledAt as LocalDate)")
+    List<WorkloadDayRow> summarizeByVeterinarianAndDay(@Param("pending") AppointmentStatus pending,
+                                                       @Param("confirmed") AppointmentStatus confirmed,
+                                                       @Param("completed") AppointmentStatus completed,
+                                                       @Param("canceled") AppointmentStatus canceled);
+
+    @Query("SELECT a.version FROM Appointment a WHERE a.id = :id")
+    Optional<Long> findVersionById(@Param("id") UUID id);
+
     @Query("SELECT a FROM Appointment a JOIN FETCH a.veterinarian WHERE a.id = :id")
-    java.util.Optional<Appointment> findByIdWithVeterinarian(@Param("id") UUID id);
+    Optional<Appointment> findByIdWithVeterinarian(@Param("id") UUID id);
+
+    @Query("SELECT a.id AS id, a.veterinarian.id AS veterinarianId, a.scheduledAt AS scheduledAt, "
+            + "a.durationMinutes AS durationMinutes "
+            + "FROM Appointment a WHERE a.status IN :statuses AND a.scheduledAt >= :from")
+    List<AppointmentSlotView> findSlotsScheduledFrom(@Param("statuses") Collection<AppointmentStatus> statuses,
+                                                     @Param("from") LocalDateTime from);
+
+    @Query("SELECT a.id AS id, a.veterinarian.id AS veterinarianId, a.scheduledAt AS scheduledAt, "
+            + "a.durationMinutes AS durationMinutes "
+            + "FROM Appointment a WHERE a.veterinarian.id = :veterinarianId AND a.status IN :statuses "
+            + "AND a.scheduledAt > :windowStart AND a.scheduledAt < :windowEnd")
+    List<AppointmentSlotView> findVeterinarianSlotsStartingBetween(@Param("veterinarianId") UUID veterinarianId,
+                                                                  @Param("statuses") Collection<AppointmentStatus> statuses,
+                                                                  @Param("windowStart") LocalDateTime windowStart,
+                                                                  @Param("windowEnd") LocalDateTime windowEnd);
+
+    @Query("SELECT a FROM Appointment a JOIN FETCH a.veterinarian "
+            + "WHERE a.seriesId = :seriesId AND a.occurrenceIndex >= :fromIndex AND a.status IN :statuses")
+    List<Appointment> findSeriesOccurrencesFrom(@Param("seriesId") UUID seriesId,
+                                                @Param("fromIndex") int fromIndex,
+                                                @Param("statuses") Collection<AppointmentStatus> statuses);
+
+    @Query("SELECT a.id AS id, a.veterinarian.id AS veterinarianId, a.patientId AS patientId, "
+            + "a.scheduledAt AS scheduledAt, a.durationMinutes AS durationMinutes, a.status AS status "
+            + "FROM Appointment a WHERE a.status IN :statuses AND a.scheduledAt >= :from AND a.scheduledAt < :to")
+    List<AppointmentCalendarView> findCalendarEntriesBetween(@Param("statuses") Collection<AppointmentStatus> statuses,
+                                                             @Param("from") LocalDateTime from,
+                                                             @Param("to") LocalDateTime to);
 }
@@ -0,0 +1,34 @@
+package com.riavet.agendaservice.domain.repository;
+
+import com.riavet.agendaservice.domain.model.AppointmentSeries;
+import com.riavet.agendaservice.domain.model.AppointmentSeries.SeriesStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface AppointmentSeriesRepository extends JpaRepository<AppointmentSeries, UUID> {
+
+    @Query("SELECT s FROM AppointmentSeries s JOIN FETCH s.veterinarian WHERE s.id = :id")
+    Optional<AppointmentSeries> findByIdWithVeterinarian(@Param("id") UUID id);
+
+    // Series que aún tienen ocurrencias virtuales a partir de :from
+    @Query("SELECT s FROM AppointmentSeries s JOIN FETCH s.veterinarian "
+            + "WHERE s.status = :status AND s.lastOccurrenceAt >= :from "
+            + "AND s.materializedThroughIndex < s.occurrenceCount - 1")
+    List<AppointmentSeries> findWithVirtualOccurrencesFrom(@Param("status") SeriesStatus status,
+                                                          @Param("from") LocalDateTime from);
+
+    @Query("SELECT s FROM AppointmentSeries s JOIN FETCH s.veterinarian v "
+            + "WHERE v.id = :veterinarianId AND s.status = :status AND s.lastOccurrenceAt >= :from "
+            + "AND s.materializedThroughIndex < s.occurrenceCount - 1")
+    List<AppointmentSeries> findVeterinarianSeriesWithVirtualOccurrencesFrom(@Param("veterinarianId") UUID veterinarianId,
+                                                                            @Param("status") SeriesStatus status,
+                                                                            @Param("from") LocalDateTime from);
+}
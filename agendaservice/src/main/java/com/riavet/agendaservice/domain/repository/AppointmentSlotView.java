@@ -0,0 +1,19 @@
+package com.riavet.agendaservice.domain.repository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Proyección mínima de una cita para construir índices en memoria
+ * sin cargar entidades completas.
+ */
+public interface AppointmentSlotView {
+
+    UUID getId();
+
+    UUID getVeterinarianId();
+
+    LocalDateTime getScheduledAt();
+
+    Integer getDurationMinutes();
+}
@@ -0,0 +1,55 @@
+package com.riavet.agendaservice.domain.repository;
+
+import com.riavet.agendaservice.domain.model.Appointment;
+import com.riavet.agendaservice.domain.model.Appointment.AppointmentStatus;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Filtros reutilizables para las consultas de citas. Un filtro con valor nulo
+ * no agrega ninguna condición.
+ */
+public final class AppointmentSpecifications {
+
+    private AppointmentSpecifications() {
+    }
+
+    public static Specification<Appointment> hasVeterinarian(UUID veterinarianId) {
+        return (root, query, cb) -> veterinarianId == null
+                ? null
+                : cb.equal(root.get("veterinarian").get("id"), veterinarianId);
+    }
+
+    public static Specification<Appointment> hasStatus(AppointmentStatus status) {
+        return (root, query, cb) -> status == null ? null : cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<Appointment> scheduledFrom(LocalDateTime from) {
+        return (root, query, cb) -> from == null
+                ? null
+                : cb.greaterThanOrEqualTo(root.get("scheduledAt"), from);
+    }
+
+    public static Specification<Appointment> scheduledBefore(LocalDateTime to) {
+        return (root, query, cb) -> to == null ? null : cb.lessThan(root.get("scheduledAt"), to);
+    }
+
+    /**
+     * Condición de keyset sobre (scheduledAt, id): filas estrictamente posteriores
+     * a la última fila de la página anterior.
+     */
+    public static Specification<Appointment> after(LocalDateTime scheduledAt, UUID id) {
+        return (root, query, cb) -> {
+            if (scheduledAt == null || id == null) {
+                return null;
+            }
+            return cb.or(
+                    cb.greaterThan(root.get("scheduledAt"), scheduledAt),
+                    cb.and(
+                            cb.equal(root.get("scheduledAt"), scheduledAt),
+                            cb.greaterThan(root.<UUID>get("id"), id)));
+        };
+    }
+}
@@ -0,0 +1,50 @@
+package com.riavet.agendaservice.domain.repository;
+
+import com.riavet.agendaservice.domain.model.VeterinarianDailyStats;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface VeterinarianDailyStatsRepository
+        extends JpaRepository<VeterinarianDailyStats, VeterinarianDailyStats.Key> {
+
+    List<VeterinarianDailyStats> findByVeterinarianIdAndStatDateBetweenOrderByStatDate(
+            UUID veterinarianId, LocalDate from, LocalDate to);
+
+    // Bloquea en orden fijo las filas que va a modificar una transacción para evitar interbloqueos
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM VeterinarianDailyStats s WHERE s.veterinarianId IN :veterinarianIds "
+            + "AND s.statDate BETWEEN :from AND :to ORDER BY s.veterinarianId, s.statDate")
+    List<VeterinarianDailyStats> lockRange(@Param("veterinarianIds") Collection<UUID> veterinarianIds,
+                                           @Param("from") LocalDate from,
+                                           @Param("to") LocalDate to);
+
+    // Una fila por veterinario, también para los que no tienen citas en el rango
+    @Query("SELECT new com.riavet.agendaservice.domain.repository.WorkloadTotalsRow("
+            + "v.id, v.firstName, v.lastName, "
+            + "COALESCE(SUM(s.pendingCount), 0), COALESCE(SUM(s.confirmedCount), 0), "
+            + "COALESCE(SUM(s.completedCount), 0), COALESCE(SUM(s.canceledCount), 0), "
+            + "COALESCE(SUM(s.bookedMinutes), 0)) "
+            + "FROM Veterinarian v LEFT JOIN VeterinarianDailyStats s "
+            + "ON s.veterinarianId = v.id AND s.statDate BETWEEN :from AND :to "
+            + "WHERE (:onlyActive = false OR v.active = true) "
+            + "GROUP BY v.id, v.firstName, v.lastName "
+            + "ORDER BY v.lastName, v.firstName, v.id")
+    List<WorkloadTotalsRow> summarize(@Param("from") LocalDate from,
+                                      @Param("to") LocalDate to,
+                                      @Param("onlyActive") boolean onlyActive);
+
+    @Modifying
+    @Query("DELETE FROM VeterinarianDailyStats s")
+    int deleteAllRows();
+}
@@ -0,0 +1,12 @@
+package com.riavet.agendaservice.domain.repository;
+
+/**
+ * Proyección con las claves únicas de un veterinario, para detectar duplicados en importaciones
+ * sin cargar entidades completas.
+ */
+public interface VeterinarianKeyView {
+
+    String getEmail();
+
+    String getLicenseNumber();
+}
@@ -1,10 +1,14 @@
 package com.riavet.agendaservice.domain.repository;
 
 import com.riavet.agendaservice.domain.model.Veterinarian;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -19,7 +23,18 @@ public interface VeterinarianRepository extends JpaRepository<Veterinarian, UUID
     @Query("SELECT v FROM Veterinarian v WHERE v.active = true")
     List<Veterinarian> findAllActive();
 
-    boolean existsByEmailAndIdNot(String email, UUID id);
+    // Bloquea la fila del veterinario para serializar reservas entre nodos
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT v.id FROM Veterinarian v WHERE v.id = :id")
+    Optional<UUID> lockById(@Param("id") UUID id);
 
-    boolean existsByLicenseNumberAndIdNot(String licenseNumber, UUID id);
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT v.id FROM Veterinarian v WHERE v.id IN :ids ORDER BY v.id")
+    List<UUID> lockAllById(@Param("ids") Collection<UUID> ids);
+
+    // Emails y matrículas ya registrados entre los indicados, en una sola consulta
+    @Query("SELECT v.email AS email, v.licenseNumber AS licenseNumber FROM Veterinarian v "
+            + "WHERE v.email IN :emails OR v.licenseNumber IN :licenseNumbers")
+    List<VeterinarianKeyView> findKeysByEmailInOrLicenseNumberIn(@Param("emails") Collection<String> emails,
+                                                                 @Param("licenseNumbers") Collection<String> licenseNumbers);
 }
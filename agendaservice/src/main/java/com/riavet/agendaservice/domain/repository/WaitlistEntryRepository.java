@@ -0,0 +1,52 @@
+package com.riavet.agendaservice.domain.repository;
+
+import com.riavet.agendaservice.domain.model.WaitlistEntry;
+import com.riavet.agendaservice.domain.model.WaitlistEntry.WaitlistStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface WaitlistEntryRepository extends JpaRepository<WaitlistEntry, UUID> {
+
+    List<WaitlistEntry> findByStatus(WaitlistStatus status);
+
+    // Solo pasa a OFFERED si sigue esperando: una retirada concurrente gana
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE WaitlistEntry w SET w.status = :offered, w.offeredVeterinarianId = :veterinarianId, "
+            + "w.offeredScheduledAt = :scheduledAt, w.offeredDurationMinutes = :durationMinutes, w.offeredAt = :now, "
+            + "w.updatedAt = :now "
+            + "WHERE w.id = :id AND w.status = :waiting")
+    int markOffered(@Param("id") UUID id,
+                    @Param("veterinarianId") UUID veterinarianId,
+                    @Param("scheduledAt") LocalDateTime scheduledAt,
+                    @Param("durationMinutes") Integer durationMinutes,
+                    @Param("now") LocalDateTime now,
+                    @Param("offered") WaitlistStatus offered,
+                    @Param("waiting") WaitlistStatus waiting);
+
+    List<WaitlistEntry> findByStatusAndOfferedAtBefore(WaitlistStatus status, LocalDateTime offeredBefore);
+
+    // Solo caduca si sigue siendo la misma oferta: una aceptación, un rechazo o una oferta nueva ganan
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE WaitlistEntry w SET w.status = :waiting, w.updatedAt = :now "
+            + "WHERE w.id = :id AND w.status = :offered AND w.offeredAt = :offeredAt")
+    int expireOffer(@Param("id") UUID id,
+                    @Param("offeredAt") LocalDateTime offeredAt,
+                    @Param("now") LocalDateTime now,
+                    @Param("offered") WaitlistStatus offered,
+                    @Param("waiting") WaitlistStatus waiting);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE WaitlistEntry w SET w.status = :to, w.updatedAt = :now WHERE w.id = :id AND w.status = :from")
+    int transition(@Param("id") UUID id,
+                   @Param("from") WaitlistStatus from,
+                   @Param("to") WaitlistStatus to,
+                   @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,24 @@
+package com.riavet.agendaservice.domain.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Agregado de las citas de un veterinario en un día, calculado con GROUP BY sobre {@code appointments}.
+ * Sirve para reconstruir las filas de resumen diario.
+ */
+@Data
+@AllArgsConstructor
+public class WorkloadDayRow {
+
+    private UUID veterinarianId;
+    private LocalDate date;
+    private Long pendingCount;
+    private Long confirmedCount;
+    private Long completedCount;
+    private Long canceledCount;
+    private Long bookedMinutes;
+}
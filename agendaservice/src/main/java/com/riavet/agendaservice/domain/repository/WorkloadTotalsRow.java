@@ -0,0 +1,23 @@
+package com.riavet.agendaservice.domain.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.UUID;
+
+/**
+ * Totales de carga de un veterinario en un rango de fechas, sumados sobre las filas de resumen diario.
+ */
+@Data
+@AllArgsConstructor
+public class WorkloadTotalsRow {
+
+    private UUID veterinarianId;
+    private String firstName;
+    private String lastName;
+    private Long pendingCount;
+    private Long confirmedCount;
+    private Long completedCount;
+    private Long canceledCount;
+    private Long bookedMinutes;
+}
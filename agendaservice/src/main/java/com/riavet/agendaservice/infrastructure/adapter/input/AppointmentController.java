@@ -1,9 +1,18 @@
 package com.riavet.agendaservice.infrastructure.adapter.input;
 
+import com.riavet.agendaservice.application.dto.AppointmentBatchRequest;
+import com.riavet.agendaservice.application.dto.AppointmentBatchResponse;
+import com.riavet.agendaservice.application.dto.AppointmentFilter;
+import com.riavet.agendaservice.application.dto.AppointmentPageResponse;
 import com.riavet.agendaservice.application.dto.AppointmentRequest;
 import com.riavet.agendaservice.application.dto.AppointmentResponse;
 import com.riavet.agendaservice.application.dto.AppointmentUpdateRequest;
+import com.riavet.agendaservice.application.dto.ExportFormat;
+import com.riavet.agendaservice.application.service.AppointmentBatchService;
+import com.riavet.agendaservice.application.service.AppointmentExportService;
 import com.riavet.agendaservice.application.service.AppointmentService;
+import com.riavet.agendaservice.domain.model.Appointment.AppointmentStatus;
+import com.riavet.agendaservice.infrastructure.exception.AppointmentVersionMismatchException;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -12,11 +21,18 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
+import java.time.LocalDateTime;
+import java.util.Optional;
 import java.util.UUID;
 
 @RestController
@@ -27,6 +43,8 @@ import java.util.UUID;
 public class AppointmentController {
 
     private final AppointmentService appointmentService;
+    private final AppointmentBatchService appointmentBatchService;
+    private final AppointmentExportService appointmentExportService;
 
     @PostMapping
     @Operation(summary = "Create a new appointment", description = "Creates a new veterinary appointment")
@@ -41,58 +59,180 @@ public class AppointmentController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    @PostMapping("/batch")
+    @Operation(summary = "Create appointments in bulk",
+            description = "Creates up to 5000 appointments in a single transaction. Each item is validated "
+                    + "independently and reported as CREATED or REJECTED in the same order as the request")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Batch processed, see per-item results"),
+            @ApiResponse(responseCode = "400", description = "Empty batch or more than 5000 appointments")
+    })
+    public ResponseEntity<AppointmentBatchResponse> createAppointments(
+            @Valid @RequestBody AppointmentBatchRequest request) {
+        log.info("Received request to create {} appointments in bulk", request.getAppointments().size());
+        return ResponseEntity.ok(appointmentBatchService.createAppointments(request.getAppointments()));
+    }
+
     @GetMapping
-    @Operation(summary = "Get appointments", description = "Retrieves all appointments or filtered by veterinarian")
+    @Operation(summary = "Get appointments",
+            description = "Retrieves appointments ordered by scheduled date using keyset pagination, "
+                    + "optionally filtered by veterinarian, status and date range. With patientId, retrieves "
+                    + "that patient's history from the most recent appointment backwards")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Appointments retrieved successfully")
+            @ApiResponse(responseCode = "200", description = "Appointments retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor, page size or date range")
     })
-    public ResponseEntity<List<AppointmentResponse>> getAppointments(
+    public ResponseEntity<AppointmentPageResponse> getAppointments(
             @Parameter(description = "Veterinarian ID to filter appointments")
-            @RequestParam(required = false) UUID veterinarianId) {
-        log.info("Received request to get appointments. VeterinarianId: {}", veterinarianId);
-        
-        List<AppointmentResponse> appointments;
-        if (veterinarianId != null) {
-            appointments = appointmentService.getAppointmentsByVeterinarian(veterinarianId);
-        } else {
-            appointments = appointmentService.getAllAppointments();
+            @RequestParam(required = false) UUID veterinarianId,
+            @Parameter(description = "Patient ID: returns the patient's appointment history, most recent first")
+            @RequestParam(required = false) UUID patientId,
+            @Parameter(description = "Status to filter appointments")
+            @RequestParam(required = false) AppointmentStatus status,
+            @Parameter(description = "Inclusive lower bound for scheduledAt (ISO 8601)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "Exclusive upper bound for scheduledAt (ISO 8601)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @Parameter(description = "Continuation token returned as nextCursor by the previous page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (default 50, max 200)")
+            @RequestParam(required = false) Integer size,
+            @Parameter(description = "Include not yet materialized occurrences of recurring series")
+            @RequestParam(defaultValue = "false") boolean includeVirtual,
+            @Parameter(description = "Embed the veterinarian of each appointment in the patient history "
+                    + "(the general listing always embeds it)")
+            @RequestParam(defaultValue = "false") boolean includeVeterinarian) {
+        log.info("Received request to get appointments. VeterinarianId: {}, patientId: {}, status: {}, from: {}, "
+                + "to: {}", veterinarianId, patientId, status, from, to);
+
+        AppointmentFilter filter = AppointmentFilter.builder()
+                .veterinarianId(veterinarianId)
+                .patientId(patientId)
+                .status(status)
+                .from(from)
+                .to(to)
+                .cursor(cursor)
+                .size(size)
+                .includeVirtual(includeVirtual)
+                .includeVeterinarian(includeVeterinarian)
+                .build();
+
+        return ResponseEntity.ok(appointmentService.getAppointments(filter));
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Export appointments",
+            description = "Streams every appointment matching the filters as NDJSON or CSV, ordered by scheduled "
+                    + "date. Rows are written as they are read, so the response size is not limited by memory")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Export streamed successfully"),
+            @ApiResponse(responseCode = "400", description = "Unsupported format or invalid date range")
+    })
+    public ResponseEntity<StreamingResponseBody> exportAppointments(
+            @Parameter(description = "Output format: ndjson (default) or csv")
+            @RequestParam(defaultValue = "ndjson") String format,
+            @Parameter(description = "Veterinarian ID to filter appointments")
+            @RequestParam(required = false) UUID veterinarianId,
+            @Parameter(description = "Status to filter appointments")
+            @RequestParam(required = false) AppointmentStatus status,
+            @Parameter(description = "Inclusive lower bound for scheduledAt (ISO 8601)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "Exclusive upper bound for scheduledAt (ISO 8601)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        log.info("Received request to export appointments as {}. VeterinarianId: {}, status: {}, from: {}, to: {}",
+                format, veterinarianId, status, from, to);
+
+        // Se valida antes de empezar a escribir: una vez enviadas las cabeceras ya no se puede responder 400
+        ExportFormat exportFormat;
+        try {
+            exportFormat = ExportFormat.fromValue(format);
+        } catch (IllegalArgumentException e) {
+            log.error("Error exporting appointments: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
         }
-        
-        return ResponseEntity.ok(appointments);
+        if (from != null && to != null && !from.isBefore(to)) {
+            log.error("Error exporting appointments: 'from' must be before 'to'");
+            return ResponseEntity.badRequest().build();
+        }
+
+        AppointmentFilter filter = AppointmentFilter.builder()
+                .veterinarianId(veterinarianId)
+                .status(status)
+                .from(from)
+                .to(to)
+                .build();
+        StreamingResponseBody body = out -> appointmentExportService.exportAppointments(filter, exportFormat, out);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"appointments." + exportFormat.getExtension() + "\"")
+                .body(body);
     }
 
     @GetMapping("/{id}")
-    @Operation(summary = "Get appointment by ID", description = "Retrieves a specific appointment by its ID")
+    @Operation(summary = "Get appointment by ID",
+            description = "Retrieves a specific appointment by its ID. The response carries an ETag with the "
+                    + "appointment version; send it back in If-None-Match to get 304 while nothing changed")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Appointment found"),
+            @ApiResponse(responseCode = "304", description = "Appointment not modified since the given ETag"),
             @ApiResponse(responseCode = "404", description = "Appointment not found")
     })
     public ResponseEntity<AppointmentResponse> getAppointmentById(
             @Parameter(description = "Appointment ID", required = true)
-            @PathVariable UUID id) {
+            @PathVariable UUID id,
+            @Parameter(description = "ETag of the copy the client already has")
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            WebRequest webRequest) {
         log.info("Received request to get appointment with ID: {}", id);
-        
+
+        // Con If-None-Match basta la versión para decidir el 304, sin cargar ni mapear la cita
+        if (ifNoneMatch != null) {
+            Optional<Long> version = appointmentService.getAppointmentVersion(id);
+            if (version.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            String eTag = AppointmentETags.of(version.get());
+            if (webRequest.checkNotModified(eTag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+            }
+        }
+
         return appointmentService.getAppointmentById(id)
-                .map(appointment -> ResponseEntity.ok(appointment))
+                .map(appointment -> ResponseEntity.ok().eTag(AppointmentETags.of(appointment.getVersion())).body(appointment))
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @PutMapping("/{id}/status")
-    @Operation(summary = "Update appointment status", description = "Updates the status of an existing appointment")
+    @Operation(summary = "Update appointment status",
+            description = "Updates the status of an existing appointment. With If-Match the update is only "
+                    + "applied if the appointment is still at that ETag")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Appointment status updated successfully"),
             @ApiResponse(responseCode = "400", description = "Invalid status or invalid status transition"),
-            @ApiResponse(responseCode = "404", description = "Appointment not found")
+            @ApiResponse(responseCode = "404", description = "Appointment not found"),
+            @ApiResponse(responseCode = "409", description = "Appointment changed concurrently, retry with a fresh copy"),
+            @ApiResponse(responseCode = "412", description = "If-Match does not match the current ETag")
     })
     public ResponseEntity<AppointmentResponse> updateAppointmentStatus(
             @Parameter(description = "Appointment ID", required = true)
             @PathVariable UUID id,
+            @Parameter(description = "ETag the client read the appointment at")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody AppointmentUpdateRequest request) {
         log.info("Received request to update status of appointment ID: {} to status: {}", id, request.getStatus());
         
         try {
-            AppointmentResponse response = appointmentService.updateAppointmentStatus(id, request);
-            return ResponseEntity.ok(response);
+            AppointmentResponse response = appointmentService.updateAppointmentStatus(id, request,
+                    AppointmentETags.expectedVersions(id, ifMatch));
+            return ResponseEntity.ok().eTag(AppointmentETags.of(response.getVersion())).body(response);
+        } catch (AppointmentVersionMismatchException e) {
+            log.warn("Precondition failed updating appointment status: {}", e.getMessage());
+            return preconditionFailed(e.getCurrentVersion());
+        } catch (OptimisticLockingFailureException e) {
+            log.warn("Concurrent update of appointment: {}", id);
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         } catch (RuntimeException e) {
             log.error("Error updating appointment status: {}", e.getMessage());
             return ResponseEntity.badRequest().build();
@@ -100,25 +240,47 @@ public class AppointmentController {
     }
 
     @PatchMapping("/{id}/cancel")
-    @Operation(summary = "Cancel appointment", description = "Cancels an existing appointment")
+    @Operation(summary = "Cancel appointment",
+            description = "Cancels an existing appointment. With If-Match the appointment is only canceled if it "
+                    + "is still at that ETag")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Appointment canceled successfully"),
             @ApiResponse(responseCode = "400", description = "Cannot cancel this appointment"),
-            @ApiResponse(responseCode = "404", description = "Appointment not found")
+            @ApiResponse(responseCode = "404", description = "Appointment not found"),
+            @ApiResponse(responseCode = "409", description = "Appointment changed concurrently, retry with a fresh copy"),
+            @ApiResponse(responseCode = "412", description = "If-Match does not match the current ETag")
     })
     public ResponseEntity<AppointmentResponse> cancelAppointment(
             @Parameter(description = "Appointment ID", required = true)
             @PathVariable UUID id,
+            @Parameter(description = "ETag the client read the appointment at")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Parameter(description = "Reason for cancellation")
             @RequestParam(required = false) String reason) {
         log.info("Received request to cancel appointment with ID: {}", id);
         
         try {
-            AppointmentResponse response = appointmentService.cancelAppointment(id, reason);
-            return ResponseEntity.ok(response);
+            AppointmentResponse response = appointmentService.cancelAppointment(id, reason,
+                    AppointmentETags.expectedVersions(id, ifMatch));
+            return ResponseEntity.ok().eTag(AppointmentETags.of(response.getVersion())).body(response);
+        } catch (AppointmentVersionMismatchException e) {
+            log.warn("Precondition failed canceling appointment: {}", e.getMessage());
+            return preconditionFailed(e.getCurrentVersion());
+        } catch (OptimisticLockingFailureException e) {
+            log.warn("Concurrent update of appointment: {}", id);
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         } catch (RuntimeException e) {
             log.error("Error canceling appointment: {}", e.getMessage());
             return ResponseEntity.badRequest().build();
         }
     }
+
+    // 412 con el ETag actual cuando se conoce, para que el cliente sepa qué versión volver a leer
+    private static ResponseEntity<AppointmentResponse> preconditionFailed(Long currentVersion) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(HttpStatus.PRECONDITION_FAILED);
+        if (currentVersion != null) {
+            builder.eTag(AppointmentETags.of(currentVersion));
+        }
+        return builder.build();
+    }
 }
@@ -0,0 +1,47 @@
+package com.riavet.agendaservice.infrastructure.adapter.input;
+
+import com.riavet.agendaservice.infrastructure.exception.AppointmentVersionMismatchException;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * ETags de las citas: la versión de {@code @Version} entre comillas, por ejemplo {@code "3"}.
+ */
+final class AppointmentETags {
+
+    private static final Pattern STRONG_VERSION = Pattern.compile("^\"(\\d+)\"$");
+
+    private AppointmentETags() {
+    }
+
+    static String of(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Versiones aceptadas por una cabecera If-Match, o {@code null} si no hay condición (ausente o {@code *}).
+     * La cabecera puede listar varios ETags separados por comas y basta con que coincida uno. If-Match usa
+     * comparación fuerte, así que los ETags débiles o con otro formato de la lista nunca coinciden.
+     */
+    static Set<Long> expectedVersions(UUID appointmentId, String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        Set<Long> versions = new HashSet<>();
+        for (String etag : ifMatch.split(",")) {
+            Matcher matcher = STRONG_VERSION.matcher(etag.trim());
+            if (matcher.matches()) {
+                versions.add(Long.valueOf(matcher.group(1)));
+            }
+        }
+        if (versions.isEmpty()) {
+            throw new AppointmentVersionMismatchException(
+                    "If-Match " + ifMatch + " never matches appointment " + appointmentId + ", expected a strong ETag");
+        }
+        return versions;
+    }
+}
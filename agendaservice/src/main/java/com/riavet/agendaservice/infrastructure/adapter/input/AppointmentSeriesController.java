@@ -0,0 +1,109 @@
+package com.riavet.agendaservice.infrastructure.adapter.input;
+
+import com.riavet.agendaservice.application.dto.AppointmentSeriesRequest;
+import com.riavet.agendaservice.application.dto.AppointmentSeriesRescheduleRequest;
+import com.riavet.agendaservice.application.dto.AppointmentSeriesResponse;
+import com.riavet.agendaservice.application.service.AppointmentSeriesService;
+import com.riavet.agendaservice.infrastructure.exception.AppointmentConflictException;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1/appointment-series")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Appointment Series", description = "Recurring appointment series API")
+public class AppointmentSeriesController {
+
+    private final AppointmentSeriesService seriesService;
+
+    @PostMapping
+    @Operation(summary = "Create a recurring appointment series",
+            description = "Creates a daily or weekly series. Occurrences inside the materialization horizon are "
+                    + "stored as appointments; later ones stay virtual until the horizon reaches them")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Series created successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid request data"),
+            @ApiResponse(responseCode = "409", description = "An occurrence overlaps another appointment of the veterinarian")
+    })
+    public ResponseEntity<AppointmentSeriesResponse> createSeries(
+            @Valid @RequestBody AppointmentSeriesRequest request) {
+        log.info("Received request to create appointment series: {}", request);
+        AppointmentSeriesResponse response = seriesService.createSeries(request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Get appointment series by ID", description = "Retrieves a recurring appointment series")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Series found"),
+            @ApiResponse(responseCode = "404", description = "Series not found")
+    })
+    public ResponseEntity<AppointmentSeriesResponse> getSeriesById(
+            @Parameter(description = "Series ID", required = true)
+            @PathVariable UUID id) {
+        log.info("Received request to get appointment series with ID: {}", id);
+
+        return seriesService.getSeriesById(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @PutMapping("/{id}/schedule")
+    @Operation(summary = "Reschedule appointment series",
+            description = "Moves every pending occurrence of the series: the next pending occurrence starts at "
+                    + "the new date and the following ones keep the series frequency")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Series rescheduled successfully"),
+            @ApiResponse(responseCode = "400", description = "Cannot reschedule this series"),
+            @ApiResponse(responseCode = "409", description = "A moved occurrence overlaps another appointment of the veterinarian")
+    })
+    public ResponseEntity<AppointmentSeriesResponse> rescheduleSeries(
+            @Parameter(description = "Series ID", required = true)
+            @PathVariable UUID id,
+            @Valid @RequestBody AppointmentSeriesRescheduleRequest request) {
+        log.info("Received request to reschedule appointment series ID: {} to {}", id, request.getStartsAt());
+
+        try {
+            return ResponseEntity.ok(seriesService.rescheduleSeries(id, request));
+        } catch (AppointmentConflictException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            log.error("Error rescheduling appointment series: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @PatchMapping("/{id}/cancel")
+    @Operation(summary = "Cancel appointment series",
+            description = "Cancels the series and every future pending or confirmed occurrence")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Series canceled successfully"),
+            @ApiResponse(responseCode = "400", description = "Cannot cancel this series")
+    })
+    public ResponseEntity<AppointmentSeriesResponse> cancelSeries(
+            @Parameter(description = "Series ID", required = true)
+            @PathVariable UUID id,
+            @Parameter(description = "Reason for cancellation")
+            @RequestParam(required = false) String reason) {
+        log.info("Received request to cancel appointment series with ID: {}", id);
+
+        try {
+            return ResponseEntity.ok(seriesService.cancelSeries(id, reason));
+        } catch (RuntimeException e) {
+            log.error("Error canceling appointment series: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
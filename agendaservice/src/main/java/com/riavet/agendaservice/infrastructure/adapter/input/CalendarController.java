@@ -0,0 +1,43 @@
+package com.riavet.agendaservice.infrastructure.adapter.input;
+
+import com.riavet.agendaservice.application.dto.DayCalendarResponse;
+import com.riavet.agendaservice.application.service.CalendarService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/v1/calendar")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Calendar", description = "Precomputed calendar views")
+public class CalendarController {
+
+    private final CalendarService calendarService;
+
+    @GetMapping
+    @Operation(summary = "Get day calendar",
+            description = "Retrieves one column per active veterinarian with the appointments of the day "
+                    + "already placed on the slot grid")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Calendar retrieved successfully")
+    })
+    public ResponseEntity<DayCalendarResponse> getDay(
+            @Parameter(description = "Day to show (ISO 8601 date)", required = true)
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        log.info("Received request to get calendar for {}", date);
+        return ResponseEntity.ok(calendarService.getDay(date));
+    }
+}
@@ -1,8 +1,17 @@
 package com.riavet.agendaservice.infrastructure.adapter.input;
 
+import com.riavet.agendaservice.application.dto.AvailabilityResponse;
+import com.riavet.agendaservice.application.dto.VeterinarianCalendarResponse;
+import com.riavet.agendaservice.application.dto.VeterinarianImportRequest;
+import com.riavet.agendaservice.application.dto.VeterinarianImportResponse;
 import com.riavet.agendaservice.application.dto.VeterinarianRequest;
 import com.riavet.agendaservice.application.dto.VeterinarianResponse;
+import com.riavet.agendaservice.application.dto.VeterinarianSearchResponse;
+import com.riavet.agendaservice.application.dto.VeterinarianWorkloadResponse;
+import com.riavet.agendaservice.application.service.AvailabilityService;
+import com.riavet.agendaservice.application.service.CalendarService;
 import com.riavet.agendaservice.application.service.VeterinarianService;
+import com.riavet.agendaservice.application.service.WorkloadService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -11,10 +20,13 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -26,6 +38,9 @@ import java.util.UUID;
 public class VeterinarianController {
 
     private final VeterinarianService veterinarianService;
+    private final AvailabilityService availabilityService;
+    private final CalendarService calendarService;
+    private final WorkloadService workloadService;
 
     @PostMapping
     @Operation(summary = "Create a new veterinarian", description = "Creates a new veterinarian in the system")
@@ -41,6 +56,20 @@ public class VeterinarianController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    @PostMapping("/import")
+    @Operation(summary = "Import veterinarians in bulk",
+            description = "Creates up to 1000 veterinarians in a single transaction. Each item is validated "
+                    + "independently and reported as CREATED or REJECTED, with per-field errors, in request order")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Import processed, see per-item results"),
+            @ApiResponse(responseCode = "400", description = "Empty import or more than 1000 veterinarians")
+    })
+    public ResponseEntity<VeterinarianImportResponse> importVeterinarians(
+            @Valid @RequestBody VeterinarianImportRequest request) {
+        log.info("Received request to import {} veterinarians", request.getVeterinarians().size());
+        return ResponseEntity.ok(veterinarianService.importVeterinarians(request.getVeterinarians()));
+    }
+
     @GetMapping
     @Operation(summary = "Get veterinarians", description = "Retrieves all veterinarians or only active ones")
     @ApiResponses(value = {
@@ -58,6 +87,28 @@ public class VeterinarianController {
         return ResponseEntity.ok(veterinarians);
     }
 
+    @GetMapping("/search")
+    @Operation(summary = "Search veterinarians",
+            description = "Typeahead search by name, last name or specialization prefix, ordered by last name")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Search results retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid page or size")
+    })
+    public ResponseEntity<VeterinarianSearchResponse> searchVeterinarians(
+            @Parameter(description = "Words or word prefixes to match, e.g. 'ana gar' or 'derm'")
+            @RequestParam(required = false) String q,
+            @Parameter(description = "Exact specialization (case and accent insensitive)")
+            @RequestParam(required = false) String specialization,
+            @Parameter(description = "Filter only active veterinarians")
+            @RequestParam(required = false, defaultValue = "false") boolean onlyActive,
+            @Parameter(description = "Page number, starting at 0")
+            @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size (max 100)")
+            @RequestParam(defaultValue = "20") int size) {
+        log.info("Received request to search veterinarians. Query: {}, specialization: {}", q, specialization);
+        return ResponseEntity.ok(veterinarianService.searchVeterinarians(q, specialization, onlyActive, page, size));
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get veterinarian by ID", description = "Retrieves a specific veterinarian by ID")
     @ApiResponses(value = {
@@ -74,6 +125,73 @@ public class VeterinarianController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    @GetMapping("/{id}/availability")
+    @Operation(summary = "Get veterinarian availability",
+            description = "Retrieves the free slots of the given duration for a veterinarian within a time range")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Availability retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid range or duration"),
+            @ApiResponse(responseCode = "404", description = "Veterinarian not found")
+    })
+    public ResponseEntity<AvailabilityResponse> getAvailability(
+            @Parameter(description = "Veterinarian ID", required = true)
+            @PathVariable UUID id,
+            @Parameter(description = "Range start (ISO 8601)", required = true)
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "Range end, exclusive (ISO 8601)", required = true)
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @Parameter(description = "Slot duration in minutes")
+            @RequestParam(defaultValue = "30") int duration) {
+        log.info("Received request to get availability of veterinarian ID: {} from {} to {}", id, from, to);
+
+        return availabilityService.getAvailability(id, from, to, duration)
+                .map(availability -> ResponseEntity.ok(availability))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/{id}/calendar")
+    @Operation(summary = "Get veterinarian weekly calendar",
+            description = "Retrieves the appointments of the week (Monday to Sunday) containing the given date, "
+                    + "bucketed per day and placed on the slot grid")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Calendar retrieved successfully"),
+            @ApiResponse(responseCode = "404", description = "Veterinarian not found")
+    })
+    public ResponseEntity<VeterinarianCalendarResponse> getCalendar(
+            @Parameter(description = "Veterinarian ID", required = true)
+            @PathVariable UUID id,
+            @Parameter(description = "Any date of the week to show (ISO 8601 date, defaults to today)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate week) {
+        log.info("Received request to get calendar of veterinarian ID: {} for week {}", id, week);
+
+        return calendarService.getVeterinarianWeek(id, week != null ? week : LocalDate.now())
+                .map(calendar -> ResponseEntity.ok(calendar))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/{id}/workload")
+    @Operation(summary = "Get veterinarian workload",
+            description = "Retrieves appointment counts by status, booked hours per day and utilization "
+                    + "for a veterinarian within a date range (at most 366 days)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Workload retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid range"),
+            @ApiResponse(responseCode = "404", description = "Veterinarian not found")
+    })
+    public ResponseEntity<VeterinarianWorkloadResponse> getWorkload(
+            @Parameter(description = "Veterinarian ID", required = true)
+            @PathVariable UUID id,
+            @Parameter(description = "First day of the range (ISO 8601 date)", required = true)
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last day of the range, inclusive (ISO 8601 date)", required = true)
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        log.info("Received request to get workload of veterinarian ID: {} from {} to {}", id, from, to);
+
+        return workloadService.getVeterinarianWorkload(id, from, to)
+                .map(workload -> ResponseEntity.ok(workload))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
     @GetMapping("/email/{email}")
     @Operation(summary = "Get veterinarian by email", description = "Retrieves a veterinarian by email address")
     @ApiResponses(value = {
@@ -0,0 +1,135 @@
+package com.riavet.agendaservice.infrastructure.adapter.input;
+
+import com.riavet.agendaservice.application.dto.WaitlistEntryResponse;
+import com.riavet.agendaservice.application.dto.WaitlistRequest;
+import com.riavet.agendaservice.application.service.WaitlistService;
+import com.riavet.agendaservice.infrastructure.exception.AppointmentConflictException;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1/waitlist")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Waitlist", description = "Waitlist and freed slot back-fill API")
+public class WaitlistController {
+
+    private final WaitlistService waitlistService;
+
+    @PostMapping
+    @Operation(summary = "Join the waitlist",
+            description = "Adds a patient to the waitlist of a veterinarian or of any veterinarian of a specialization")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Waitlist entry created successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid request data")
+    })
+    public ResponseEntity<WaitlistEntryResponse> addToWaitlist(@Valid @RequestBody WaitlistRequest request) {
+        log.info("Received request to add patient: {} to waitlist", request.getPatientId());
+        WaitlistEntryResponse response = waitlistService.addToWaitlist(request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Get waitlist entry by ID", description = "Retrieves a waitlist entry and its pending offer")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Waitlist entry found"),
+            @ApiResponse(responseCode = "404", description = "Waitlist entry not found")
+    })
+    public ResponseEntity<WaitlistEntryResponse> getEntryById(
+            @Parameter(description = "Waitlist entry ID", required = true)
+            @PathVariable UUID id) {
+        log.info("Received request to get waitlist entry with ID: {}", id);
+        return waitlistService.getEntryById(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping
+    @Operation(summary = "Get waiting entries",
+            description = "Retrieves the waiting entries of a veterinarian or a specialization in offer order")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Waiting entries retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Neither veterinarianId nor specialization given")
+    })
+    public ResponseEntity<List<WaitlistEntryResponse>> getWaitingEntries(
+            @Parameter(description = "Veterinarian ID")
+            @RequestParam(required = false) UUID veterinarianId,
+            @Parameter(description = "Specialization")
+            @RequestParam(required = false) String specialization) {
+        log.info("Received request to get waiting entries. VeterinarianId: {}, specialization: {}",
+                veterinarianId, specialization);
+        return ResponseEntity.ok(waitlistService.getWaitingEntries(veterinarianId, specialization));
+    }
+
+    @PostMapping("/{id}/accept")
+    @Operation(summary = "Accept slot offer", description = "Books the offered slot as an appointment")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Offer accepted and appointment booked"),
+            @ApiResponse(responseCode = "400", description = "Waitlist entry has no pending offer"),
+            @ApiResponse(responseCode = "409", description = "Offered slot is no longer free, entry is waiting again")
+    })
+    public ResponseEntity<WaitlistEntryResponse> acceptOffer(
+            @Parameter(description = "Waitlist entry ID", required = true)
+            @PathVariable UUID id) {
+        log.info("Received request to accept offer for waitlist entry: {}", id);
+        try {
+            return ResponseEntity.ok(waitlistService.acceptOffer(id));
+        } catch (AppointmentConflictException e) {
+            log.warn("Offered slot taken for waitlist entry: {}", id);
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (RuntimeException e) {
+            log.error("Error accepting waitlist offer: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @PostMapping("/{id}/decline")
+    @Operation(summary = "Decline slot offer",
+            description = "Returns the entry to the waitlist and offers the slot to the next candidate")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Offer declined"),
+            @ApiResponse(responseCode = "400", description = "Waitlist entry has no pending offer")
+    })
+    public ResponseEntity<WaitlistEntryResponse> declineOffer(
+            @Parameter(description = "Waitlist entry ID", required = true)
+            @PathVariable UUID id) {
+        log.info("Received request to decline offer for waitlist entry: {}", id);
+        try {
+            return ResponseEntity.ok(waitlistService.declineOffer(id));
+        } catch (RuntimeException e) {
+            log.error("Error declining waitlist offer: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @PatchMapping("/{id}/withdraw")
+    @Operation(summary = "Withdraw from the waitlist",
+            description = "Removes the entry from the waitlist; a pending offer passes to the next candidate")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Entry withdrawn"),
+            @ApiResponse(responseCode = "400", description = "Entry already booked or withdrawn")
+    })
+    public ResponseEntity<WaitlistEntryResponse> withdraw(
+            @Parameter(description = "Waitlist entry ID", required = true)
+            @PathVariable UUID id) {
+        log.info("Received request to withdraw waitlist entry: {}", id);
+        try {
+            return ResponseEntity.ok(waitlistService.withdraw(id));
+        } catch (RuntimeException e) {
+            log.error("Error withdrawing waitlist entry: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
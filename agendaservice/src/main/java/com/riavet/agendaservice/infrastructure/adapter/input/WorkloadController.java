@@ -0,0 +1,49 @@
+package com.riavet.agendaservice.infrastructure.adapter.input;
+
+import com.riavet.agendaservice.application.dto.VeterinarianWorkloadResponse;
+import com.riavet.agendaservice.application.service.WorkloadService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/workload")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Workload", description = "Veterinarian workload statistics")
+public class WorkloadController {
+
+    private final WorkloadService workloadService;
+
+    @GetMapping
+    @Operation(summary = "Get workload of all veterinarians",
+            description = "Retrieves appointment counts by status, booked hours and utilization per veterinarian "
+                    + "within a date range (at most 366 days), ordered by name")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Workload retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid range")
+    })
+    public ResponseEntity<List<VeterinarianWorkloadResponse>> getWorkload(
+            @Parameter(description = "First day of the range (ISO 8601 date)", required = true)
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last day of the range, inclusive (ISO 8601 date)", required = true)
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(description = "Include only active veterinarians")
+            @RequestParam(defaultValue = "false") boolean onlyActive) {
+        log.info("Received request to get workload from {} to {}. OnlyActive: {}", from, to, onlyActive);
+        return ResponseEntity.ok(workloadService.getWorkload(from, to, onlyActive));
+    }
+}
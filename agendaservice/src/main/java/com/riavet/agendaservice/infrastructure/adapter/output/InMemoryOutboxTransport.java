@@ -0,0 +1,42 @@
+package com.riavet.agendaservice.infrastructure.adapter.output;
+
+import com.riavet.agendaservice.application.outbox.OutboxTransport;
+import com.riavet.agendaservice.domain.model.OutboxMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Transporte local del outbox: entrega cada mensaje a los suscriptores del mismo proceso.
+ * Sirve de sustituto hasta tener un broker entre servicios.
+ */
+@Component
+@ConditionalOnProperty(name = "agenda.outbox.transport", havingValue = "in-memory", matchIfMissing = true)
+@Slf4j
+public class InMemoryOutboxTransport implements OutboxTransport {
+
+    private final List<Consumer<OutboxMessage>> subscribers = new CopyOnWriteArrayList<>();
+
+    public void subscribe(Consumer<OutboxMessage> subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    public void unsubscribe(Consumer<OutboxMessage> subscriber) {
+        subscribers.remove(subscriber);
+    }
+
+    @Override
+    public void publish(List<OutboxMessage> messages) {
+        for (OutboxMessage message : messages) {
+            log.debug("Publishing outbox message: {} ({}) for appointment: {}",
+                    message.getId(), message.getEventType(), message.getAppointmentId());
+            for (Consumer<OutboxMessage> subscriber : subscribers) {
+                subscriber.accept(message);
+            }
+        }
+    }
+}
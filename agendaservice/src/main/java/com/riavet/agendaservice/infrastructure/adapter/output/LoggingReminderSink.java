@@ -0,0 +1,23 @@
+package com.riavet.agendaservice.infrastructure.adapter.output;
+
+import com.riavet.agendaservice.application.reminder.ReminderSink;
+import com.riavet.agendaservice.domain.event.AppointmentReminderEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sink local que solo escribe los recordatorios en el log, hasta que exista el servicio de notificaciones.
+ */
+@Component
+@ConditionalOnProperty(name = "agenda.reminders.log-sink", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class LoggingReminderSink implements ReminderSink {
+
+    @Override
+    public void send(AppointmentReminderEvent reminder) {
+        log.info("Reminder for appointment: {} of patient: {} with veterinarian: {} at {}",
+                reminder.getAppointmentId(), reminder.getPatientId(), reminder.getVeterinarianId(),
+                reminder.getScheduledAt());
+    }
+}
@@ -0,0 +1,9 @@
+package com.riavet.agendaservice.infrastructure.configuration;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+public class CacheConfiguration {
+}
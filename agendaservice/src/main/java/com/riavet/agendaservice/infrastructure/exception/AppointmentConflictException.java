@@ -0,0 +1,15 @@
+package com.riavet.agendaservice.infrastructure.exception;
+
+/**
+ * Exception thrown when an appointment overlaps an existing booking of the same veterinarian.
+ */
+public class AppointmentConflictException extends RuntimeException {
+
+    public AppointmentConflictException(String message) {
+        super(message);
+    }
+
+    public AppointmentConflictException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
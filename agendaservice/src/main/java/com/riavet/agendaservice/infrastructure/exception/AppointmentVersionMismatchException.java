@@ -0,0 +1,26 @@
+package com.riavet.agendaservice.infrastructure.exception;
+
+import java.util.UUID;
+
+/**
+ * Exception thrown when a conditional update targets an appointment version that is no longer current.
+ */
+public class AppointmentVersionMismatchException extends RuntimeException {
+
+    private final Long currentVersion;
+
+    public AppointmentVersionMismatchException(UUID appointmentId, Long currentVersion) {
+        super("Appointment " + appointmentId + " was modified, current version is " + currentVersion);
+        this.currentVersion = currentVersion;
+    }
+
+    public AppointmentVersionMismatchException(String message) {
+        super(message);
+        this.currentVersion = null;
+    }
+
+    // null cuando no se llegó a leer la cita
+    public Long getCurrentVersion() {
+        return currentVersion;
+    }
+}
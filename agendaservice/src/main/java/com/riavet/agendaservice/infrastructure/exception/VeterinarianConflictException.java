@@ -0,0 +1,23 @@
+package com.riavet.agendaservice.infrastructure.exception;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Exception thrown when a veterinarian write collides with the email or license number of another
+ * veterinarian. Carries one message per conflicting request field.
+ */
+public class VeterinarianConflictException extends RuntimeException {
+
+    private final Map<String, String> conflicts;
+
+    public VeterinarianConflictException(Map<String, String> conflicts, Throwable cause) {
+        super(String.join("; ", conflicts.values()), cause);
+        this.conflicts = Collections.unmodifiableMap(new LinkedHashMap<>(conflicts));
+    }
+
+    public Map<String, String> getConflicts() {
+        return conflicts;
+    }
+}
@@ -0,0 +1,100 @@
+-- Esquema de la agenda tal como lo generaba Hibernate con ddl-auto: update.
+-- Todo es IF NOT EXISTS: en las bases que ya tenían las tablas esta versión no cambia nada.
+
+CREATE TABLE IF NOT EXISTS veterinarians (
+    id UUID NOT NULL,
+    first_name VARCHAR(255) NOT NULL,
+    last_name VARCHAR(255) NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    phone_number VARCHAR(255),
+    license_number VARCHAR(255) NOT NULL,
+    specialization VARCHAR(255),
+    active BOOLEAN NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_veterinarians_email UNIQUE (email),
+    CONSTRAINT uk_veterinarians_license_number UNIQUE (license_number)
+);
+
+CREATE TABLE IF NOT EXISTS appointments (
+    id UUID NOT NULL,
+    patient_id UUID NOT NULL,
+    veterinarian_id UUID NOT NULL,
+    scheduled_at TIMESTAMP(6) NOT NULL,
+    duration_minutes INTEGER,
+    status VARCHAR(255) NOT NULL CHECK (status IN ('PENDING', 'CONFIRMED', 'COMPLETED', 'CANCELED')),
+    series_id UUID,
+    occurrence_index INTEGER,
+    version BIGINT DEFAULT 0 NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_appointments_series_occurrence UNIQUE (series_id, occurrence_index),
+    CONSTRAINT fk_appointments_veterinarian FOREIGN KEY (veterinarian_id) REFERENCES veterinarians (id)
+);
+
+CREATE TABLE IF NOT EXISTS appointment_series (
+    id UUID NOT NULL,
+    patient_id UUID NOT NULL,
+    veterinarian_id UUID NOT NULL,
+    starts_at TIMESTAMP(6) NOT NULL,
+    frequency VARCHAR(255) NOT NULL CHECK (frequency IN ('DAILY', 'WEEKLY')),
+    repeat_interval INTEGER NOT NULL,
+    duration_minutes INTEGER NOT NULL,
+    occurrence_count INTEGER NOT NULL,
+    last_occurrence_at TIMESTAMP(6) NOT NULL,
+    anchor_index INTEGER NOT NULL,
+    materialized_through_index INTEGER NOT NULL,
+    status VARCHAR(255) NOT NULL CHECK (status IN ('ACTIVE', 'CANCELED')),
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_appointment_series_veterinarian FOREIGN KEY (veterinarian_id) REFERENCES veterinarians (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_appointment_series_vet_status ON appointment_series (veterinarian_id, status);
+
+CREATE SEQUENCE IF NOT EXISTS appointment_outbox_seq START WITH 1 INCREMENT BY 100;
+
+CREATE TABLE IF NOT EXISTS appointment_outbox (
+    id BIGINT NOT NULL,
+    appointment_id UUID NOT NULL,
+    event_type VARCHAR(40) NOT NULL
+        CHECK (event_type IN ('APPOINTMENT_CREATED', 'APPOINTMENT_STATUS_CHANGED', 'APPOINTMENT_RESCHEDULED')),
+    payload VARCHAR(2000) NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS waitlist_entries (
+    id UUID NOT NULL,
+    patient_id UUID NOT NULL,
+    veterinarian_id UUID,
+    specialization VARCHAR(255),
+    urgency VARCHAR(255) NOT NULL CHECK (urgency IN ('ROUTINE', 'PRIORITY', 'URGENT')),
+    duration_minutes INTEGER NOT NULL,
+    status VARCHAR(255) NOT NULL CHECK (status IN ('WAITING', 'OFFERED', 'BOOKED', 'WITHDRAWN')),
+    offered_veterinarian_id UUID,
+    offered_scheduled_at TIMESTAMP(6),
+    offered_duration_minutes INTEGER,
+    appointment_id UUID,
+    requested_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_waitlist_entries_status ON waitlist_entries (status);
+
+CREATE TABLE IF NOT EXISTS veterinarian_daily_stats (
+    veterinarian_id UUID NOT NULL,
+    stat_date DATE NOT NULL,
+    pending_count BIGINT NOT NULL,
+    confirmed_count BIGINT NOT NULL,
+    completed_count BIGINT NOT NULL,
+    canceled_count BIGINT NOT NULL,
+    booked_minutes BIGINT NOT NULL,
+    PRIMARY KEY (stat_date, veterinarian_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_veterinarian_daily_stats_date ON veterinarian_daily_stats (stat_date);
@@ -0,0 +1,11 @@
+-- Índices para los listados y filtros por rango de fechas de GET /api/v1/appointments.
+-- Todos terminan en scheduled_at (e id) para servir también el orden del keyset sin ordenar en memoria.
+
+-- Agenda de un veterinario en un rango; también cubre la clave foránea veterinarian_id
+CREATE INDEX IF NOT EXISTS idx_appointments_vet_scheduled ON appointments (veterinarian_id, scheduled_at, id);
+
+-- Citas de un estado en un rango (p. ej. confirmadas del mes)
+CREATE INDEX IF NOT EXISTS idx_appointments_status_scheduled ON appointments (status, scheduled_at, id);
+
+-- Rango de fechas sin más filtros
+CREATE INDEX IF NOT EXISTS idx_appointments_scheduled ON appointments (scheduled_at, id);
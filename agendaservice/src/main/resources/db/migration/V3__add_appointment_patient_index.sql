@@ -0,0 +1,3 @@
+-- Historial de citas de un paciente (GET /api/v1/appointments?patientId=), de la más reciente a la más antigua.
+-- Mismo orden que el keyset descendente, así que cada página es un recorrido de rango sobre el índice.
+CREATE INDEX IF NOT EXISTS idx_appointments_patient_scheduled ON appointments (patient_id, scheduled_at DESC, id DESC);
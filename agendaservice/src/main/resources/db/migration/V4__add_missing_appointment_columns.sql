@@ -0,0 +1,12 @@
+-- Columnas de appointments posteriores al esquema que generaba Hibernate con ddl-auto: update.
+-- En esas bases V1 no hizo nada (CREATE TABLE IF NOT EXISTS sobre una tabla existente), así que se añaden
+-- aquí; en las bases creadas por V1 ya existen y esta versión no cambia nada.
+
+ALTER TABLE appointments ADD COLUMN IF NOT EXISTS duration_minutes INTEGER;
+
+ALTER TABLE appointments ADD COLUMN IF NOT EXISTS series_id UUID;
+
+ALTER TABLE appointments ADD COLUMN IF NOT EXISTS occurrence_index INTEGER;
+
+-- El default rellena las filas existentes con la versión inicial
+ALTER TABLE appointments ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
@@ -0,0 +1,8 @@
+-- El relay publicaba en orden de id, pero los ids se reservan en bloques por instancia y no siguen el
+-- orden de commit. Con la versión de la cita el relay ordena los cambios de cada cita por versión.
+-- Los mensajes pendientes al desplegar se quedan con 0 y, dentro de cada cita, salen por id como antes.
+
+ALTER TABLE appointment_outbox ADD COLUMN IF NOT EXISTS appointment_version BIGINT DEFAULT 0 NOT NULL;
+
+CREATE INDEX IF NOT EXISTS idx_appointment_outbox_appointment_version
+    ON appointment_outbox (appointment_id, appointment_version, id);
@@ -0,0 +1,6 @@
+-- Momento en que se hizo la oferta pendiente, para que caduque a los agenda.waitlist.offer-ttl.
+-- Las ofertas que ya estaban abiertas toman la fecha de su última actualización, que es la de la oferta.
+
+ALTER TABLE waitlist_entries ADD COLUMN IF NOT EXISTS offered_at TIMESTAMP(6);
+
+UPDATE waitlist_entries SET offered_at = updated_at WHERE status = 'OFFERED' AND offered_at IS NULL;
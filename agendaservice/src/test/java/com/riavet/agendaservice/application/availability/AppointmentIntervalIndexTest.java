@@ -0,0 +1,90 @@
+package com.riavet.agendaservice.application.availability;
+
+import com.riavet.agendaservice.application.availability.AppointmentIntervalIndex.TimeInterval;
+import com.riavet.agendaservice.domain.event.AppointmentChangedEvent;
+import com.riavet.agendaservice.domain.model.Appointment.AppointmentStatus;
+import com.riavet.agendaservice.domain.repository.AppointmentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the in-memory veterinarian interval index.
+ */
+@ExtendWith(MockitoExtension.class)
+class AppointmentIntervalIndexTest {
+
+    @Mock
+    private AppointmentRepository appointmentRepository;
+
+    private AppointmentIntervalIndex index;
+    private UUID veterinarianId;
+    private LocalDateTime nineAm;
+
+    @BeforeEach
+    void setUp() {
+        index = new AppointmentIntervalIndex(appointmentRepository);
+        veterinarianId = UUID.randomUUID();
+        nineAm = LocalDateTime.now().plusDays(7).withHour(9).withMinute(0).withSecond(0).withNano(0);
+    }
+
+    @Test
+    void isFree_ShouldDetectOverlapsUsingHalfOpenIntervals() {
+        index.book(veterinarianId, UUID.randomUUID(), nineAm, nineAm.plusMinutes(30));
+
+        assertThat(index.isFree(veterinarianId, nineAm.plusMinutes(15), nineAm.plusMinutes(45))).isFalse();
+        assertThat(index.isFree(veterinarianId, nineAm.minusMinutes(15), nineAm.plusMinutes(1))).isFalse();
+        assertThat(index.isFree(veterinarianId, nineAm.plusMinutes(30), nineAm.plusMinutes(60))).isTrue();
+        assertThat(index.isFree(veterinarianId, nineAm.minusMinutes(30), nineAm)).isTrue();
+        assertThat(index.isFree(UUID.randomUUID(), nineAm, nineAm.plusMinutes(30))).isTrue();
+    }
+
+    @Test
+    void isFree_ShouldFindLongBookingStartingBeforeRange() {
+        index.book(veterinarianId, UUID.randomUUID(), nineAm, nineAm.plusHours(4));
+        index.book(veterinarianId, UUID.randomUUID(), nineAm.plusHours(5), nineAm.plusHours(5).plusMinutes(15));
+
+        assertThat(index.isFree(veterinarianId, nineAm.plusHours(3), nineAm.plusHours(3).plusMinutes(15))).isFalse();
+    }
+
+    @Test
+    void findFreeIntervals_ShouldReturnGapsBetweenBookings() {
+        index.book(veterinarianId, UUID.randomUUID(), nineAm.plusMinutes(30), nineAm.plusMinutes(60));
+        index.book(veterinarianId, UUID.randomUUID(), nineAm.plusMinutes(90), nineAm.plusMinutes(120));
+
+        List<TimeInterval> free = index.findFreeIntervals(veterinarianId, nineAm, nineAm.plusHours(3));
+
+        assertThat(free).containsExactly(
+                new TimeInterval(nineAm, nineAm.plusMinutes(30)),
+                new TimeInterval(nineAm.plusMinutes(60), nineAm.plusMinutes(90)),
+                new TimeInterval(nineAm.plusMinutes(120), nineAm.plusHours(3)));
+    }
+
+    @Test
+    void onAppointmentChanged_ShouldReleaseSlotWhenCanceled() {
+        UUID appointmentId = UUID.randomUUID();
+        AppointmentChangedEvent created = AppointmentChangedEvent.builder()
+                .appointmentId(appointmentId)
+                .veterinarianId(veterinarianId)
+                .scheduledAt(nineAm)
+                .endsAt(nineAm.plusMinutes(30))
+                .status(AppointmentStatus.PENDING)
+                .build();
+        index.onAppointmentChanged(created);
+        assertThat(index.isFree(veterinarianId, nineAm, nineAm.plusMinutes(30))).isFalse();
+
+        created.setPreviousStatus(AppointmentStatus.PENDING);
+        created.setStatus(AppointmentStatus.CANCELED);
+        index.onAppointmentChanged(created);
+
+        assertThat(index.isFree(veterinarianId, nineAm, nineAm.plusMinutes(30))).isTrue();
+    }
+}
@@ -0,0 +1,71 @@
+package com.riavet.agendaservice.application.availability;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the per-veterinarian booking locks.
+ */
+class VeterinarianBookingLocksTest {
+
+    private final VeterinarianBookingLocks locks = new VeterinarianBookingLocks();
+
+    @Test
+    void withLock_ShouldNotBlockDifferentVeterinarians() throws Exception {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        CountDownLatch firstHeld = new CountDownLatch(1);
+        CountDownLatch releaseFirst = new CountDownLatch(1);
+
+        CompletableFuture<Void> holder = CompletableFuture.runAsync(() -> locks.withLock(first, () -> {
+            firstHeld.countDown();
+            await(releaseFirst);
+            return null;
+        }));
+        assertThat(firstHeld.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<String> other = CompletableFuture.supplyAsync(() -> locks.withLock(second, () -> "booked"));
+        assertThat(other.get(5, TimeUnit.SECONDS)).isEqualTo("booked");
+
+        releaseFirst.countDown();
+        holder.get(5, TimeUnit.SECONDS);
+        assertThat(locks.activeStripes()).isZero();
+    }
+
+    @Test
+    void withLock_ShouldSerializeSameVeterinarian() throws Exception {
+        UUID veterinarianId = UUID.randomUUID();
+        CountDownLatch held = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<Void> holder = CompletableFuture.runAsync(() -> locks.withLock(veterinarianId, () -> {
+            held.countDown();
+            await(release);
+            return null;
+        }));
+        assertThat(held.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<String> waiter = CompletableFuture.supplyAsync(() -> locks.withLock(veterinarianId, () -> "booked"));
+        Thread.sleep(200);
+        assertThat(waiter).isNotDone();
+
+        release.countDown();
+        assertThat(waiter.get(5, TimeUnit.SECONDS)).isEqualTo("booked");
+        holder.get(5, TimeUnit.SECONDS);
+        assertThat(locks.activeStripes()).isZero();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
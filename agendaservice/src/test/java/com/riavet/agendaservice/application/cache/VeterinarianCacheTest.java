@@ -0,0 +1,83 @@
+package com.riavet.agendaservice.application.cache;
+
+import com.riavet.agendaservice.application.dto.VeterinarianResponse;
+import com.riavet.agendaservice.application.mapper.VeterinarianMapper;
+import com.riavet.agendaservice.domain.event.VeterinarianChangedEvent;
+import com.riavet.agendaservice.domain.model.Veterinarian;
+import com.riavet.agendaservice.domain.repository.VeterinarianRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the read-through veterinarian cache.
+ */
+@ExtendWith(MockitoExtension.class)
+class VeterinarianCacheTest {
+
+    @Mock
+    private VeterinarianRepository veterinarianRepository;
+
+    private VeterinarianCache veterinarianCache;
+    private Veterinarian veterinarian;
+
+    @BeforeEach
+    void setUp() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(
+                VeterinarianCache.VETERINARIANS, VeterinarianCache.VETERINARIAN_RESPONSES);
+        veterinarianCache = new VeterinarianCache(cacheManager, veterinarianRepository, new VeterinarianMapper());
+        veterinarian = Veterinarian.builder()
+                .id(UUID.randomUUID())
+                .firstName("Ana")
+                .lastName("García")
+                .email("ana.garcia@clinic.com")
+                .licenseNumber("VET-2024-001")
+                .build();
+    }
+
+    @Test
+    void findById_ShouldHitRepositoryOnlyOnce() {
+        when(veterinarianRepository.findById(veterinarian.getId())).thenReturn(Optional.of(veterinarian));
+
+        assertThat(veterinarianCache.findById(veterinarian.getId())).contains(veterinarian);
+        assertThat(veterinarianCache.findById(veterinarian.getId())).contains(veterinarian);
+        assertThat(veterinarianCache.findResponseById(veterinarian.getId()))
+                .map(VeterinarianResponse::getEmail)
+                .contains("ana.garcia@clinic.com");
+
+        verify(veterinarianRepository, times(1)).findById(veterinarian.getId());
+    }
+
+    @Test
+    void findById_ShouldNotCacheMissingVeterinarian() {
+        UUID missing = UUID.randomUUID();
+        when(veterinarianRepository.findById(missing)).thenReturn(Optional.empty());
+
+        assertThat(veterinarianCache.findById(missing)).isEmpty();
+        assertThat(veterinarianCache.findById(missing)).isEmpty();
+
+        verify(veterinarianRepository, times(2)).findById(missing);
+    }
+
+    @Test
+    void onVeterinarianChanged_ShouldEvictEntityAndResponse() {
+        when(veterinarianRepository.findById(veterinarian.getId())).thenReturn(Optional.of(veterinarian));
+        VeterinarianResponse before = veterinarianCache.toResponse(veterinarian);
+        veterinarianCache.findById(veterinarian.getId());
+
+        veterinarianCache.onVeterinarianChanged(new VeterinarianChangedEvent(veterinarian.getId(), false));
+
+        assertThat(veterinarianCache.toResponse(veterinarian)).isNotSameAs(before);
+        veterinarianCache.findById(veterinarian.getId());
+        verify(veterinarianRepository, times(2)).findById(veterinarian.getId());
+    }
+}
@@ -0,0 +1,206 @@
+package com.riavet.agendaservice.application.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.riavet.agendaservice.application.dto.AppointmentRequest;
+import com.riavet.agendaservice.application.dto.AppointmentResponse;
+import com.riavet.agendaservice.application.dto.AppointmentUpdateRequest;
+import com.riavet.agendaservice.application.service.AppointmentService;
+import com.riavet.agendaservice.domain.event.AppointmentChangedEvent;
+import com.riavet.agendaservice.domain.model.Appointment.AppointmentStatus;
+import com.riavet.agendaservice.domain.model.OutboxMessage;
+import com.riavet.agendaservice.domain.model.OutboxMessage.EventType;
+import com.riavet.agendaservice.domain.model.Veterinarian;
+import com.riavet.agendaservice.domain.repository.AppointmentRepository;
+import com.riavet.agendaservice.domain.repository.OutboxMessageRepository;
+import com.riavet.agendaservice.domain.repository.VeterinarianRepository;
+import com.riavet.agendaservice.infrastructure.adapter.output.InMemoryOutboxTransport;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for the transactional outbox and its batched relay.
+ */
+@SpringBootTest
+class AppointmentOutboxTest {
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private InMemoryOutboxTransport transport;
+
+    @Autowired
+    private OutboxMessageRepository outboxRepository;
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private VeterinarianRepository veterinarianRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    private final List<OutboxMessage> received = new CopyOnWriteArrayList<>();
+    private final Consumer<OutboxMessage> subscriber = received::add;
+    private Veterinarian veterinarian;
+
+    @BeforeEach
+    void setUp() {
+        outboxRepository.deleteAll();
+        transport.subscribe(subscriber);
+        String suffix = UUID.randomUUID().toString();
+        veterinarian = veterinarianRepository.save(Veterinarian.builder()
+                .firstName("Outbox")
+                .lastName("Test")
+                .email("outbox-" + suffix + "@riavet.com")
+                .licenseNumber("OUT-" + suffix)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        transport.unsubscribe(subscriber);
+        outboxRepository.deleteAll();
+        appointmentRepository.deleteAll();
+        veterinarianRepository.deleteAll();
+    }
+
+    @Test
+    void statusChanges_ShouldBeWrittenToOutboxInTheSameTransaction() throws Exception {
+        AppointmentResponse booked = book(LocalDateTime.now().plusDays(3).withHour(9));
+        appointmentService.updateAppointmentStatus(booked.getId(),
+                AppointmentUpdateRequest.builder().status(AppointmentStatus.CONFIRMED).build());
+        appointmentService.cancelAppointment(booked.getId(), "Owner request");
+
+        // Una transición inválida se revierte sin dejar mensaje
+        assertThatThrownBy(() -> appointmentService.updateAppointmentStatus(booked.getId(),
+                AppointmentUpdateRequest.builder().status(AppointmentStatus.COMPLETED).build()))
+                .isInstanceOf(RuntimeException.class);
+
+        List<OutboxMessage> messages = outboxRepository.findAll();
+        assertThat(messages).extracting(OutboxMessage::getEventType).containsExactly(
+                EventType.APPOINTMENT_CREATED, EventType.APPOINTMENT_STATUS_CHANGED, EventType.APPOINTMENT_STATUS_CHANGED);
+        assertThat(messages).extracting(OutboxMessage::getAppointmentVersion).containsExactly(0L, 1L, 2L);
+        AppointmentChangedEvent canceled = objectMapper.readValue(messages.get(2).getPayload(),
+                AppointmentChangedEvent.class);
+        assertThat(canceled.getAppointmentId()).isEqualTo(booked.getId());
+        assertThat(canceled.getPreviousStatus()).isEqualTo(AppointmentStatus.CONFIRMED);
+        assertThat(canceled.getStatus()).isEqualTo(AppointmentStatus.CANCELED);
+    }
+
+    @Test
+    void appointmentEvent_PublishedOutsideATransaction_ShouldFailInsteadOfBeingDropped() {
+        AppointmentChangedEvent event = AppointmentChangedEvent.builder()
+                .appointmentId(UUID.randomUUID())
+                .patientId(UUID.randomUUID())
+                .veterinarianId(veterinarian.getId())
+                .scheduledAt(LocalDateTime.now().plusDays(6).withHour(9))
+                .endsAt(LocalDateTime.now().plusDays(6).withHour(10))
+                .status(AppointmentStatus.PENDING)
+                .version(0L)
+                .build();
+
+        assertThatThrownBy(() -> eventPublisher.publishEvent(event))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("outside a transaction");
+        assertThat(outboxRepository.count()).isZero();
+    }
+
+    @Test
+    void drain_ShouldPublishInOrderInBatchesAndDeleteRelayedMessages() {
+        Object batchSize = ReflectionTestUtils.getField(outboxRelay, "batchSize");
+        try {
+            ReflectionTestUtils.setField(outboxRelay, "batchSize", 2);
+            for (int hour = 8; hour < 13; hour++) {
+                book(LocalDateTime.now().plusDays(4).withHour(hour));
+            }
+
+            assertThat(outboxRelay.drain()).isEqualTo(5);
+        } finally {
+            ReflectionTestUtils.setField(outboxRelay, "batchSize", batchSize);
+        }
+
+        assertThat(received).extracting(OutboxMessage::getAppointmentId).doesNotHaveDuplicates().hasSize(5);
+        assertThat(outboxRepository.count()).isZero();
+        assertThat(outboxRelay.drain()).isZero();
+    }
+
+    @Test
+    void drain_ShouldPublishTheChangesOfAnAppointmentInVersionOrderWhateverTheirIds() {
+        // Dos instancias con bloques de ids distintos: el cambio posterior puede tener un id menor
+        UUID appointmentId = UUID.randomUUID();
+        UUID otherId = UUID.randomUUID();
+        for (long version = 2; version >= 0; version--) {
+            outboxRepository.save(message(appointmentId, version));
+            outboxRepository.save(message(otherId, version));
+        }
+        Object batchSize = ReflectionTestUtils.getField(outboxRelay, "batchSize");
+        try {
+            ReflectionTestUtils.setField(outboxRelay, "batchSize", 2);
+            assertThat(outboxRelay.drain()).isEqualTo(6);
+        } finally {
+            ReflectionTestUtils.setField(outboxRelay, "batchSize", batchSize);
+        }
+
+        assertThat(received).filteredOn(message -> message.getAppointmentId().equals(appointmentId))
+                .extracting(OutboxMessage::getAppointmentVersion).containsExactly(0L, 1L, 2L);
+        assertThat(received).filteredOn(message -> message.getAppointmentId().equals(otherId))
+                .extracting(OutboxMessage::getAppointmentVersion).containsExactly(0L, 1L, 2L);
+    }
+
+    @Test
+    void drain_WhenTransportFails_ShouldKeepMessagesForRetry() {
+        book(LocalDateTime.now().plusDays(5).withHour(10));
+        Consumer<OutboxMessage> failing = message -> {
+            throw new IllegalStateException("Broker unavailable");
+        };
+        transport.subscribe(failing);
+        try {
+            assertThatThrownBy(() -> outboxRelay.drain()).isInstanceOf(IllegalStateException.class);
+            assertThat(outboxRepository.count()).isEqualTo(1);
+        } finally {
+            transport.unsubscribe(failing);
+        }
+
+        assertThat(outboxRelay.drain()).isEqualTo(1);
+        assertThat(outboxRepository.count()).isZero();
+    }
+
+    private static OutboxMessage message(UUID appointmentId, long version) {
+        return OutboxMessage.builder()
+                .appointmentId(appointmentId)
+                .appointmentVersion(version)
+                .eventType(version == 0 ? EventType.APPOINTMENT_CREATED : EventType.APPOINTMENT_STATUS_CHANGED)
+                .payload("{}")
+                .build();
+    }
+
+        private AppointmentResponse book(LocalDateTime scheduledAt) {
+        return appointmentService.createAppointment(AppointmentRequest.builder()
+                .patientId(UUID.randomUUID())
+                .veterinarianId(veterinarian.getId())
+                .scheduledAt(scheduledAt.withMinute(0).withSecond(0).withNano(0))
+                .build());
+    }
+}
@@ -0,0 +1,149 @@
+package com.riavet.agendaservice.application.reminder;
+
+import com.riavet.agendaservice.application.dto.AppointmentRequest;
+import com.riavet.agendaservice.application.dto.AppointmentResponse;
+import com.riavet.agendaservice.application.dto.AppointmentUpdateRequest;
+import com.riavet.agendaservice.application.service.AppointmentService;
+import com.riavet.agendaservice.domain.event.AppointmentReminderEvent;
+import com.riavet.agendaservice.domain.model.Appointment;
+import com.riavet.agendaservice.domain.model.Appointment.AppointmentStatus;
+import com.riavet.agendaservice.domain.model.Veterinarian;
+import com.riavet.agendaservice.domain.repository.AppointmentRepository;
+import com.riavet.agendaservice.domain.repository.VeterinarianRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for the reminder engine: window loading, event driven updates and delivery to sinks.
+ */
+@SpringBootTest
+class AppointmentReminderSchedulerTest {
+
+    @Autowired
+    private AppointmentReminderScheduler reminderScheduler;
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private VeterinarianRepository veterinarianRepository;
+
+    @Autowired
+    private RecordingReminderSink recordingSink;
+
+    @Value("${agenda.reminders.lead-time:PT24H}")
+    private Duration leadTime;
+
+    private Veterinarian veterinarian;
+    private LocalDateTime now;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = UUID.randomUUID().toString();
+        veterinarian = veterinarianRepository.save(Veterinarian.builder()
+                .firstName("Reminder")
+                .lastName("Test")
+                .email("reminder-" + suffix + "@riavet.com")
+                .licenseNumber("REM-" + suffix)
+                .build());
+        now = LocalDateTime.now().withNano(0);
+        reminderScheduler.loadWindow(now);
+    }
+
+    @AfterEach
+    void tearDown() {
+        appointmentRepository.deleteAll();
+        veterinarianRepository.deleteAll();
+        recordingSink.reminders.clear();
+    }
+
+    @Test
+    void onAppointmentChanged_ShouldTrackRemindersInsideTheWindow() {
+        AppointmentResponse soon = book(now.plus(leadTime).plusMinutes(30));
+        AppointmentResponse later = book(now.plus(leadTime).plusHours(10));
+
+        assertThat(reminderScheduler.isScheduled(soon.getId())).isTrue();
+        assertThat(reminderScheduler.isScheduled(later.getId())).isFalse();
+
+        appointmentService.cancelAppointment(soon.getId(), "Owner request");
+        assertThat(reminderScheduler.isScheduled(soon.getId())).isFalse();
+    }
+
+    @Test
+    void loadWindow_ShouldOnlyLoadTheSliceEnteringTheHorizon() {
+        // Guardada sin pasar por el servicio: solo la puede encontrar la recarga
+        Appointment stored = appointmentRepository.save(Appointment.builder()
+                .patientId(UUID.randomUUID())
+                .veterinarian(veterinarian)
+                .scheduledAt(now.plus(leadTime).plusHours(7))
+                .status(AppointmentStatus.CONFIRMED)
+                .build());
+        assertThat(reminderScheduler.isScheduled(stored.getId())).isFalse();
+
+        reminderScheduler.loadWindow(now.plusHours(3));
+
+        assertThat(reminderScheduler.isScheduled(stored.getId())).isTrue();
+    }
+
+    @Test
+    void fireDue_ShouldSendLatestStateToEverySink() {
+        AppointmentResponse booked = book(now.plus(leadTime).plusMinutes(2));
+        appointmentService.updateAppointmentStatus(booked.getId(),
+                AppointmentUpdateRequest.builder().status(AppointmentStatus.CONFIRMED).build());
+
+        reminderScheduler.fireDue(now.plusMinutes(3));
+
+        assertThat(recordingSink.reminders)
+                .filteredOn(reminder -> reminder.getAppointmentId().equals(booked.getId()))
+                .singleElement()
+                .satisfies(reminder -> {
+                    assertThat(reminder.getStatus()).isEqualTo(AppointmentStatus.CONFIRMED);
+                    assertThat(reminder.getScheduledAt()).isEqualTo(booked.getScheduledAt());
+                });
+        assertThat(reminderScheduler.isScheduled(booked.getId())).isFalse();
+    }
+
+    private AppointmentResponse book(LocalDateTime scheduledAt) {
+        return appointmentService.createAppointment(AppointmentRequest.builder()
+                .patientId(UUID.randomUUID())
+                .veterinarianId(veterinarian.getId())
+                .scheduledAt(scheduledAt)
+                .build());
+    }
+
+    @TestConfiguration
+    static class RecordingSinkConfiguration {
+
+        @Bean
+        RecordingReminderSink recordingReminderSink() {
+            return new RecordingReminderSink();
+        }
+    }
+
+    static class RecordingReminderSink implements ReminderSink {
+
+        private final List<AppointmentReminderEvent> reminders = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void send(AppointmentReminderEvent reminder) {
+            reminders.add(reminder);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.riavet.agendaservice.application.reminder;
+
+import com.riavet.agendaservice.domain.event.AppointmentReminderEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for the hashed timing wheel that holds pending reminders.
+ */
+class ReminderTimingWheelTest {
+
+    private LocalDateTime start;
+    private ReminderTimingWheel wheel;
+
+    @BeforeEach
+    void setUp() {
+        start = LocalDateTime.of(2030, 1, 7, 8, 0);
+        // 8 ranuras de un minuto: todo lo que esté a más de 8 minutos da vueltas
+        wheel = new ReminderTimingWheel(Duration.ofMinutes(1), 8, start);
+    }
+
+    @Test
+    void advance_ShouldFireRemindersInTickOrderAndNeverEarly() {
+        AppointmentReminderEvent late = reminder();
+        AppointmentReminderEvent early = reminder();
+        wheel.schedule(late, start.plusMinutes(5));
+        wheel.schedule(early, start.plusMinutes(2).plusSeconds(30));
+
+        assertThat(wheel.advance(start.plusMinutes(2).plusSeconds(29))).isEmpty();
+        assertThat(wheel.advance(start.plusMinutes(3))).containsExactly(early);
+        assertThat(wheel.advance(start.plusMinutes(10))).containsExactly(late);
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void advance_ShouldWaitFullRoundsForRemindersBeyondOneRevolution() {
+        AppointmentReminderEvent farAway = reminder();
+        // Misma ranura que el minuto 3, pero dos vueltas después
+        wheel.schedule(farAway, start.plusMinutes(19));
+
+        assertThat(wheel.advance(start.plusMinutes(3))).isEmpty();
+        assertThat(wheel.advance(start.plusMinutes(11))).isEmpty();
+        assertThat(wheel.advance(start.plusMinutes(18))).isEmpty();
+        assertThat(wheel.advance(start.plusMinutes(19))).containsExactly(farAway);
+    }
+
+    @Test
+    void scheduleAndCancel_ShouldReplaceOrDropTheAppointmentReminder() {
+        AppointmentReminderEvent moved = reminder();
+        AppointmentReminderEvent canceled = reminder();
+        AppointmentReminderEvent overdue = reminder();
+        wheel.schedule(moved, start.plusMinutes(2));
+        wheel.schedule(canceled, start.plusMinutes(2));
+        wheel.schedule(moved, start.plusMinutes(6));
+
+        assertThat(wheel.cancel(canceled.getAppointmentId())).isTrue();
+        assertThat(wheel.cancel(canceled.getAppointmentId())).isFalse();
+        assertThat(wheel.advance(start.plusMinutes(4))).isEmpty();
+
+        // Una hora ya pasada se emite en el siguiente tick
+        wheel.schedule(overdue, start.minusHours(1));
+        assertThat(wheel.advance(start.plusMinutes(5))).containsExactly(overdue);
+        assertThat(wheel.advance(start.plusMinutes(6))).containsExactly(moved);
+    }
+
+    private static AppointmentReminderEvent reminder() {
+        return AppointmentReminderEvent.builder()
+                .appointmentId(UUID.randomUUID())
+                .build();
+    }
+}
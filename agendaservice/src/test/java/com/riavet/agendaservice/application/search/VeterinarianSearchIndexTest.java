@@ -0,0 +1,104 @@
+package com.riavet.agendaservice.application.search;
+
+import com.riavet.agendaservice.application.dto.VeterinarianResponse;
+import com.riavet.agendaservice.application.mapper.VeterinarianMapper;
+import com.riavet.agendaservice.domain.event.VeterinarianChangedEvent;
+import com.riavet.agendaservice.domain.model.Veterinarian;
+import com.riavet.agendaservice.domain.repository.VeterinarianRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the in-memory veterinarian typeahead index.
+ */
+@ExtendWith(MockitoExtension.class)
+class VeterinarianSearchIndexTest {
+
+    @Mock
+    private VeterinarianRepository veterinarianRepository;
+
+    private VeterinarianSearchIndex searchIndex;
+    private Veterinarian anaGarcia;
+    private Veterinarian luisGarrido;
+    private Veterinarian martaNunez;
+
+    @BeforeEach
+    void setUp() {
+        anaGarcia = veterinarian("Ana", "García López", "Dermatología");
+        luisGarrido = veterinarian("Luis", "Garrido", "Cardiología");
+        martaNunez = veterinarian("Marta", "Núñez", "Dermatología");
+        martaNunez.setActive(false);
+        when(veterinarianRepository.findAll()).thenReturn(List.of(martaNunez, luisGarrido, anaGarcia));
+
+        searchIndex = new VeterinarianSearchIndex(veterinarianRepository, new VeterinarianMapper());
+        searchIndex.load();
+    }
+
+    @Test
+    void search_ShouldMatchEveryTermAsWordPrefixIgnoringAccentsAndCase() {
+        assertThat(ids(searchIndex.search("gar", null, false, 0, 10)))
+                .containsExactly(anaGarcia.getId(), luisGarrido.getId());
+        assertThat(ids(searchIndex.search("GARCIA an", null, false, 0, 10)))
+                .containsExactly(anaGarcia.getId());
+        assertThat(ids(searchIndex.search("lop", null, false, 0, 10)))
+                .containsExactly(anaGarcia.getId());
+        assertThat(ids(searchIndex.search("derma", null, false, 0, 10)))
+                .containsExactly(anaGarcia.getId(), martaNunez.getId());
+        assertThat(ids(searchIndex.search("nunez derm", null, true, 0, 10))).isEmpty();
+        assertThat(ids(searchIndex.search("garx", null, false, 0, 10))).isEmpty();
+    }
+
+    @Test
+    void search_ShouldFilterBySpecializationAndPage() {
+        VeterinarianSearchIndex.SearchResult dermatology = searchIndex.search(null, "dermatologia", false, 0, 1);
+        assertThat(dermatology.getTotal()).isEqualTo(2);
+        assertThat(ids(dermatology)).containsExactly(anaGarcia.getId());
+        assertThat(ids(searchIndex.search(null, "Dermatología", false, 1, 1))).containsExactly(martaNunez.getId());
+
+        VeterinarianSearchIndex.SearchResult all = searchIndex.search("", null, false, 0, 10);
+        assertThat(all.getTotal()).isEqualTo(3);
+    }
+
+    @Test
+    void onVeterinarianChanged_ShouldReindexOnlyTheChangedVeterinarian() {
+        luisGarrido.setLastName("Ortega");
+        luisGarrido.setSpecialization("Dermatología");
+        when(veterinarianRepository.findById(luisGarrido.getId())).thenReturn(Optional.of(luisGarrido));
+
+        searchIndex.onVeterinarianChanged(new VeterinarianChangedEvent(luisGarrido.getId(), false));
+
+        assertThat(ids(searchIndex.search("gar", null, false, 0, 10))).containsExactly(anaGarcia.getId());
+        assertThat(ids(searchIndex.search("ort", null, false, 0, 10))).containsExactly(luisGarrido.getId());
+        assertThat(searchIndex.search(null, "dermatologia", false, 0, 10).getTotal()).isEqualTo(3);
+
+        searchIndex.onVeterinarianChanged(new VeterinarianChangedEvent(anaGarcia.getId(), true));
+
+        assertThat(ids(searchIndex.search("ana", null, false, 0, 10))).isEmpty();
+        assertThat(searchIndex.size()).isEqualTo(2);
+    }
+
+    private static List<UUID> ids(VeterinarianSearchIndex.SearchResult result) {
+        return result.getItems().stream().map(VeterinarianResponse::getId).toList();
+    }
+
+    private static Veterinarian veterinarian(String firstName, String lastName, String specialization) {
+        return Veterinarian.builder()
+                .id(UUID.randomUUID())
+                .firstName(firstName)
+                .lastName(lastName)
+                .email(firstName.toLowerCase() + "@clinic.com")
+                .licenseNumber("VET-" + UUID.randomUUID())
+                .specialization(specialization)
+                .build();
+    }
+}
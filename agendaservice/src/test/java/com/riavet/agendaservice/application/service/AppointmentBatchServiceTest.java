@@ -0,0 +1,146 @@
+package com.riavet.agendaservice.application.service;
+
+import com.riavet.agendaservice.application.dto.AppointmentBatchItemResult;
+import com.riavet.agendaservice.application.dto.AppointmentBatchItemResult.ItemStatus;
+import com.riavet.agendaservice.application.dto.AppointmentBatchResponse;
+import com.riavet.agendaservice.application.dto.AppointmentRequest;
+import com.riavet.agendaservice.domain.model.Appointment;
+import com.riavet.agendaservice.domain.model.Appointment.AppointmentStatus;
+import com.riavet.agendaservice.domain.model.Veterinarian;
+import com.riavet.agendaservice.domain.repository.AppointmentRepository;
+import com.riavet.agendaservice.domain.repository.VeterinarianRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for bulk appointment creation: per-item results and batched inserts.
+ */
+@SpringBootTest
+class AppointmentBatchServiceTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2030, 3, 4, 8, 0);
+
+    @Autowired
+    private AppointmentBatchService appointmentBatchService;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private VeterinarianRepository veterinarianRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Veterinarian veterinarian;
+    private Veterinarian otherVeterinarian;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        veterinarian = veterinarianRepository.save(Veterinarian.builder()
+                .firstName("Batch")
+                .lastName("One")
+                .email("batch1@riavet.com")
+                .licenseNumber("LIC-B1")
+                .build());
+        otherVeterinarian = veterinarianRepository.save(Veterinarian.builder()
+                .firstName("Batch")
+                .lastName("Two")
+                .email("batch2@riavet.com")
+                .licenseNumber("LIC-B2")
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        appointmentRepository.deleteAll();
+        veterinarianRepository.deleteAll();
+    }
+
+    @Test
+    void createAppointments_ShouldInsertLargeBatchWithBatchedStatements() {
+        int perVeterinarian = 500;
+        List<AppointmentRequest> requests = new ArrayList<>();
+        for (int i = 0; i < perVeterinarian; i++) {
+            requests.add(request(veterinarian.getId(), START.plusMinutes(30L * i)));
+            requests.add(request(otherVeterinarian.getId(), START.plusMinutes(30L * i)));
+        }
+        statistics.clear();
+
+        AppointmentBatchResponse response = appointmentBatchService.createAppointments(requests);
+
+        assertThat(response.getRequested()).isEqualTo(2 * perVeterinarian);
+        assertThat(response.getCreated()).isEqualTo(2 * perVeterinarian);
+        assertThat(response.getRejected()).isZero();
+        assertThat(response.getResults()).allSatisfy(result -> {
+            assertThat(result.getStatus()).isEqualTo(ItemStatus.CREATED);
+            assertThat(result.getAppointment().getId()).isNotNull();
+        });
+        assertThat(appointmentRepository.count()).isEqualTo(2L * perVeterinarian);
+        // Un lote de inserciones cada 100 filas más las consultas de bloqueo y de solapamientos,
+        // y el resumen diario de carga: una consulta y un lote de inserciones
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(32);
+    }
+
+    @Test
+    void createAppointments_ShouldReportPerItemRejections() {
+        appointmentRepository.save(Appointment.builder()
+                .patientId(UUID.randomUUID())
+                .veterinarian(veterinarian)
+                .scheduledAt(START)
+                .status(AppointmentStatus.CONFIRMED)
+                .build());
+        Veterinarian inactive = veterinarianRepository.save(Veterinarian.builder()
+                .firstName("Batch")
+                .lastName("Inactive")
+                .email("batch3@riavet.com")
+                .licenseNumber("LIC-B3")
+                .active(false)
+                .build());
+
+        List<AppointmentRequest> requests = List.of(
+                request(veterinarian.getId(), START.plusMinutes(15)),      // choca con la cita existente
+                request(veterinarian.getId(), START.plusMinutes(30)),      // libre
+                request(veterinarian.getId(), START.plusMinutes(45)),      // choca con el elemento anterior
+                request(UUID.randomUUID(), START),                         // veterinario inexistente
+                request(inactive.getId(), START),                          // veterinario inactivo
+                AppointmentRequest.builder().veterinarianId(veterinarian.getId()).build());
+
+        AppointmentBatchResponse response = appointmentBatchService.createAppointments(requests);
+
+        assertThat(response.getCreated()).isEqualTo(1);
+        assertThat(response.getRejected()).isEqualTo(5);
+        assertThat(response.getResults()).extracting(AppointmentBatchItemResult::getIndex)
+                .containsExactly(0, 1, 2, 3, 4, 5);
+        assertThat(response.getResults()).extracting(AppointmentBatchItemResult::getStatus)
+                .containsExactly(ItemStatus.REJECTED, ItemStatus.CREATED, ItemStatus.REJECTED,
+                        ItemStatus.REJECTED, ItemStatus.REJECTED, ItemStatus.REJECTED);
+        assertThat(response.getResults().get(3).getError()).contains("not found");
+        assertThat(response.getResults().get(4).getError()).contains("inactive");
+        assertThat(response.getResults().get(5).getError()).contains("patientId").contains("scheduledAt");
+        assertThat(appointmentRepository.count()).isEqualTo(2);
+    }
+
+    private AppointmentRequest request(UUID veterinarianId, LocalDateTime scheduledAt) {
+        return AppointmentRequest.builder()
+                .patientId(UUID.randomUUID())
+                .veterinarianId(veterinarianId)
+                .scheduledAt(scheduledAt)
+                .build();
+    }
+}
@@ -0,0 +1,187 @@
+package com.riavet.agendaservice.application.service;
+
+import com.riavet.agendaservice.application.dto.AppointmentRequest;
+import com.riavet.agendaservice.domain.model.Appointment;
+import com.riavet.agendaservice.domain.model.Appointment.AppointmentStatus;
+import com.riavet.agendaservice.domain.model.Veterinarian;
+import com.riavet.agendaservice.domain.repository.AppointmentRepository;
+import com.riavet.agendaservice.domain.repository.VeterinarianRepository;
+import com.riavet.agendaservice.infrastructure.exception.AppointmentConflictException;
+import jakarta.persistence.RollbackException;
+import org.hibernate.TransactionException;
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.jpa.JpaSystemException;
+import org.springframework.transaction.TransactionSystemException;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Stress tests for concurrent booking: no veterinarian may ever end up with overlapping appointments.
+ */
+@SpringBootTest
+class AppointmentBookingConcurrencyTest {
+
+    private static final int THREADS = 32;
+    private static final int ATTEMPTS = 2000;
+    private static final int VETERINARIANS = 4;
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private VeterinarianRepository veterinarianRepository;
+
+    private List<Veterinarian> veterinarians;
+    private LocalDateTime dayStart;
+
+    @BeforeEach
+    void setUp() {
+        veterinarians = new ArrayList<>();
+        String suffix = UUID.randomUUID().toString();
+        for (int v = 0; v < VETERINARIANS; v++) {
+            veterinarians.add(veterinarianRepository.save(Veterinarian.builder()
+                    .firstName("Vet" + v)
+                    .lastName("Stress")
+                    .email("stress" + v + "-" + suffix + "@riavet.com")
+                    .licenseNumber("STRESS-" + v + "-" + suffix)
+                    .build()));
+        }
+        dayStart = LocalDateTime.now().plusDays(30).withHour(8).withMinute(0).withSecond(0).withNano(0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        appointmentRepository.deleteAll();
+        veterinarianRepository.deleteAll();
+    }
+
+    @Test
+    void createAppointment_UnderConcurrentLoad_ShouldNeverDoubleBook() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger created = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < ATTEMPTS; i++) {
+            futures.add(executor.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                Veterinarian veterinarian = veterinarians.get(random.nextInt(VETERINARIANS));
+                // Inicios cada 15 minutos con citas de 30: muchos solapamientos parciales
+                LocalDateTime scheduledAt = dayStart.plusMinutes(15L * random.nextInt(16));
+                start.await();
+                try {
+                    appointmentService.createAppointment(AppointmentRequest.builder()
+                            .patientId(UUID.randomUUID())
+                            .veterinarianId(veterinarian.getId())
+                            .scheduledAt(scheduledAt)
+                            .durationMinutes(30)
+                            .build());
+                    created.incrementAndGet();
+                } catch (AppointmentConflictException e) {
+                    conflicts.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertThat(created.get() + conflicts.get()).isEqualTo(ATTEMPTS);
+        List<Appointment> booked = appointmentRepository.findAllWithVeterinarian();
+        assertThat(booked).hasSize(created.get());
+
+        Map<UUID, List<Appointment>> byVeterinarian = booked.stream()
+                .collect(Collectors.groupingBy(appointment -> appointment.getVeterinarian().getId()));
+        byVeterinarian.values().forEach(appointments -> {
+            appointments.sort(Comparator.comparing(Appointment::getScheduledAt));
+            for (int i = 1; i < appointments.size(); i++) {
+                assertThat(appointments.get(i).getScheduledAt())
+                        .isAfterOrEqualTo(appointments.get(i - 1).getEndsAt());
+            }
+        });
+    }
+
+    @Test
+    void createAppointment_WhenAnotherNodeBookedTheSlot_ShouldRejectThroughDatabaseCheck() {
+        Veterinarian veterinarian = veterinarians.get(0);
+        // Insertada directamente: el índice en memoria de este nodo no la conoce
+        appointmentRepository.save(Appointment.builder()
+                .patientId(UUID.randomUUID())
+                .veterinarian(veterinarian)
+                .scheduledAt(dayStart)
+                .durationMinutes(60)
+                .status(AppointmentStatus.CONFIRMED)
+                .build());
+
+        AppointmentRequest overlapping = AppointmentRequest.builder()
+                .patientId(UUID.randomUUID())
+                .veterinarianId(veterinarian.getId())
+                .scheduledAt(dayStart.plusMinutes(30))
+                .build();
+
+        assertThatThrownBy(() -> appointmentService.createAppointment(overlapping))
+                .isInstanceOf(AppointmentConflictException.class);
+    }
+
+    @Test
+    void isOverlapViolation_ShouldRecognizeOnlyTheExclusionConstraint() {
+        // Error de PostgreSQL cuando otro nodo insertó una cita solapada sin pasar por el lock
+        SQLException exclusion = new SQLException("ERROR: conflicting key value violates exclusion constraint "
+                + "\"" + Appointment.OVERLAP_CONSTRAINT + "\"", "23P01");
+        SQLException foreignKey = new SQLException("ERROR: insert or update on table \"appointments\" violates "
+                + "foreign key constraint \"fk_appointments_veterinarian\"", "23503");
+
+        assertThat(AppointmentServiceImpl.isOverlapViolation(new DataIntegrityViolationException("could not execute",
+                new ConstraintViolationException("could not execute", exclusion, null)))).isTrue();
+        assertThat(AppointmentServiceImpl.isOverlapViolation(new DataIntegrityViolationException("could not execute",
+                new ConstraintViolationException("could not execute", foreignKey, "fk_appointments_veterinarian"))))
+                .isFalse();
+    }
+
+    @Test
+    void isOverlapViolation_ShouldRecognizeTheDeferredCheckAtCommit() {
+        // La restricción es diferida: el error llega al hacer commit envuelto por el gestor de transacciones
+        SQLException exclusion = new SQLException("ERROR: conflicting key value violates exclusion constraint "
+                + "\"" + Appointment.OVERLAP_CONSTRAINT + "\"", "23P01");
+        RollbackException commitFailure = new RollbackException("Error while committing the transaction",
+                new TransactionException("Unable to commit against JDBC Connection", exclusion));
+
+        assertThat(AppointmentServiceImpl.isOverlapViolation(new JpaSystemException(commitFailure))).isTrue();
+        assertThat(AppointmentServiceImpl.isOverlapViolation(
+                new TransactionSystemException("Could not commit JPA transaction", commitFailure))).isTrue();
+        assertThat(AppointmentServiceImpl.isOverlapViolation(new TransactionSystemException(
+                "Could not commit JPA transaction", new RollbackException("Transaction marked as rollbackOnly"))))
+                .isFalse();
+    }
+}
@@ -0,0 +1,131 @@
+package com.riavet.agendaservice.application.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.riavet.agendaservice.application.dto.AppointmentFilter;
+import com.riavet.agendaservice.application.dto.AppointmentRequest;
+import com.riavet.agendaservice.application.dto.AppointmentResponse;
+import com.riavet.agendaservice.application.dto.ExportFormat;
+import com.riavet.agendaservice.domain.model.Veterinarian;
+import com.riavet.agendaservice.domain.repository.AppointmentRepository;
+import com.riavet.agendaservice.domain.repository.VeterinarianRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for the streaming NDJSON/CSV appointment export.
+ */
+@SpringBootTest
+class AppointmentExportServiceTest {
+
+    @Autowired
+    private AppointmentExportService exportService;
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private VeterinarianRepository veterinarianRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Veterinarian veterinarian;
+    private LocalDateTime monthStart;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = UUID.randomUUID().toString();
+        veterinarian = veterinarianRepository.save(Veterinarian.builder()
+                .firstName("Export")
+                .lastName("Test, Jr.")
+                .email("export-" + suffix + "@riavet.com")
+                .licenseNumber("EXP-" + suffix)
+                .build());
+        monthStart = LocalDateTime.now().plusMonths(2).withDayOfMonth(1)
+                .withHour(0).withMinute(0).withSecond(0).withNano(0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        appointmentRepository.deleteAll();
+        veterinarianRepository.deleteAll();
+    }
+
+    @Test
+    void exportAppointments_AsNdjson_ShouldWriteOneOrderedObjectPerLineInsideRange() throws Exception {
+        List<AppointmentResponse> inside = new ArrayList<>();
+        // Se reservan en orden inverso para comprobar que la exportación ordena por fecha
+        for (int day = 9; day >= 0; day--) {
+            inside.add(0, book(monthStart.plusDays(day).withHour(9)));
+        }
+        book(monthStart.minusDays(1).withHour(9));
+        book(monthStart.plusMonths(1).withHour(9));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long rows = exportService.exportAppointments(AppointmentFilter.builder()
+                .veterinarianId(veterinarian.getId())
+                .from(monthStart)
+                .to(monthStart.plusMonths(1))
+                .build(), ExportFormat.NDJSON, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(rows).isEqualTo(10);
+        assertThat(lines).hasSize(10);
+        for (int i = 0; i < lines.length; i++) {
+            JsonNode node = objectMapper.readTree(lines[i]);
+            assertThat(node.get("id").asText()).isEqualTo(inside.get(i).getId().toString());
+            assertThat(node.get("veterinarianName").asText()).isEqualTo("Export Test, Jr.");
+            assertThat(node.get("status").asText()).isEqualTo("PENDING");
+        }
+    }
+
+    @Test
+    void exportAppointments_AsCsv_ShouldWriteHeaderAndQuoteValues() throws Exception {
+        AppointmentResponse booked = book(monthStart.withHour(10));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.exportAppointments(AppointmentFilter.builder()
+                .veterinarianId(veterinarian.getId())
+                .build(), ExportFormat.CSV, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(lines[0]).isEqualTo(AppointmentExportServiceImpl.CSV_HEADER);
+        assertThat(lines[1]).startsWith(booked.getId() + "," + booked.getPatientId() + "," + veterinarian.getId()
+                + ",\"Export Test, Jr.\"," + booked.getScheduledAt() + ",30,PENDING,,");
+    }
+
+    @Test
+    void exportAppointments_WithInvertedRange_ShouldFail() {
+        assertThatThrownBy(() -> exportService.exportAppointments(AppointmentFilter.builder()
+                .from(monthStart)
+                .to(monthStart)
+                .build(), ExportFormat.NDJSON, new ByteArrayOutputStream()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private AppointmentResponse book(LocalDateTime scheduledAt) {
+        return appointmentService.createAppointment(AppointmentRequest.builder()
+                .patientId(UUID.randomUUID())
+                .veterinarianId(veterinarian.getId())
+                .scheduledAt(scheduledAt)
+                .build());
+    }
+}
@@ -0,0 +1,201 @@
+package com.riavet.agendaservice.application.service;
+
+import com.riavet.agendaservice.application.dto.AppointmentCursor;
+import com.riavet.agendaservice.application.dto.AppointmentFilter;
+import com.riavet.agendaservice.application.dto.AppointmentPageResponse;
+import com.riavet.agendaservice.application.dto.AppointmentResponse;
+import com.riavet.agendaservice.domain.model.Appointment;
+import com.riavet.agendaservice.domain.model.Appointment.AppointmentStatus;
+import com.riavet.agendaservice.domain.model.Veterinarian;
+import com.riavet.agendaservice.domain.repository.AppointmentRepository;
+import com.riavet.agendaservice.domain.repository.VeterinarianRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for the keyset pagination of GET /api/v1/appointments: (scheduledAt, id) order across pages,
+ * has-more detection, page size limits, cursors and filters.
+ */
+@SpringBootTest
+class AppointmentKeysetPaginationTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2031, 2, 3, 9, 0);
+    private static final LocalDateTime END = START.plusDays(1);
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private VeterinarianRepository veterinarianRepository;
+
+    private Veterinarian veterinarian;
+    private Veterinarian otherVeterinarian;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = UUID.randomUUID().toString();
+        veterinarian = saveVeterinarian("keyset-a-" + suffix);
+        otherVeterinarian = saveVeterinarian("keyset-b-" + suffix);
+    }
+
+    @AfterEach
+    void tearDown() {
+        appointmentRepository.deleteAll();
+        veterinarianRepository.deleteAll();
+    }
+
+    @Test
+    void getAppointments_ShouldWalkTiedStartTimesInIdOrderAcrossPages() {
+        // 7 citas a la misma hora y 5 una hora después: el desempate por id cruza los límites de página
+        List<Appointment> saved = new ArrayList<>();
+        saved.addAll(saveAppointments(veterinarian, START, 7, AppointmentStatus.PENDING));
+        saved.addAll(saveAppointments(veterinarian, START.plusHours(1), 5, AppointmentStatus.CONFIRMED));
+        saveAppointments(otherVeterinarian, START, 4, AppointmentStatus.PENDING);
+
+        List<AppointmentResponse> walked = new ArrayList<>();
+        List<Integer> pageSizes = new ArrayList<>();
+        String cursor = null;
+        do {
+            AppointmentPageResponse page = appointmentService.getAppointments(AppointmentFilter.builder()
+                    .veterinarianId(veterinarian.getId())
+                    .cursor(cursor)
+                    .size(5)
+                    .build());
+            walked.addAll(page.getItems());
+            pageSizes.add(page.getSize());
+            assertThat(page.getNextCursor() != null).isEqualTo(page.isHasMore());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        List<UUID> expected = saved.stream()
+                .sorted(keysetOrder())
+                .map(Appointment::getId)
+                .collect(Collectors.toList());
+        assertThat(walked).extracting(AppointmentResponse::getId).containsExactlyElementsOf(expected);
+        assertThat(pageSizes).containsExactly(5, 5, 2);
+    }
+
+    @Test
+    void getAppointments_WhenRowsFillTheLastPageExactly_ShouldNotReportMore() {
+        saveAppointments(veterinarian, START, 6, AppointmentStatus.PENDING);
+
+        AppointmentPageResponse first = appointmentService.getAppointments(AppointmentFilter.builder()
+                .veterinarianId(veterinarian.getId()).size(3).build());
+        AppointmentPageResponse second = appointmentService.getAppointments(AppointmentFilter.builder()
+                .veterinarianId(veterinarian.getId()).size(3).cursor(first.getNextCursor()).build());
+
+        // La fila extra (size + 1) solo existe en la primera página
+        assertThat(first.isHasMore()).isTrue();
+        assertThat(second.getItems()).hasSize(3);
+        assertThat(second.isHasMore()).isFalse();
+        assertThat(second.getNextCursor()).isNull();
+    }
+
+    @Test
+    void getAppointments_ShouldCapAndValidateThePageSize() {
+        saveAppointments(veterinarian, START, AppointmentServiceImpl.MAX_PAGE_SIZE + 5, AppointmentStatus.PENDING);
+        AppointmentFilter.AppointmentFilterBuilder filter = AppointmentFilter.builder().veterinarianId(veterinarian.getId());
+
+        AppointmentPageResponse capped = appointmentService.getAppointments(filter.size(1000).build());
+        AppointmentPageResponse byDefault = appointmentService.getAppointments(filter.size(null).build());
+
+        assertThat(capped.getItems()).hasSize(AppointmentServiceImpl.MAX_PAGE_SIZE);
+        assertThat(capped.isHasMore()).isTrue();
+        assertThat(byDefault.getItems()).hasSize(AppointmentServiceImpl.DEFAULT_PAGE_SIZE);
+        assertThatThrownBy(() -> appointmentService.getAppointments(filter.size(0).build()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void getAppointments_ShouldCombineVeterinarianStatusAndRangeFilters() {
+        saveAppointments(veterinarian, START, 3, AppointmentStatus.PENDING);
+        List<Appointment> confirmed = saveAppointments(veterinarian, START.plusHours(2), 4, AppointmentStatus.CONFIRMED);
+        saveAppointments(veterinarian, END.plusHours(1), 2, AppointmentStatus.CONFIRMED);
+        saveAppointments(otherVeterinarian, START.plusHours(2), 2, AppointmentStatus.CONFIRMED);
+
+        AppointmentFilter.AppointmentFilterBuilder filter = AppointmentFilter.builder()
+                .veterinarianId(veterinarian.getId())
+                .status(AppointmentStatus.CONFIRMED)
+                .from(START)
+                .to(END)
+                .size(3);
+        AppointmentPageResponse first = appointmentService.getAppointments(filter.build());
+        AppointmentPageResponse second = appointmentService.getAppointments(filter.cursor(first.getNextCursor()).build());
+
+        List<AppointmentResponse> items = new ArrayList<>(first.getItems());
+        items.addAll(second.getItems());
+        assertThat(items).extracting(AppointmentResponse::getId)
+                .containsExactlyElementsOf(confirmed.stream().sorted(keysetOrder()).map(Appointment::getId).toList());
+        assertThat(second.isHasMore()).isFalse();
+
+        // Rango vacío o invertido
+        assertThatThrownBy(() -> appointmentService.getAppointments(AppointmentFilter.builder()
+                .from(END).to(START).build()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void cursor_ShouldRoundTripAndRejectMalformedTokens() {
+        AppointmentCursor cursor = new AppointmentCursor(START.plusSeconds(7), UUID.randomUUID());
+
+        assertThat(AppointmentCursor.decode(cursor.encode())).isEqualTo(cursor);
+
+        String withoutSeparator = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("2031-02-03T09:00".getBytes(StandardCharsets.UTF_8));
+        String badDate = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(("yesterday|" + UUID.randomUUID()).getBytes(StandardCharsets.UTF_8));
+        for (String token : List.of("not base64!", withoutSeparator, badDate)) {
+            assertThatThrownBy(() -> appointmentService.getAppointments(AppointmentFilter.builder()
+                    .cursor(token).build()))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("Invalid pagination cursor");
+        }
+    }
+
+    private static Comparator<Appointment> keysetOrder() {
+        return (left, right) -> AppointmentCursor.compare(
+                left.getScheduledAt(), left.getId(), right.getScheduledAt(), right.getId());
+    }
+
+    private Veterinarian saveVeterinarian(String key) {
+        return veterinarianRepository.save(Veterinarian.builder()
+                .firstName("Keyset")
+                .lastName("Test")
+                .email(key + "@riavet.com")
+                .licenseNumber(key)
+                .build());
+    }
+
+    // Insertadas directamente: la paginación no depende de la verificación de solapes
+    private List<Appointment> saveAppointments(Veterinarian owner, LocalDateTime scheduledAt, int count,
+                                               AppointmentStatus status) {
+        List<Appointment> appointments = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            appointments.add(Appointment.builder()
+                    .patientId(UUID.randomUUID())
+                    .veterinarian(owner)
+                    .scheduledAt(scheduledAt)
+                    .status(status)
+                    .build());
+        }
+        return appointmentRepository.saveAll(appointments);
+    }
+}
@@ -0,0 +1,149 @@
+package com.riavet.agendaservice.application.service;
+
+import com.riavet.agendaservice.application.dto.AppointmentCursor;
+import com.riavet.agendaservice.application.dto.AppointmentFilter;
+import com.riavet.agendaservice.application.dto.AppointmentPageResponse;
+import com.riavet.agendaservice.application.dto.AppointmentResponse;
+import com.riavet.agendaservice.domain.model.Appointment;
+import com.riavet.agendaservice.domain.model.Appointment.AppointmentStatus;
+import com.riavet.agendaservice.domain.model.Veterinarian;
+import com.riavet.agendaservice.domain.repository.AppointmentRepository;
+import com.riavet.agendaservice.domain.repository.VeterinarianRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for the patient appointment history: descending keyset pages without the veterinarian join.
+ */
+@SpringBootTest
+class AppointmentPatientHistoryTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2030, 5, 6, 9, 0);
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private VeterinarianRepository veterinarianRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Veterinarian veterinarian;
+    private UUID patientId;
+    private List<Appointment> history;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = UUID.randomUUID().toString();
+        veterinarian = veterinarianRepository.save(Veterinarian.builder()
+                .firstName("History")
+                .lastName("Test")
+                .email("history-" + suffix + "@riavet.com")
+                .licenseNumber("HISTORY-" + suffix)
+                .build());
+        patientId = UUID.randomUUID();
+
+        history = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            // Dos citas por hora para que el desempate por id también entre en juego
+            history.add(save(patientId, START.plusHours(i / 2),
+                    i == 3 ? AppointmentStatus.CANCELED : AppointmentStatus.COMPLETED));
+        }
+        save(UUID.randomUUID(), START, AppointmentStatus.PENDING);
+    }
+
+    @AfterEach
+    void tearDown() {
+        appointmentRepository.deleteAll();
+        veterinarianRepository.deleteAll();
+    }
+
+    @Test
+    void getAppointments_ShouldPageThroughPatientHistoryMostRecentFirst() {
+        List<AppointmentResponse> listed = new ArrayList<>();
+        String cursor = null;
+        do {
+            AppointmentPageResponse page = appointmentService.getAppointments(AppointmentFilter.builder()
+                    .patientId(patientId)
+                    .cursor(cursor)
+                    .size(3)
+                    .build());
+            listed.addAll(page.getItems());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        // Orden del keyset invertido: (scheduledAt, id) descendente
+        List<UUID> expected = history.stream()
+                .sorted((left, right) -> AppointmentCursor.compare(
+                        right.getScheduledAt(), right.getId(), left.getScheduledAt(), left.getId()))
+                .map(Appointment::getId)
+                .toList();
+        assertThat(listed).extracting(AppointmentResponse::getId).containsExactlyElementsOf(expected);
+        assertThat(listed).allSatisfy(response -> {
+            assertThat(response.getPatientId()).isEqualTo(patientId);
+            assertThat(response.getVeterinarianId()).isEqualTo(veterinarian.getId());
+        });
+
+        AppointmentPageResponse canceled = appointmentService.getAppointments(AppointmentFilter.builder()
+                .patientId(patientId)
+                .status(AppointmentStatus.CANCELED)
+                .build());
+        assertThat(canceled.getItems()).extracting(AppointmentResponse::getId)
+                .containsExactly(history.get(3).getId());
+
+        assertThatThrownBy(() -> appointmentService.getAppointments(AppointmentFilter.builder()
+                .patientId(patientId)
+                .includeVirtual(true)
+                .build()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void getAppointments_ShouldSkipVeterinarianJoinUnlessRequested() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        AppointmentPageResponse withoutVeterinarian = appointmentService.getAppointments(AppointmentFilter.builder()
+                .patientId(patientId)
+                .build());
+
+        assertThat(withoutVeterinarian.getItems()).hasSize(history.size())
+                .allSatisfy(response -> assertThat(response.getVeterinarian()).isNull());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        AppointmentPageResponse withVeterinarian = appointmentService.getAppointments(AppointmentFilter.builder()
+                .patientId(patientId)
+                .includeVeterinarian(true)
+                .build());
+
+        assertThat(withVeterinarian.getItems()).allSatisfy(response ->
+                assertThat(response.getVeterinarian().getId()).isEqualTo(veterinarian.getId()));
+    }
+
+    private Appointment save(UUID patient, LocalDateTime scheduledAt, AppointmentStatus status) {
+        return appointmentRepository.save(Appointment.builder()
+                .patientId(patient)
+                .veterinarian(veterinarian)
+                .scheduledAt(scheduledAt)
+                .status(status)
+                .build());
+    }
+}
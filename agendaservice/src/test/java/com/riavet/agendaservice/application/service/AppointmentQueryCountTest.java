@@ -0,0 +1,125 @@
+package com.riavet.agendaservice.application.service;
+
+import com.riavet.agendaservice.application.dto.AppointmentFilter;
+import com.riavet.agendaservice.application.dto.AppointmentPageResponse;
+import com.riavet.agendaservice.application.dto.AppointmentResponse;
+import com.riavet.agendaservice.domain.model.Appointment;
+import com.riavet.agendaservice.domain.model.Appointment.AppointmentStatus;
+import com.riavet.agendaservice.domain.model.Veterinarian;
+import com.riavet.agendaservice.domain.repository.AppointmentRepository;
+import com.riavet.agendaservice.domain.repository.VeterinarianRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Regression tests for the N+1 veterinarian load on appointment reads.
+ *
+ * Every read path must load appointments and their veterinarians in a single statement.
+ */
+@SpringBootTest
+class AppointmentQueryCountTest {
+
+    private static final int VETERINARIANS = 3;
+    private static final int APPOINTMENTS_PER_VETERINARIAN = 4;
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private VeterinarianRepository veterinarianRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private List<Veterinarian> veterinarians;
+    private Appointment firstAppointment;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        veterinarians = new ArrayList<>();
+
+        LocalDateTime start = LocalDateTime.of(2030, 1, 7, 9, 0);
+        for (int v = 0; v < VETERINARIANS; v++) {
+            Veterinarian veterinarian = veterinarianRepository.save(Veterinarian.builder()
+                    .firstName("Vet" + v)
+                    .lastName("Test")
+                    .email("vet" + v + "@riavet.com")
+                    .licenseNumber("LIC-" + v)
+                    .build());
+            veterinarians.add(veterinarian);
+
+            for (int a = 0; a < APPOINTMENTS_PER_VETERINARIAN; a++) {
+                Appointment appointment = appointmentRepository.save(Appointment.builder()
+                        .patientId(UUID.randomUUID())
+                        .veterinarian(veterinarian)
+                        .scheduledAt(start.plusHours(a).plusMinutes(v))
+                        .status(AppointmentStatus.PENDING)
+                        .build());
+                if (firstAppointment == null) {
+                    firstAppointment = appointment;
+                }
+            }
+        }
+
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        appointmentRepository.deleteAll();
+        veterinarianRepository.deleteAll();
+    }
+
+    @Test
+    void getAllAppointments_ShouldUseSingleStatement() {
+        List<AppointmentResponse> result = appointmentService.getAllAppointments();
+
+        assertThat(result).hasSize(VETERINARIANS * APPOINTMENTS_PER_VETERINARIAN);
+        assertThat(result).allSatisfy(response -> assertThat(response.getVeterinarian()).isNotNull());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void getAppointmentsByVeterinarian_ShouldUseSingleStatement() {
+        List<AppointmentResponse> result =
+                appointmentService.getAppointmentsByVeterinarian(veterinarians.get(1).getId());
+
+        assertThat(result).hasSize(APPOINTMENTS_PER_VETERINARIAN);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void getAppointments_ShouldUseSingleStatementPerPage() {
+        AppointmentPageResponse page = appointmentService.getAppointments(AppointmentFilter.builder()
+                .size(VETERINARIANS * APPOINTMENTS_PER_VETERINARIAN)
+                .build());
+
+        assertThat(page.getItems()).hasSize(VETERINARIANS * APPOINTMENTS_PER_VETERINARIAN);
+        assertThat(page.getItems()).allSatisfy(response -> assertThat(response.getVeterinarian()).isNotNull());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void getAppointmentById_ShouldUseSingleStatement() {
+        assertThat(appointmentService.getAppointmentById(firstAppointment.getId())).isPresent();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,251 @@
+package com.riavet.agendaservice.application.service;
+
+import com.riavet.agendaservice.application.dto.AppointmentFilter;
+import com.riavet.agendaservice.application.dto.AppointmentPageResponse;
+import com.riavet.agendaservice.application.dto.AppointmentRequest;
+import com.riavet.agendaservice.application.dto.AppointmentResponse;
+import com.riavet.agendaservice.application.dto.AppointmentSeriesRequest;
+import com.riavet.agendaservice.application.dto.AppointmentSeriesRescheduleRequest;
+import com.riavet.agendaservice.application.dto.AppointmentSeriesResponse;
+import com.riavet.agendaservice.domain.model.Appointment;
+import com.riavet.agendaservice.domain.model.Appointment.AppointmentStatus;
+import com.riavet.agendaservice.domain.model.AppointmentSeries.Frequency;
+import com.riavet.agendaservice.domain.model.AppointmentSeries.SeriesStatus;
+import com.riavet.agendaservice.domain.model.Veterinarian;
+import com.riavet.agendaservice.domain.repository.AppointmentRepository;
+import com.riavet.agendaservice.domain.repository.AppointmentSeriesRepository;
+import com.riavet.agendaservice.domain.repository.VeterinarianRepository;
+import com.riavet.agendaservice.infrastructure.exception.AppointmentConflictException;
+import jakarta.persistence.RollbackException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.orm.jpa.JpaSystemException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+
+/**
+ * Tests for recurring series: lazy materialization, merged listing, bulk cancel and reschedule.
+ */
+@SpringBootTest
+class AppointmentSeriesServiceTest {
+
+    private static final int WEEKS = 12;
+
+    @Autowired
+    private AppointmentSeriesService seriesService;
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @SpyBean
+    private AppointmentSeriesRepository seriesRepository;
+
+    @Autowired
+    private VeterinarianRepository veterinarianRepository;
+
+    private Veterinarian veterinarian;
+    private LocalDateTime firstOccurrence;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = UUID.randomUUID().toString();
+        veterinarian = veterinarianRepository.save(Veterinarian.builder()
+                .firstName("Series")
+                .lastName("Test")
+                .email("series-" + suffix + "@riavet.com")
+                .licenseNumber("SERIES-" + suffix)
+                .build());
+        firstOccurrence = LocalDateTime.now().plusDays(1).withHour(10).withMinute(0).withSecond(0).withNano(0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        appointmentRepository.deleteAll();
+        seriesRepository.deleteAll();
+        veterinarianRepository.deleteAll();
+    }
+
+    @Test
+    void createSeries_ShouldOnlyMaterializeOccurrencesInsideHorizon() {
+        AppointmentSeriesResponse series = createWeeklySeries();
+
+        // Horizonte de 28 días: semanas 0..3
+        assertThat(series.getOccurrenceCount()).isEqualTo(WEEKS);
+        assertThat(series.getMaterializedOccurrences()).isEqualTo(4);
+        assertThat(series.getLastOccurrenceAt()).isEqualTo(firstOccurrence.plusWeeks(WEEKS - 1));
+        assertThat(appointmentRepository.count()).isEqualTo(4);
+    }
+
+    @Test
+    void getAppointments_ShouldMergeMaterializedAndVirtualOccurrencesAcrossPages() {
+        AppointmentSeriesResponse series = createWeeklySeries();
+        appointmentService.createAppointment(AppointmentRequest.builder()
+                .patientId(UUID.randomUUID())
+                .veterinarianId(veterinarian.getId())
+                .scheduledAt(firstOccurrence.plusWeeks(6).plusHours(2))
+                .build());
+
+        List<AppointmentResponse> listed = new ArrayList<>();
+        String cursor = null;
+        do {
+            AppointmentPageResponse page = appointmentService.getAppointments(AppointmentFilter.builder()
+                    .veterinarianId(veterinarian.getId())
+                    .includeVirtual(true)
+                    .cursor(cursor)
+                    .size(5)
+                    .build());
+            listed.addAll(page.getItems());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertThat(listed).hasSize(WEEKS + 1);
+        assertThat(listed).extracting(AppointmentResponse::getScheduledAt).isSorted();
+        assertThat(listed).filteredOn(AppointmentResponse::isVirtual).hasSize(WEEKS - 4)
+                .allSatisfy(response -> {
+                    assertThat(response.getSeriesId()).isEqualTo(series.getId());
+                    assertThat(response.getStatus()).isEqualTo(AppointmentStatus.PENDING);
+                });
+        assertThat(listed).extracting(AppointmentResponse::getId).doesNotHaveDuplicates();
+
+        // Sin includeVirtual solo aparecen las filas materializadas
+        AppointmentPageResponse materialized = appointmentService.getAppointments(AppointmentFilter.builder()
+                .veterinarianId(veterinarian.getId())
+                .build());
+        assertThat(materialized.getItems()).hasSize(5);
+    }
+
+    @Test
+    void createAppointment_OverVirtualOccurrence_ShouldConflict() {
+        createWeeklySeries();
+
+        assertThatThrownBy(() -> appointmentService.createAppointment(AppointmentRequest.builder()
+                .patientId(UUID.randomUUID())
+                .veterinarianId(veterinarian.getId())
+                .scheduledAt(firstOccurrence.plusWeeks(10).plusMinutes(15))
+                .build()))
+                .isInstanceOf(AppointmentConflictException.class);
+    }
+
+    @Test
+    void createSeries_OverlappingAnotherSeries_ShouldConflict() {
+        createWeeklySeries();
+
+        assertThatThrownBy(() -> seriesService.createSeries(AppointmentSeriesRequest.builder()
+                .patientId(UUID.randomUUID())
+                .veterinarianId(veterinarian.getId())
+                .startsAt(firstOccurrence.plusWeeks(8).plusMinutes(10))
+                .frequency(Frequency.DAILY)
+                .occurrences(3)
+                .build()))
+                .isInstanceOf(AppointmentConflictException.class);
+    }
+
+    @Test
+    void cancelSeries_ShouldCancelMaterializedAndDropVirtualOccurrences() {
+        AppointmentSeriesResponse series = createWeeklySeries();
+
+        AppointmentSeriesResponse canceled = seriesService.cancelSeries(series.getId(), "Owner moved");
+
+        assertThat(canceled.getStatus()).isEqualTo(SeriesStatus.CANCELED);
+        assertThat(appointmentRepository.findAll()).extracting(Appointment::getStatus)
+                .containsOnly(AppointmentStatus.CANCELED);
+        AppointmentPageResponse page = appointmentService.getAppointments(AppointmentFilter.builder()
+                .veterinarianId(veterinarian.getId())
+                .status(AppointmentStatus.PENDING)
+                .includeVirtual(true)
+                .build());
+        assertThat(page.getItems()).isEmpty();
+    }
+
+    @Test
+    void rescheduleSeries_ShouldMoveMaterializedAndVirtualOccurrences() {
+        AppointmentSeriesResponse series = createWeeklySeries();
+        LocalDateTime newStart = firstOccurrence.plusDays(1).withHour(15);
+
+        AppointmentSeriesResponse rescheduled = seriesService.rescheduleSeries(series.getId(),
+                AppointmentSeriesRescheduleRequest.builder().startsAt(newStart).durationMinutes(45).build());
+
+        assertThat(rescheduled.getLastOccurrenceAt()).isEqualTo(newStart.plusWeeks(WEEKS - 1));
+        List<AppointmentResponse> listed = appointmentService.getAppointments(AppointmentFilter.builder()
+                .veterinarianId(veterinarian.getId())
+                .includeVirtual(true)
+                .build()).getItems();
+        assertThat(listed).hasSize(WEEKS);
+        for (int week = 0; week < WEEKS; week++) {
+            assertThat(listed.get(week).getScheduledAt()).isEqualTo(newStart.plusWeeks(week));
+            assertThat(listed.get(week).getDurationMinutes()).isEqualTo(45);
+        }
+
+        // El hueco original queda libre para una cita individual
+        AppointmentResponse single = appointmentService.createAppointment(AppointmentRequest.builder()
+                .patientId(UUID.randomUUID())
+                .veterinarianId(veterinarian.getId())
+                .scheduledAt(firstOccurrence.plusWeeks(9))
+                .build());
+        assertThat(single.getId()).isNotNull();
+    }
+
+    @Test
+    void rescheduleSeries_WhenTheCommitHitsTheExclusionConstraint_ShouldConflict() {
+        AppointmentSeriesResponse series = createWeeklySeries();
+        // Así llega a PostgreSQL la restricción diferida cuando otro nodo ocupó el horario sin el lock
+        doThrow(new JpaSystemException(new RollbackException("Error while committing the transaction",
+                new SQLException("ERROR: conflicting key value violates exclusion constraint \""
+                        + Appointment.OVERLAP_CONSTRAINT + "\"", "23P01"))))
+                .when(seriesRepository).save(any());
+
+        assertThatThrownBy(() -> seriesService.rescheduleSeries(series.getId(),
+                AppointmentSeriesRescheduleRequest.builder().startsAt(firstOccurrence.plusDays(2)).build()))
+                .isInstanceOf(AppointmentConflictException.class);
+
+        // La transacción se deshizo: las ocurrencias siguen en su horario
+        assertThat(appointmentRepository.findAll()).extracting(Appointment::getScheduledAt)
+                .containsExactlyInAnyOrder(firstOccurrence, firstOccurrence.plusWeeks(1),
+                        firstOccurrence.plusWeeks(2), firstOccurrence.plusWeeks(3));
+    }
+
+    @Test
+    void materializeDueOccurrences_ShouldAdvanceHorizon() {
+        AppointmentSeriesResponse series = createWeeklySeries();
+        Object horizon = ReflectionTestUtils.getField(seriesService, "horizonDays");
+        try {
+            ReflectionTestUtils.setField(seriesService, "horizonDays", 56);
+
+            assertThat(seriesService.materializeDueOccurrences()).isEqualTo(4);
+            assertThat(seriesService.materializeDueOccurrences()).isZero();
+        } finally {
+            ReflectionTestUtils.setField(seriesService, "horizonDays", horizon);
+        }
+
+        assertThat(appointmentRepository.count()).isEqualTo(8);
+        assertThat(seriesService.getSeriesById(series.getId()))
+                .hasValueSatisfying(response -> assertThat(response.getMaterializedOccurrences()).isEqualTo(8));
+    }
+
+    private AppointmentSeriesResponse createWeeklySeries() {
+        return seriesService.createSeries(AppointmentSeriesRequest.builder()
+                .patientId(UUID.randomUUID())
+                .veterinarianId(veterinarian.getId())
+                .startsAt(firstOccurrence)
+                .frequency(Frequency.WEEKLY)
+                .occurrences(WEEKS)
+                .build());
+    }
+}
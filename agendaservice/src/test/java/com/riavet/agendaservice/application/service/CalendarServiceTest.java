@@ -0,0 +1,161 @@
+package com.riavet.agendaservice.application.service;
+
+import com.riavet.agendaservice.application.dto.AppointmentRequest;
+import com.riavet.agendaservice.application.dto.AppointmentResponse;
+import com.riavet.agendaservice.application.dto.AppointmentUpdateRequest;
+import com.riavet.agendaservice.application.dto.CalendarColumnResponse;
+import com.riavet.agendaservice.application.dto.CalendarEntryResponse;
+import com.riavet.agendaservice.application.dto.DayCalendarResponse;
+import com.riavet.agendaservice.application.dto.VeterinarianCalendarResponse;
+import com.riavet.agendaservice.domain.model.Appointment.AppointmentStatus;
+import com.riavet.agendaservice.domain.model.Veterinarian;
+import com.riavet.agendaservice.domain.repository.AppointmentRepository;
+import com.riavet.agendaservice.domain.repository.VeterinarianRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Tests for the calendar views and the read model that backs them.
+ */
+@SpringBootTest
+class CalendarServiceTest {
+
+    @Autowired
+    private CalendarService calendarService;
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private VeterinarianRepository veterinarianRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Veterinarian veterinarian;
+    private LocalDate monday;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        String suffix = UUID.randomUUID().toString();
+        veterinarian = veterinarianRepository.save(Veterinarian.builder()
+                .firstName("Laura")
+                .lastName("Calendar")
+                .email("calendar-" + suffix + "@riavet.com")
+                .licenseNumber("CAL-" + suffix)
+                .build());
+        monday = LocalDate.now().plusWeeks(6).with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+
+    @AfterEach
+    void tearDown() {
+        appointmentRepository.deleteAll();
+        veterinarianRepository.deleteAll();
+    }
+
+    @Test
+    void getVeterinarianWeek_ShouldBucketAppointmentsPerDayOnTheSlotGrid() {
+        book(monday.atTime(9, 0), 30);
+        book(monday.plusDays(2).atTime(14, 10), 45);
+
+        VeterinarianCalendarResponse calendar = calendarService
+                .getVeterinarianWeek(veterinarian.getId(), monday.plusDays(3)).orElseThrow();
+
+        assertThat(calendar.getWeekStart()).isEqualTo(monday);
+        assertThat(calendar.getVeterinarianName()).isEqualTo("Laura Calendar");
+        assertThat(calendar.getDays()).hasSize(7);
+        assertThat(calendar.getDays().get(0).getEntries()).singleElement().satisfies(entry -> {
+            assertThat(entry.getStart()).isEqualTo(LocalTime.of(9, 0));
+            assertThat(entry.getStartSlot()).isEqualTo(36);
+            assertThat(entry.getSlotCount()).isEqualTo(2);
+        });
+        // 14:10-14:55 ocupa las filas de 14:00, 14:15, 14:30 y 14:45
+        assertThat(calendar.getDays().get(2).getEntries()).singleElement().satisfies(entry -> {
+            assertThat(entry.getStartSlot()).isEqualTo(56);
+            assertThat(entry.getSlotCount()).isEqualTo(4);
+        });
+        assertThat(calendar.getDays().get(1).getEntries()).isEmpty();
+    }
+
+    @Test
+    void getVeterinarianWeek_ShouldFollowChangesWithoutReloading() {
+        AppointmentResponse first = book(monday.atTime(9, 0), 30);
+        calendarService.getVeterinarianWeek(veterinarian.getId(), monday);
+
+        AppointmentResponse second = book(monday.atTime(11, 0), 30);
+        appointmentService.updateAppointmentStatus(first.getId(),
+                AppointmentUpdateRequest.builder().status(AppointmentStatus.CONFIRMED).build());
+        AppointmentResponse third = book(monday.plusDays(4).atTime(8, 0), 60);
+        appointmentService.cancelAppointment(third.getId(), "Owner request");
+
+        statistics.clear();
+        VeterinarianCalendarResponse calendar = calendarService
+                .getVeterinarianWeek(veterinarian.getId(), monday).orElseThrow();
+
+        assertThat(calendar.getDays().get(0).getEntries())
+                .extracting(CalendarEntryResponse::getAppointmentId, CalendarEntryResponse::getStatus)
+                .containsExactly(
+                        tuple(first.getId(), AppointmentStatus.CONFIRMED),
+                        tuple(second.getId(), AppointmentStatus.PENDING));
+        assertThat(calendar.getDays().get(4).getEntries()).isEmpty();
+        // Solo la consulta de series; las citas salen del modelo de lectura
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(1);
+    }
+
+    @Test
+    void getDay_ShouldReturnOneColumnPerActiveVeterinarian() {
+        Veterinarian idle = veterinarianRepository.save(Veterinarian.builder()
+                .firstName("Ana")
+                .lastName("Idle")
+                .email("idle-" + UUID.randomUUID() + "@riavet.com")
+                .licenseNumber("IDLE-" + UUID.randomUUID())
+                .build());
+        AppointmentResponse booked = book(monday.atTime(10, 30), 30);
+
+        DayCalendarResponse day = calendarService.getDay(monday);
+
+        assertThat(day.getSlotMinutes()).isEqualTo(15);
+        assertThat(day.getVeterinarians()).extracting(CalendarColumnResponse::getVeterinarianId)
+                .contains(veterinarian.getId(), idle.getId());
+        assertThat(day.getVeterinarians())
+                .filteredOn(column -> column.getVeterinarianId().equals(veterinarian.getId()))
+                .singleElement()
+                .satisfies(column -> assertThat(column.getEntries())
+                        .extracting(CalendarEntryResponse::getAppointmentId)
+                        .containsExactly(booked.getId()));
+        assertThat(day.getVeterinarians())
+                .filteredOn(column -> column.getVeterinarianId().equals(idle.getId()))
+                .singleElement()
+                .satisfies(column -> assertThat(column.getEntries()).isEmpty());
+    }
+
+    private AppointmentResponse book(LocalDateTime scheduledAt, int durationMinutes) {
+        return appointmentService.createAppointment(AppointmentRequest.builder()
+                .patientId(UUID.randomUUID())
+                .veterinarianId(veterinarian.getId())
+                .scheduledAt(scheduledAt)
+                .durationMinutes(durationMinutes)
+                .build());
+    }
+}
@@ -0,0 +1,202 @@
+package com.riavet.agendaservice.application.service;
+
+import com.riavet.agendaservice.application.dto.VeterinarianImportItemResult;
+import com.riavet.agendaservice.application.dto.VeterinarianImportItemResult.ItemStatus;
+import com.riavet.agendaservice.application.dto.VeterinarianImportResponse;
+import com.riavet.agendaservice.application.dto.VeterinarianRequest;
+import com.riavet.agendaservice.application.dto.VeterinarianResponse;
+import com.riavet.agendaservice.domain.model.Veterinarian;
+import com.riavet.agendaservice.domain.repository.VeterinarianKeyView;
+import com.riavet.agendaservice.domain.repository.VeterinarianRepository;
+import com.riavet.agendaservice.infrastructure.exception.VeterinarianConflictException;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests for veterinarian writes: uniqueness enforced by the table constraints and bulk roster import.
+ */
+@SpringBootTest
+class VeterinarianServiceTest {
+
+    @Autowired
+    private VeterinarianService veterinarianService;
+
+    @SpyBean
+    private VeterinarianRepository veterinarianRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private String suffix;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        suffix = UUID.randomUUID().toString();
+    }
+
+    @AfterEach
+    void tearDown() {
+        veterinarianRepository.deleteAll();
+    }
+
+    @Test
+    void createVeterinarian_ShouldInsertWithoutLookupsAndReportTheConflictingField() {
+        statistics.clear();
+        VeterinarianResponse created = veterinarianService.createVeterinarian(request("ana", "LIC-1"));
+        // Sin consultas previas de email ni matrícula: solo el INSERT
+        assertThat(statistics.getQueryExecutionCount()).isZero();
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(1);
+
+        assertThatThrownBy(() -> veterinarianService.createVeterinarian(request("ana", "LIC-2")))
+                .isInstanceOfSatisfying(VeterinarianConflictException.class, e ->
+                        assertThat(e.getConflicts()).containsOnlyKeys("email"));
+        assertThatThrownBy(() -> veterinarianService.createVeterinarian(request("luis", "LIC-1")))
+                .isInstanceOfSatisfying(VeterinarianConflictException.class, e ->
+                        assertThat(e.getConflicts()).containsOnlyKeys("licenseNumber"));
+        assertThat(veterinarianService.getVeterinarianById(created.getId())).isPresent();
+    }
+
+    @Test
+    void updateVeterinarian_WithAnotherVeterinariansEmail_ShouldReportConflictAndKeepData() {
+        VeterinarianResponse ana = veterinarianService.createVeterinarian(request("ana", "LIC-1"));
+        VeterinarianResponse luis = veterinarianService.createVeterinarian(request("luis", "LIC-2"));
+
+        VeterinarianRequest update = request("ana", "LIC-2");
+        assertThatThrownBy(() -> veterinarianService.updateVeterinarian(luis.getId(), update))
+                .isInstanceOfSatisfying(VeterinarianConflictException.class, e ->
+                        assertThat(e.getConflicts()).containsOnlyKeys("email"));
+
+        // Su propio email y matrícula no cuentan como conflicto
+        VeterinarianRequest rename = request("luis", "LIC-2");
+        rename.setLastName("Renamed");
+        assertThat(veterinarianService.updateVeterinarian(luis.getId(), rename).getLastName()).isEqualTo("Renamed");
+        assertThat(veterinarianService.getVeterinarianById(ana.getId()).orElseThrow().getEmail())
+                .isEqualTo(email("ana"));
+    }
+
+    @Test
+    void importVeterinarians_ShouldCreateValidItemsAndRejectOthersPerField() {
+        veterinarianService.createVeterinarian(request("existing", "LIC-EXISTING"));
+        List<VeterinarianRequest> roster = new ArrayList<>();
+        for (int i = 0; i < 150; i++) {
+            roster.add(request("vet" + i, "LIC-" + i));
+        }
+        roster.add(request("vet0", "LIC-NEW"));
+        roster.add(request("new", "LIC-EXISTING"));
+        VeterinarianRequest invalid = request("bad", "LIC-BAD");
+        invalid.setEmail("not-an-email");
+        roster.add(invalid);
+
+        statistics.clear();
+        VeterinarianImportResponse response = veterinarianService.importVeterinarians(roster);
+
+        assertThat(response.getRequested()).isEqualTo(153);
+        assertThat(response.getCreated()).isEqualTo(150);
+        assertThat(response.getResults()).extracting(VeterinarianImportItemResult::getIndex)
+                .containsExactlyElementsOf(IntStream.range(0, 153).boxed().toList());
+        assertThat(response.getResults().get(150).getErrors()).containsOnlyKeys("email");
+        assertThat(response.getResults().get(151).getErrors()).containsOnlyKeys("licenseNumber");
+        assertThat(response.getResults().get(152).getErrors()).containsOnlyKeys("email");
+        assertThat(response.getResults().subList(0, 150))
+                .allMatch(result -> result.getStatus() == ItemStatus.CREATED);
+        // Una consulta de claves para todo el lote y los INSERT agrupados en lotes JDBC
+        assertThat(statistics.getQueryExecutionCount()).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(10);
+        assertThat(veterinarianService.searchVeterinarians("vet149", null, false, 0, 10).getTotal()).isEqualTo(1);
+    }
+
+    @Test
+    void importVeterinarians_WhenAnotherNodeInsertsAfterTheKeyLookup_ShouldRetryAndRejectPerField() {
+        // El email de "ana" se registra entre la consulta de claves y el INSERT del lote
+        insertAfterNextKeyLookup(request("ana", "LIC-OTHER"));
+
+        VeterinarianImportResponse response = veterinarianService.importVeterinarians(
+                List.of(request("ana", "LIC-1"), request("luis", "LIC-2")));
+
+        // El reintento ya lo ve como existente y solo rechaza esa fila
+        assertThat(response.getCreated()).isEqualTo(1);
+        assertThat(response.getResults().get(0).getStatus()).isEqualTo(ItemStatus.REJECTED);
+        assertThat(response.getResults().get(0).getErrors()).containsOnlyKeys("email");
+        assertThat(response.getResults().get(1).getStatus()).isEqualTo(ItemStatus.CREATED);
+        verify(veterinarianRepository, times(2)).findKeysByEmailInOrLicenseNumberIn(any(), any());
+    }
+
+    @Test
+    void importVeterinarians_WhenTheRetryAlsoRaces_ShouldReportTheConflictingField() {
+        // Primera pasada: otro nodo toma el email de "ana"; reintento: la matrícula de "luis"
+        insertAfterNextKeyLookup(request("ana", "LIC-OTHER"), request("other", "LIC-2"));
+
+        assertThatThrownBy(() -> veterinarianService.importVeterinarians(
+                List.of(request("ana", "LIC-1"), request("luis", "LIC-2"))))
+                .isInstanceOfSatisfying(VeterinarianConflictException.class, e ->
+                        assertThat(e.getConflicts()).containsOnlyKeys("licenseNumber"));
+        assertThat(veterinarianRepository.findAll()).extracting(Veterinarian::getEmail)
+                .containsExactlyInAnyOrder(email("ana"), email("other"));
+    }
+
+    // Cada consulta de claves del import registra, en otra transacción ya confirmada, la siguiente fila.
+    // La consulta derivada no tiene método real al que delegar: se resuelve con findAll
+    private void insertAfterNextKeyLookup(VeterinarianRequest... concurrent) {
+        Iterator<VeterinarianRequest> rows = List.of(concurrent).iterator();
+        doAnswer(invocation -> {
+            Collection<String> emails = invocation.getArgument(0);
+            Collection<String> licenseNumbers = invocation.getArgument(1);
+            List<VeterinarianKeyView> keys = veterinarianRepository.findAll().stream()
+                    .filter(v -> emails.contains(v.getEmail()) || licenseNumbers.contains(v.getLicenseNumber()))
+                    .map(v -> (VeterinarianKeyView) new VeterinarianKeyView() {
+                        @Override
+                        public String getEmail() {
+                            return v.getEmail();
+                        }
+
+                        @Override
+                        public String getLicenseNumber() {
+                            return v.getLicenseNumber();
+                        }
+                    })
+                    .toList();
+            if (rows.hasNext()) {
+                VeterinarianRequest row = rows.next();
+                CompletableFuture.runAsync(() -> veterinarianService.createVeterinarian(row)).join();
+            }
+            return keys;
+        }).when(veterinarianRepository).findKeysByEmailInOrLicenseNumberIn(any(), any());
+    }
+
+    private String email(String name) {
+        return name + "-" + suffix + "@riavet.com";
+    }
+
+    private VeterinarianRequest request(String name, String licenseNumber) {
+        return VeterinarianRequest.builder()
+                .firstName(name)
+                .lastName("Roster")
+                .email(email(name))
+                .licenseNumber(licenseNumber + "-" + suffix)
+                .build();
+    }
+}
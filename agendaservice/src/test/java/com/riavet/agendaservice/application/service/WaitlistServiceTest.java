@@ -0,0 +1,240 @@
+package com.riavet.agendaservice.application.service;
+
+import com.riavet.agendaservice.application.dto.AppointmentRequest;
+import com.riavet.agendaservice.application.dto.AppointmentResponse;
+import com.riavet.agendaservice.application.dto.WaitlistEntryResponse;
+import com.riavet.agendaservice.application.dto.WaitlistRequest;
+import com.riavet.agendaservice.domain.model.Appointment.AppointmentStatus;
+import com.riavet.agendaservice.domain.model.Veterinarian;
+import com.riavet.agendaservice.domain.model.WaitlistEntry;
+import com.riavet.agendaservice.domain.model.WaitlistEntry.Urgency;
+import com.riavet.agendaservice.domain.model.WaitlistEntry.WaitlistStatus;
+import com.riavet.agendaservice.domain.repository.AppointmentRepository;
+import com.riavet.agendaservice.domain.repository.VeterinarianRepository;
+import com.riavet.agendaservice.domain.repository.WaitlistEntryRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.reset;
+
+/**
+ * Tests for the waitlist: priority order, back-fill of canceled slots and offer transitions.
+ */
+@SpringBootTest
+class WaitlistServiceTest {
+
+    @Autowired
+    private WaitlistService waitlistService;
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @SpyBean
+    private WaitlistEntryRepository waitlistRepository;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private VeterinarianRepository veterinarianRepository;
+
+    private Veterinarian veterinarian;
+    private String specialization;
+    private LocalDateTime slot;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = UUID.randomUUID().toString();
+        // Especialidad propia de cada test para que las colas no se mezclen entre tests
+        specialization = "Dermatology-" + suffix;
+        veterinarian = veterinarianRepository.save(Veterinarian.builder()
+                .firstName("Waitlist")
+                .lastName("Test")
+                .email("waitlist-" + suffix + "@riavet.com")
+                .licenseNumber("WAIT-" + suffix)
+                .specialization(specialization)
+                .build());
+        slot = LocalDateTime.now().plusDays(3).withHour(10).withMinute(0).withSecond(0).withNano(0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        waitlistRepository.deleteAll();
+        appointmentRepository.deleteAll();
+        veterinarianRepository.deleteAll();
+    }
+
+    @Test
+    void cancelAppointment_ShouldOfferTheSlotToTheMostUrgentFittingEntry() {
+        WaitlistEntryResponse routine = join(veterinarian.getId(), null, Urgency.ROUTINE, 30);
+        WaitlistEntryResponse tooLong = join(veterinarian.getId(), null, Urgency.URGENT, 60);
+        WaitlistEntryResponse priority = join(null, specialization, Urgency.PRIORITY, 30);
+        AppointmentResponse booked = book(slot, 30);
+
+        appointmentService.cancelAppointment(booked.getId(), "Owner request");
+
+        WaitlistEntryResponse offered = waitlistService.getEntryById(priority.getId()).orElseThrow();
+        assertThat(offered.getStatus()).isEqualTo(WaitlistStatus.OFFERED);
+        assertThat(offered.getOfferedVeterinarianId()).isEqualTo(veterinarian.getId());
+        assertThat(offered.getOfferedScheduledAt()).isEqualTo(slot);
+        assertThat(waitlistService.getWaitingEntries(veterinarian.getId(), null))
+                .extracting(WaitlistEntryResponse::getId)
+                .containsExactly(tooLong.getId(), routine.getId());
+    }
+
+    @Test
+    void acceptAndDeclineOffer_ShouldBookOrPassTheSlotOn() {
+        WaitlistEntryResponse first = join(veterinarian.getId(), null, Urgency.URGENT, 30);
+        WaitlistEntryResponse second = join(veterinarian.getId(), null, Urgency.ROUTINE, 30);
+        appointmentService.cancelAppointment(book(slot, 30).getId(), "Owner request");
+
+        WaitlistEntryResponse declined = waitlistService.declineOffer(first.getId());
+        assertThat(declined.getStatus()).isEqualTo(WaitlistStatus.WAITING);
+        assertThat(declined.getOfferedScheduledAt()).isNull();
+
+        WaitlistEntryResponse accepted = waitlistService.acceptOffer(second.getId());
+        assertThat(accepted.getStatus()).isEqualTo(WaitlistStatus.BOOKED);
+        assertThat(appointmentService.getAppointmentById(accepted.getAppointmentId()).orElseThrow())
+                .satisfies(appointment -> {
+                    assertThat(appointment.getPatientId()).isEqualTo(second.getPatientId());
+                    assertThat(appointment.getScheduledAt()).isEqualTo(slot);
+                    assertThat(appointment.getStatus()).isEqualTo(AppointmentStatus.PENDING);
+                });
+        // Quien rechazó sigue esperando el siguiente hueco
+        assertThat(waitlistService.getWaitingEntries(veterinarian.getId(), null))
+                .extracting(WaitlistEntryResponse::getId)
+                .containsExactly(first.getId());
+    }
+
+    @Test
+    void expireOffers_ShouldPassUnansweredOffersOnAndRequeueTheEntry() {
+        WaitlistEntryResponse first = join(veterinarian.getId(), null, Urgency.URGENT, 30);
+        WaitlistEntryResponse second = join(veterinarian.getId(), null, Urgency.ROUTINE, 30);
+        appointmentService.cancelAppointment(book(slot, 30).getId(), "Owner request");
+        assertThat(waitlistService.getEntryById(first.getId()).orElseThrow().getOfferedAt()).isNotNull();
+
+        // Una oferta reciente no caduca
+        assertThat(waitlistService.expireOffers()).isZero();
+
+        // La oferta lleva más de offer-ttl (2 h) sin respuesta
+        WaitlistEntry stale = waitlistRepository.findById(first.getId()).orElseThrow();
+        stale.setOfferedAt(LocalDateTime.now().minusHours(3));
+        waitlistRepository.save(stale);
+
+        assertThat(waitlistService.expireOffers()).isEqualTo(1);
+
+        WaitlistEntryResponse expired = waitlistService.getEntryById(first.getId()).orElseThrow();
+        assertThat(expired.getStatus()).isEqualTo(WaitlistStatus.WAITING);
+        assertThat(expired.getOfferedScheduledAt()).isNull();
+        assertThat(expired.getOfferedAt()).isNull();
+        WaitlistEntryResponse next = waitlistService.getEntryById(second.getId()).orElseThrow();
+        assertThat(next.getStatus()).isEqualTo(WaitlistStatus.OFFERED);
+        assertThat(next.getOfferedScheduledAt()).isEqualTo(slot);
+        // Vuelve a la cola con su urgencia y su antigüedad
+        assertThat(waitlistService.getWaitingEntries(veterinarian.getId(), null))
+                .extracting(WaitlistEntryResponse::getId)
+                .containsExactly(first.getId());
+    }
+
+        @Test
+    void offerFreedSlot_WithConcurrentCancellations_ShouldNeverOfferAnEntryTwice() throws Exception {
+        int entries = 10;
+        for (int i = 0; i < entries; i++) {
+            join(veterinarian.getId(), null, Urgency.ROUTINE, 30);
+        }
+        WaitlistEntryResponse withdrawn = join(veterinarian.getId(), null, Urgency.URGENT, 30);
+        waitlistService.withdraw(withdrawn.getId());
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<Optional<UUID>>> offers = new ArrayList<>();
+        for (int i = 0; i < entries + 5; i++) {
+            LocalDateTime freed = slot.plusMinutes(30L * i);
+            offers.add(executor.submit(() -> waitlistService.offerFreedSlot(veterinarian.getId(), freed, 30)));
+        }
+        List<UUID> offeredIds = new ArrayList<>();
+        for (Future<Optional<UUID>> offer : offers) {
+            offer.get().ifPresent(offeredIds::add);
+        }
+        executor.shutdown();
+
+        assertThat(offeredIds).hasSize(entries).doesNotHaveDuplicates().doesNotContain(withdrawn.getId());
+        assertThat(waitlistRepository.findByStatus(WaitlistStatus.OFFERED))
+                .filteredOn(entry -> veterinarian.getId().equals(entry.getVeterinarianId()))
+                .hasSize(entries);
+    }
+
+    @Test
+    void offerFreedSlot_WhenMarkingTheOfferFails_ShouldReturnTheEntryToTheQueue() {
+        WaitlistEntryResponse entry = join(veterinarian.getId(), null, Urgency.ROUTINE, 30);
+        doThrow(new QueryTimeoutException("Statement cancelled")).when(waitlistRepository)
+                .markOffered(any(), any(), any(), any(), any(), any(), any());
+
+        assertThatThrownBy(() -> waitlistService.offerFreedSlot(veterinarian.getId(), slot, 30))
+                .isInstanceOf(QueryTimeoutException.class);
+        assertThat(waitlistService.getWaitingEntries(veterinarian.getId(), null))
+                .extracting(WaitlistEntryResponse::getId)
+                .containsExactly(entry.getId());
+
+        reset(waitlistRepository);
+        assertThat(waitlistService.offerFreedSlot(veterinarian.getId(), slot, 30)).contains(entry.getId());
+    }
+
+    @Test
+    void offerFreedSlot_WhenTheOfferIsRolledBack_ShouldReturnTheEntryToTheQueue() {
+        WaitlistEntryResponse entry = join(veterinarian.getId(), null, Urgency.ROUTINE, 30);
+        // La oferta se marca pero su transacción no llega a confirmarse
+        doAnswer(invocation -> {
+            waitlistRepository.transition(invocation.getArgument(0), WaitlistStatus.WAITING, WaitlistStatus.OFFERED,
+                    LocalDateTime.now());
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+            return 1;
+        }).when(waitlistRepository).markOffered(any(), any(), any(), any(), any(), any(), any());
+
+        waitlistService.offerFreedSlot(veterinarian.getId(), slot, 30);
+
+        assertThat(waitlistService.getEntryById(entry.getId()).orElseThrow().getStatus())
+                .isEqualTo(WaitlistStatus.WAITING);
+        assertThat(waitlistService.getWaitingEntries(veterinarian.getId(), null))
+                .extracting(WaitlistEntryResponse::getId)
+                .containsExactly(entry.getId());
+    }
+
+        private WaitlistEntryResponse join(UUID veterinarianId, String specialization, Urgency urgency, int minutes) {
+        return waitlistService.addToWaitlist(WaitlistRequest.builder()
+                .patientId(UUID.randomUUID())
+                .veterinarianId(veterinarianId)
+                .specialization(specialization)
+                .urgency(urgency)
+                .durationMinutes(minutes)
+                .build());
+    }
+
+    private AppointmentResponse book(LocalDateTime scheduledAt, int durationMinutes) {
+        return appointmentService.createAppointment(AppointmentRequest.builder()
+                .patientId(UUID.randomUUID())
+                .veterinarianId(veterinarian.getId())
+                .scheduledAt(scheduledAt)
+                .durationMinutes(durationMinutes)
+                .build());
+    }
+}
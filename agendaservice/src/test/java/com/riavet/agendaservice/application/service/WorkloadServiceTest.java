@@ -0,0 +1,206 @@
+package com.riavet.agendaservice.application.service;
+
+import com.riavet.agendaservice.application.dto.AppointmentRequest;
+import com.riavet.agendaservice.application.dto.AppointmentResponse;
+import com.riavet.agendaservice.application.dto.AppointmentSeriesRequest;
+import com.riavet.agendaservice.application.dto.AppointmentSeriesRescheduleRequest;
+import com.riavet.agendaservice.application.dto.AppointmentSeriesResponse;
+import com.riavet.agendaservice.application.dto.AppointmentUpdateRequest;
+import com.riavet.agendaservice.application.dto.VeterinarianWorkloadResponse;
+import com.riavet.agendaservice.application.dto.WorkloadDayResponse;
+import com.riavet.agendaservice.application.workload.WorkloadRollupWriter;
+import com.riavet.agendaservice.domain.model.Appointment.AppointmentStatus;
+import com.riavet.agendaservice.domain.model.AppointmentSeries.Frequency;
+import com.riavet.agendaservice.domain.model.Veterinarian;
+import com.riavet.agendaservice.domain.repository.AppointmentRepository;
+import com.riavet.agendaservice.domain.repository.AppointmentSeriesRepository;
+import com.riavet.agendaservice.domain.repository.VeterinarianDailyStatsRepository;
+import com.riavet.agendaservice.domain.repository.VeterinarianRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Tests for workload statistics: incremental daily rollups, rebuild and the roster summary.
+ */
+@SpringBootTest
+class WorkloadServiceTest {
+
+    // Lunes
+    private static final LocalDate MONDAY = LocalDate.of(2031, 3, 3);
+
+    @Autowired
+    private WorkloadService workloadService;
+
+    @Autowired
+    private WorkloadRollupWriter rollupWriter;
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private AppointmentSeriesService seriesService;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private AppointmentSeriesRepository seriesRepository;
+
+    @Autowired
+    private VeterinarianRepository veterinarianRepository;
+
+    @Autowired
+    private VeterinarianDailyStatsRepository statsRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Veterinarian veterinarian;
+
+    @BeforeEach
+    void setUp() {
+        veterinarian = veterinarianRepository.save(veterinarian("Workload"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        appointmentRepository.deleteAll();
+        seriesRepository.deleteAll();
+        statsRepository.deleteAll();
+        veterinarianRepository.deleteAll();
+    }
+
+    @Test
+    void getVeterinarianWorkload_ShouldFollowCreationsStatusChangesAndCancellations() {
+        AppointmentResponse confirmed = book(MONDAY.atTime(9, 0), 60);
+        book(MONDAY.atTime(10, 0), 30);
+        AppointmentResponse canceled = book(MONDAY.atTime(11, 0), 45);
+        book(MONDAY.plusDays(1).atTime(9, 0), 90);
+
+        appointmentService.updateAppointmentStatus(confirmed.getId(), AppointmentUpdateRequest.builder()
+                .status(AppointmentStatus.CONFIRMED)
+                .build());
+        appointmentService.cancelAppointment(canceled.getId(), "Owner unavailable");
+
+        VeterinarianWorkloadResponse workload = workloadService
+                .getVeterinarianWorkload(veterinarian.getId(), MONDAY, MONDAY.plusDays(6))
+                .orElseThrow();
+
+        assertThat(workload.getAppointmentsByStatus())
+                .containsEntry(AppointmentStatus.PENDING, 2L)
+                .containsEntry(AppointmentStatus.CONFIRMED, 1L)
+                .containsEntry(AppointmentStatus.CANCELED, 1L)
+                .containsEntry(AppointmentStatus.COMPLETED, 0L);
+        assertThat(workload.getTotalAppointments()).isEqualTo(4);
+        // Las canceladas no reservan tiempo
+        assertThat(workload.getBookedMinutes()).isEqualTo(180);
+        assertThat(workload.getBookedHours()).isEqualTo(3.0);
+        // Cinco días laborables de ocho horas
+        assertThat(workload.getCapacityMinutes()).isEqualTo(2400);
+        assertThat(workload.getUtilizationPercent()).isEqualTo(7.5);
+        assertThat(workload.getDays())
+                .extracting(WorkloadDayResponse::getDate, WorkloadDayResponse::getBookedMinutes)
+                .containsExactly(
+                        tuple(MONDAY, 90L),
+                        tuple(MONDAY.plusDays(1), 90L));
+
+        assertThat(workloadService.getVeterinarianWorkload(UUID.randomUUID(), MONDAY, MONDAY)).isEmpty();
+        assertThatThrownBy(() -> workloadService.getVeterinarianWorkload(veterinarian.getId(),
+                MONDAY, MONDAY.plusYears(2)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rebuild_ShouldMatchIncrementalRollupsAfterSeriesReschedule() {
+        LocalDateTime firstOccurrence = LocalDateTime.now().plusDays(1)
+                .withHour(10).withMinute(0).withSecond(0).withNano(0);
+        AppointmentSeriesResponse series = seriesService.createSeries(AppointmentSeriesRequest.builder()
+                .patientId(UUID.randomUUID())
+                .veterinarianId(veterinarian.getId())
+                .startsAt(firstOccurrence)
+                .frequency(Frequency.WEEKLY)
+                .occurrences(4)
+                .build());
+        LocalDateTime newStart = firstOccurrence.plusDays(1).withHour(15);
+        seriesService.rescheduleSeries(series.getId(),
+                AppointmentSeriesRescheduleRequest.builder().startsAt(newStart).durationMinutes(45).build());
+
+        LocalDate from = firstOccurrence.toLocalDate();
+        LocalDate to = from.plusWeeks(5);
+        VeterinarianWorkloadResponse incremental = workloadService
+                .getVeterinarianWorkload(veterinarian.getId(), from, to).orElseThrow();
+
+        // Los minutos se han movido al nuevo día de la semana con la nueva duración
+        assertThat(incremental.getBookedMinutes()).isEqualTo(4 * 45);
+        assertThat(incremental.getDays()).hasSize(4)
+                .allSatisfy(day -> {
+                    assertThat(day.getDate().getDayOfWeek()).isEqualTo(newStart.getDayOfWeek());
+                    assertThat(day.getPending()).isEqualTo(1);
+                });
+
+        assertThat(rollupWriter.rebuild()).isPositive();
+        VeterinarianWorkloadResponse rebuilt = workloadService
+                .getVeterinarianWorkload(veterinarian.getId(), from, to).orElseThrow();
+        assertThat(rebuilt).isEqualTo(incremental);
+    }
+
+    @Test
+    void getWorkload_ShouldSummarizeTheWholeRosterWithOneQuery() {
+        Veterinarian idle = veterinarianRepository.save(veterinarian("Idle"));
+        book(MONDAY.atTime(9, 0), 120);
+        book(MONDAY.plusDays(3).atTime(9, 0), 120);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        List<VeterinarianWorkloadResponse> workload = workloadService.getWorkload(MONDAY, MONDAY.plusDays(6), true);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(workload).filteredOn(item -> item.getVeterinarianId().equals(veterinarian.getId()))
+                .singleElement()
+                .satisfies(item -> {
+                    assertThat(item.getTotalAppointments()).isEqualTo(2);
+                    assertThat(item.getBookedHours()).isEqualTo(4.0);
+                    assertThat(item.getUtilizationPercent()).isEqualTo(10.0);
+                });
+        assertThat(workload).filteredOn(item -> item.getVeterinarianId().equals(idle.getId()))
+                .singleElement()
+                .satisfies(item -> {
+                    assertThat(item.getTotalAppointments()).isZero();
+                    assertThat(item.getUtilizationPercent()).isEqualTo(0.0);
+                });
+    }
+
+    private AppointmentResponse book(LocalDateTime scheduledAt, int durationMinutes) {
+        return appointmentService.createAppointment(AppointmentRequest.builder()
+                .patientId(UUID.randomUUID())
+                .veterinarianId(veterinarian.getId())
+                .scheduledAt(scheduledAt)
+                .durationMinutes(durationMinutes)
+                .build());
+    }
+
+    private static Veterinarian veterinarian(String firstName) {
+        String suffix = UUID.randomUUID().toString();
+        return Veterinarian.builder()
+                .firstName(firstName)
+                .lastName("Test")
+                .email("workload-" + suffix + "@riavet.com")
+                .licenseNumber("WORKLOAD-" + suffix)
+                .build();
+    }
+}
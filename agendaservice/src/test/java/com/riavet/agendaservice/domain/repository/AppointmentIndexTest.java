@@ -0,0 +1,80 @@
+package com.riavet.agendaservice.domain.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks the query plans of the appointment range filters against the schema created by the migrations.
+ */
+@SpringBootTest
+class AppointmentIndexTest {
+
+    private static final Timestamp FROM = Timestamp.valueOf(LocalDateTime.of(2030, 11, 1, 0, 0));
+    private static final Timestamp TO = Timestamp.valueOf(LocalDateTime.of(2030, 12, 1, 0, 0));
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void migrations_ShouldBeAppliedInOrder() {
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT \"version\" FROM \"flyway_schema_history\" "
+                        + "WHERE \"success\" AND \"version\" IS NOT NULL ORDER BY \"installed_rank\"",
+                String.class))
+                .containsExactly("1", "2", "3", "4", "5", "8", "9");
+    }
+
+    @Test
+    void veterinarianRange_ShouldUseVeterinarianScheduledIndex() {
+        // Misma forma que la consulta de GET /api/v1/appointments?veterinarianId=&from=&to=
+        String plan = explain("SELECT id FROM appointments "
+                        + "WHERE veterinarian_id = ? AND scheduled_at >= ? AND scheduled_at < ? "
+                        + "ORDER BY scheduled_at, id",
+                UUID.randomUUID(), FROM, TO);
+
+        assertThat(plan).containsIgnoringCase("idx_appointments_vet_scheduled");
+    }
+
+    @Test
+    void statusRange_ShouldUseStatusScheduledIndex() {
+        String plan = explain("SELECT id FROM appointments "
+                        + "WHERE status = ? AND scheduled_at >= ? AND scheduled_at < ? "
+                        + "ORDER BY scheduled_at, id",
+                "CONFIRMED", FROM, TO);
+
+        assertThat(plan).containsIgnoringCase("idx_appointments_status_scheduled");
+    }
+
+    @Test
+    void dateRange_ShouldUseScheduledIndex() {
+        String plan = explain("SELECT id FROM appointments "
+                        + "WHERE scheduled_at >= ? AND scheduled_at < ? "
+                        + "ORDER BY scheduled_at, id",
+                FROM, TO);
+
+        assertThat(plan).containsIgnoringCase("idx_appointments_scheduled");
+    }
+
+    @Test
+    void patientHistory_ShouldUsePatientScheduledIndex() {
+        // Historial de un paciente: página siguiente en orden descendente
+        String plan = explain("SELECT id FROM appointments "
+                        + "WHERE patient_id = ? AND (scheduled_at < ? OR (scheduled_at = ? AND id < ?)) "
+                        + "ORDER BY scheduled_at DESC, id DESC",
+                UUID.randomUUID(), TO, TO, UUID.randomUUID());
+
+        assertThat(plan).containsIgnoringCase("idx_appointments_patient_scheduled");
+    }
+
+    private String explain(String sql, Object... parameters) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, parameters);
+    }
+}
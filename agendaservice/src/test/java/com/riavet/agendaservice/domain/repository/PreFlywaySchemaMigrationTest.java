@@ -0,0 +1,81 @@
+package com.riavet.agendaservice.domain.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that the migrations bring a schema built by Hibernate ddl-auto (before Flyway) up to the current
+ * model: the context only starts if {@code ddl-auto: validate} accepts the migrated schema.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:agenda-pre-flyway",
+        // Misma configuración de Flyway que en producción
+        "spring.flyway.table=agenda_schema_history",
+        "spring.flyway.baseline-on-migrate=true",
+        "spring.flyway.baseline-version=0"
+})
+class PreFlywaySchemaMigrationTest {
+
+    private static final String LEGACY_APPOINTMENT_ID = "0b0f6c1e-0000-4000-8000-000000000002";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void migrations_ShouldBaselineAndApplyEveryVersion() {
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT \"version\" FROM \"agenda_schema_history\" "
+                        + "WHERE \"success\" AND \"version\" IS NOT NULL ORDER BY \"installed_rank\"",
+                String.class))
+                .containsExactly("0", "1", "2", "3", "4", "5", "8", "9");
+    }
+
+    @Test
+    void existingAppointment_ShouldGetDefaultsForTheNewColumns() {
+        Map<String, Object> row = jdbcTemplate.queryForMap(
+                "SELECT duration_minutes, series_id, occurrence_index, version FROM appointments WHERE id = ?",
+                UUID.fromString(LEGACY_APPOINTMENT_ID));
+
+        // Sin duración se asume la de por defecto; la versión empieza en 0 para los ETags
+        assertThat(row.get("DURATION_MINUTES")).isNull();
+        assertThat(row.get("SERIES_ID")).isNull();
+        assertThat(row.get("OCCURRENCE_INDEX")).isNull();
+        assertThat(row.get("VERSION")).isEqualTo(0L);
+    }
+
+    @Test
+    void namedConstraints_ShouldBeCreated() {
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT LOWER(CONSTRAINT_NAME) FROM INFORMATION_SCHEMA.TABLE_CONSTRAINTS "
+                        + "WHERE LOWER(TABLE_NAME) = 'appointments'",
+                String.class))
+                .contains("uk_appointments_series_occurrence", "fk_appointments_veterinarian");
+    }
+
+    @TestConfiguration
+    static class PreFlywaySchemaConfiguration {
+
+        // Antes de migrar se crea el esquema antiguo con una cita, como en una base existente
+        @Bean
+        FlywayMigrationStrategy preFlywaySchema() {
+            return (Flyway flyway) -> {
+                new ResourceDatabasePopulator(new ClassPathResource("schema/pre-flyway-agenda-schema.sql"))
+                        .execute(flyway.getConfiguration().getDataSource());
+                flyway.migrate();
+            };
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.riavet.agendaservice.infrastructure.adapter.input;
+
+import com.riavet.agendaservice.application.dto.AppointmentRequest;
+import com.riavet.agendaservice.application.dto.AppointmentResponse;
+import com.riavet.agendaservice.application.service.AppointmentService;
+import com.riavet.agendaservice.domain.model.Appointment;
+import com.riavet.agendaservice.domain.model.Appointment.AppointmentStatus;
+import com.riavet.agendaservice.domain.model.Veterinarian;
+import com.riavet.agendaservice.domain.repository.AppointmentRepository;
+import com.riavet.agendaservice.domain.repository.VeterinarianRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests for ETags, conditional reads and If-Match guarded updates on appointments.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class AppointmentConditionalRequestTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private VeterinarianRepository veterinarianRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Veterinarian veterinarian;
+    private AppointmentResponse appointment;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = UUID.randomUUID().toString();
+        veterinarian = veterinarianRepository.save(Veterinarian.builder()
+                .firstName("ETag")
+                .lastName("Test")
+                .email("etag-" + suffix + "@riavet.com")
+                .licenseNumber("ETAG-" + suffix)
+                .build());
+        appointment = appointmentService.createAppointment(AppointmentRequest.builder()
+                .patientId(UUID.randomUUID())
+                .veterinarianId(veterinarian.getId())
+                .scheduledAt(LocalDateTime.now().plusDays(2).withHour(11).withMinute(0).withSecond(0).withNano(0))
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        appointmentRepository.deleteAll();
+        veterinarianRepository.deleteAll();
+    }
+
+    @Test
+    void save_NewAppointment_ShouldPersistAndStartAtVersionZero() {
+        Appointment fresh = Appointment.builder()
+                .patientId(UUID.randomUUID())
+                .veterinarian(veterinarian)
+                .scheduledAt(LocalDateTime.now().plusDays(3).withHour(9).withMinute(0).withSecond(0).withNano(0))
+                .status(AppointmentStatus.PENDING)
+                .build();
+        assertThat(fresh.getVersion()).isNull();
+
+        Appointment saved = appointmentRepository.save(fresh);
+
+        // persist gestiona la misma instancia; merge habría devuelto una copia
+        assertThat(saved).isSameAs(fresh);
+        assertThat(saved.getVersion()).isZero();
+    }
+
+    @Test
+    void getAppointmentById_ShouldReturnETagAnd304WhileUnchanged() throws Exception {
+        mockMvc.perform(get("/api/v1/appointments/{id}", appointment.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+                .andExpect(jsonPath("$.version").value(0));
+
+        mockMvc.perform(get("/api/v1/appointments/{id}", appointment.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"0\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        mockMvc.perform(put("/api/v1/appointments/{id}/status", appointment.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"CONFIRMED\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+
+        mockMvc.perform(get("/api/v1/appointments/{id}", appointment.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"0\""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("CONFIRMED"));
+    }
+
+    @Test
+    void updateWithStaleIfMatch_ShouldBeRejectedWith412() throws Exception {
+        mockMvc.perform(put("/api/v1/appointments/{id}/status", appointment.getId())
+                        .header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"CONFIRMED\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+
+        // Un segundo cliente que leyó la versión 0 no puede cancelar sobre la confirmación
+        mockMvc.perform(patch("/api/v1/appointments/{id}/cancel", appointment.getId())
+                        .header(HttpHeaders.IF_MATCH, "\"0\""))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+        mockMvc.perform(patch("/api/v1/appointments/{id}/cancel", appointment.getId())
+                        .header(HttpHeaders.IF_MATCH, "W/\"1\""))
+                .andExpect(status().isPreconditionFailed());
+
+        assertThat(appointmentRepository.findById(appointment.getId()))
+                .hasValueSatisfying(stored -> assertThat(stored.getStatus()).isEqualTo(AppointmentStatus.CONFIRMED));
+
+        mockMvc.perform(patch("/api/v1/appointments/{id}/cancel", appointment.getId())
+                        .header(HttpHeaders.IF_MATCH, "\"1\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"2\""));
+    }
+
+    @Test
+    void updateWithIfMatchList_ShouldApplyWhenAnyStrongETagMatches() throws Exception {
+        // Ninguno de la lista es la versión actual (0)
+        mockMvc.perform(put("/api/v1/appointments/{id}/status", appointment.getId())
+                        .header(HttpHeaders.IF_MATCH, "\"2\", \"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"CONFIRMED\"}"))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""));
+
+        // Basta con uno; el débil de la lista se ignora
+        mockMvc.perform(put("/api/v1/appointments/{id}/status", appointment.getId())
+                        .header(HttpHeaders.IF_MATCH, "W/\"5\", \"3\",\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"CONFIRMED\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+
+        // Una lista solo con ETags débiles nunca coincide
+        mockMvc.perform(patch("/api/v1/appointments/{id}/cancel", appointment.getId())
+                        .header(HttpHeaders.IF_MATCH, "W/\"1\", W/\"0\""))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void concurrentWriteWithoutIfMatch_ShouldNotOverwriteTheOther() {
+        assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(status -> {
+            Appointment stale = appointmentRepository.findById(appointment.getId()).orElseThrow();
+            // Otra petición cancela la cita mientras esta transacción tiene la copia vieja
+            CompletableFuture.runAsync(() -> appointmentService.cancelAppointment(appointment.getId(), "Owner")).join();
+            stale.setStatus(AppointmentStatus.CONFIRMED);
+            appointmentRepository.saveAndFlush(stale);
+        })).isInstanceOf(OptimisticLockingFailureException.class);
+
+        assertThat(appointmentRepository.findById(appointment.getId()))
+                .hasValueSatisfying(stored -> assertThat(stored.getStatus()).isEqualTo(AppointmentStatus.CANCELED));
+    }
+}
@@ -0,0 +1,71 @@
+package com.riavet.agendaservice.infrastructure.configuration;
+
+import com.riavet.agendaservice.application.cache.VeterinarianCache;
+import com.riavet.agendaservice.domain.model.Veterinarian;
+import com.riavet.agendaservice.domain.repository.VeterinarianRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Checks that the Prometheus endpoint exposes the HTTP, repository, cache and connection pool metrics.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+class PrometheusMetricsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private VeterinarianRepository veterinarianRepository;
+
+    @Autowired
+    private VeterinarianCache veterinarianCache;
+
+    @AfterEach
+    void tearDown() {
+        veterinarianRepository.deleteAll();
+    }
+
+    @Test
+    void prometheus_ShouldExposeEndpointRepositoryCacheAndPoolMetrics() throws Exception {
+        String suffix = UUID.randomUUID().toString();
+        Veterinarian veterinarian = veterinarianRepository.save(Veterinarian.builder()
+                .firstName("Metrics")
+                .lastName("Test")
+                .email("metrics-" + suffix + "@riavet.com")
+                .licenseNumber("METRICS-" + suffix)
+                .build());
+        mockMvc.perform(get("/api/v1/appointments")).andExpect(status().isOk());
+        // Un fallo y un acierto en el caché de respuestas
+        veterinarianCache.evict(veterinarian.getId());
+        veterinarianCache.findResponseById(veterinarian.getId());
+        veterinarianCache.findResponseById(veterinarian.getId());
+
+        String body = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(body.lines())
+                .anyMatch(line -> line.startsWith("http_server_requests_seconds_bucket{")
+                        && line.contains("uri=\"/api/v1/appointments\""))
+                .anyMatch(line -> line.startsWith("spring_data_repository_invocations_seconds_bucket{")
+                        && line.contains("repository=\"VeterinarianRepository\""))
+                .anyMatch(line -> line.startsWith("cache_gets_total{")
+                        && line.contains("cache=\"veterinarianResponses\"")
+                        && line.contains("result=\"hit\""))
+                .anyMatch(line -> line.startsWith("hikaricp_connections_max{"));
+    }
+}
@@ -0,0 +1,39 @@
+-- Esquema de la agenda antes de Flyway, tal como lo generaba Hibernate con ddl-auto: update en H2 a partir
+-- de las entidades originales (sin duración, series ni versión, y con restricciones de nombre generado)
+
+CREATE TABLE veterinarians (
+    active BOOLEAN NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL,
+    id UUID NOT NULL,
+    email VARCHAR(255) NOT NULL UNIQUE,
+    first_name VARCHAR(255) NOT NULL,
+    last_name VARCHAR(255) NOT NULL,
+    license_number VARCHAR(255) NOT NULL UNIQUE,
+    phone_number VARCHAR(255),
+    specialization VARCHAR(255),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE appointments (
+    created_at TIMESTAMP(6) NOT NULL,
+    scheduled_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL,
+    id UUID NOT NULL,
+    patient_id UUID NOT NULL,
+    veterinarian_id UUID NOT NULL,
+    status VARCHAR(255) NOT NULL CHECK (status IN ('PENDING', 'CONFIRMED', 'COMPLETED', 'CANCELED')),
+    PRIMARY KEY (id)
+);
+
+ALTER TABLE appointments
+    ADD CONSTRAINT fk9ek7rvlk1ns6yutyerk1yh0g5 FOREIGN KEY (veterinarian_id) REFERENCES veterinarians;
+
+INSERT INTO veterinarians (active, created_at, updated_at, id, email, first_name, last_name, license_number)
+VALUES (TRUE, TIMESTAMP '2024-01-02 08:00:00', TIMESTAMP '2024-01-02 08:00:00',
+        '0b0f6c1e-0000-4000-8000-000000000001', 'legacy@riavet.com', 'Legacy', 'Vet', 'LEGACY-001');
+
+INSERT INTO appointments (created_at, scheduled_at, updated_at, id, patient_id, veterinarian_id, status)
+VALUES (TIMESTAMP '2024-01-02 08:00:00', TIMESTAMP '2024-01-10 09:00:00', TIMESTAMP '2024-01-02 08:00:00',
+        '0b0f6c1e-0000-4000-8000-000000000002', '0b0f6c1e-0000-4000-8000-000000000003',
+        '0b0f6c1e-0000-4000-8000-000000000001', 'CONFIRMED');
@@ -0,0 +1,432 @@
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Prueba de carga de extremo a extremo de facturaciondianservice: envía {@code invoices} facturas en
+ * lotes, espera a que todas tengan resultado y mide el camino completo hasta la DIAN (normalmente el
+ * simulador local con {@code dian.client.mode=http}).
+ *
+ * Informa:
+ * <ul>
+ *   <li>throughput: facturas terminadas por segundo, desde el alta del primer lote hasta la última
+ *       factura procesada (tiempos del servidor);</li>
+ *   <li>latencia de extremo a extremo de cada factura (alta del lote → resultado final), con p50, p95,
+ *       p99 y máximo;</li>
+ *   <li>latencia de las llamadas a la DIAN según el histograma {@code dian.client.requests} de
+ *       /actuator/prometheus (límite superior del bucket), y los rechazos del circuit breaker, el límite
+ *       de concurrencia y los 429.</li>
+ * </ul>
+ *
+ * Se ejecuta sin compilar ni dependencias (Java 17+):
+ *
+ * <pre>
+ * java DianLoadTest.java --url http://localhost:8085 --invoices 5000 --batch-size 1000 \
+ *      --scenario baseline --csv results.csv
+ * </pre>
+ */
+public class DianLoadTest {
+
+    private static final String API = "/api/v1/dian";
+    private static final int PAGE_SIZE = 500;
+
+    private static final HttpClient CLIENT = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        String baseUrl = options.getOrDefault("url", "http://localhost:8085");
+        String scenario = options.getOrDefault("scenario", "dian-load");
+        int invoices = Integer.parseInt(options.getOrDefault("invoices", "5000"));
+        int batchSize = Integer.parseInt(options.getOrDefault("batch-size", "1000"));
+        Duration timeout = Duration.ofSeconds(Long.parseLong(options.getOrDefault("timeout", "900")));
+
+        Map<String, Double> metricsBefore = scrape(baseUrl);
+
+        // Alta de los lotes; con 503 (demasiadas facturas pendientes) se espera y se reintenta
+        long start = System.nanoTime();
+        List<String> batchIds = new ArrayList<>();
+        for (int sent = 0; sent < invoices; sent += batchSize) {
+            int size = Math.min(batchSize, invoices - sent);
+            batchIds.add(submitBatch(baseUrl, size));
+        }
+        System.out.printf("Submitted %d invoices in %d batches in %.1f s%n",
+                invoices, batchIds.size(), (System.nanoTime() - start) / 1e9);
+
+        // Espera a que todos los lotes estén completos (ACCEPTED, REJECTED o FAILED)
+        long deadline = System.nanoTime() + timeout.toNanos();
+        Map<String, Map<String, Object>> batches = new LinkedHashMap<>();
+        while (true) {
+            batches.clear();
+            long done = 0;
+            for (String batchId : batchIds) {
+                Map<String, Object> batch = object(get(baseUrl + API + "/batches/" + batchId));
+                batches.put(batchId, batch);
+                done += number(batch, "accepted") + number(batch, "rejected") + number(batch, "failed");
+            }
+            boolean completed = batches.values().stream().allMatch(batch -> Boolean.TRUE.equals(batch.get("completed")));
+            System.out.printf("  %6.1f s  %d/%d invoices completed%n", (System.nanoTime() - start) / 1e9, done, invoices);
+            if (completed) {
+                break;
+            }
+            if (System.nanoTime() > deadline) {
+                System.out.println("Timed out waiting for the batches; reporting what has completed");
+                break;
+            }
+            Thread.sleep(2_000);
+        }
+
+        // Latencia de extremo a extremo de cada factura terminada
+        List<Long> endToEnd = new ArrayList<>();
+        Map<String, Long> statuses = new TreeMap<>();
+        LocalDateTime firstCreated = null;
+        LocalDateTime lastProcessed = null;
+        for (Map.Entry<String, Map<String, Object>> entry : batches.entrySet()) {
+            LocalDateTime createdAt = LocalDateTime.parse((String) entry.getValue().get("createdAt"));
+            firstCreated = firstCreated == null || createdAt.isBefore(firstCreated) ? createdAt : firstCreated;
+            for (int page = 0; ; page++) {
+                List<Object> items = list(get(baseUrl + API + "/batches/" + entry.getKey()
+                        + "/invoices?page=" + page + "&size=" + PAGE_SIZE));
+                for (Object item : items) {
+                    Map<String, Object> invoice = cast(item);
+                    String status = (String) invoice.get("status");
+                    statuses.merge(status, 1L, Long::sum);
+                    if (status.equals("ACCEPTED") || status.equals("REJECTED") || status.equals("FAILED")) {
+                        LocalDateTime processedAt = LocalDateTime.parse((String) invoice.get("processedAt"));
+                        endToEnd.add(Duration.between(createdAt, processedAt).toNanos());
+                        lastProcessed = lastProcessed == null || processedAt.isAfter(lastProcessed)
+                                ? processedAt : lastProcessed;
+                    }
+                }
+                if (items.size() < PAGE_SIZE) {
+                    break;
+                }
+            }
+        }
+
+        long[] latencies = endToEnd.stream().mapToLong(Long::longValue).sorted().toArray();
+        double seconds = lastProcessed == null ? 0 : Duration.between(firstCreated, lastProcessed).toNanos() / 1e9;
+        double throughput = seconds > 0 ? latencies.length / seconds : 0;
+
+        Map<String, Double> metricsAfter = scrape(baseUrl);
+        TreeMap<Double, Double> dianBuckets = buckets(metricsBefore, metricsAfter, "dian_client_requests_seconds_bucket");
+        double dianCalls = dianBuckets.isEmpty() ? 0 : dianBuckets.lastEntry().getValue();
+
+        System.out.println();
+        System.out.printf("%-20s invoices=%d completed=%d in %.1f s, %.1f invoices/s%n",
+                scenario, invoices, latencies.length, seconds, throughput);
+        System.out.printf("  end-to-end   p50=%.0f ms p95=%.0f ms p99=%.0f ms max=%.0f ms%n",
+                millis(percentile(latencies, 50)), millis(percentile(latencies, 95)),
+                millis(percentile(latencies, 99)), millis(percentile(latencies, 100)));
+        System.out.printf("  DIAN calls   n=%.0f p50<=%s p95<=%s p99<=%s (histogram bucket bounds)%n",
+                dianCalls, bound(dianBuckets, 50), bound(dianBuckets, 95), bound(dianBuckets, 99));
+        System.out.printf("  outcomes     %s%n", outcomes(metricsBefore, metricsAfter));
+        System.out.printf("  guard        %s%n", delta(metricsBefore, metricsAfter, "dian_client_rejected_total"));
+        System.out.printf("  statuses     %s%n", statuses);
+
+        if (options.containsKey("csv")) {
+            appendCsv(options.get("csv"), scenario, invoices, latencies, seconds, throughput, statuses,
+                    bound(dianBuckets, 50), bound(dianBuckets, 99));
+        }
+    }
+
+    private static String submitBatch(String baseUrl, int size) throws Exception {
+        StringBuilder body = new StringBuilder("{\"invoices\":[");
+        for (int i = 0; i < size; i++) {
+            body.append(i == 0 ? "" : ",")
+                    .append("{\"invoiceId\":\"").append(UUID.randomUUID())
+                    .append("\",\"xmlPayload\":\"<Invoice/>\"}");
+        }
+        body.append("]}");
+
+        while (true) {
+            HttpResponse<String> response = CLIENT.send(HttpRequest.newBuilder(URI.create(baseUrl + API + "/invoices/batch"))
+                            .timeout(Duration.ofSeconds(60))
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+                            .build(),
+                    HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() == 202) {
+                return (String) object(response.body()).get("batchId");
+            }
+            if (response.statusCode() != 503) {
+                throw new IllegalStateException("Batch submission failed: HTTP " + response.statusCode()
+                        + " " + response.body());
+            }
+            long retryAfter = response.headers().firstValueAsLong("Retry-After").orElse(5);
+            Thread.sleep(retryAfter * 1_000);
+        }
+    }
+
+    private static String get(String url) throws Exception {
+        HttpResponse<String> response = CLIENT.send(HttpRequest.newBuilder(URI.create(url))
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("GET " + url + " failed: HTTP " + response.statusCode());
+        }
+        return response.body();
+    }
+
+    // --- Métricas de Prometheus ---
+
+    private static final Pattern SAMPLE = Pattern.compile("^([a-zA-Z_:][a-zA-Z0-9_:]*)(\\{[^}]*})?\\s+(\\S+)$");
+    private static final Pattern LE = Pattern.compile("le=\"([^\"]+)\"");
+
+    // Cada serie (nombre y etiquetas) con su valor
+    private static Map<String, Double> scrape(String baseUrl) throws Exception {
+        Map<String, Double> samples = new HashMap<>();
+        for (String line : get(baseUrl + "/actuator/prometheus").split("\n")) {
+            Matcher matcher = SAMPLE.matcher(line.trim());
+            if (!line.startsWith("#") && matcher.matches()) {
+                samples.put(matcher.group(1) + (matcher.group(2) == null ? "" : matcher.group(2)),
+                        Double.parseDouble(matcher.group(3)));
+            }
+        }
+        return samples;
+    }
+
+    // Incremento acumulado por límite de bucket, sumando todas las etiquetas (outcome)
+    private static TreeMap<Double, Double> buckets(Map<String, Double> before, Map<String, Double> after, String name) {
+        TreeMap<Double, Double> buckets = new TreeMap<>();
+        after.forEach((series, value) -> {
+            if (series.startsWith(name + "{")) {
+                Matcher le = LE.matcher(series);
+                if (le.find()) {
+                    double bound = le.group(1).equals("+Inf") ? Double.POSITIVE_INFINITY : Double.parseDouble(le.group(1));
+                    buckets.merge(bound, value - before.getOrDefault(series, 0.0), Double::sum);
+                }
+            }
+        });
+        return buckets;
+    }
+
+    private static String bound(TreeMap<Double, Double> buckets, double percentile) {
+        if (buckets.isEmpty() || buckets.lastEntry().getValue() == 0) {
+            return "-";
+        }
+        double target = buckets.lastEntry().getValue() * percentile / 100.0;
+        for (Map.Entry<Double, Double> bucket : buckets.entrySet()) {
+            if (bucket.getValue() >= target) {
+                return bucket.getKey().isInfinite() ? "+Inf" : String.format(Locale.ROOT, "%.0fms", bucket.getKey() * 1000);
+            }
+        }
+        return "+Inf";
+    }
+
+    private static Map<String, Long> outcomes(Map<String, Double> before, Map<String, Double> after) {
+        return delta(before, after, "dian_client_requests_seconds_count");
+    }
+
+    // Incremento de un contador por valor de su etiqueta distintiva (outcome o reason)
+    private static Map<String, Long> delta(Map<String, Double> before, Map<String, Double> after, String name) {
+        Map<String, Long> deltas = new TreeMap<>();
+        Pattern label = Pattern.compile("(?:outcome|reason)=\"([^\"]+)\"");
+        after.forEach((series, value) -> {
+            if (series.startsWith(name + "{")) {
+                Matcher matcher = label.matcher(series);
+                String key = matcher.find() ? matcher.group(1) : "total";
+                deltas.merge(key, Math.round(value - before.getOrDefault(series, 0.0)), Long::sum);
+            }
+        });
+        return deltas;
+    }
+
+    // --- Resultados ---
+
+    private static long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static void appendCsv(String path, String scenario, int invoices, long[] sorted, double seconds,
+                                  double throughput, Map<String, Long> statuses, String dianP50,
+                                  String dianP99) throws IOException {
+        boolean exists = new File(path).exists();
+        try (PrintWriter out = new PrintWriter(new FileWriter(path, true))) {
+            if (!exists) {
+                out.println("scenario,invoices,completed,seconds,invoices_per_s,e2e_p50_ms,e2e_p95_ms,e2e_p99_ms,"
+                        + "e2e_max_ms,accepted,rejected,failed,dian_p50,dian_p99");
+            }
+            out.printf(Locale.ROOT, "%s,%d,%d,%.1f,%.1f,%.0f,%.0f,%.0f,%.0f,%d,%d,%d,%s,%s%n",
+                    scenario, invoices, sorted.length, seconds, throughput,
+                    millis(percentile(sorted, 50)), millis(percentile(sorted, 95)),
+                    millis(percentile(sorted, 99)), millis(percentile(sorted, 100)),
+                    statuses.getOrDefault("ACCEPTED", 0L), statuses.getOrDefault("REJECTED", 0L),
+                    statuses.getOrDefault("FAILED", 0L), dianP50, dianP99);
+        }
+    }
+
+    // --- JSON mínimo (objetos, listas, cadenas, números, booleanos y null) ---
+
+    private static Map<String, Object> object(String json) {
+        return cast(new JsonParser(json).value());
+    }
+
+    private static List<Object> list(String json) {
+        return cast(new JsonParser(json).value());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T cast(Object value) {
+        return (T) value;
+    }
+
+    private static long number(Map<String, Object> object, String key) {
+        Object value = object.get(key);
+        return value == null ? 0 : ((Number) value).longValue();
+    }
+
+    private static final class JsonParser {
+        private final String json;
+        private int pos;
+
+        private JsonParser(String json) {
+            this.json = json;
+        }
+
+        private Object value() {
+            skipWhitespace();
+            char c = json.charAt(pos);
+            switch (c) {
+                case '{':
+                    return parseObject();
+                case '[':
+                    return parseArray();
+                case '"':
+                    return parseString();
+                case 't':
+                    pos += 4;
+                    return Boolean.TRUE;
+                case 'f':
+                    pos += 5;
+                    return Boolean.FALSE;
+                case 'n':
+                    pos += 4;
+                    return null;
+                default:
+                    return parseNumber();
+            }
+        }
+
+        private Map<String, Object> parseObject() {
+            Map<String, Object> object = new LinkedHashMap<>();
+            pos++;
+            skipWhitespace();
+            if (json.charAt(pos) == '}') {
+                pos++;
+                return object;
+            }
+            while (true) {
+                skipWhitespace();
+                String key = parseString();
+                skipWhitespace();
+                pos++; // ':'
+                object.put(key, value());
+                skipWhitespace();
+                if (json.charAt(pos++) == '}') {
+                    return object;
+                }
+            }
+        }
+
+        private List<Object> parseArray() {
+            List<Object> array = new ArrayList<>();
+            pos++;
+            skipWhitespace();
+            if (json.charAt(pos) == ']') {
+                pos++;
+                return array;
+            }
+            while (true) {
+                array.add(value());
+                skipWhitespace();
+                if (json.charAt(pos++) == ']') {
+                    return array;
+                }
+            }
+        }
+
+        private String parseString() {
+            StringBuilder out = new StringBuilder();
+            pos++;
+            while (true) {
+                char c = json.charAt(pos++);
+                if (c == '"') {
+                    return out.toString();
+                }
+                if (c == '\\') {
+                    char escaped = json.charAt(pos++);
+                    switch (escaped) {
+                        case 'n' -> out.append('\n');
+                        case 't' -> out.append('\t');
+                        case 'r' -> out.append('\r');
+                        case 'b' -> out.append('\b');
+                        case 'f' -> out.append('\f');
+                        case 'u' -> {
+                            out.append((char) Integer.parseInt(json.substring(pos, pos + 4), 16));
+                            pos += 4;
+                        }
+                        default -> out.append(escaped);
+                    }
+                } else {
+                    out.append(c);
+                }
+            }
+        }
+
+        private Number parseNumber() {
+            int start = pos;
+            while (pos < json.length() && "+-0123456789.eE".indexOf(json.charAt(pos)) >= 0) {
+                pos++;
+            }
+            String number = json.substring(start, pos);
+            return number.contains(".") || number.contains("e") || number.contains("E")
+                    ? Double.parseDouble(number) : Long.parseLong(number);
+        }
+
+        private void skipWhitespace() {
+            while (pos < json.length() && Character.isWhitespace(json.charAt(pos))) {
+                pos++;
+            }
+        }
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--") || i + 1 >= args.length) {
+                throw new IllegalArgumentException("Expected --option value pairs, got: " + args[i]);
+            }
+            options.put(args[i].substring(2), args[++i]);
+        }
+        return options;
+    }
+}
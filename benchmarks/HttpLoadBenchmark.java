@@ -0,0 +1,192 @@
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Generador de carga HTTP de bucle cerrado: {@code concurrency} clientes envían una petición, esperan la
+ * respuesta y envían la siguiente durante {@code duration}. Informa el throughput y los percentiles de
+ * latencia de las respuestas, sin contar el calentamiento.
+ *
+ * Se ejecuta sin compilar ni dependencias (Java 17+):
+ *
+ * <pre>
+ * java HttpLoadBenchmark.java --name agenda-list --url http://localhost:8084/api/v1/appointments?size=50 \
+ *      --concurrency 200 --duration 30 --warmup 10 --mode platform --csv results.csv
+ * </pre>
+ *
+ * En el cuerpo ({@code --body}) cada {@code {{uuid}}} se reemplaza por un UUID nuevo en cada petición.
+ */
+public class HttpLoadBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        String name = options.getOrDefault("name", "benchmark");
+        String method = options.getOrDefault("method", "GET");
+        URI uri = URI.create(require(options, "url"));
+        String body = options.get("body");
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "100"));
+        Duration duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "30")));
+        Duration warmup = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "10")));
+        Duration timeout = Duration.ofSeconds(Long.parseLong(options.getOrDefault("timeout", "30")));
+        String mode = options.getOrDefault("mode", "unknown");
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        long warmupEnd = System.nanoTime() + warmup.toNanos();
+        long end = warmupEnd + duration.toNanos();
+
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        List<Future<WorkerResult>> futures = new ArrayList<>();
+        for (int i = 0; i < concurrency; i++) {
+            futures.add(workers.submit(() -> run(client, method, uri, body, timeout, warmupEnd, end)));
+        }
+
+        long[] latencies = new long[0];
+        long errors = 0;
+        Map<Integer, Long> statuses = new HashMap<>();
+        for (Future<WorkerResult> future : futures) {
+            WorkerResult result = future.get();
+            latencies = concat(latencies, result.latencies, result.count);
+            errors += result.errors;
+            result.statuses.forEach((status, count) -> statuses.merge(status, count, Long::sum));
+        }
+        workers.shutdown();
+
+        Arrays.sort(latencies);
+        double seconds = duration.toNanos() / 1e9;
+        double throughput = latencies.length / seconds;
+        String line = String.format("%-20s mode=%-8s c=%-5d req=%-8d rps=%-9.1f p50=%-8.1f p95=%-8.1f p99=%-8.1f"
+                        + " max=%-8.1f errors=%d statuses=%s",
+                name, mode, concurrency, latencies.length, throughput,
+                millis(percentile(latencies, 50)), millis(percentile(latencies, 95)),
+                millis(percentile(latencies, 99)), millis(percentile(latencies, 100)), errors, statuses);
+        System.out.println(line);
+
+        if (options.containsKey("csv")) {
+            appendCsv(options.get("csv"), name, mode, concurrency, latencies.length, throughput, latencies, errors);
+        }
+    }
+
+    private static WorkerResult run(HttpClient client, String method, URI uri, String body, Duration timeout,
+                                    long warmupEnd, long end) {
+        WorkerResult result = new WorkerResult();
+        while (true) {
+            long start = System.nanoTime();
+            if (start >= end) {
+                return result;
+            }
+            HttpRequest.BodyPublisher publisher = body == null
+                    ? HttpRequest.BodyPublishers.noBody()
+                    : HttpRequest.BodyPublishers.ofString(body.replace("{{uuid}}", UUID.randomUUID().toString()));
+            HttpRequest request = HttpRequest.newBuilder(uri)
+                    .timeout(timeout)
+                    .header("Content-Type", "application/json")
+                    .method(method, publisher)
+                    .build();
+            try {
+                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                long elapsed = System.nanoTime() - start;
+                if (start < warmupEnd) {
+                    continue;
+                }
+                result.statuses.merge(response.statusCode(), 1L, Long::sum);
+                if (response.statusCode() >= 500) {
+                    result.errors++;
+                } else {
+                    result.record(elapsed);
+                }
+            } catch (IOException e) {
+                if (start >= warmupEnd) {
+                    result.errors++;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return result;
+            }
+        }
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static long[] concat(long[] left, long[] right, int rightCount) {
+        long[] merged = Arrays.copyOf(left, left.length + rightCount);
+        System.arraycopy(right, 0, merged, left.length, rightCount);
+        return merged;
+    }
+
+    private static void appendCsv(String path, String name, String mode, int concurrency, int requests,
+                                  double throughput, long[] sorted, long errors) throws IOException {
+        boolean exists = new File(path).exists();
+        try (PrintWriter out = new PrintWriter(new FileWriter(path, true))) {
+            if (!exists) {
+                out.println("scenario,mode,concurrency,requests,rps,p50_ms,p95_ms,p99_ms,max_ms,errors");
+            }
+            out.printf(Locale.ROOT, "%s,%s,%d,%d,%.1f,%.1f,%.1f,%.1f,%.1f,%d%n",
+                    name, mode, concurrency, requests, throughput,
+                    millis(percentile(sorted, 50)), millis(percentile(sorted, 95)),
+                    millis(percentile(sorted, 99)), millis(percentile(sorted, 100)), errors);
+        }
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--") || i + 1 >= args.length) {
+                throw new IllegalArgumentException("Expected --option value pairs, got: " + args[i]);
+            }
+            options.put(args[i].substring(2), args[++i]);
+        }
+        return options;
+    }
+
+    private static String require(Map<String, String> options, String key) {
+        String value = options.get(key);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing required option --" + key);
+        }
+        return value;
+    }
+
+    private static final class WorkerResult {
+        private long[] latencies = new long[1024];
+        private int count;
+        private long errors;
+        private final Map<Integer, Long> statuses = new HashMap<>();
+
+        private void record(long nanos) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+#!/bin/bash
+#
+# Prueba de carga de facturaciondianservice contra el simulador local de la DIAN (diansimulator). Para
+# cada escenario arranca el simulador con su perfil y el servicio con el cliente HTTP
+# (DIAN_CLIENT_MODE=http), envía las facturas en lotes con DianLoadTest.java y mide el throughput y la
+# latencia de extremo a extremo; después mide la aceptación de facturas sueltas con HttpLoadBenchmark.java.
+#
+# No necesita PostgreSQL: el servicio usa H2 en memoria.
+#
+# Variables: SCENARIOS ("baseline lognormal-tail throttled slow-drip brownout"), INVOICES (5000),
+#            BATCH_SIZE (1000), CONCURRENCY (50), DURATION (20 s), WARMUP (5 s), DIAN_ARGS (argumentos
+#            extra del servicio), RESULTS (benchmarks/results/dian-<fecha>.csv)
+
+set -euo pipefail
+
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+BENCH="$ROOT/benchmarks"
+SCENARIOS="${SCENARIOS:-baseline lognormal-tail throttled slow-drip brownout}"
+INVOICES="${INVOICES:-5000}"
+BATCH_SIZE="${BATCH_SIZE:-1000}"
+CONCURRENCY="${CONCURRENCY:-50}"
+DURATION="${DURATION:-20}"
+WARMUP="${WARMUP:-5}"
+DIAN_ARGS="${DIAN_ARGS:-}"
+STAMP="$(date +%Y%m%d-%H%M%S)"
+RESULTS="${RESULTS:-$BENCH/results/dian-$STAMP.csv}"
+SUBMIT_RESULTS="${RESULTS%.csv}-submit.csv"
+LOGS="$BENCH/results/logs"
+
+# Perfil del simulador de cada escenario (propiedades dian.simulator.*)
+declare -A PROFILES=(
+    # Perfil de la DIAN simulada en proceso: 500-1500 ms, 5% de 503, 10% de rechazos
+    [baseline]=""
+    # Cola larga: log-normal con mediana 800 ms y p99 4 s, más un 1% de picos de 8 s
+    [lognormal-tail]="--dian.simulator.latency.distribution=LOG_NORMAL --dian.simulator.latency.median=PT0.8S
+        --dian.simulator.latency.p99=PT4S --dian.simulator.latency.spike-rate=0.01 --dian.simulator.latency.spike=PT8S"
+    # Throttling: 429 por encima de 16 peticiones simultáneas o 20 por segundo
+    [throttled]="--dian.simulator.throttle.max-concurrent=16 --dian.simulator.throttle.requests-per-second=20
+        --dian.simulator.throttle.retry-after=PT2S"
+    # El 5% de las respuestas llega a goteo (4 bytes por segundo): el cliente las corta a los 10 s
+    [slow-drip]="--dian.simulator.slow-drip.rate=0.05 --dian.simulator.slow-drip.chunk-bytes=4
+        --dian.simulator.slow-drip.chunk-interval=PT1S"
+    # DIAN degradada: 30% de 503 y 2% de peticiones colgadas 30 s
+    [brownout]="--dian.simulator.error-rate=0.30 --dian.simulator.timeout-rate=0.02
+        --dian.simulator.hang-duration=PT30S"
+)
+
+PIDS=()
+
+mkdir -p "$LOGS"
+
+stop_services() {
+    for pid in "${PIDS[@]:-}"; do
+        [ -n "$pid" ] && kill "$pid" 2>/dev/null || true
+    done
+    for pid in "${PIDS[@]:-}"; do
+        [ -n "$pid" ] && wait "$pid" 2>/dev/null || true
+    done
+    PIDS=()
+}
+trap stop_services EXIT
+
+wait_until_up() {
+    local port=$1
+    for _ in $(seq 1 120); do
+        if curl -s -o /dev/null "http://localhost:$port/api-docs"; then
+            return 0
+        fi
+        sleep 1
+    done
+    echo "❌ Service on port $port did not start"
+    exit 1
+}
+
+jar_of() {
+    ls "$ROOT/$1"/build/libs/*.jar | grep -v plain | head -1
+}
+
+echo "🔨 Building services..."
+for service in diansimulator facturaciondianservice; do
+    (cd "$ROOT/$service" && ./gradlew -q bootJar -x test)
+done
+
+for scenario in $SCENARIOS; do
+    if [ -z "${PROFILES[$scenario]+set}" ]; then
+        echo "⚠️  Unknown scenario $scenario, skipping"
+        continue
+    fi
+
+    echo "🚀 Scenario $scenario"
+    # shellcheck disable=SC2086
+    java -jar "$(jar_of diansimulator)" --logging.level.root=WARN ${PROFILES[$scenario]} \
+        > "$LOGS/diansimulator-$scenario.log" 2>&1 &
+    PIDS+=($!)
+    # shellcheck disable=SC2086
+    DIAN_CLIENT_MODE=http DIAN_BASE_URL=http://localhost:8090 java -jar "$(jar_of facturaciondianservice)" \
+        --logging.level.root=WARN --spring.jpa.show-sql=false $DIAN_ARGS \
+        > "$LOGS/facturaciondianservice-$scenario.log" 2>&1 &
+    PIDS+=($!)
+    wait_until_up 8090
+    wait_until_up 8085
+
+    # Throughput y latencia de extremo a extremo del procesamiento de lotes
+    java "$BENCH/DianLoadTest.java" --url http://localhost:8085 --scenario "$scenario" \
+        --invoices "$INVOICES" --batch-size "$BATCH_SIZE" --csv "$RESULTS"
+
+    # Latencia de aceptación de facturas sueltas (202, o 503 con la cola llena)
+    java "$BENCH/HttpLoadBenchmark.java" --name "dian-submit-$scenario" --mode http --method POST \
+        --url "http://localhost:8085/api/v1/dian/invoices" \
+        --body '{"invoiceId":"{{uuid}}","xmlPayload":"<Invoice/>"}' \
+        --concurrency "$CONCURRENCY" --duration "$DURATION" --warmup "$WARMUP" --csv "$SUBMIT_RESULTS"
+
+    stop_services
+done
+
+echo "✅ Results written to $RESULTS and $SUBMIT_RESULTS"
@@ -0,0 +1,91 @@
+#!/bin/bash
+#
+# Mide agenda, pacientes y DIAN con distintos tamaños del pool de Hikari sobre los hilos de Tomcat.
+# Para cada tamaño arranca los tres servicios con DB_POOL_MAX_SIZE, lanza la carga con
+# HttpLoadBenchmark.java y deja throughput y percentiles de latencia en un CSV.
+#
+# Requisitos: PostgreSQL en localhost:5432 (agenda y pacientes).
+#
+# Variables: CONCURRENCY (200), DURATION (30 s), WARMUP (10 s), POOL_SIZES ("10 20"),
+#            RESULTS (benchmarks/results/threading-<fecha>.csv)
+
+set -euo pipefail
+
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+BENCH="$ROOT/benchmarks"
+CONCURRENCY="${CONCURRENCY:-200}"
+DURATION="${DURATION:-30}"
+WARMUP="${WARMUP:-10}"
+POOL_SIZES="${POOL_SIZES:-10 20}"
+RESULTS="${RESULTS:-$BENCH/results/threading-$(date +%Y%m%d-%H%M%S).csv}"
+LOGS="$BENCH/results/logs"
+
+SERVICES=("agendaservice:8084" "patienteservice:8081" "facturaciondianservice:8085")
+PIDS=()
+
+mkdir -p "$LOGS"
+
+if ! nc -z localhost 5432; then
+    echo "❌ PostgreSQL is not running on localhost:5432"
+    exit 1
+fi
+
+stop_services() {
+    for pid in "${PIDS[@]:-}"; do
+        [ -n "$pid" ] && kill "$pid" 2>/dev/null || true
+    done
+    for pid in "${PIDS[@]:-}"; do
+        [ -n "$pid" ] && wait "$pid" 2>/dev/null || true
+    done
+    PIDS=()
+}
+trap stop_services EXIT
+
+wait_until_up() {
+    local port=$1
+    for _ in $(seq 1 120); do
+        if curl -s -o /dev/null "http://localhost:$port/api-docs"; then
+            return 0
+        fi
+        sleep 1
+    done
+    echo "❌ Service on port $port did not start"
+    exit 1
+}
+
+echo "🔨 Building services..."
+for entry in "${SERVICES[@]}"; do
+    service="${entry%%:*}"
+    (cd "$ROOT/$service" && ./gradlew -q bootJar -x test)
+done
+
+for pool in $POOL_SIZES; do
+    mode="pool-$pool"
+
+    echo "🚀 Starting services with $pool database connections..."
+    for entry in "${SERVICES[@]}"; do
+        service="${entry%%:*}"
+        jar=$(ls "$ROOT/$service"/build/libs/*.jar | grep -v plain | head -1)
+        DB_POOL_MAX_SIZE=$pool java -jar "$jar" --logging.level.root=WARN --spring.jpa.show-sql=false \
+            > "$LOGS/$service-$mode.log" 2>&1 &
+        PIDS+=($!)
+    done
+    for entry in "${SERVICES[@]}"; do
+        wait_until_up "${entry##*:}"
+    done
+
+    run() {
+        java "$BENCH/HttpLoadBenchmark.java" --mode "$mode" --concurrency "$CONCURRENCY" \
+            --duration "$DURATION" --warmup "$WARMUP" --csv "$RESULTS" "$@"
+    }
+
+    # Lecturas JDBC de la agenda y de pacientes, y la aceptación de facturas de la DIAN
+    run --name agenda-appointments --url "http://localhost:8084/api/v1/appointments?size=50"
+    run --name patients-list --url "http://localhost:8081/api/v1/patients"
+    run --name dian-submit --method POST --url "http://localhost:8085/api/v1/dian/invoices" \
+        --body '{"invoiceId":"{{uuid}}","xmlPayload":"<Invoice/>"}'
+
+    stop_services
+done
+
+echo "✅ Results written to $RESULTS"
@@ -1,5 +1,9 @@
 package com.riavet.clinicalrecordservice.infrastructure.configuration;
 
+import com.mongodb.MongoClientSettings;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.mongodb.config.AbstractMongoClientConfiguration;
 import org.springframework.data.mongodb.config.EnableMongoAuditing;
@@ -7,8 +11,19 @@ import org.springframework.lang.NonNull;
 
 @Configuration
 @EnableMongoAuditing
+@RequiredArgsConstructor
 public class MongoConfiguration extends AbstractMongoClientConfiguration {
 
+    private final ObjectProvider<MongoClientSettingsBuilderCustomizer> customizers;
+
+    @Override
+    protected void configureClientSettings(@NonNull MongoClientSettings.Builder builder) {
+        // Esta clase reemplaza el cliente autoconfigurado, así que los customizers de Spring Boot hay que
+        // aplicarlos a mano: entre ellos, los listeners de Micrometer que publican los tiempos por comando
+        // y las métricas del pool de conexiones
+        customizers.orderedStream().forEach(customizer -> customizer.customize(builder));
+    }
+
     @Override
     @NonNull
     protected String getDatabaseName() {
@@ -0,0 +1,12 @@
+package com.riavet.diansimulator;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+@SpringBootApplication
+public class DianSimulatorApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(DianSimulatorApplication.class, args);
+    }
+}
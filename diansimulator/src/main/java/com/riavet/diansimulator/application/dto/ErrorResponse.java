@@ -0,0 +1,18 @@
+package com.riavet.diansimulator.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ErrorResponse {
+
+    private String code;
+    private String message;
+    private String details;
+    private String timestamp;
+}
@@ -0,0 +1,28 @@
+package com.riavet.diansimulator.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Duration;
+
+/**
+ * Respuesta decidida por la simulación, ya pasada su latencia: estado HTTP, cuerpo y, si toca,
+ * Retry-After o envío del cuerpo a goteo.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SimulatedResponse {
+
+    private int status;
+    private Object body;
+    private Duration retryAfter;
+    // Cuerpo a goteo: bytes por trozo y espera entre trozos; null si se envía de una vez
+    private Integer dripChunkBytes;
+    private Duration dripChunkInterval;
+    // Si la petición ocupa un hueco de max-concurrent que hay que liberar al terminar de responder
+    private boolean admitted;
+}
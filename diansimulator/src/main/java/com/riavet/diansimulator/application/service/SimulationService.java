@@ -0,0 +1,24 @@
+package com.riavet.diansimulator.application.service;
+
+import com.riavet.diansimulator.application.dto.DianInvoiceRequest;
+import com.riavet.diansimulator.application.dto.SimulatedResponse;
+import com.riavet.diansimulator.domain.model.SimulationProfile;
+
+public interface SimulationService {
+
+    /**
+     * Aplica el throttling, espera la latencia simulada y decide la respuesta a la factura. Si la
+     * respuesta queda admitida (no es un 429), quien la escribe debe llamar a {@link #liberar()} al
+     * terminar.
+     */
+    SimulatedResponse procesar(DianInvoiceRequest request);
+
+    void liberar();
+
+    // Peticiones admitidas que aún no han terminado de responder
+    int getInFlight();
+
+    SimulationProfile getProfile();
+
+    SimulationProfile actualizarProfile(SimulationProfile profile);
+}
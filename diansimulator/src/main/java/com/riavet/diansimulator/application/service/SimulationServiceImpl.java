@@ -0,0 +1,188 @@
+package com.riavet.diansimulator.application.service;
+
+import com.riavet.diansimulator.application.dto.DianInvoiceRequest;
+import com.riavet.diansimulator.application.dto.DianInvoiceResponse;
+import com.riavet.diansimulator.application.dto.ErrorResponse;
+import com.riavet.diansimulator.application.dto.SimulatedResponse;
+import com.riavet.diansimulator.domain.model.SimulationProfile;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * DIAN simulada según el perfil activo. El perfil se sustituye entero y cada petición usa el que
+ * había al llegar, así que un cambio en caliente no deja peticiones con valores mezclados.
+ */
+@Service
+@Slf4j
+public class SimulationServiceImpl implements SimulationService {
+
+    private static final String[] REJECTION_REASONS = {
+        "Información del contribuyente inválida",
+        "Formato XML incorrecto",
+        "NIT no autorizado para facturación electrónica",
+        "Numeración fuera de rango autorizado",
+        "Datos fiscales inconsistentes"
+    };
+
+    private final AtomicReference<SimulationProfile> profile;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    // Token bucket de requests-per-second: capacidad de un segundo de peticiones
+    private double tokens;
+    private long lastRefill = System.nanoTime();
+
+    public SimulationServiceImpl(SimulationProfile initialProfile) {
+        this.profile = new AtomicReference<>(initialProfile);
+        this.tokens = initialProfile.getThrottleRequestsPerSecond();
+    }
+
+    @Override
+    public SimulatedResponse procesar(DianInvoiceRequest request) {
+        SimulationProfile current = profile.get();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        if (!tryTakeToken(current.getThrottleRequestsPerSecond())) {
+            return throttled(current, "Rate limit exceeded (" + current.getThrottleRequestsPerSecond() + " req/s)");
+        }
+        int maxConcurrent = current.getThrottleMaxConcurrent();
+        if (inFlight.incrementAndGet() > maxConcurrent && maxConcurrent > 0) {
+            inFlight.decrementAndGet();
+            return throttled(current, "Too many concurrent requests (max " + maxConcurrent + ")");
+        }
+        try {
+            if (current.getTimeoutRate() > 0 && random.nextDouble() < current.getTimeoutRate()) {
+                log.debug("Factura {}: petición colgada {}", request.getInvoiceId(), current.getHangDuration());
+                sleep(current.getHangDuration());
+                return error(504, "GATEWAY_TIMEOUT", "Simulated DIAN timeout");
+            }
+
+            sleep(current.sampleLatency(random));
+
+            if (random.nextDouble() < current.getErrorRate()) {
+                return error(503, "SERVICE_UNAVAILABLE", "Simulated DIAN outage");
+            }
+
+            boolean success = random.nextDouble() >= current.getRejectionRate();
+            DianInvoiceResponse body = DianInvoiceResponse.builder()
+                    .success(success)
+                    .dianCode("DIAN-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase())
+                    .message(success
+                            ? "Factura aceptada por la DIAN"
+                            : "Factura rechazada: " + REJECTION_REASONS[random.nextInt(REJECTION_REASONS.length)])
+                    .build();
+            boolean drip = current.getSlowDripRate() > 0 && random.nextDouble() < current.getSlowDripRate();
+            return SimulatedResponse.builder()
+                    .status(200)
+                    .body(body)
+                    .dripChunkBytes(drip ? current.getSlowDripChunkBytes() : null)
+                    .dripChunkInterval(drip ? current.getSlowDripChunkInterval() : null)
+                    .admitted(true)
+                    .build();
+        } catch (RuntimeException e) {
+            liberar();
+            throw e;
+        }
+    }
+
+    @Override
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    @Override
+    public void liberar() {
+        inFlight.decrementAndGet();
+    }
+
+    @Override
+    public SimulationProfile getProfile() {
+        return profile.get();
+    }
+
+    @Override
+    public SimulationProfile actualizarProfile(SimulationProfile newProfile) {
+        validar(newProfile);
+        profile.set(newProfile);
+        log.info("Perfil de simulación actualizado: {}", newProfile);
+        return newProfile;
+    }
+
+    private synchronized boolean tryTakeToken(int requestsPerSecond) {
+        if (requestsPerSecond <= 0) {
+            return true;
+        }
+        long now = System.nanoTime();
+        tokens = Math.min(requestsPerSecond, tokens + (now - lastRefill) / 1e9 * requestsPerSecond);
+        lastRefill = now;
+        if (tokens < 1) {
+            return false;
+        }
+        tokens--;
+        return true;
+    }
+
+    private static SimulatedResponse throttled(SimulationProfile current, String message) {
+        return SimulatedResponse.builder()
+                .status(429)
+                .body(errorBody("TOO_MANY_REQUESTS", message))
+                .retryAfter(current.getThrottleRetryAfter())
+                .build();
+    }
+
+    private static SimulatedResponse error(int status, String code, String message) {
+        return SimulatedResponse.builder()
+                .status(status)
+                .body(errorBody(code, message))
+                .admitted(true)
+                .build();
+    }
+
+    private static ErrorResponse errorBody(String code, String message) {
+        return ErrorResponse.builder()
+                .code(code)
+                .message(message)
+                .timestamp(LocalDateTime.now().toString())
+                .build();
+    }
+
+    private static void validar(SimulationProfile newProfile) {
+        switch (newProfile.getLatencyDistribution()) {
+            case FIXED -> require(newProfile.getLatencyMedian() != null, "latencyMedian is required for FIXED");
+            case UNIFORM -> require(newProfile.getLatencyMin() != null && newProfile.getLatencyMax() != null
+                    && newProfile.getLatencyMin().compareTo(newProfile.getLatencyMax()) <= 0,
+                    "latencyMin and latencyMax (min <= max) are required for UNIFORM");
+            case LOG_NORMAL -> require(newProfile.getLatencyMedian() != null && newProfile.getLatencyP99() != null
+                    && !newProfile.getLatencyMedian().isZero()
+                    && newProfile.getLatencyMedian().compareTo(newProfile.getLatencyP99()) <= 0,
+                    "latencyMedian and latencyP99 (0 < median <= p99) are required for LOG_NORMAL");
+        }
+        require(newProfile.getSpikeRate() == 0 || newProfile.getSpike() != null, "spike is required with spikeRate");
+        require(newProfile.getTimeoutRate() == 0 || newProfile.getHangDuration() != null,
+                "hangDuration is required with timeoutRate");
+        require(newProfile.getSlowDripRate() == 0 || newProfile.getSlowDripChunkInterval() != null,
+                "slowDripChunkInterval is required with slowDripRate");
+        require((newProfile.getThrottleMaxConcurrent() == 0 && newProfile.getThrottleRequestsPerSecond() == 0)
+                || newProfile.getThrottleRetryAfter() != null, "throttleRetryAfter is required with throttling");
+    }
+
+    private static void require(boolean condition, String message) {
+        if (!condition) {
+            throw new IllegalArgumentException(message);
+        }
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis(), (int) (duration.toNanos() % 1_000_000));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
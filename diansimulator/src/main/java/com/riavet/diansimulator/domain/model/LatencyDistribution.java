@@ -0,0 +1,13 @@
+package com.riavet.diansimulator.domain.model;
+
+/**
+ * Forma de la latencia simulada de cada respuesta.
+ */
+public enum LatencyDistribution {
+    // Siempre la mediana
+    FIXED,
+    // Uniforme entre el mínimo y el máximo
+    UNIFORM,
+    // Log-normal con la mediana y el p99 indicados: cola larga a la derecha, como un servicio real
+    LOG_NORMAL
+}
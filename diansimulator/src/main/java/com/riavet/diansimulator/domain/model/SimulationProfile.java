@@ -0,0 +1,81 @@
+package com.riavet.diansimulator.domain.model;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Duration;
+import java.util.random.RandomGenerator;
+
+/**
+ * Comportamiento de la DIAN simulada: latencia, fracciones de errores, rechazos y peticiones
+ * colgadas, límites de throttling y respuestas a goteo. Las fracciones van de 0 a 1.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SimulationProfile {
+
+    // z del percentil 99 de la normal estándar
+    private static final double Z_P99 = 2.3263;
+
+    @NotNull
+    private LatencyDistribution latencyDistribution;
+    private Duration latencyMin;
+    private Duration latencyMax;
+    private Duration latencyMedian;
+    private Duration latencyP99;
+
+    @DecimalMin("0") @DecimalMax("1")
+    private double spikeRate;
+    private Duration spike;
+
+    @DecimalMin("0") @DecimalMax("1")
+    private double errorRate;
+
+    @DecimalMin("0") @DecimalMax("1")
+    private double rejectionRate;
+
+    @DecimalMin("0") @DecimalMax("1")
+    private double timeoutRate;
+    private Duration hangDuration;
+
+    @Min(0)
+    private int throttleMaxConcurrent;
+
+    @Min(0)
+    private int throttleRequestsPerSecond;
+    private Duration throttleRetryAfter;
+
+    @DecimalMin("0") @DecimalMax("1")
+    private double slowDripRate;
+
+    @Min(1)
+    private int slowDripChunkBytes;
+    private Duration slowDripChunkInterval;
+
+    /**
+     * Latencia de una respuesta según la distribución, más el pico si le toca.
+     */
+    public Duration sampleLatency(RandomGenerator random) {
+        long nanos = switch (latencyDistribution) {
+            case FIXED -> latencyMedian.toNanos();
+            case UNIFORM -> latencyMin.toNanos()
+                    + (long) (random.nextDouble() * (latencyMax.toNanos() - latencyMin.toNanos()));
+            case LOG_NORMAL -> {
+                double sigma = Math.log((double) latencyP99.toNanos() / latencyMedian.toNanos()) / Z_P99;
+                yield (long) (latencyMedian.toNanos() * Math.exp(sigma * random.nextGaussian()));
+            }
+        };
+        if (spikeRate > 0 && random.nextDouble() < spikeRate) {
+            nanos += spike.toNanos();
+        }
+        return Duration.ofNanos(Math.max(0, nanos));
+    }
+}
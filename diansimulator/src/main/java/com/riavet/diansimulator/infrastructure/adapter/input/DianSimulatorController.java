@@ -0,0 +1,97 @@
+package com.riavet.diansimulator.infrastructure.adapter.input;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.riavet.diansimulator.application.dto.DianInvoiceRequest;
+import com.riavet.diansimulator.application.dto.DianInvoiceResponse;
+import com.riavet.diansimulator.application.dto.SimulatedResponse;
+import com.riavet.diansimulator.application.service.SimulationService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Contrato de la DIAN que consume el cliente HTTP de facturaciondianservice: la factura en JSON y
+ * la respuesta {@code {success, dianCode, message}}, o un 429, 503 o 504 según el perfil.
+ *
+ * La respuesta se escribe a mano sobre el {@link HttpServletResponse} para poder enviar el cuerpo
+ * a goteo: las cabeceras (con Content-Length) salen enseguida y el cuerpo llega en trozos.
+ */
+@RestController
+@RequestMapping("/dian/v1")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "DIAN Simulator", description = "Recepción de facturas electrónicas simulada")
+public class DianSimulatorController {
+
+    private final SimulationService simulationService;
+    private final ObjectMapper objectMapper;
+
+    @PostMapping("/invoices")
+    @Operation(summary = "Recibir factura",
+            description = "Responde tras la latencia del perfil activo con la factura aceptada o rechazada, "
+                    + "o con el error, throttling o timeout que le toque")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Factura procesada (aceptada o rechazada)",
+                    content = @Content(schema = @Schema(implementation = DianInvoiceResponse.class))),
+            @ApiResponse(responseCode = "429", description = "Throttling: reintentar pasado Retry-After"),
+            @ApiResponse(responseCode = "503", description = "Error simulado de la DIAN"),
+            @ApiResponse(responseCode = "504", description = "Timeout simulado de la DIAN")
+    })
+    public void recibirFactura(@Valid @RequestBody DianInvoiceRequest request, HttpServletResponse response)
+            throws IOException {
+        SimulatedResponse simulated = simulationService.procesar(request);
+        try {
+            write(simulated, response);
+        } finally {
+            if (simulated.isAdmitted()) {
+                simulationService.liberar();
+            }
+        }
+        log.debug("Factura {} respondida con {}", request.getInvoiceId(), simulated.getStatus());
+    }
+
+    private void write(SimulatedResponse simulated, HttpServletResponse response) throws IOException {
+        byte[] body = objectMapper.writeValueAsBytes(simulated.getBody());
+        response.setStatus(simulated.getStatus());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(body.length);
+        if (simulated.getRetryAfter() != null) {
+            response.setHeader(HttpHeaders.RETRY_AFTER,
+                    String.valueOf(Math.max(1, simulated.getRetryAfter().toSeconds())));
+        }
+
+        OutputStream out = response.getOutputStream();
+        if (simulated.getDripChunkBytes() == null) {
+            out.write(body);
+            return;
+        }
+        response.flushBuffer();
+        long intervalMillis = simulated.getDripChunkInterval().toMillis();
+        for (int offset = 0; offset < body.length; offset += simulated.getDripChunkBytes()) {
+            try {
+                Thread.sleep(intervalMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            out.write(body, offset, Math.min(simulated.getDripChunkBytes(), body.length - offset));
+            out.flush();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.riavet.diansimulator.infrastructure.adapter.input;
+
+import com.riavet.diansimulator.application.service.SimulationService;
+import com.riavet.diansimulator.domain.model.SimulationProfile;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/simulator")
+@RequiredArgsConstructor
+@Tag(name = "Simulator Profile", description = "Configuración en caliente de la DIAN simulada")
+public class SimulatorProfileController {
+
+    private final SimulationService simulationService;
+
+    @GetMapping("/profile")
+    @Operation(summary = "Consultar perfil", description = "Perfil de latencia y fallos activo")
+    public ResponseEntity<SimulationProfile> consultarProfile() {
+        return ResponseEntity.ok(simulationService.getProfile());
+    }
+
+    @PutMapping("/profile")
+    @Operation(summary = "Reemplazar perfil",
+            description = "Sustituye el perfil completo; las peticiones en curso terminan con el anterior")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Perfil actualizado"),
+            @ApiResponse(responseCode = "400", description = "Perfil inválido")
+    })
+    public ResponseEntity<SimulationProfile> actualizarProfile(@Valid @RequestBody SimulationProfile profile) {
+        return ResponseEntity.ok(simulationService.actualizarProfile(profile));
+    }
+}
@@ -0,0 +1,28 @@
+package com.riavet.diansimulator.infrastructure.configuration;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.info.Contact;
+import io.swagger.v3.oas.models.info.Info;
+import io.swagger.v3.oas.models.info.License;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class OpenApiConfiguration {
+
+    @Bean
+    public OpenAPI dianSimulatorOpenAPI() {
+        return new OpenAPI()
+                .info(new Info()
+                        .title("DIAN Simulator API")
+                        .description("Sustituto local de la DIAN para pruebas de carga de facturación electrónica")
+                        .version("1.0.0")
+                        .contact(new Contact()
+                                .name("Equipo de Desarrollo")
+                                .email("desarrollo@riavet.com")
+                                .url("https://riavet.com"))
+                        .license(new License()
+                                .name("MIT License")
+                                .url("https://opensource.org/licenses/MIT")));
+    }
+}
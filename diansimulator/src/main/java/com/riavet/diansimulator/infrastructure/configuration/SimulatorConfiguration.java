@@ -0,0 +1,56 @@
+package com.riavet.diansimulator.infrastructure.configuration;
+
+import com.riavet.diansimulator.domain.model.LatencyDistribution;
+import com.riavet.diansimulator.domain.model.SimulationProfile;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Perfil inicial de la simulación a partir de {@code dian.simulator.*}.
+ */
+@Configuration
+public class SimulatorConfiguration {
+
+    @Bean
+    public SimulationProfile initialSimulationProfile(
+            @Value("${dian.simulator.latency.distribution:UNIFORM}") LatencyDistribution distribution,
+            @Value("${dian.simulator.latency.min:PT0.5S}") Duration latencyMin,
+            @Value("${dian.simulator.latency.max:PT1.5S}") Duration latencyMax,
+            @Value("${dian.simulator.latency.median:PT0.8S}") Duration latencyMedian,
+            @Value("${dian.simulator.latency.p99:PT3S}") Duration latencyP99,
+            @Value("${dian.simulator.latency.spike-rate:0}") double spikeRate,
+            @Value("${dian.simulator.latency.spike:PT5S}") Duration spike,
+            @Value("${dian.simulator.error-rate:0.05}") double errorRate,
+            @Value("${dian.simulator.rejection-rate:0.10}") double rejectionRate,
+            @Value("${dian.simulator.timeout-rate:0}") double timeoutRate,
+            @Value("${dian.simulator.hang-duration:PT30S}") Duration hangDuration,
+            @Value("${dian.simulator.throttle.max-concurrent:0}") int throttleMaxConcurrent,
+            @Value("${dian.simulator.throttle.requests-per-second:0}") int throttleRequestsPerSecond,
+            @Value("${dian.simulator.throttle.retry-after:PT1S}") Duration throttleRetryAfter,
+            @Value("${dian.simulator.slow-drip.rate:0}") double slowDripRate,
+            @Value("${dian.simulator.slow-drip.chunk-bytes:8}") int slowDripChunkBytes,
+            @Value("${dian.simulator.slow-drip.chunk-interval:PT0.5S}") Duration slowDripChunkInterval) {
+        return SimulationProfile.builder()
+                .latencyDistribution(distribution)
+                .latencyMin(latencyMin)
+                .latencyMax(latencyMax)
+                .latencyMedian(latencyMedian)
+                .latencyP99(latencyP99)
+                .spikeRate(spikeRate)
+                .spike(spike)
+                .errorRate(errorRate)
+                .rejectionRate(rejectionRate)
+                .timeoutRate(timeoutRate)
+                .hangDuration(hangDuration)
+                .throttleMaxConcurrent(throttleMaxConcurrent)
+                .throttleRequestsPerSecond(throttleRequestsPerSecond)
+                .throttleRetryAfter(throttleRetryAfter)
+                .slowDripRate(slowDripRate)
+                .slowDripChunkBytes(slowDripChunkBytes)
+                .slowDripChunkInterval(slowDripChunkInterval)
+                .build();
+    }
+}
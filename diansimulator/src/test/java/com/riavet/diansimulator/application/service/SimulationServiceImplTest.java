@@ -0,0 +1,113 @@
+package com.riavet.diansimulator.application.service;
+
+import com.riavet.diansimulator.application.dto.DianInvoiceRequest;
+import com.riavet.diansimulator.application.dto.DianInvoiceResponse;
+import com.riavet.diansimulator.application.dto.SimulatedResponse;
+import com.riavet.diansimulator.domain.model.LatencyDistribution;
+import com.riavet.diansimulator.domain.model.SimulationProfile;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for the simulated DIAN outcomes and throttling.
+ */
+class SimulationServiceImplTest {
+
+    private static final DianInvoiceRequest REQUEST = DianInvoiceRequest.builder()
+            .invoiceId(UUID.randomUUID())
+            .xmlPayload("<Invoice/>")
+            .build();
+
+    @Test
+    void procesar_ShouldThrottleAboveMaxConcurrentUntilReleased() {
+        SimulationServiceImpl service = new SimulationServiceImpl(profile().throttleMaxConcurrent(2).build());
+
+        assertThat(service.procesar(REQUEST).getStatus()).isEqualTo(200);
+        assertThat(service.procesar(REQUEST).getStatus()).isEqualTo(200);
+        SimulatedResponse throttled = service.procesar(REQUEST);
+
+        assertThat(throttled.getStatus()).isEqualTo(429);
+        assertThat(throttled.getRetryAfter()).isEqualTo(Duration.ofSeconds(3));
+        assertThat(throttled.isAdmitted()).isFalse();
+        assertThat(service.getInFlight()).isEqualTo(2);
+
+        service.liberar();
+        assertThat(service.procesar(REQUEST).getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void procesar_ShouldThrottleAboveRequestsPerSecond() {
+        SimulationServiceImpl service = new SimulationServiceImpl(profile().throttleRequestsPerSecond(5).build());
+
+        long ok = 0;
+        for (int i = 0; i < 20; i++) {
+            SimulatedResponse response = service.procesar(REQUEST);
+            if (response.getStatus() == 200) {
+                ok++;
+                service.liberar();
+            }
+        }
+
+        // Un segundo de capacidad acumulada; la prueba dura mucho menos de un segundo
+        assertThat(ok).isBetween(5L, 6L);
+    }
+
+    @Test
+    void procesar_ShouldMixErrorsAndRejectionsAtConfiguredRates() {
+        SimulationServiceImpl service = new SimulationServiceImpl(profile().errorRate(0.2).rejectionRate(0.5).build());
+
+        int errors = 0;
+        int rejections = 0;
+        for (int i = 0; i < 10_000; i++) {
+            SimulatedResponse response = service.procesar(REQUEST);
+            service.liberar();
+            if (response.getStatus() == 503) {
+                errors++;
+            } else if (!((DianInvoiceResponse) response.getBody()).isSuccess()) {
+                rejections++;
+            }
+        }
+
+        assertThat(errors).isBetween(1_800, 2_200);
+        // La mitad de las que no fallan
+        assertThat(rejections).isBetween(3_700, 4_300);
+        assertThat(service.getInFlight()).isZero();
+    }
+
+    @Test
+    void procesar_ShouldMarkSlowDripResponses() {
+        SimulationServiceImpl service = new SimulationServiceImpl(profile().slowDripRate(1).build());
+
+        SimulatedResponse response = service.procesar(REQUEST);
+
+        assertThat(response.getDripChunkBytes()).isEqualTo(4);
+        assertThat(response.getDripChunkInterval()).isEqualTo(Duration.ofMillis(250));
+    }
+
+    @Test
+    void actualizarProfile_ShouldRejectIncompleteDistribution() {
+        SimulationServiceImpl service = new SimulationServiceImpl(profile().build());
+
+        assertThatThrownBy(() -> service.actualizarProfile(profile()
+                .latencyDistribution(LatencyDistribution.LOG_NORMAL)
+                .latencyP99(null)
+                .build()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("LOG_NORMAL");
+    }
+
+    // Sin latencia, errores ni rechazos salvo lo que cada prueba active
+    private static SimulationProfile.SimulationProfileBuilder profile() {
+        return SimulationProfile.builder()
+                .latencyDistribution(LatencyDistribution.FIXED)
+                .latencyMedian(Duration.ZERO)
+                .throttleRetryAfter(Duration.ofSeconds(3))
+                .slowDripChunkBytes(4)
+                .slowDripChunkInterval(Duration.ofMillis(250));
+    }
+}
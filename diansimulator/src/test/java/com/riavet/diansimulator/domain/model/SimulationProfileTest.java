@@ -0,0 +1,80 @@
+package com.riavet.diansimulator.domain.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Tests for the latency distributions of the simulation profile.
+ */
+class SimulationProfileTest {
+
+    private static final int SAMPLES = 100_000;
+
+    private final Random random = new Random(7);
+
+    @Test
+    void sampleLatency_ShouldHitMedianAndP99ForLogNormal() {
+        SimulationProfile profile = SimulationProfile.builder()
+                .latencyDistribution(LatencyDistribution.LOG_NORMAL)
+                .latencyMedian(Duration.ofMillis(800))
+                .latencyP99(Duration.ofMillis(3_000))
+                .build();
+
+        long[] millis = sample(profile);
+
+        assertThat((double) percentile(millis, 50)).isCloseTo(800, within(800 * 0.03));
+        assertThat((double) percentile(millis, 99)).isCloseTo(3_000, within(3_000 * 0.05));
+    }
+
+    @Test
+    void sampleLatency_ShouldStayWithinBoundsForUniform() {
+        SimulationProfile profile = SimulationProfile.builder()
+                .latencyDistribution(LatencyDistribution.UNIFORM)
+                .latencyMin(Duration.ofMillis(500))
+                .latencyMax(Duration.ofMillis(1_500))
+                .build();
+
+        long[] millis = sample(profile);
+
+        assertThat(millis[0]).isGreaterThanOrEqualTo(500);
+        assertThat(millis[SAMPLES - 1]).isLessThan(1_500);
+        assertThat((double) percentile(millis, 50)).isCloseTo(1_000, within(20.0));
+    }
+
+    @Test
+    void sampleLatency_ShouldAddSpikeToConfiguredFraction() {
+        SimulationProfile profile = SimulationProfile.builder()
+                .latencyDistribution(LatencyDistribution.FIXED)
+                .latencyMedian(Duration.ofMillis(100))
+                .spikeRate(0.02)
+                .spike(Duration.ofSeconds(5))
+                .build();
+
+        long[] millis = sample(profile);
+
+        // Bimodal: el p97 sigue en la mediana y el p99 ya cae en el pico
+        assertThat(percentile(millis, 97)).isEqualTo(100);
+        assertThat(percentile(millis, 99)).isEqualTo(5_100);
+        assertThat(Arrays.stream(millis).filter(value -> value > 100).count())
+                .isCloseTo(SAMPLES / 50, within((long) (SAMPLES * 0.003)));
+    }
+
+    private long[] sample(SimulationProfile profile) {
+        long[] millis = new long[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            millis[i] = profile.sampleLatency(random).toMillis();
+        }
+        Arrays.sort(millis);
+        return millis;
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        return sorted[(int) Math.ceil(percentile / 100.0 * sorted.length) - 1];
+    }
+}
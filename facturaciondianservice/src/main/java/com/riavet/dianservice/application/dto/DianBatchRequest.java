@@ -0,0 +1,22 @@
+package com.riavet.dianservice.application.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DianBatchRequest {
+
+    @NotEmpty(message = "At least one invoice is required")
+    @Size(max = 5000, message = "A batch can contain at most 5000 invoices")
+    private List<@Valid DianInvoiceRequest> invoices;
+}
@@ -0,0 +1,32 @@
+package com.riavet.dianservice.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DianBatchResponse {
+
+    private UUID batchId;
+    private int received;
+    private int queued;
+    private int duplicates;
+    // Solo en la respuesta del POST: invoiceIds repetidos en el lote o ya registrados
+    private List<UUID> duplicateInvoiceIds;
+    private long pending;
+    private long sent;
+    private long retryScheduled;
+    private long accepted;
+    private long rejected;
+    private long failed;
+    private boolean completed;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,17 @@
+package com.riavet.dianservice.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DianClientResponse {
+
+    private boolean success;
+    private String dianCode;
+    private String message;
+}
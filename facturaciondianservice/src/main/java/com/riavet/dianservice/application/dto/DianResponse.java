@@ -19,4 +19,7 @@ public class DianResponse {
     private String dianCode;
     private String message;
     private LocalDateTime processedAt;
+    private int attempts;
+    // Solo en RETRY_SCHEDULED: momento del siguiente intento
+    private LocalDateTime nextAttemptAt;
 }
@@ -1,11 +1,16 @@
 package com.riavet.dianservice.application.mapper;
 
+import com.riavet.dianservice.application.dto.DianBatchResponse;
 import com.riavet.dianservice.application.dto.DianInvoiceRequest;
 import com.riavet.dianservice.application.dto.DianResponse;
+import com.riavet.dianservice.domain.model.DianBatch;
 import com.riavet.dianservice.domain.model.DianInvoice;
+import com.riavet.dianservice.domain.model.DianInvoice.DianStatus;
 import org.springframework.stereotype.Component;
 
-import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
 @Component
 public class DianInvoiceMapper {
@@ -25,6 +30,29 @@ public class DianInvoiceMapper {
                 .dianCode(entity.getDianCode())
                 .message(entity.getMessage())
                 .processedAt(entity.getUpdatedAt() != null ? entity.getUpdatedAt() : entity.getCreatedAt())
+                .attempts(entity.getAttempts())
+                .nextAttemptAt(entity.getStatus() == DianStatus.RETRY_SCHEDULED ? entity.getNextAttemptAt() : null)
+                .build();
+    }
+
+    public DianBatchResponse toBatchResponse(DianBatch batch, Map<DianStatus, Long> counts, List<UUID> duplicateInvoiceIds) {
+        long accepted = counts.getOrDefault(DianStatus.ACCEPTED, 0L);
+        long rejected = counts.getOrDefault(DianStatus.REJECTED, 0L);
+        long failed = counts.getOrDefault(DianStatus.FAILED, 0L);
+        return DianBatchResponse.builder()
+                .batchId(batch.getId())
+                .received(batch.getReceived())
+                .queued(batch.getQueued())
+                .duplicates(batch.getDuplicates())
+                .duplicateInvoiceIds(duplicateInvoiceIds)
+                .pending(counts.getOrDefault(DianStatus.PENDING, 0L))
+                .sent(counts.getOrDefault(DianStatus.SENT, 0L))
+                .retryScheduled(counts.getOrDefault(DianStatus.RETRY_SCHEDULED, 0L))
+                .accepted(accepted)
+                .rejected(rejected)
+                .failed(failed)
+                .completed(accepted + rejected + failed == batch.getQueued())
+                .createdAt(batch.getCreatedAt())
                 .build();
     }
 }
@@ -0,0 +1,18 @@
+package com.riavet.dianservice.application.service;
+
+import com.riavet.dianservice.application.dto.DianBatchRequest;
+import com.riavet.dianservice.application.dto.DianBatchResponse;
+import com.riavet.dianservice.application.dto.DianResponse;
+import com.riavet.dianservice.domain.model.DianInvoice.DianStatus;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface DianBatchService {
+
+    DianBatchResponse enviarLote(DianBatchRequest request);
+
+    DianBatchResponse consultarLote(UUID batchId);
+
+    List<DianResponse> consultarFacturasLote(UUID batchId, DianStatus status, int page, int size);
+}
@@ -0,0 +1,126 @@
+package com.riavet.dianservice.application.service;
+
+import com.riavet.dianservice.application.dto.DianBatchRequest;
+import com.riavet.dianservice.application.dto.DianBatchResponse;
+import com.riavet.dianservice.application.dto.DianInvoiceRequest;
+import com.riavet.dianservice.application.dto.DianResponse;
+import com.riavet.dianservice.application.mapper.DianInvoiceMapper;
+import com.riavet.dianservice.application.submission.DianBatchDispatcher;
+import com.riavet.dianservice.application.submission.DianRetryPolicy;
+import com.riavet.dianservice.domain.model.DianBatch;
+import com.riavet.dianservice.domain.model.DianInvoice;
+import com.riavet.dianservice.domain.model.DianInvoice.DianStatus;
+import com.riavet.dianservice.domain.repository.DianBatchRepository;
+import com.riavet.dianservice.domain.repository.DianInvoiceRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class DianBatchServiceImpl implements DianBatchService {
+
+    private static final int MAX_PAGE_SIZE = 500;
+
+    private final DianInvoiceRepository repository;
+    private final DianBatchRepository batchRepository;
+    private final DianInvoiceMapper mapper;
+    private final DianBatchDispatcher batchDispatcher;
+    private final DianRetryPolicy retryPolicy;
+
+    @Override
+    public DianBatchResponse enviarLote(DianBatchRequest request) {
+        log.info("Recibido lote de {} facturas", request.getInvoices().size());
+
+        // Repetidas dentro del propio lote: se conserva la primera aparición
+        Map<UUID, DianInvoiceRequest> unique = new LinkedHashMap<>();
+        List<UUID> duplicates = new ArrayList<>();
+        for (DianInvoiceRequest item : request.getInvoices()) {
+            if (unique.putIfAbsent(item.getInvoiceId(), item) != null) {
+                duplicates.add(item.getInvoiceId());
+            }
+        }
+
+        // Ya registradas: una sola consulta IN para todo el lote
+        for (UUID existing : repository.findExistingInvoiceIds(unique.keySet())) {
+            unique.remove(existing);
+            duplicates.add(existing);
+        }
+
+        // Reservar capacidad antes de guardar: si el lote no cabe entero se responde 503
+        if (!unique.isEmpty()) {
+            batchDispatcher.dispatchAfterCommit(new ArrayList<>(unique.keySet()));
+        }
+
+        DianBatch batch = batchRepository.save(DianBatch.builder()
+                .received(request.getInvoices().size())
+                .queued(unique.size())
+                .duplicates(duplicates.size())
+                .build());
+
+        // Inserciones agrupadas en sentencias JDBC por lotes (hibernate.jdbc.batch_size)
+        LocalDateTime leaseUntil = retryPolicy.leaseUntil(LocalDateTime.now());
+        List<DianInvoice> invoices = new ArrayList<>(unique.size());
+        for (DianInvoiceRequest item : unique.values()) {
+            DianInvoice invoice = mapper.toEntity(item);
+            invoice.setBatchId(batch.getId());
+            invoice.setNextAttemptAt(leaseUntil);
+            invoices.add(invoice);
+        }
+        repository.saveAll(invoices);
+
+        log.info("Lote {} registrado: {} facturas encoladas, {} duplicadas", batch.getId(), unique.size(), duplicates.size());
+
+        return mapper.toBatchResponse(batch, Map.of(DianStatus.PENDING, (long) unique.size()), duplicates);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public DianBatchResponse consultarLote(UUID batchId) {
+        log.info("Consultando lote: {}", batchId);
+
+        DianBatch batch = findBatch(batchId);
+
+        Map<DianStatus, Long> counts = new EnumMap<>(DianStatus.class);
+        for (Object[] row : repository.countByStatusInBatch(batchId)) {
+            counts.put((DianStatus) row[0], (Long) row[1]);
+        }
+
+        return mapper.toBatchResponse(batch, counts, null);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<DianResponse> consultarFacturasLote(UUID batchId, DianStatus status, int page, int size) {
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page must be >= 0 and size between 1 and " + MAX_PAGE_SIZE);
+        }
+        findBatch(batchId);
+
+        PageRequest pageable = PageRequest.of(page, size, Sort.by("invoiceId"));
+        Page<DianInvoice> invoices = status == null
+                ? repository.findByBatchId(batchId, pageable)
+                : repository.findByBatchIdAndStatus(batchId, status, pageable);
+
+        return invoices.map(mapper::toResponse).getContent();
+    }
+
+    private DianBatch findBatch(UUID batchId) {
+        return batchRepository.findById(batchId)
+                .orElseThrow(() -> new IllegalArgumentException("Batch not found with ID: " + batchId));
+    }
+}
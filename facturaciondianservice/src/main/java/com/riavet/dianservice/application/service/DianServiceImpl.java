@@ -3,14 +3,16 @@ package com.riavet.dianservice.application.service;
 import com.riavet.dianservice.application.dto.DianInvoiceRequest;
 import com.riavet.dianservice.application.dto.DianResponse;
 import com.riavet.dianservice.application.mapper.DianInvoiceMapper;
+import com.riavet.dianservice.application.submission.DianRetryPolicy;
+import com.riavet.dianservice.application.submission.DianSubmissionQueue;
 import com.riavet.dianservice.domain.model.DianInvoice;
 import com.riavet.dianservice.domain.repository.DianInvoiceRepository;
-import com.riavet.dianservice.infrastructure.adapter.output.DianClientAdapter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Service
@@ -21,7 +23,8 @@ public class DianServiceImpl implements DianService {
 
     private final DianInvoiceRepository repository;
     private final DianInvoiceMapper mapper;
-    private final DianClientAdapter dianClientAdapter;
+    private final DianSubmissionQueue submissionQueue;
+    private final DianRetryPolicy retryPolicy;
 
     @Override
     public DianResponse enviarFactura(DianInvoiceRequest request) {
@@ -32,30 +35,15 @@ public class DianServiceImpl implements DianService {
             throw new IllegalArgumentException("Invoice with ID " + request.getInvoiceId() + " already exists");
         }
 
-        // Crear entidad inicial
+        // Reservar hueco en la cola de envíos: si está llena se responde 503 sin guardar nada.
+        // El envío lo hace un worker tras el commit, sin retener esta transacción ni su conexión
+        submissionQueue.enqueueAfterCommit(request.getInvoiceId());
+
+        // Crear entidad inicial; si el envío encolado se pierde, el planificador la recoge al vencer el plazo
         DianInvoice invoice = mapper.toEntity(request);
+        invoice.setNextAttemptAt(retryPolicy.leaseUntil(LocalDateTime.now()));
         invoice = repository.save(invoice);
 
-        // Simular envío a DIAN
-        try {
-            var dianResponse = dianClientAdapter.enviarFactura(request);
-            
-            // Actualizar estado basado en respuesta simulada
-            invoice.setStatus(dianResponse.isSuccess() ? DianInvoice.DianStatus.ACCEPTED : DianInvoice.DianStatus.REJECTED);
-            invoice.setDianCode(dianResponse.getDianCode());
-            invoice.setMessage(dianResponse.getMessage());
-            
-            invoice = repository.save(invoice);
-            
-            log.info("Factura procesada exitosamente: {}", invoice.getInvoiceId());
-            
-        } catch (Exception e) {
-            log.error("Error enviando factura a DIAN: {}", e.getMessage());
-            invoice.setStatus(DianInvoice.DianStatus.REJECTED);
-            invoice.setMessage("Error interno: " + e.getMessage());
-            invoice = repository.save(invoice);
-        }
-
         return mapper.toResponse(invoice);
     }
 
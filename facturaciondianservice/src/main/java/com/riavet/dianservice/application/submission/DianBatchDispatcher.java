@@ -0,0 +1,59 @@
+package com.riavet.dianservice.application.submission;
+
+import com.riavet.dianservice.infrastructure.exception.DianQueueFullException;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Reparte los envíos de los lotes entre {@code parallelism} hilos propios, separados de la cola de
+ * envíos individuales para que un cierre de mes no la acapare.
+ *
+ * Admite como mucho {@code maxPending} facturas de lote sin terminar; un lote que no cabe entero
+ * se rechaza con {@link DianQueueFullException} antes de guardar nada.
+ */
+@Component
+@RequiredArgsConstructor
+public class DianBatchDispatcher {
+
+    private final DianSubmissionProcessor processor;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${dian.batch.parallelism:16}")
+    private int parallelism;
+
+    @Value("${dian.batch.max-pending:20000}")
+    private int maxPending;
+
+    @Value("${dian.submission.shutdown-timeout:PT30S}")
+    private Duration shutdownTimeout;
+
+    private SubmissionPool pool;
+
+    @PostConstruct
+    void start() {
+        pool = new SubmissionPool("dian.batch", parallelism, maxPending, processor, meterRegistry);
+    }
+
+    /**
+     * Reserva un hueco por factura y las envía cuando confirme la transacción actual.
+     */
+    public void dispatchAfterCommit(List<UUID> invoiceIds) {
+        if (!pool.enqueueAfterCommit(invoiceIds)) {
+            throw new DianQueueFullException("DIAN batch queue cannot take " + invoiceIds.size()
+                    + " more invoices, retry later");
+        }
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        pool.shutdown(shutdownTimeout);
+    }
+}
@@ -0,0 +1,17 @@
+package com.riavet.dianservice.application.submission;
+
+import com.riavet.dianservice.application.dto.DianClientResponse;
+import com.riavet.dianservice.application.dto.DianInvoiceRequest;
+
+/**
+ * Puerto de salida hacia la DIAN. La implementación se elige con {@code dian.client.mode}: la
+ * simulada en el propio proceso o la HTTP contra la DIAN (o su simulador local).
+ *
+ * Una factura rechazada es una respuesta ({@code success = false}); si no hay respuesta se lanza
+ * {@link com.riavet.dianservice.infrastructure.exception.DianTransportException} y, si la DIAN pide
+ * bajar el ritmo, {@link com.riavet.dianservice.infrastructure.exception.DianThrottledException}.
+ */
+public interface DianClient {
+
+    DianClientResponse enviarFactura(DianInvoiceRequest request);
+}
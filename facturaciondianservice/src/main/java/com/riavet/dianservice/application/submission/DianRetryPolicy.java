@@ -0,0 +1,64 @@
+package com.riavet.dianservice.application.submission;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Límite de intentos, espera entre reintentos y plazo de los envíos en curso.
+ *
+ * La espera crece exponencialmente desde {@code initialBackoff} hasta {@code maxBackoff} y se
+ * elige al azar entre la mitad y el total de ese valor, para que las facturas que fallaron a la
+ * vez no se reintenten a la vez.
+ */
+@Component
+public class DianRetryPolicy {
+
+    @Getter
+    @Value("${dian.retry.max-attempts:6}")
+    private int maxAttempts;
+
+    @Value("${dian.retry.initial-backoff:PT10S}")
+    private Duration initialBackoff;
+
+    @Value("${dian.retry.max-backoff:PT10M}")
+    private Duration maxBackoff;
+
+    @Value("${dian.retry.lease:PT5M}")
+    private Duration lease;
+
+    public boolean canRetry(int attempts) {
+        return attempts < maxAttempts;
+    }
+
+    /**
+     * Momento del siguiente intento tras fallar el intento número {@code attempts} (desde 1).
+     */
+    public LocalDateTime nextAttemptAt(int attempts, LocalDateTime now) {
+        long ceiling = initialBackoff.toMillis() << Math.min(attempts - 1, 30);
+        long backoff = Math.min(ceiling <= 0 ? Long.MAX_VALUE : ceiling, maxBackoff.toMillis());
+        long jittered = backoff / 2 + ThreadLocalRandom.current().nextLong(backoff / 2 + 1);
+        return now.plus(Duration.ofMillis(jittered));
+    }
+
+    /**
+     * Momento del siguiente intento de un envío aplazado sin llegar a hacerse, entre
+     * {@code retryAfter} y el doble, para repartir las facturas aplazadas a la vez.
+     */
+    public LocalDateTime deferredUntil(Duration retryAfter, LocalDateTime now) {
+        long delay = Math.max(retryAfter.toMillis(), 1);
+        return now.plus(Duration.ofMillis(delay + ThreadLocalRandom.current().nextLong(delay + 1)));
+    }
+
+    /**
+     * Fin del plazo de un envío que empieza ahora: si para entonces la factura no tiene resultado
+     * (la instancia se cayó o el envío se perdió), el planificador puede volver a tomarla.
+     */
+    public LocalDateTime leaseUntil(LocalDateTime now) {
+        return now.plus(lease);
+    }
+}
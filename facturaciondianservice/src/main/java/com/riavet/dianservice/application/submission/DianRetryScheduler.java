@@ -0,0 +1,142 @@
+package com.riavet.dianservice.application.submission;
+
+import com.riavet.dianservice.domain.model.DianInvoice;
+import com.riavet.dianservice.domain.model.DianInvoice.DianStatus;
+import com.riavet.dianservice.domain.repository.DianInvoiceRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reintenta los envíos vencidos: facturas en RETRY_SCHEDULED cuyo next_attempt_at ya pasó, y
+ * facturas PENDING o SENT cuyo plazo venció sin resultado (la instancia que las tenía se cayó).
+ *
+ * Cada ronda lee hasta {@code batchSize} filas vencidas sin bloquearlas y reclama cada una con un
+ * UPDATE condicionado al estado e intentos leídos: la pasa a SENT con un intento más y un nuevo
+ * plazo, o a FAILED si ya no le quedan intentos. Varias instancias pueden ejecutarlo a la vez, con
+ * H2 o con PostgreSQL: si dos leen la misma fila, solo el UPDATE de una la cambia y la otra la
+ * descarta. Los envíos se hacen con {@code parallelism} hilos y la ronda espera a que terminen
+ * antes de reclamar más.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DianRetryScheduler {
+
+    private static final List<DianStatus> RECLAIMABLE = List.of(
+            DianStatus.PENDING, DianStatus.SENT, DianStatus.RETRY_SCHEDULED);
+
+    private final DianInvoiceRepository repository;
+    private final DianSubmissionProcessor processor;
+    private final DianRetryPolicy retryPolicy;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${dian.retry.batch-size:50}")
+    private int batchSize;
+
+    @Value("${dian.retry.parallelism:8}")
+    private int parallelism;
+
+    private ExecutorService executor;
+    private Counter claimedCounter;
+
+    @PostConstruct
+    void start() {
+        executor = Executors.newFixedThreadPool(parallelism, new CustomizableThreadFactory("dian-retry-"));
+        claimedCounter = Counter.builder("dian.retry.claimed")
+                .description("Facturas reclamadas por el planificador de reintentos")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${dian.retry.poll-interval:PT5S}")
+    public void retryDue() {
+        try {
+            // Mientras salgan rondas completas se sigue sin esperar al siguiente ciclo
+            int retried;
+            do {
+                retried = retryBatch();
+            } while (retried == batchSize);
+        } catch (RuntimeException e) {
+            log.error("Error reintentando envíos a la DIAN: {}", e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Reclama y envía una ronda de facturas vencidas. Devuelve el número de facturas reclamadas.
+     */
+    public int retryBatch() throws InterruptedException {
+        List<DianInvoice> claimed = new ArrayList<>();
+        List<DianInvoice> exhausted = new ArrayList<>();
+        claim(claimed, exhausted);
+
+        exhausted.forEach(invoice -> processor.publishProcessed(invoice.getInvoiceId(), DianStatus.FAILED));
+        if (claimed.isEmpty()) {
+            return exhausted.size();
+        }
+        claimedCounter.increment(claimed.size());
+        log.info("Reintentando {} envíos a la DIAN", claimed.size());
+
+        List<Callable<Void>> tasks = new ArrayList<>(claimed.size());
+        for (DianInvoice invoice : claimed) {
+            tasks.add(() -> {
+                processor.send(invoice);
+                return null;
+            });
+        }
+        executor.invokeAll(tasks);
+        return claimed.size() + exhausted.size();
+    }
+
+    private void claim(List<DianInvoice> claimed, List<DianInvoice> exhausted) {
+        LocalDateTime now = LocalDateTime.now();
+        List<DianInvoice> due = repository.findDueForRetry(RECLAIMABLE, now, PageRequest.of(0, batchSize));
+        for (DianInvoice invoice : due) {
+            int attempts = invoice.getAttempts();
+            if (!retryPolicy.canRetry(attempts)) {
+                // Un envío que agotó su plazo en el último intento
+                String message = "Sin respuesta de la DIAN tras " + attempts + " intentos";
+                if (repository.expire(invoice.getInvoiceId(), invoice.getStatus(), attempts,
+                        DianStatus.FAILED, message, now) == 1) {
+                    exhausted.add(invoice);
+                }
+                continue;
+            }
+            LocalDateTime leaseUntil = retryPolicy.leaseUntil(now);
+            if (repository.reclaim(invoice.getInvoiceId(), invoice.getStatus(), attempts,
+                    DianStatus.SENT, leaseUntil, now) == 1) {
+                // send compara con el intento reclamado al guardar el resultado
+                invoice.setStatus(DianStatus.SENT);
+                invoice.setAttempts(attempts + 1);
+                invoice.setNextAttemptAt(leaseUntil);
+                claimed.add(invoice);
+            }
+            // Con 0 filas otra instancia se la llevó primero
+        }
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.riavet.dianservice.application.submission;
+
+import com.riavet.dianservice.application.dto.DianInvoiceRequest;
+import com.riavet.dianservice.domain.event.DianInvoiceProcessedEvent;
+import com.riavet.dianservice.domain.model.DianInvoice;
+import com.riavet.dianservice.domain.model.DianInvoice.DianStatus;
+import com.riavet.dianservice.domain.repository.DianInvoiceRepository;
+import com.riavet.dianservice.infrastructure.adapter.output.DianClientGuard;
+import com.riavet.dianservice.infrastructure.exception.DianCallRejectedException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Envía a la DIAN una factura y registra el resultado del intento.
+ *
+ * Se ejecuta fuera de cualquier transacción: cada cambio de estado es un UPDATE corto y ninguna
+ * conexión queda retenida mientras se espera a la DIAN. Los cambios son condicionales (estado y
+ * número de intento), así que si otra instancia reclamó la factura entretanto este resultado se
+ * descarta en lugar de pisar el suyo.
+ *
+ * Un fallo de comunicación no es un rechazo: la factura pasa a RETRY_SCHEDULED con su siguiente
+ * intento en next_attempt_at, o a FAILED si ya no quedan intentos. Si el circuit breaker o el límite
+ * de concurrencia aplazan la llamada, la factura vuelve a RETRY_SCHEDULED sin gastar el intento.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DianSubmissionProcessor {
+
+    // Longitud de la columna message
+    private static final int MAX_MESSAGE_LENGTH = 255;
+
+    private final DianInvoiceRepository repository;
+    private final DianClientGuard dianClientGuard;
+    private final DianRetryPolicy retryPolicy;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Primer envío de una factura PENDING. No hace nada si otro envío ya la tomó.
+     */
+    public void process(UUID invoiceId) {
+        LocalDateTime now = LocalDateTime.now();
+        if (repository.claim(invoiceId, DianStatus.PENDING, DianStatus.SENT, retryPolicy.leaseUntil(now), now) == 0) {
+            log.debug("Factura {} ya no está pendiente de envío, se omite", invoiceId);
+            return;
+        }
+        repository.findByInvoiceId(invoiceId).ifPresent(this::send);
+    }
+
+    /**
+     * Envía una factura ya reclamada (estado SENT) y guarda el resultado de ese intento.
+     */
+    public void send(DianInvoice invoice) {
+        UUID invoiceId = invoice.getInvoiceId();
+        int attempt = invoice.getAttempts();
+        DianStatus status;
+        String dianCode = null;
+        String message;
+        LocalDateTime nextAttemptAt = null;
+
+        try {
+            var dianResponse = dianClientGuard.enviarFactura(DianInvoiceRequest.builder()
+                    .invoiceId(invoiceId)
+                    .xmlPayload(invoice.getXmlPayload())
+                    .build());
+
+            status = dianResponse.isSuccess() ? DianStatus.ACCEPTED : DianStatus.REJECTED;
+            dianCode = dianResponse.getDianCode();
+            message = dianResponse.getMessage();
+
+            log.info("Factura procesada exitosamente: {}", invoiceId);
+        } catch (Exception e) {
+            if (e instanceof DianCallRejectedException rejected && rejected.isDeferred()) {
+                defer(invoiceId, attempt, rejected);
+                return;
+            }
+            if (retryPolicy.canRetry(attempt)) {
+                status = DianStatus.RETRY_SCHEDULED;
+                nextAttemptAt = retryPolicy.nextAttemptAt(attempt, LocalDateTime.now());
+                message = "Error de comunicación con la DIAN (intento " + attempt + " de "
+                        + retryPolicy.getMaxAttempts() + "): " + e.getMessage();
+                log.warn("Error enviando factura {} a DIAN, reintento programado para {}: {}",
+                        invoiceId, nextAttemptAt, e.getMessage());
+            } else {
+                status = DianStatus.FAILED;
+                message = "Error de comunicación con la DIAN tras " + attempt + " intentos: " + e.getMessage();
+                log.error("Error enviando factura {} a DIAN, sin más intentos: {}", invoiceId, e.getMessage());
+            }
+        }
+
+        if (message != null && message.length() > MAX_MESSAGE_LENGTH) {
+            message = message.substring(0, MAX_MESSAGE_LENGTH);
+        }
+        int updated = repository.completeAttempt(invoiceId, attempt, DianStatus.SENT, status, dianCode, message,
+                nextAttemptAt, LocalDateTime.now());
+        if (updated == 0) {
+            log.warn("Resultado del intento {} de la factura {} descartado: otro envío la reclamó", attempt, invoiceId);
+            return;
+        }
+        if (status.isFinal()) {
+            publishProcessed(invoiceId, status);
+        }
+    }
+
+    private void defer(UUID invoiceId, int attempt, DianCallRejectedException e) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime nextAttemptAt = retryPolicy.deferredUntil(e.getRetryAfter(), now);
+        int updated = repository.deferAttempt(invoiceId, attempt, DianStatus.SENT, DianStatus.RETRY_SCHEDULED,
+                "Envío a la DIAN aplazado: " + e.getMessage(), nextAttemptAt, now);
+        if (updated == 0) {
+            log.warn("Aplazamiento del intento {} de la factura {} descartado: otro envío la reclamó", attempt, invoiceId);
+            return;
+        }
+        log.debug("Envío de factura {} aplazado hasta {}: {}", invoiceId, nextAttemptAt, e.getMessage());
+    }
+
+    void publishProcessed(UUID invoiceId, DianStatus status) {
+        eventPublisher.publishEvent(DianInvoiceProcessedEvent.builder()
+                .invoiceId(invoiceId)
+                .status(status)
+                .build());
+    }
+}
@@ -0,0 +1,60 @@
+package com.riavet.dianservice.application.submission;
+
+import com.riavet.dianservice.infrastructure.exception.DianQueueFullException;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Cola acotada de envíos individuales a la DIAN.
+ *
+ * Cada factura reserva un hueco antes de guardarse y, tras el commit, pasa a uno de los
+ * {@code workers} hilos que la envían con {@link DianSubmissionProcessor}. Hay
+ * {@code workers + queueCapacity} huecos; con todos ocupados las facturas nuevas se rechazan
+ * con {@link DianQueueFullException} en lugar de acumularse en memoria.
+ */
+@Component
+@RequiredArgsConstructor
+public class DianSubmissionQueue {
+
+    private final DianSubmissionProcessor processor;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${dian.submission.workers:8}")
+    private int workers;
+
+    @Value("${dian.submission.queue-capacity:500}")
+    private int queueCapacity;
+
+    @Value("${dian.submission.shutdown-timeout:PT30S}")
+    private Duration shutdownTimeout;
+
+    private SubmissionPool pool;
+
+    @PostConstruct
+    void start() {
+        pool = new SubmissionPool("dian.submission", workers, workers + queueCapacity, processor, meterRegistry);
+    }
+
+    /**
+     * Reserva un hueco para la factura y la encola cuando confirme la transacción actual; si la
+     * transacción se deshace el hueco se libera. Sin transacción activa la encola de inmediato.
+     */
+    public void enqueueAfterCommit(UUID invoiceId) {
+        if (!pool.enqueueAfterCommit(List.of(invoiceId))) {
+            throw new DianQueueFullException("DIAN submission queue is full, retry later");
+        }
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        pool.shutdown(shutdownTimeout);
+    }
+}
@@ -0,0 +1,100 @@
+package com.riavet.dianservice.application.submission;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pool de {@code threads} hilos que envía facturas con {@link DianSubmissionProcessor}, con
+ * {@code capacity} huecos para facturas sin terminar (en curso o en cola).
+ *
+ * Las facturas reservan su hueco antes de guardarse y se encolan tras el commit; si la
+ * transacción se deshace los huecos se liberan.
+ */
+@Slf4j
+class SubmissionPool {
+
+    private final String name;
+    private final DianSubmissionProcessor processor;
+    private final Semaphore slots;
+    private final ThreadPoolExecutor executor;
+
+    SubmissionPool(String name, int threads, int capacity, DianSubmissionProcessor processor,
+                   MeterRegistry meterRegistry) {
+        this.name = name;
+        this.processor = processor;
+        this.slots = new Semaphore(capacity);
+        // Los huecos ya limitan el trabajo pendiente, así que la cola nunca pasa de capacity
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), new CustomizableThreadFactory(name.replace('.', '-') + "-"));
+        new ExecutorServiceMetrics(executor, name, Tags.empty()).bindTo(meterRegistry);
+        meterRegistry.gauge(name + ".slots.available", slots, Semaphore::availablePermits);
+    }
+
+    /**
+     * Reserva un hueco por factura y las encola cuando confirme la transacción actual (de
+     * inmediato si no hay transacción). Devuelve false sin reservar nada si no caben todas.
+     */
+    boolean enqueueAfterCommit(List<UUID> invoiceIds) {
+        int count = invoiceIds.size();
+        if (!slots.tryAcquire(count)) {
+            return false;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invoiceIds.forEach(this::dispatch);
+            return true;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    invoiceIds.forEach(SubmissionPool.this::dispatch);
+                } else {
+                    slots.release(count);
+                }
+            }
+        });
+        return true;
+    }
+
+    private void dispatch(UUID invoiceId) {
+        try {
+            executor.execute(() -> {
+                try {
+                    processor.process(invoiceId);
+                } catch (RuntimeException e) {
+                    log.error("Error procesando el envío de la factura {}: {}", invoiceId, e.getMessage(), e);
+                } finally {
+                    slots.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Pool apagado: la factura ya está guardada con su plazo y el planificador la retomará al vencer
+            slots.release();
+            log.warn("Envío de la factura {} no encolado, {} está apagado: se reintentará al vencer el plazo",
+                    invoiceId, name);
+        }
+    }
+
+    void shutdown(Duration timeout) throws InterruptedException {
+        // Deja terminar los envíos en curso y los encolados dentro del plazo
+        executor.shutdown();
+        if (!executor.awaitTermination(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+            log.warn("Envíos a la DIAN sin terminar al apagar {}: {} en cola", name, executor.getQueue().size());
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.riavet.dianservice.domain.event;
+
+import com.riavet.dianservice.domain.model.DianInvoice.DianStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Evento publicado cuando una factura recibe su resultado de la DIAN.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DianInvoiceProcessedEvent {
+
+    private UUID invoiceId;
+    private DianStatus status;
+}
@@ -0,0 +1,43 @@
+package com.riavet.dianservice.domain.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Lote de facturas recibido en un único POST. Las facturas del lote apuntan a él con
+ * {@code batch_id}; el progreso se calcula contando sus estados.
+ */
+@Entity
+@Table(name = "dian_batches")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DianBatch {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    // Facturas recibidas en el POST, incluidas las duplicadas
+    @Column(name = "received", nullable = false)
+    private int received;
+
+    // Facturas guardadas y encoladas para envío
+    @Column(name = "queued", nullable = false)
+    private int queued;
+
+    @Column(name = "duplicates", nullable = false)
+    private int duplicates;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
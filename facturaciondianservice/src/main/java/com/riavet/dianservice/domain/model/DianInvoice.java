@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -12,7 +13,10 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "dian_invoices")
+@Table(name = "dian_invoices", indexes = {
+        @Index(name = "idx_dian_invoices_batch_status", columnList = "batch_id, status"),
+        @Index(name = "idx_dian_invoices_next_attempt", columnList = "next_attempt_at")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -39,6 +43,21 @@ public class DianInvoice {
     @Column(name = "message")
     private String message;
 
+    // Lote en el que llegó la factura; null si se envió sola
+    @Column(name = "batch_id")
+    private UUID batchId;
+
+    // Envíos a la DIAN empezados, incluido el que esté en curso
+    @Builder.Default
+    @ColumnDefault("0")
+    @Column(name = "attempts", nullable = false)
+    private int attempts = 0;
+
+    // Momento a partir del cual el planificador de reintentos puede tomar la factura: el reintento
+    // programado o, si está PENDING o SENT, el fin del plazo del envío en curso. Null en estados finales
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -50,7 +69,16 @@ public class DianInvoice {
     public enum DianStatus {
         PENDING,
         SENT,
+        // Falló la comunicación con la DIAN (no es un rechazo); se reintenta en next_attempt_at
+        RETRY_SCHEDULED,
         ACCEPTED,
-        REJECTED
+        REJECTED,
+        // Se agotaron los intentos sin poder comunicarse con la DIAN
+        FAILED;
+
+        // ACCEPTED y REJECTED son la respuesta definitiva de la DIAN; FAILED, el fin de los reintentos
+        public boolean isFinal() {
+            return this == ACCEPTED || this == REJECTED || this == FAILED;
+        }
     }
 }
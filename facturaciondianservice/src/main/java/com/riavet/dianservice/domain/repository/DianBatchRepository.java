@@ -0,0 +1,11 @@
+package com.riavet.dianservice.domain.repository;
+
+import com.riavet.dianservice.domain.model.DianBatch;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface DianBatchRepository extends JpaRepository<DianBatch, UUID> {
+}
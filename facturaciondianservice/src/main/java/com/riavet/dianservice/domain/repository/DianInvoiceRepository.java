@@ -1,9 +1,19 @@
 package com.riavet.dianservice.domain.repository;
 
 import com.riavet.dianservice.domain.model.DianInvoice;
+import com.riavet.dianservice.domain.model.DianInvoice.DianStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -13,4 +23,70 @@ public interface DianInvoiceRepository extends JpaRepository<DianInvoice, UUID>
     Optional<DianInvoice> findByInvoiceId(UUID invoiceId);
     
     boolean existsByInvoiceId(UUID invoiceId);
+
+    @Query("SELECT d.invoiceId FROM DianInvoice d WHERE d.invoiceId IN :invoiceIds")
+    List<UUID> findExistingInvoiceIds(@Param("invoiceIds") Collection<UUID> invoiceIds);
+
+    @Query("SELECT d.status, COUNT(d) FROM DianInvoice d WHERE d.batchId = :batchId GROUP BY d.status")
+    List<Object[]> countByStatusInBatch(@Param("batchId") UUID batchId);
+
+    Page<DianInvoice> findByBatchId(UUID batchId, Pageable pageable);
+
+    Page<DianInvoice> findByBatchIdAndStatus(UUID batchId, DianStatus status, Pageable pageable);
+
+    // Solo lectura: cada candidata se reclama después con reclaim o expire, que deciden quién se la lleva
+    @Query("SELECT d FROM DianInvoice d WHERE d.status IN :statuses AND d.nextAttemptAt <= :now ORDER BY d.nextAttemptAt")
+    List<DianInvoice> findDueForRetry(@Param("statuses") Collection<DianStatus> statuses,
+                                      @Param("now") LocalDateTime now, Pageable pageable);
+
+    // Toma la factura para un envío solo si sigue en el estado esperado
+    @Transactional
+    @Modifying
+    @Query("UPDATE DianInvoice d SET d.status = :sent, d.attempts = d.attempts + 1, d.nextAttemptAt = :leaseUntil, "
+            + "d.updatedAt = :now WHERE d.invoiceId = :invoiceId AND d.status = :expected")
+    int claim(@Param("invoiceId") UUID invoiceId, @Param("expected") DianStatus expected,
+              @Param("sent") DianStatus sent, @Param("leaseUntil") LocalDateTime leaseUntil,
+              @Param("now") LocalDateTime now);
+
+    // Reclama una factura vencida solo si sigue tal como se leyó (mismo estado e intentos, plazo vencido)
+    @Transactional
+    @Modifying
+    @Query("UPDATE DianInvoice d SET d.status = :sent, d.attempts = d.attempts + 1, d.nextAttemptAt = :leaseUntil, "
+            + "d.updatedAt = :now WHERE d.invoiceId = :invoiceId AND d.status = :expected "
+            + "AND d.attempts = :attempts AND d.nextAttemptAt <= :now")
+    int reclaim(@Param("invoiceId") UUID invoiceId, @Param("expected") DianStatus expected,
+                @Param("attempts") int attempts, @Param("sent") DianStatus sent,
+                @Param("leaseUntil") LocalDateTime leaseUntil, @Param("now") LocalDateTime now);
+
+    // Da por fallida una factura vencida sin intentos restantes, con la misma condición que reclaim
+    @Transactional
+    @Modifying
+    @Query("UPDATE DianInvoice d SET d.status = :failed, d.message = :message, d.nextAttemptAt = NULL, "
+            + "d.updatedAt = :now WHERE d.invoiceId = :invoiceId AND d.status = :expected "
+            + "AND d.attempts = :attempts AND d.nextAttemptAt <= :now")
+    int expire(@Param("invoiceId") UUID invoiceId, @Param("expected") DianStatus expected,
+               @Param("attempts") int attempts, @Param("failed") DianStatus failed,
+               @Param("message") String message, @Param("now") LocalDateTime now);
+
+    // Guarda el resultado de un intento solo si nadie ha reclamado la factura después (mismo attempts)
+    @Transactional
+    @Modifying
+    @Query("UPDATE DianInvoice d SET d.status = :status, d.dianCode = :dianCode, d.message = :message, "
+            + "d.nextAttemptAt = :nextAttemptAt, d.updatedAt = :now "
+            + "WHERE d.invoiceId = :invoiceId AND d.status = :sent AND d.attempts = :attempt")
+    int completeAttempt(@Param("invoiceId") UUID invoiceId, @Param("attempt") int attempt,
+                        @Param("sent") DianStatus sent, @Param("status") DianStatus status,
+                        @Param("dianCode") String dianCode, @Param("message") String message,
+                        @Param("nextAttemptAt") LocalDateTime nextAttemptAt, @Param("now") LocalDateTime now);
+
+    // Aplaza un envío que no llegó a hacerse: devuelve el intento consumido al reclamarla
+    @Transactional
+    @Modifying
+    @Query("UPDATE DianInvoice d SET d.status = :status, d.attempts = d.attempts - 1, d.message = :message, "
+            + "d.nextAttemptAt = :nextAttemptAt, d.updatedAt = :now "
+            + "WHERE d.invoiceId = :invoiceId AND d.status = :sent AND d.attempts = :attempt")
+    int deferAttempt(@Param("invoiceId") UUID invoiceId, @Param("attempt") int attempt,
+                     @Param("sent") DianStatus sent, @Param("status") DianStatus status,
+                     @Param("message") String message, @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+                     @Param("now") LocalDateTime now);
 }
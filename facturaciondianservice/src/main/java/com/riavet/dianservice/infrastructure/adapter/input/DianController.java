@@ -1,8 +1,12 @@
 package com.riavet.dianservice.infrastructure.adapter.input;
 
+import com.riavet.dianservice.application.dto.DianBatchRequest;
+import com.riavet.dianservice.application.dto.DianBatchResponse;
 import com.riavet.dianservice.application.dto.DianInvoiceRequest;
 import com.riavet.dianservice.application.dto.DianResponse;
+import com.riavet.dianservice.application.service.DianBatchService;
 import com.riavet.dianservice.application.service.DianService;
+import com.riavet.dianservice.domain.model.DianInvoice.DianStatus;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
@@ -10,9 +14,14 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.net.URI;
+import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -23,21 +32,80 @@ import java.util.UUID;
 public class DianController {
 
     private final DianService dianService;
+    private final DianBatchService dianBatchService;
+    private final DianStatusSubscriptions statusSubscriptions;
 
     @PostMapping("/invoices")
-    @Operation(summary = "Enviar factura a la DIAN", description = "Envía una factura electrónica a la DIAN para su validación")
+    @Operation(summary = "Enviar factura a la DIAN",
+            description = "Registra la factura como PENDING y la envía a la DIAN en segundo plano. "
+                    + "El resultado se consulta en /status/{invoiceId} o se recibe suscribiéndose a /status/{invoiceId}/stream")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Factura enviada exitosamente"),
-            @ApiResponse(responseCode = "400", description = "Datos de entrada inválidos"),
-            @ApiResponse(responseCode = "409", description = "La factura ya existe"),
+            @ApiResponse(responseCode = "202", description = "Factura aceptada para envío"),
+            @ApiResponse(responseCode = "400", description = "Datos de entrada inválidos o factura duplicada"),
+            @ApiResponse(responseCode = "503", description = "Cola de envíos llena, reintentar más tarde"),
             @ApiResponse(responseCode = "500", description = "Error interno del servidor")
     })
     public ResponseEntity<DianResponse> enviarFactura(@Valid @RequestBody DianInvoiceRequest request) {
         log.info("Recibida solicitud para enviar factura: {}", request.getInvoiceId());
         
         DianResponse response = dianService.enviarFactura(request);
+        URI location = ServletUriComponentsBuilder.fromCurrentContextPath()
+                .path("/api/v1/dian/status/{invoiceId}")
+                .buildAndExpand(response.getInvoiceId())
+                .toUri();
         
-        return ResponseEntity.ok(response);
+        return ResponseEntity.accepted().location(location).body(response);
+    }
+
+    @PostMapping("/invoices/batch")
+    @Operation(summary = "Enviar un lote de facturas a la DIAN",
+            description = "Registra como PENDING las facturas no duplicadas y las envía a la DIAN en segundo plano. "
+                    + "El progreso se consulta en /batches/{batchId}")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Lote aceptado para envío"),
+            @ApiResponse(responseCode = "400", description = "Datos de entrada inválidos"),
+            @ApiResponse(responseCode = "503", description = "No hay capacidad para el lote, reintentar más tarde"),
+            @ApiResponse(responseCode = "500", description = "Error interno del servidor")
+    })
+    public ResponseEntity<DianBatchResponse> enviarLote(@Valid @RequestBody DianBatchRequest request) {
+        log.info("Recibida solicitud para enviar lote de {} facturas", request.getInvoices().size());
+
+        DianBatchResponse response = dianBatchService.enviarLote(request);
+        URI location = ServletUriComponentsBuilder.fromCurrentContextPath()
+                .path("/api/v1/dian/batches/{batchId}")
+                .buildAndExpand(response.getBatchId())
+                .toUri();
+
+        return ResponseEntity.accepted().location(location).body(response);
+    }
+
+    @GetMapping("/batches/{batchId}")
+    @Operation(summary = "Consultar progreso de un lote", description = "Cuenta las facturas del lote por estado")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Progreso consultado exitosamente"),
+            @ApiResponse(responseCode = "404", description = "Lote no encontrado")
+    })
+    public ResponseEntity<DianBatchResponse> consultarLote(@PathVariable UUID batchId) {
+        log.info("Consultando lote: {}", batchId);
+
+        return ResponseEntity.ok(dianBatchService.consultarLote(batchId));
+    }
+
+    @GetMapping("/batches/{batchId}/invoices")
+    @Operation(summary = "Consultar facturas de un lote", description = "Estado de cada factura del lote, paginado y filtrable por estado")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Facturas consultadas exitosamente"),
+            @ApiResponse(responseCode = "400", description = "Paginación inválida"),
+            @ApiResponse(responseCode = "404", description = "Lote no encontrado")
+    })
+    public ResponseEntity<List<DianResponse>> consultarFacturasLote(
+            @PathVariable UUID batchId,
+            @RequestParam(required = false) DianStatus status,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "100") int size) {
+        log.info("Consultando facturas del lote: {}", batchId);
+
+        return ResponseEntity.ok(dianBatchService.consultarFacturasLote(batchId, status, page, size));
     }
 
     @GetMapping("/status/{invoiceId}")
@@ -54,4 +122,17 @@ public class DianController {
         
         return ResponseEntity.ok(response);
     }
+
+    @GetMapping(value = "/status/{invoiceId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Suscribirse al resultado de una factura",
+            description = "Envía un único evento 'status' (Server-Sent Events) cuando la DIAN responde y cierra la conexión")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Suscripción abierta"),
+            @ApiResponse(responseCode = "404", description = "Factura no encontrada")
+    })
+    public SseEmitter suscribirEstado(@PathVariable UUID invoiceId) {
+        log.info("Suscripción al estado de factura: {}", invoiceId);
+
+        return statusSubscriptions.subscribe(invoiceId);
+    }
 }
@@ -0,0 +1,97 @@
+package com.riavet.dianservice.infrastructure.adapter.input;
+
+import com.riavet.dianservice.application.dto.DianResponse;
+import com.riavet.dianservice.application.service.DianService;
+import com.riavet.dianservice.domain.event.DianInvoiceProcessedEvent;
+import com.riavet.dianservice.domain.model.DianInvoice;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Suscripciones SSE al resultado de una factura: cada suscriptor recibe un único evento
+ * {@code status} con la respuesta definitiva de la DIAN y la conexión se cierra.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DianStatusSubscriptions {
+
+    private final DianService dianService;
+
+    @Value("${dian.submission.subscription-timeout:PT2M}")
+    private Duration timeout;
+
+    private final Map<UUID, List<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+
+    public SseEmitter subscribe(UUID invoiceId) {
+        DianResponse current = dianService.consultarEstado(invoiceId);
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        if (isFinal(current)) {
+            send(emitter, current);
+            return emitter;
+        }
+
+        List<SseEmitter> emitters = subscribers.compute(invoiceId, (id, existing) -> {
+            List<SseEmitter> list = existing != null ? existing : new CopyOnWriteArrayList<>();
+            list.add(emitter);
+            return list;
+        });
+        emitter.onCompletion(() -> unsubscribe(invoiceId, emitter));
+        emitter.onTimeout(() -> unsubscribe(invoiceId, emitter));
+
+        // La factura pudo terminar entre la primera consulta y el registro
+        DianResponse latest = dianService.consultarEstado(invoiceId);
+        if (isFinal(latest) && emitters.remove(emitter)) {
+            send(emitter, latest);
+        }
+        return emitter;
+    }
+
+    @EventListener
+    public void onInvoiceProcessed(DianInvoiceProcessedEvent event) {
+        List<SseEmitter> emitters = subscribers.remove(event.getInvoiceId());
+        if (emitters == null) {
+            return;
+        }
+        DianResponse response = dianService.consultarEstado(event.getInvoiceId());
+        for (SseEmitter emitter : emitters) {
+            // remove decide quién envía si la comprobación de subscribe llega a la vez
+            if (emitters.remove(emitter)) {
+                send(emitter, response);
+            }
+        }
+    }
+
+    private void unsubscribe(UUID invoiceId, SseEmitter emitter) {
+        subscribers.computeIfPresent(invoiceId, (id, list) -> {
+            list.remove(emitter);
+            return list.isEmpty() ? null : list;
+        });
+    }
+
+    private void send(SseEmitter emitter, DianResponse response) {
+        try {
+            emitter.send(SseEmitter.event().name("status").data(response));
+            emitter.complete();
+        } catch (IOException e) {
+            log.debug("Suscriptor desconectado de la factura {}: {}", response.getInvoiceId(), e.getMessage());
+            emitter.completeWithError(e);
+        }
+    }
+
+    private static boolean isFinal(DianResponse response) {
+        return DianInvoice.DianStatus.valueOf(response.getStatus()).isFinal();
+    }
+}
@@ -1,22 +1,34 @@
 package com.riavet.dianservice.infrastructure.adapter.output;
 
+import com.riavet.dianservice.application.dto.DianClientResponse;
 import com.riavet.dianservice.application.dto.DianInvoiceRequest;
-import lombok.AllArgsConstructor;
-import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
+import com.riavet.dianservice.application.submission.DianClient;
+import com.riavet.dianservice.infrastructure.exception.DianTransportException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
 import java.util.Random;
 import java.util.UUID;
 
+/**
+ * Implementación simulada de la DIAN dentro del propio proceso: espera 500-1500 ms y responde al
+ * azar. Es la que se usa por defecto ({@code dian.client.mode=simulated}); para probar el camino
+ * HTTP real está {@link HttpDianClientAdapter} con el simulador local.
+ */
 @Component
+@ConditionalOnProperty(name = "dian.client.mode", havingValue = "simulated", matchIfMissing = true)
 @Slf4j
-public class DianClientAdapter {
+public class DianClientAdapter implements DianClient {
 
     private final Random random = new Random();
 
+    // Fracción de envíos que simulan un timeout de comunicación en lugar de una respuesta (perfil simulated-failures)
+    @Value("${dian.client.simulated-transport-error-rate:0}")
+    private double transportErrorRate;
+
+    @Override
     public DianClientResponse enviarFactura(DianInvoiceRequest request) {
         log.info("Simulando envío a DIAN para factura: {}", request.getInvoiceId());
 
@@ -27,6 +39,12 @@ public class DianClientAdapter {
             Thread.currentThread().interrupt();
         }
 
+        // Simular fallo de comunicación: no hay respuesta de la DIAN y el envío se puede reintentar
+        if (random.nextDouble() < transportErrorRate) {
+            log.warn("Simulando timeout de comunicación con la DIAN para factura: {}", request.getInvoiceId());
+            throw new DianTransportException("Simulated DIAN connection timeout");
+        }
+
         // Generar respuesta aleatoria (90% exitosa)
         boolean isSuccess = random.nextDouble() < 0.9;
         String dianCode = generateDianCode();
@@ -57,14 +75,4 @@ public class DianClientAdapter {
         };
         return errors[random.nextInt(errors.length)];
     }
-
-    @Data
-    @Builder
-    @NoArgsConstructor
-    @AllArgsConstructor
-    public static class DianClientResponse {
-        private boolean success;
-        private String dianCode;
-        private String message;
-    }
 }
@@ -0,0 +1,207 @@
+package com.riavet.dianservice.infrastructure.adapter.output;
+
+import com.riavet.dianservice.application.dto.DianClientResponse;
+import com.riavet.dianservice.application.dto.DianInvoiceRequest;
+import com.riavet.dianservice.application.submission.DianClient;
+import com.riavet.dianservice.infrastructure.exception.DianCallRejectedException;
+import com.riavet.dianservice.infrastructure.exception.DianThrottledException;
+import com.riavet.dianservice.infrastructure.resilience.AimdConcurrencyLimiter;
+import com.riavet.dianservice.infrastructure.resilience.DianCircuitBreaker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Protege las llamadas a la DIAN con un circuit breaker y un límite de concurrencia adaptativo.
+ *
+ * Una respuesta de la DIAN, aceptada o rechazada, es un éxito para ambos; un fallo de comunicación
+ * es un fallo. Un 429 de la DIAN no abre el circuito pero reduce el límite, y se trata como un
+ * rechazo local que se reintenta pasado su Retry-After. Si la llamada no se permite se lanza
+ * {@link DianCallRejectedException}:
+ * <ul>
+ *   <li>FAIL_FAST: se rechaza enseguida y el envío cuenta como un fallo de comunicación más.</li>
+ *   <li>QUEUE: se espera hasta {@code queue-timeout} a que haya hueco bajo el límite; si no lo hay, o
+ *       si el circuito está abierto, el envío se aplaza sin gastar un intento.</li>
+ * </ul>
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DianClientGuard {
+
+    public enum RejectionMode {
+        FAIL_FAST,
+        QUEUE
+    }
+
+    private static final String METRIC_NAME = "dian.client.requests";
+
+    private final DianClient dianClient;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${dian.client.on-rejection:QUEUE}")
+    private RejectionMode rejectionMode;
+
+    @Value("${dian.client.queue-timeout:PT2S}")
+    private Duration queueTimeout;
+
+    @Value("${dian.client.circuit-breaker.window-size:50}")
+    private int windowSize;
+
+    @Value("${dian.client.circuit-breaker.minimum-calls:20}")
+    private int minimumCalls;
+
+    @Value("${dian.client.circuit-breaker.failure-rate-threshold:50}")
+    private double failureRateThreshold;
+
+    @Value("${dian.client.circuit-breaker.slow-call-duration:PT2S}")
+    private Duration slowCallDuration;
+
+    @Value("${dian.client.circuit-breaker.slow-call-rate-threshold:80}")
+    private double slowCallRateThreshold;
+
+    @Value("${dian.client.circuit-breaker.open-duration:PT30S}")
+    private Duration openDuration;
+
+    @Value("${dian.client.circuit-breaker.half-open-calls:5}")
+    private int halfOpenCalls;
+
+    @Value("${dian.client.limiter.initial-limit:20}")
+    private int initialLimit;
+
+    @Value("${dian.client.limiter.min-limit:2}")
+    private int minLimit;
+
+    @Value("${dian.client.limiter.max-limit:64}")
+    private int maxLimit;
+
+    @Value("${dian.client.limiter.latency-threshold:PT2S}")
+    private Duration latencyThreshold;
+
+    @Value("${dian.client.limiter.backoff-ratio:0.5}")
+    private double backoffRatio;
+
+    private DianCircuitBreaker circuitBreaker;
+    private AimdConcurrencyLimiter limiter;
+    private Counter circuitOpenRejections;
+    private Counter limitRejections;
+    private Counter throttledRejections;
+
+    @PostConstruct
+    void init() {
+        circuitBreaker = new DianCircuitBreaker(windowSize, minimumCalls, failureRateThreshold,
+                slowCallDuration, slowCallRateThreshold, openDuration, halfOpenCalls);
+        limiter = new AimdConcurrencyLimiter(initialLimit, minLimit, maxLimit, latencyThreshold, backoffRatio);
+
+        for (DianCircuitBreaker.State state : DianCircuitBreaker.State.values()) {
+            Gauge.builder("dian.client.circuit.state", circuitBreaker, breaker -> breaker.getState() == state ? 1 : 0)
+                    .description("Estado del circuit breaker de la DIAN (1 en el estado actual)")
+                    .tag("state", state.name().toLowerCase())
+                    .register(meterRegistry);
+        }
+        Gauge.builder("dian.client.circuit.failure.rate", circuitBreaker, DianCircuitBreaker::getFailureRate)
+                .description("Porcentaje de fallos en la ventana del circuit breaker")
+                .register(meterRegistry);
+        Gauge.builder("dian.client.circuit.slow.call.rate", circuitBreaker, DianCircuitBreaker::getSlowCallRate)
+                .description("Porcentaje de llamadas lentas en la ventana del circuit breaker")
+                .register(meterRegistry);
+        Gauge.builder("dian.client.concurrency.limit", limiter, AimdConcurrencyLimiter::getLimit)
+                .description("Llamadas simultáneas a la DIAN permitidas")
+                .register(meterRegistry);
+        Gauge.builder("dian.client.concurrency.inflight", limiter, AimdConcurrencyLimiter::getInFlight)
+                .description("Llamadas a la DIAN en curso")
+                .register(meterRegistry);
+        circuitOpenRejections = rejectedCounter("circuit_open");
+        limitRejections = rejectedCounter("concurrency_limit");
+        throttledRejections = rejectedCounter("throttled");
+    }
+
+    public DianClientResponse enviarFactura(DianInvoiceRequest request) {
+        if (!circuitBreaker.tryAcquire(System.nanoTime())) {
+            circuitOpenRejections.increment();
+            Duration retryAfter = circuitBreaker.remainingOpen(System.nanoTime());
+            throw new DianCallRejectedException("DIAN circuit breaker is open", retryAfter,
+                    rejectionMode == RejectionMode.QUEUE);
+        }
+        if (!acquireLimit()) {
+            circuitBreaker.release();
+            limitRejections.increment();
+            throw new DianCallRejectedException("DIAN concurrency limit reached (" + limiter.getLimit() + ")",
+                    queueTimeout, rejectionMode == RejectionMode.QUEUE);
+        }
+
+        // Latencia de cada llamada etiquetada por resultado (accepted, rejected, throttled o error); los
+        // buckets del histograma se configuran en management.metrics.distribution
+        long start = System.nanoTime();
+        String outcome = "error";
+        try {
+            DianClientResponse response = dianClient.enviarFactura(request);
+            outcome = response.isSuccess() ? "accepted" : "rejected";
+            return response;
+        } catch (DianThrottledException e) {
+            outcome = "throttled";
+            throttledRejections.increment();
+            throw new DianCallRejectedException(e.getMessage(), e.getRetryAfter(), rejectionMode == RejectionMode.QUEUE);
+        } finally {
+            long now = System.nanoTime();
+            record(outcome, start, now);
+            Timer.builder(METRIC_NAME)
+                    .description("Latencia de los envíos de facturas a la DIAN")
+                    .tag("outcome", outcome)
+                    .register(meterRegistry)
+                    .record(now - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public DianCircuitBreaker.State getCircuitState() {
+        return circuitBreaker.getState();
+    }
+
+    public int getConcurrencyLimit() {
+        return limiter.getLimit();
+    }
+
+    private void record(String outcome, long start, long now) {
+        DianCircuitBreaker.State before = circuitBreaker.getState();
+        if (outcome.equals("throttled")) {
+            circuitBreaker.onResult(false, now - start, now);
+            limiter.releaseThrottled(start, now);
+        } else {
+            boolean failed = outcome.equals("error");
+            circuitBreaker.onResult(failed, now - start, now);
+            limiter.release(failed, start, now);
+        }
+        DianCircuitBreaker.State after = circuitBreaker.getState();
+        if (before != after) {
+            log.warn("Circuit breaker de la DIAN: {} -> {}", before, after);
+        }
+    }
+
+    private boolean acquireLimit() {
+        if (rejectionMode == RejectionMode.FAIL_FAST) {
+            return limiter.tryAcquire();
+        }
+        try {
+            return limiter.tryAcquire(queueTimeout);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private Counter rejectedCounter(String reason) {
+        return Counter.builder("dian.client.rejected")
+                .description("Llamadas a la DIAN no realizadas por el circuit breaker, el límite de concurrencia o un 429")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
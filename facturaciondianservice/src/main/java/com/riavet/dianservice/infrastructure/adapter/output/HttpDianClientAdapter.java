@@ -0,0 +1,139 @@
+package com.riavet.dianservice.infrastructure.adapter.output;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.riavet.dianservice.application.dto.DianClientResponse;
+import com.riavet.dianservice.application.dto.DianInvoiceRequest;
+import com.riavet.dianservice.application.submission.DianClient;
+import com.riavet.dianservice.infrastructure.exception.DianThrottledException;
+import com.riavet.dianservice.infrastructure.exception.DianTransportException;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Cliente HTTP de la DIAN ({@code dian.client.mode=http}): envía la factura en JSON a
+ * {@code dian.client.http.base-url} + {@value #INVOICES_PATH}, el contrato que sirve el simulador
+ * local (diansimulator).
+ *
+ * {@code timeout} limita la llamada completa, cuerpo incluido: una respuesta que llega a goteo se
+ * corta igual que una que no llega, y la petición se cancela para liberar la conexión. Un 429 se
+ * convierte en {@link DianThrottledException} con su Retry-After; un 5xx, un 4xx inesperado o un
+ * error de red, en {@link DianTransportException}.
+ */
+@Component
+@ConditionalOnProperty(name = "dian.client.mode", havingValue = "http")
+@RequiredArgsConstructor
+@Slf4j
+public class HttpDianClientAdapter implements DianClient {
+
+    static final String INVOICES_PATH = "/dian/v1/invoices";
+
+    private static final Duration DEFAULT_RETRY_AFTER = Duration.ofSeconds(1);
+
+    private final ObjectMapper objectMapper;
+
+    @Value("${dian.client.http.base-url:http://localhost:8090}")
+    private String baseUrl;
+
+    @Value("${dian.client.http.connect-timeout:PT2S}")
+    private Duration connectTimeout;
+
+    @Value("${dian.client.http.timeout:PT10S}")
+    private Duration timeout;
+
+    private HttpClient httpClient;
+    private URI invoicesUri;
+
+    @PostConstruct
+    void init() {
+        // HTTP/1.1 con conexiones persistentes: el cliente reutiliza las que quedan libres
+        httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(connectTimeout)
+                .build();
+        invoicesUri = URI.create(baseUrl + INVOICES_PATH);
+        log.info("Cliente HTTP de la DIAN apuntando a {}", invoicesUri);
+    }
+
+    @Override
+    public DianClientResponse enviarFactura(DianInvoiceRequest request) {
+        HttpRequest httpRequest = HttpRequest.newBuilder(invoicesUri)
+                .timeout(timeout)
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(toJson(request)))
+                .build();
+
+        HttpResponse<String> response = send(httpRequest, request);
+        int status = response.statusCode();
+        if (status == 200) {
+            return fromJson(response.body(), request);
+        }
+        if (status == 429) {
+            throw new DianThrottledException("DIAN throttled the request (HTTP 429)", retryAfter(response));
+        }
+        throw new DianTransportException("Unexpected DIAN response: HTTP " + status);
+    }
+
+    private HttpResponse<String> send(HttpRequest httpRequest, DianInvoiceRequest request) {
+        CompletableFuture<HttpResponse<String>> future =
+                httpClient.sendAsync(httpRequest, HttpResponse.BodyHandlers.ofString());
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new DianTransportException("DIAN did not answer within " + timeout, e);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new DianTransportException("Interrupted while waiting for DIAN", e);
+        } catch (ExecutionException e) {
+            log.debug("Error de red enviando factura {} a DIAN", request.getInvoiceId(), e.getCause());
+            throw new DianTransportException("DIAN connection error: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    private String toJson(DianInvoiceRequest request) {
+        try {
+            return objectMapper.writeValueAsString(request);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize invoice " + request.getInvoiceId(), e);
+        }
+    }
+
+    private DianClientResponse fromJson(String body, DianInvoiceRequest request) {
+        try {
+            return objectMapper.readValue(body, DianClientResponse.class);
+        } catch (IOException e) {
+            // Respuesta cortada o mal formada: no sabemos qué decidió la DIAN, se reintenta
+            throw new DianTransportException("Unreadable DIAN response for invoice " + request.getInvoiceId(), e);
+        }
+    }
+
+    private static Duration retryAfter(HttpResponse<?> response) {
+        return response.headers().firstValue("Retry-After")
+                .map(value -> {
+                    try {
+                        return Duration.ofSeconds(Long.parseLong(value.trim()));
+                    } catch (NumberFormatException e) {
+                        return DEFAULT_RETRY_AFTER;
+                    }
+                })
+                .orElse(DEFAULT_RETRY_AFTER);
+    }
+}
@@ -1,7 +1,10 @@
 package com.riavet.dianservice.infrastructure.configuration;
 
 import com.riavet.dianservice.application.dto.ErrorResponse;
+import com.riavet.dianservice.infrastructure.exception.DianQueueFullException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -37,6 +40,41 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, status);
     }
 
+    @ExceptionHandler(DianQueueFullException.class)
+    public ResponseEntity<ErrorResponse> handleDianQueueFullException(
+            DianQueueFullException ex, WebRequest request) {
+
+        log.warn("Cola de envíos a la DIAN llena: {}", ex.getMessage());
+
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .code("SUBMISSION_QUEUE_FULL")
+                .message(ex.getMessage())
+                .details(request.getDescription(false))
+                .timestamp(LocalDateTime.now().toString())
+                .build();
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .body(errorResponse);
+    }
+
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ErrorResponse> handleDataIntegrityViolationException(
+            DataIntegrityViolationException ex, WebRequest request) {
+
+        // Otra petición registró el mismo invoiceId entre la comprobación y el insert
+        log.warn("Factura duplicada al guardar: {}", ex.getMostSpecificCause().getMessage());
+
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .code("DUPLICATE_INVOICE")
+                .message("Invoice already exists")
+                .details(request.getDescription(false))
+                .timestamp(LocalDateTime.now().toString())
+                .build();
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponse> handleValidationExceptions(
             MethodArgumentNotValidException ex) {
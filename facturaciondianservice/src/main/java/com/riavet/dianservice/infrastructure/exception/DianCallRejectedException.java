@@ -0,0 +1,24 @@
+package com.riavet.dianservice.infrastructure.exception;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Excepción lanzada cuando el circuit breaker o el límite de concurrencia impiden llamar a la DIAN.
+ *
+ * Con {@code deferred} el envío se aplaza {@code retryAfter} sin gastar un intento; sin él, cuenta
+ * como un fallo de comunicación más.
+ */
+@Getter
+public class DianCallRejectedException extends DianTransportException {
+
+    private final Duration retryAfter;
+    private final boolean deferred;
+
+    public DianCallRejectedException(String message, Duration retryAfter, boolean deferred) {
+        super(message);
+        this.retryAfter = retryAfter;
+        this.deferred = deferred;
+    }
+}
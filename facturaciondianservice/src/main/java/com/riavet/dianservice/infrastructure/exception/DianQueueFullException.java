@@ -0,0 +1,11 @@
+package com.riavet.dianservice.infrastructure.exception;
+
+/**
+ * Excepción lanzada cuando la cola de envíos a la DIAN no admite más facturas.
+ */
+public class DianQueueFullException extends RuntimeException {
+
+    public DianQueueFullException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,20 @@
+package com.riavet.dianservice.infrastructure.exception;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Excepción lanzada cuando la DIAN responde 429: no procesó la factura y pide reintentar pasado
+ * {@code retryAfter}.
+ */
+@Getter
+public class DianThrottledException extends DianTransportException {
+
+    private final Duration retryAfter;
+
+    public DianThrottledException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+}
@@ -0,0 +1,16 @@
+package com.riavet.dianservice.infrastructure.exception;
+
+/**
+ * Excepción lanzada cuando no se obtiene respuesta de la DIAN (timeout, conexión caída). No es un
+ * rechazo de la factura: el envío se puede reintentar.
+ */
+public class DianTransportException extends RuntimeException {
+
+    public DianTransportException(String message) {
+        super(message);
+    }
+
+    public DianTransportException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
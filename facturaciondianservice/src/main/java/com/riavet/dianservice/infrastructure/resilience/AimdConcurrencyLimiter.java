@@ -0,0 +1,107 @@
+package com.riavet.dianservice.infrastructure.resilience;
+
+import java.time.Duration;
+
+/**
+ * Límite de llamadas simultáneas que se adapta a la latencia del servicio (AIMD).
+ *
+ * Cada llamada que termina bien y a tiempo (como mucho {@code latencyThreshold}) sube el límite en
+ * {@code 1 / limit}, es decir, una unidad por cada ronda completa de llamadas; una llamada lenta lo
+ * multiplica por {@code backoffRatio}. La reducción se aplica una vez por ronda: las llamadas que
+ * empezaron antes de la última reducción ya no la repiten, para que una tanda de respuestas lentas
+ * no hunda el límite de golpe. Los fallos rápidos no lo tocan (de ellos se ocupa el circuit
+ * breaker), porque un error aislado no indica saturación.
+ *
+ * El límite solo sube si se estaba usando al menos a la mitad, para no crecer sin carga, y se
+ * mantiene entre {@code minLimit} y {@code maxLimit}.
+ */
+public class AimdConcurrencyLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+
+    private double limit;
+    private int inFlight;
+    private long lastDecreaseAt = Long.MIN_VALUE;
+
+    public AimdConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, Duration latencyThreshold,
+                                  double backoffRatio) {
+        if (minLimit < 1 || minLimit > initialLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Limits must satisfy 1 <= minLimit <= initialLimit <= maxLimit");
+        }
+        if (backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("backoffRatio must be between 0 and 1");
+        }
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThresholdNanos = latencyThreshold.toNanos();
+        this.backoffRatio = backoffRatio;
+    }
+
+    public synchronized boolean tryAcquire() {
+        if (inFlight >= (int) limit) {
+            return false;
+        }
+        inFlight++;
+        return true;
+    }
+
+    /**
+     * Espera hasta {@code timeout} a que haya hueco bajo el límite.
+     */
+    public synchronized boolean tryAcquire(Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (inFlight >= (int) limit) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return false;
+            }
+            wait(Math.max(1, remaining / 1_000_000));
+        }
+        inFlight++;
+        return true;
+    }
+
+    /**
+     * Libera el hueco de una llamada terminada y ajusta el límite con su resultado. Los instantes son
+     * nanosegundos de {@link System#nanoTime()}.
+     */
+    public synchronized void release(boolean failed, long startNanos, long endNanos) {
+        boolean saturated = inFlight * 2 >= limit;
+        inFlight--;
+        if (endNanos - startNanos > latencyThresholdNanos) {
+            decrease(startNanos, endNanos);
+        } else if (!failed && saturated) {
+            limit = Math.min(maxLimit, limit + 1.0 / limit);
+        }
+        notifyAll();
+    }
+
+    /**
+     * Libera el hueco de una llamada que el servicio rechazó por exceso de carga (429): reduce el
+     * límite aunque haya respondido a tiempo.
+     */
+    public synchronized void releaseThrottled(long startNanos, long endNanos) {
+        inFlight--;
+        decrease(startNanos, endNanos);
+        notifyAll();
+    }
+
+    private void decrease(long startNanos, long endNanos) {
+        if (startNanos >= lastDecreaseAt) {
+            limit = Math.max(minLimit, limit * backoffRatio);
+            lastDecreaseAt = endNanos;
+        }
+    }
+
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+}
@@ -0,0 +1,181 @@
+package com.riavet.dianservice.infrastructure.resilience;
+
+import java.time.Duration;
+
+/**
+ * Circuit breaker con ventana deslizante de las últimas {@code windowSize} llamadas.
+ *
+ * <ul>
+ *   <li>CLOSED: deja pasar todo y, con al menos {@code minimumCalls} resultados en la ventana, se
+ *       abre si el porcentaje de fallos o el de llamadas lentas (más de {@code slowCallDuration})
+ *       alcanza su umbral.</li>
+ *   <li>OPEN: rechaza todas las llamadas durante {@code openDuration}.</li>
+ *   <li>HALF_OPEN: deja pasar {@code halfOpenCalls} llamadas de prueba y, con sus resultados, vuelve
+ *       a abrirse o se cierra con la ventana vacía.</li>
+ * </ul>
+ *
+ * Los instantes y duraciones son nanosegundos de {@link System#nanoTime()} que pasa quien llama,
+ * para poder probarlo con un reloj simulado.
+ */
+public class DianCircuitBreaker {
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private static final byte FAILED = 1;
+    private static final byte SLOW = 2;
+
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long slowCallDurationNanos;
+    private final double slowCallRateThreshold;
+    private final long openDurationNanos;
+    private final int halfOpenCalls;
+
+    // Buffer circular con el resultado de cada llamada (combinación de FAILED y SLOW)
+    private final byte[] outcomes;
+    private int size;
+    private int next;
+    private int failures;
+    private int slowCalls;
+
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int halfOpenPermits;
+
+    public DianCircuitBreaker(int windowSize, int minimumCalls, double failureRateThreshold,
+                              Duration slowCallDuration, double slowCallRateThreshold,
+                              Duration openDuration, int halfOpenCalls) {
+        if (minimumCalls < 1 || minimumCalls > windowSize || halfOpenCalls < 1 || halfOpenCalls > windowSize) {
+            throw new IllegalArgumentException("minimumCalls and halfOpenCalls must be between 1 and windowSize");
+        }
+        this.outcomes = new byte[windowSize];
+        this.minimumCalls = minimumCalls;
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallDurationNanos = slowCallDuration.toNanos();
+        this.slowCallRateThreshold = slowCallRateThreshold;
+        this.openDurationNanos = openDuration.toNanos();
+        this.halfOpenCalls = halfOpenCalls;
+    }
+
+    /**
+     * Pide permiso para una llamada. Pasado {@code openDuration} desde que se abrió, el primer
+     * permiso pasa el circuito a HALF_OPEN.
+     */
+    public synchronized boolean tryAcquire(long now) {
+        if (state == State.OPEN) {
+            if (now - openedAt < openDurationNanos) {
+                return false;
+            }
+            state = State.HALF_OPEN;
+            halfOpenPermits = 0;
+            clearWindow();
+        }
+        if (state == State.HALF_OPEN) {
+            if (halfOpenPermits >= halfOpenCalls) {
+                return false;
+            }
+            halfOpenPermits++;
+        }
+        return true;
+    }
+
+    /**
+     * Devuelve un permiso que no llegó a usarse (la llamada no se hizo).
+     */
+    public synchronized void release() {
+        if (state == State.HALF_OPEN && halfOpenPermits > 0) {
+            halfOpenPermits--;
+        }
+    }
+
+    public synchronized void onResult(boolean failed, long durationNanos, long now) {
+        if (state == State.OPEN) {
+            // Llamada que empezó antes de abrirse el circuito
+            return;
+        }
+        record((byte) ((failed ? FAILED : 0) | (durationNanos > slowCallDurationNanos ? SLOW : 0)));
+
+        if (state == State.HALF_OPEN) {
+            if (size >= halfOpenCalls) {
+                if (thresholdReached()) {
+                    open(now);
+                } else {
+                    state = State.CLOSED;
+                    clearWindow();
+                }
+            }
+        } else if (size >= minimumCalls && thresholdReached()) {
+            open(now);
+        }
+    }
+
+    /**
+     * Tiempo que falta para admitir llamadas de prueba; cero si el circuito no está abierto.
+     */
+    public synchronized Duration remainingOpen(long now) {
+        if (state != State.OPEN) {
+            return Duration.ZERO;
+        }
+        return Duration.ofNanos(Math.max(0, openDurationNanos - (now - openedAt)));
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    // Porcentaje de fallos en la ventana actual
+    public synchronized double getFailureRate() {
+        return size == 0 ? 0 : failures * 100.0 / size;
+    }
+
+    // Porcentaje de llamadas lentas en la ventana actual
+    public synchronized double getSlowCallRate() {
+        return size == 0 ? 0 : slowCalls * 100.0 / size;
+    }
+
+    private boolean thresholdReached() {
+        return getFailureRate() >= failureRateThreshold || getSlowCallRate() >= slowCallRateThreshold;
+    }
+
+    private void record(byte outcome) {
+        if (size == outcomes.length) {
+            forget(outcomes[next]);
+        } else {
+            size++;
+        }
+        outcomes[next] = outcome;
+        if ((outcome & FAILED) != 0) {
+            failures++;
+        }
+        if ((outcome & SLOW) != 0) {
+            slowCalls++;
+        }
+        next = (next + 1) % outcomes.length;
+    }
+
+    private void forget(byte outcome) {
+        if ((outcome & FAILED) != 0) {
+            failures--;
+        }
+        if ((outcome & SLOW) != 0) {
+            slowCalls--;
+        }
+    }
+
+    private void open(long now) {
+        state = State.OPEN;
+        openedAt = now;
+        clearWindow();
+    }
+
+    private void clearWindow() {
+        size = 0;
+        next = 0;
+        failures = 0;
+        slowCalls = 0;
+    }
+}
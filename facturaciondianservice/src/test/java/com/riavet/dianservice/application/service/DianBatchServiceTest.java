@@ -0,0 +1,233 @@
+package com.riavet.dianservice.application.service;
+
+import com.riavet.dianservice.application.dto.DianBatchRequest;
+import com.riavet.dianservice.application.dto.DianBatchResponse;
+import com.riavet.dianservice.application.dto.DianClientResponse;
+import com.riavet.dianservice.application.dto.DianInvoiceRequest;
+import com.riavet.dianservice.application.dto.DianResponse;
+import com.riavet.dianservice.application.submission.DianClient;
+import com.riavet.dianservice.domain.model.DianInvoice;
+import com.riavet.dianservice.domain.model.DianInvoice.DianStatus;
+import com.riavet.dianservice.domain.repository.DianBatchRepository;
+import com.riavet.dianservice.domain.repository.DianInvoiceRepository;
+import com.riavet.dianservice.infrastructure.exception.DianQueueFullException;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for batch submissions: duplicates resolved with a single IN query, all-or-nothing admission
+ * under dian.batch.max-pending, and the per-status progress counters of a batch.
+ */
+@SpringBootTest(properties = {
+        // Base propia: otros contextos de prueba siguen vivos y cada uno borra su esquema al cerrarse
+        "spring.datasource.url=jdbc:h2:mem:dian-batch-test",
+        "dian.batch.parallelism=2",
+        "dian.batch.max-pending=5"
+})
+class DianBatchServiceTest {
+
+    private static final int MAX_PENDING = 5;
+    private static final String REJECTED_PAYLOAD = "<Invoice><Total>-1</Total></Invoice>";
+
+    @MockBean
+    private DianClient dianClient;
+
+    @SpyBean
+    private DianInvoiceRepository repository;
+
+    @Autowired
+    private DianBatchRepository batchRepository;
+
+    @Autowired
+    private DianBatchService dianBatchService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        // La DIAN no responde hasta que la prueba lo permite y rechaza las facturas con total negativo
+        when(dianClient.enviarFactura(any())).thenAnswer(invocation -> {
+            release.await(10, TimeUnit.SECONDS);
+            DianInvoiceRequest request = invocation.getArgument(0);
+            boolean accepted = !REJECTED_PAYLOAD.equals(request.getXmlPayload());
+            return DianClientResponse.builder()
+                    .success(accepted)
+                    .dianCode(accepted ? "00" : "99")
+                    .message(accepted ? "Factura aceptada" : "Total inválido")
+                    .build();
+        });
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        release.countDown();
+        awaitSlots(MAX_PENDING);
+        repository.deleteAll();
+        batchRepository.deleteAll();
+    }
+
+    @Test
+    void enviarLote_ShouldSkipRepeatedAndAlreadyRegisteredInvoicesWithOneQuery() {
+        UUID registered = UUID.randomUUID();
+        repository.save(DianInvoice.builder()
+                .invoiceId(registered)
+                .xmlPayload("<Invoice/>")
+                .status(DianStatus.ACCEPTED)
+                .build());
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+
+        DianBatchResponse response = dianBatchService.enviarLote(batch(
+                invoice(first), invoice(second), invoice(first), invoice(registered)));
+
+        assertThat(response.getReceived()).isEqualTo(4);
+        assertThat(response.getQueued()).isEqualTo(2);
+        assertThat(response.getDuplicates()).isEqualTo(2);
+        assertThat(response.getDuplicateInvoiceIds()).containsExactly(first, registered);
+        assertThat(response.getPending()).isEqualTo(2);
+
+        // Una consulta IN para todo el lote en vez de una por factura
+        verify(repository, times(1)).findExistingInvoiceIds(any());
+        verify(repository, never()).existsByInvoiceId(any());
+
+        // Se guarda una sola fila por invoiceId, la de la primera aparición, y la ya registrada no cambia
+        assertThat(repository.findByInvoiceId(first)).get()
+                .extracting(DianInvoice::getBatchId).isEqualTo(response.getBatchId());
+        assertThat(repository.findByInvoiceId(registered)).get()
+                .extracting(DianInvoice::getBatchId, DianInvoice::getStatus)
+                .containsExactly(null, DianStatus.ACCEPTED);
+    }
+
+    @Test
+    void enviarLote_WhenOnlyDuplicates_ShouldNotReserveCapacity() {
+        UUID invoiceId = UUID.randomUUID();
+        repository.save(DianInvoice.builder()
+                .invoiceId(invoiceId)
+                .xmlPayload("<Invoice/>")
+                .status(DianStatus.REJECTED)
+                .build());
+
+        DianBatchResponse response = dianBatchService.enviarLote(batch(invoice(invoiceId), invoice(invoiceId)));
+
+        assertThat(response.getQueued()).isZero();
+        assertThat(response.getDuplicates()).isEqualTo(2);
+        assertThat(response.isCompleted()).isTrue();
+        assertThat(availableSlots()).isEqualTo(MAX_PENDING);
+    }
+
+    @Test
+    void enviarLote_WhenBatchDoesNotFit_ShouldRejectItWithoutSavingAnything() {
+        dianBatchService.enviarLote(batch(invoice(UUID.randomUUID()), invoice(UUID.randomUUID()),
+                invoice(UUID.randomUUID())));
+        long batches = batchRepository.count();
+        long invoices = repository.count();
+
+        // Quedan 2 huecos: un lote de 3 no cabe entero y no se admite ninguna de sus facturas
+        UUID rejected = UUID.randomUUID();
+        assertThatThrownBy(() -> dianBatchService.enviarLote(batch(invoice(rejected), invoice(UUID.randomUUID()),
+                invoice(UUID.randomUUID()))))
+                .isInstanceOf(DianQueueFullException.class);
+
+        assertThat(availableSlots()).isEqualTo(MAX_PENDING - 3);
+        assertThat(batchRepository.count()).isEqualTo(batches);
+        assertThat(repository.count()).isEqualTo(invoices);
+        assertThat(repository.existsByInvoiceId(rejected)).isFalse();
+
+        // Un lote que cabe en los huecos restantes se admite
+        DianBatchResponse fits = dianBatchService.enviarLote(batch(invoice(rejected), invoice(UUID.randomUUID())));
+        assertThat(fits.getQueued()).isEqualTo(2);
+        assertThat(availableSlots()).isZero();
+    }
+
+    @Test
+    void consultarLote_ShouldCountInvoicesByStatusUntilTheBatchCompletes() throws InterruptedException {
+        UUID rejected = UUID.randomUUID();
+        DianBatchResponse created = dianBatchService.enviarLote(batch(invoice(UUID.randomUUID()),
+                invoice(UUID.randomUUID()), DianInvoiceRequest.builder().invoiceId(rejected).xmlPayload(REJECTED_PAYLOAD).build()));
+        UUID batchId = created.getBatchId();
+
+        // Dos hilos de lote: dos facturas en curso (SENT) y la tercera esperando turno (PENDING)
+        verify(dianClient, timeout(5000).times(2)).enviarFactura(any());
+        DianBatchResponse inProgress = dianBatchService.consultarLote(batchId);
+        assertThat(inProgress.getSent()).isEqualTo(2);
+        assertThat(inProgress.getPending()).isEqualTo(1);
+        assertThat(inProgress.isCompleted()).isFalse();
+        assertThat(inProgress.getDuplicateInvoiceIds()).isNull();
+
+        release.countDown();
+        DianBatchResponse finished = awaitCompleted(batchId);
+
+        assertThat(finished.getReceived()).isEqualTo(3);
+        assertThat(finished.getQueued()).isEqualTo(3);
+        assertThat(finished.getAccepted()).isEqualTo(2);
+        assertThat(finished.getRejected()).isEqualTo(1);
+        assertThat(finished.getPending() + finished.getSent() + finished.getRetryScheduled() + finished.getFailed())
+                .isZero();
+
+        List<DianResponse> rejectedOnly = dianBatchService.consultarFacturasLote(batchId, DianStatus.REJECTED, 0, 10);
+        assertThat(rejectedOnly).extracting(DianResponse::getInvoiceId).containsExactly(rejected);
+        assertThat(dianBatchService.consultarFacturasLote(batchId, null, 0, 10)).hasSize(3);
+    }
+
+    @Test
+    void consultarLote_WhenBatchDoesNotExist_ShouldFail() {
+        assertThatThrownBy(() -> dianBatchService.consultarLote(UUID.randomUUID()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageStartingWith("Batch not found");
+    }
+
+    private static DianBatchRequest batch(DianInvoiceRequest... invoices) {
+        return DianBatchRequest.builder().invoices(Arrays.asList(invoices)).build();
+    }
+
+    private static DianInvoiceRequest invoice(UUID invoiceId) {
+        return DianInvoiceRequest.builder().invoiceId(invoiceId).xmlPayload("<Invoice/>").build();
+    }
+
+    private double availableSlots() {
+        return meterRegistry.get("dian.batch.slots.available").gauge().value();
+    }
+
+    private void awaitSlots(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (availableSlots() != expected && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(availableSlots()).isEqualTo(expected);
+    }
+
+    private DianBatchResponse awaitCompleted(UUID batchId) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        DianBatchResponse response = dianBatchService.consultarLote(batchId);
+        while (!response.isCompleted() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            response = dianBatchService.consultarLote(batchId);
+        }
+        assertThat(response.isCompleted()).isTrue();
+        return response;
+    }
+}
@@ -0,0 +1,93 @@
+package com.riavet.dianservice.application.submission;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for the retry policy: attempt limit, exponential backoff with jitter between half and the
+ * full ceiling, the max-backoff cap, deferrals between retry-after and twice that, and the lease.
+ */
+class DianRetryPolicyTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2031, 5, 6, 10, 0);
+    private static final int SAMPLES = 500;
+
+    private DianRetryPolicy policy;
+
+    @BeforeEach
+    void setUp() {
+        policy = new DianRetryPolicy();
+        ReflectionTestUtils.setField(policy, "maxAttempts", 6);
+        ReflectionTestUtils.setField(policy, "initialBackoff", Duration.ofSeconds(10));
+        ReflectionTestUtils.setField(policy, "maxBackoff", Duration.ofMinutes(10));
+        ReflectionTestUtils.setField(policy, "lease", Duration.ofMinutes(5));
+    }
+
+    @Test
+    void canRetry_ShouldAllowAttemptsBelowTheLimit() {
+        assertThat(policy.canRetry(1)).isTrue();
+        assertThat(policy.canRetry(5)).isTrue();
+        assertThat(policy.canRetry(6)).isFalse();
+        assertThat(policy.canRetry(7)).isFalse();
+    }
+
+    @Test
+    void nextAttemptAt_ShouldDoubleTheCeilingAndJitterBetweenHalfAndFull() {
+        // Techo por intento: 10 s, 20 s, 40 s, 80 s
+        for (int attempt = 1; attempt <= 4; attempt++) {
+            long ceiling = Duration.ofSeconds(10).toMillis() << (attempt - 1);
+            assertDelaysBetween(attempt, ceiling / 2, ceiling);
+        }
+    }
+
+    @Test
+    void nextAttemptAt_ShouldCapAtMaxBackoff() {
+        long max = Duration.ofMinutes(10).toMillis();
+
+        // 10 s << 6 = 640 s ya supera los 10 min; con muchos intentos el desplazamiento no desborda
+        assertDelaysBetween(7, max / 2, max);
+        assertDelaysBetween(64, max / 2, max);
+        assertDelaysBetween(Integer.MAX_VALUE, max / 2, max);
+    }
+
+    @Test
+    void nextAttemptAt_ShouldSpreadInvoicesThatFailedTogether() {
+        long distinct = IntStream.range(0, SAMPLES)
+                .mapToObj(i -> policy.nextAttemptAt(3, NOW))
+                .distinct()
+                .count();
+
+        assertThat(distinct).isGreaterThan(SAMPLES / 2);
+    }
+
+    @Test
+    void deferredUntil_ShouldWaitBetweenRetryAfterAndTwice() {
+        Duration retryAfter = Duration.ofSeconds(3);
+
+        for (int i = 0; i < SAMPLES; i++) {
+            long delay = Duration.between(NOW, policy.deferredUntil(retryAfter, NOW)).toMillis();
+            assertThat(delay).isBetween(retryAfter.toMillis(), 2 * retryAfter.toMillis());
+        }
+        // Un Retry-After nulo no deja el envío en el mismo instante
+        assertThat(policy.deferredUntil(Duration.ZERO, NOW)).isAfter(NOW);
+    }
+
+    @Test
+    void leaseUntil_ShouldAddTheLease() {
+        assertThat(policy.leaseUntil(NOW)).isEqualTo(NOW.plusMinutes(5));
+    }
+
+    private void assertDelaysBetween(int attempt, long minMillis, long maxMillis) {
+        for (int i = 0; i < SAMPLES; i++) {
+            long delay = Duration.between(NOW, policy.nextAttemptAt(attempt, NOW)).toMillis();
+            assertThat(delay).as("attempt %d", attempt).isBetween(minMillis, maxMillis);
+        }
+    }
+}
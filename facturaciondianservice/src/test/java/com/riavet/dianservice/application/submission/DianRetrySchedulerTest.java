@@ -0,0 +1,196 @@
+package com.riavet.dianservice.application.submission;
+
+import com.riavet.dianservice.application.dto.DianClientResponse;
+import com.riavet.dianservice.domain.event.DianInvoiceProcessedEvent;
+import com.riavet.dianservice.domain.model.DianInvoice;
+import com.riavet.dianservice.domain.model.DianInvoice.DianStatus;
+import com.riavet.dianservice.domain.repository.DianInvoiceRepository;
+import com.riavet.dianservice.infrastructure.exception.DianTransportException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for the retry scheduler: it reclaims due retries and stuck PENDING/SENT invoices whose lease
+ * expired, leaves live leases alone, moves invoices that ran out of attempts to FAILED, and sends
+ * each invoice once when two schedulers run the same round.
+ */
+@SpringBootTest(properties = {
+        // Base propia: otros contextos de prueba siguen vivos y cada uno borra su esquema al cerrarse
+        "spring.datasource.url=jdbc:h2:mem:dian-retry-test",
+        // Las rondas las lanza la prueba con retryBatch
+        "dian.retry.poll-interval=PT1H",
+        "dian.retry.max-attempts=3"
+})
+@RecordApplicationEvents
+class DianRetrySchedulerTest {
+
+    @MockBean
+    private DianClient dianClient;
+
+    @Autowired
+    private DianRetryScheduler scheduler;
+
+    @Autowired
+    private DianInvoiceRepository repository;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    @AfterEach
+    void tearDown() {
+        repository.deleteAll();
+    }
+
+    @Test
+    void retryBatch_ShouldReclaimSentInvoiceWhoseLeaseExpired() throws InterruptedException {
+        when(dianClient.enviarFactura(any())).thenReturn(accepted());
+        // La instancia que la envió se cayó: sigue en SENT con el plazo vencido
+        UUID stuck = save(DianStatus.SENT, 1, LocalDateTime.now().minusMinutes(1));
+        UUID live = save(DianStatus.SENT, 1, LocalDateTime.now().plusMinutes(5));
+
+        assertThat(scheduler.retryBatch()).isEqualTo(1);
+
+        DianInvoice reclaimed = repository.findByInvoiceId(stuck).orElseThrow();
+        assertThat(reclaimed.getStatus()).isEqualTo(DianStatus.ACCEPTED);
+        assertThat(reclaimed.getAttempts()).isEqualTo(2);
+        assertThat(reclaimed.getNextAttemptAt()).isNull();
+
+        // Un envío con el plazo vigente sigue siendo de quien lo tiene
+        DianInvoice untouched = repository.findByInvoiceId(live).orElseThrow();
+        assertThat(untouched.getStatus()).isEqualTo(DianStatus.SENT);
+        assertThat(untouched.getAttempts()).isEqualTo(1);
+        verify(dianClient, times(1)).enviarFactura(any());
+    }
+
+    @Test
+    void retryBatch_ShouldSendDueRetriesAndLostPendingInvoices() throws InterruptedException {
+        when(dianClient.enviarFactura(any())).thenReturn(accepted());
+        UUID retry = save(DianStatus.RETRY_SCHEDULED, 1, LocalDateTime.now().minusSeconds(1));
+        UUID pending = save(DianStatus.PENDING, 0, LocalDateTime.now().minusSeconds(1));
+        UUID notYet = save(DianStatus.RETRY_SCHEDULED, 1, LocalDateTime.now().plusMinutes(1));
+
+        assertThat(scheduler.retryBatch()).isEqualTo(2);
+
+        assertThat(repository.findByInvoiceId(retry).orElseThrow().getAttempts()).isEqualTo(2);
+        assertThat(repository.findByInvoiceId(pending).orElseThrow().getAttempts()).isEqualTo(1);
+        assertThat(repository.findByInvoiceId(notYet).orElseThrow().getStatus()).isEqualTo(DianStatus.RETRY_SCHEDULED);
+
+        // Lo reclamado ya no está vencido: la siguiente ronda no encuentra nada
+        assertThat(scheduler.retryBatch()).isZero();
+    }
+
+    @Test
+    void retryBatch_WhenLeaseExpiresOnTheLastAttempt_ShouldFailWithoutSending() throws InterruptedException {
+        UUID exhausted = save(DianStatus.SENT, 3, LocalDateTime.now().minusMinutes(1));
+
+        assertThat(scheduler.retryBatch()).isEqualTo(1);
+
+        DianInvoice failed = repository.findByInvoiceId(exhausted).orElseThrow();
+        assertThat(failed.getStatus()).isEqualTo(DianStatus.FAILED);
+        assertThat(failed.getAttempts()).isEqualTo(3);
+        assertThat(failed.getNextAttemptAt()).isNull();
+        assertThat(failed.getMessage()).isEqualTo("Sin respuesta de la DIAN tras 3 intentos");
+        verify(dianClient, never()).enviarFactura(any());
+        assertThat(events.stream(DianInvoiceProcessedEvent.class))
+                .extracting(DianInvoiceProcessedEvent::getInvoiceId, DianInvoiceProcessedEvent::getStatus)
+                .containsExactly(tuple(exhausted, DianStatus.FAILED));
+    }
+
+    @Test
+    void retryBatch_WhenTransportFails_ShouldRescheduleUntilMaxAttemptsThenFail() throws InterruptedException {
+        when(dianClient.enviarFactura(any())).thenThrow(new DianTransportException("Connection timeout"));
+        UUID retried = save(DianStatus.RETRY_SCHEDULED, 1, LocalDateTime.now().minusSeconds(1));
+        UUID lastChance = save(DianStatus.RETRY_SCHEDULED, 2, LocalDateTime.now().minusSeconds(1));
+
+        LocalDateTime before = LocalDateTime.now();
+        assertThat(scheduler.retryBatch()).isEqualTo(2);
+
+        // Intento 2 de 3: se programa otro con espera
+        DianInvoice rescheduled = repository.findByInvoiceId(retried).orElseThrow();
+        assertThat(rescheduled.getStatus()).isEqualTo(DianStatus.RETRY_SCHEDULED);
+        assertThat(rescheduled.getAttempts()).isEqualTo(2);
+        assertThat(rescheduled.getNextAttemptAt()).isAfter(before);
+
+        // Intento 3 de 3: no quedan intentos
+        DianInvoice failed = repository.findByInvoiceId(lastChance).orElseThrow();
+        assertThat(failed.getStatus()).isEqualTo(DianStatus.FAILED);
+        assertThat(failed.getAttempts()).isEqualTo(3);
+        assertThat(failed.getNextAttemptAt()).isNull();
+        assertThat(failed.getMessage()).startsWith("Error de comunicación con la DIAN tras 3 intentos");
+    }
+
+    @Test
+    void retryBatch_WhenTwoSchedulersRunAtOnce_ShouldSendEachInvoiceOnce() throws Exception {
+        when(dianClient.enviarFactura(any())).thenReturn(accepted());
+        List<UUID> due = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            due.add(save(DianStatus.RETRY_SCHEDULED, 1, LocalDateTime.now().minusSeconds(1)));
+        }
+        due.add(save(DianStatus.SENT, 3, LocalDateTime.now().minusSeconds(1)));
+
+        // Dos instancias leen la misma ronda sobre H2; ninguna espera a la otra
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Integer>> rounds = new ArrayList<>();
+            for (int i = 0; i < 2; i++) {
+                rounds.add(executor.submit(() -> {
+                    start.await();
+                    return scheduler.retryBatch();
+                }));
+            }
+            start.countDown();
+            int retried = 0;
+            for (Future<Integer> round : rounds) {
+                retried += round.get(10, TimeUnit.SECONDS);
+            }
+            assertThat(retried).isEqualTo(due.size());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        verify(dianClient, times(20)).enviarFactura(any());
+        assertThat(due).extracting(id -> repository.findByInvoiceId(id).orElseThrow())
+                .extracting(DianInvoice::getStatus, DianInvoice::getAttempts)
+                .containsOnly(tuple(DianStatus.ACCEPTED, 2), tuple(DianStatus.FAILED, 3));
+        assertThat(events.stream(DianInvoiceProcessedEvent.class)
+                .filter(event -> event.getStatus() == DianStatus.FAILED)).hasSize(1);
+    }
+
+    private UUID save(DianStatus status, int attempts, LocalDateTime nextAttemptAt) {
+        return repository.save(DianInvoice.builder()
+                .invoiceId(UUID.randomUUID())
+                .xmlPayload("<Invoice/>")
+                .status(status)
+                .attempts(attempts)
+                .nextAttemptAt(nextAttemptAt)
+                .build()).getInvoiceId();
+    }
+
+    private static DianClientResponse accepted() {
+        return DianClientResponse.builder().success(true).dianCode("00").message("Factura aceptada").build();
+    }
+}
@@ -0,0 +1,114 @@
+package com.riavet.dianservice.application.submission;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+/**
+ * Tests for the slot accounting of the submission pool: slots are reserved before the invoice is saved,
+ * handed to a worker after commit and returned on rollback, on completion and when the pool is shut down.
+ */
+class SubmissionPoolTest {
+
+    private static final int CAPACITY = 3;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final DianSubmissionProcessor processor = mock(DianSubmissionProcessor.class);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private SubmissionPool pool;
+
+    @BeforeEach
+    void setUp() {
+        // Los envíos quedan bloqueados hasta que la prueba los libera
+        doAnswer(invocation -> release.await(10, TimeUnit.SECONDS)).when(processor).process(any());
+        pool = new SubmissionPool("test.pool", 1, CAPACITY, processor, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        release.countDown();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        pool.shutdown(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void enqueueAfterCommit_ShouldHoldSlotsUntilProcessedAndRejectWhenFull() throws InterruptedException {
+        assertThat(pool.enqueueAfterCommit(List.of(UUID.randomUUID(), UUID.randomUUID()))).isTrue();
+        assertThat(availableSlots()).isEqualTo(1);
+
+        // Dos facturas no caben en el hueco que queda: no se reserva ninguno
+        assertThat(pool.enqueueAfterCommit(List.of(UUID.randomUUID(), UUID.randomUUID()))).isFalse();
+        assertThat(availableSlots()).isEqualTo(1);
+
+        release.countDown();
+        awaitSlots(CAPACITY);
+    }
+
+    @Test
+    void enqueueAfterCommit_ShouldDispatchOnCommitAndReleaseOnRollback() throws InterruptedException {
+        UUID committed = UUID.randomUUID();
+        UUID rolledBack = UUID.randomUUID();
+        release.countDown();
+
+        TransactionSynchronizationManager.initSynchronization();
+        assertThat(pool.enqueueAfterCommit(List.of(committed))).isTrue();
+        assertThat(pool.enqueueAfterCommit(List.of(rolledBack))).isTrue();
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+
+        // Nada se envía antes de que termine la transacción
+        verifyNoInteractions(processor);
+        assertThat(availableSlots()).isEqualTo(CAPACITY - 2);
+
+        synchronizations.get(0).afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        synchronizations.get(1).afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        verify(processor, timeout(5000)).process(committed);
+        awaitSlots(CAPACITY);
+        verify(processor, timeout(500).times(0)).process(rolledBack);
+    }
+
+    @Test
+    void enqueueAfterCommit_AfterShutdown_ShouldReleaseTheSlot() throws InterruptedException {
+        pool.shutdown(Duration.ofSeconds(1));
+
+        // La factura queda para el planificador (plazo vencido); el hueco no se pierde
+        assertThat(pool.enqueueAfterCommit(List.of(UUID.randomUUID()))).isTrue();
+
+        assertThat(availableSlots()).isEqualTo(CAPACITY);
+        verifyNoInteractions(processor);
+    }
+
+    private double availableSlots() {
+        return meterRegistry.get("test.pool.slots.available").gauge().value();
+    }
+
+    private void awaitSlots(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (availableSlots() != expected && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(availableSlots()).isEqualTo(expected);
+    }
+}
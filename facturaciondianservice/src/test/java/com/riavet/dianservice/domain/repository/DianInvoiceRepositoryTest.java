@@ -0,0 +1,222 @@
+package com.riavet.dianservice.domain.repository;
+
+import com.riavet.dianservice.domain.model.DianInvoice;
+import com.riavet.dianservice.domain.model.DianInvoice.DianStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for the conditional updates that keep concurrent senders apart: only one claim wins a
+ * PENDING invoice, only one reclaim wins a due invoice, and a late completeAttempt or deferAttempt
+ * for an older attempt changes nothing.
+ */
+@SpringBootTest(properties = {
+        // Base propia: otros contextos de prueba siguen vivos y cada uno borra su esquema al cerrarse
+        "spring.datasource.url=jdbc:h2:mem:dian-repository-test",
+        // Sin rondas del planificador durante la prueba
+        "dian.retry.poll-interval=PT1H"
+})
+class DianInvoiceRepositoryTest {
+
+    private static final int RACERS = 8;
+    // Las columnas TIMESTAMP guardan microsegundos
+    private static final LocalDateTime NOW = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+
+    @Autowired
+    private DianInvoiceRepository repository;
+
+    @AfterEach
+    void tearDown() {
+        repository.deleteAll();
+    }
+
+    @Test
+    void claim_WhenSendersRace_ShouldLetOnlyOneTakeTheInvoice() throws Exception {
+        UUID invoiceId = save(DianStatus.PENDING, 0, NOW.plusMinutes(5)).getInvoiceId();
+
+        List<Integer> updated = race(() -> repository.claim(invoiceId, DianStatus.PENDING, DianStatus.SENT,
+                NOW.plusMinutes(5), NOW));
+
+        assertThat(updated).containsOnly(0, 1).containsOnlyOnce(1);
+        DianInvoice claimed = repository.findByInvoiceId(invoiceId).orElseThrow();
+        assertThat(claimed.getStatus()).isEqualTo(DianStatus.SENT);
+        assertThat(claimed.getAttempts()).isEqualTo(1);
+    }
+
+    @Test
+    void claim_WhenInvoiceIsNoLongerPending_ShouldChangeNothing() {
+        UUID invoiceId = save(DianStatus.ACCEPTED, 1, null).getInvoiceId();
+
+        assertThat(repository.claim(invoiceId, DianStatus.PENDING, DianStatus.SENT, NOW.plusMinutes(5), NOW)).isZero();
+
+        DianInvoice unchanged = repository.findByInvoiceId(invoiceId).orElseThrow();
+        assertThat(unchanged.getStatus()).isEqualTo(DianStatus.ACCEPTED);
+        assertThat(unchanged.getAttempts()).isEqualTo(1);
+    }
+
+    @Test
+    void reclaim_WhenSchedulersRace_ShouldLetOnlyOneTakeTheInvoice() throws Exception {
+        UUID invoiceId = save(DianStatus.RETRY_SCHEDULED, 2, NOW.minusSeconds(1)).getInvoiceId();
+
+        List<Integer> updated = race(() -> repository.reclaim(invoiceId, DianStatus.RETRY_SCHEDULED, 2,
+                DianStatus.SENT, NOW.plusMinutes(5), NOW));
+
+        assertThat(updated).containsOnly(0, 1).containsOnlyOnce(1);
+        DianInvoice claimed = repository.findByInvoiceId(invoiceId).orElseThrow();
+        assertThat(claimed.getStatus()).isEqualTo(DianStatus.SENT);
+        assertThat(claimed.getAttempts()).isEqualTo(3);
+        assertThat(claimed.getNextAttemptAt()).isEqualTo(NOW.plusMinutes(5));
+    }
+
+    @Test
+    void reclaimAndExpire_WhenTheReadIsStaleOrTheLeaseIsLive_ShouldChangeNothing() {
+        UUID invoiceId = save(DianStatus.SENT, 2, NOW.plusMinutes(5)).getInvoiceId();
+
+        // El plazo del envío en curso no ha vencido
+        assertThat(repository.reclaim(invoiceId, DianStatus.SENT, 2, DianStatus.SENT, NOW.plusMinutes(5), NOW))
+                .isZero();
+        // Se leyó antes de que otra instancia la reclamara: los intentos ya no coinciden
+        assertThat(repository.expire(invoiceId, DianStatus.SENT, 1, DianStatus.FAILED, "Sin respuesta",
+                NOW.plusMinutes(10))).isZero();
+
+        DianInvoice unchanged = repository.findByInvoiceId(invoiceId).orElseThrow();
+        assertThat(unchanged.getStatus()).isEqualTo(DianStatus.SENT);
+        assertThat(unchanged.getAttempts()).isEqualTo(2);
+        assertThat(unchanged.getNextAttemptAt()).isEqualTo(NOW.plusMinutes(5));
+    }
+
+    @Test
+    void completeAttempt_ForAnOlderAttempt_ShouldBeDiscarded() {
+        // El planificador ya reclamó el intento 2 cuando llega tarde el resultado del intento 1
+        UUID invoiceId = save(DianStatus.SENT, 2, NOW.plusMinutes(5)).getInvoiceId();
+
+        int late = repository.completeAttempt(invoiceId, 1, DianStatus.SENT, DianStatus.ACCEPTED, "00",
+                "Factura aceptada", null, NOW);
+
+        assertThat(late).isZero();
+        DianInvoice current = repository.findByInvoiceId(invoiceId).orElseThrow();
+        assertThat(current.getStatus()).isEqualTo(DianStatus.SENT);
+        assertThat(current.getNextAttemptAt()).isEqualTo(NOW.plusMinutes(5));
+
+        int onTime = repository.completeAttempt(invoiceId, 2, DianStatus.SENT, DianStatus.ACCEPTED, "00",
+                "Factura aceptada", null, NOW);
+
+        assertThat(onTime).isEqualTo(1);
+        DianInvoice accepted = repository.findByInvoiceId(invoiceId).orElseThrow();
+        assertThat(accepted.getStatus()).isEqualTo(DianStatus.ACCEPTED);
+        assertThat(accepted.getDianCode()).isEqualTo("00");
+        assertThat(accepted.getNextAttemptAt()).isNull();
+    }
+
+    @Test
+    void deferAttempt_ShouldReturnTheAttemptOnlyForTheCurrentOne() {
+        UUID invoiceId = save(DianStatus.SENT, 3, NOW.plusMinutes(5)).getInvoiceId();
+
+        assertThat(repository.deferAttempt(invoiceId, 2, DianStatus.SENT, DianStatus.RETRY_SCHEDULED,
+                "Envío a la DIAN aplazado", NOW.plusSeconds(30), NOW)).isZero();
+        assertThat(repository.findByInvoiceId(invoiceId).orElseThrow().getAttempts()).isEqualTo(3);
+
+        assertThat(repository.deferAttempt(invoiceId, 3, DianStatus.SENT, DianStatus.RETRY_SCHEDULED,
+                "Envío a la DIAN aplazado", NOW.plusSeconds(30), NOW)).isEqualTo(1);
+        DianInvoice deferred = repository.findByInvoiceId(invoiceId).orElseThrow();
+        assertThat(deferred.getStatus()).isEqualTo(DianStatus.RETRY_SCHEDULED);
+        assertThat(deferred.getAttempts()).isEqualTo(2);
+        assertThat(deferred.getNextAttemptAt()).isEqualTo(NOW.plusSeconds(30));
+    }
+
+    @Test
+    void completeAndDefer_WhenTheyRaceOnTheSameAttempt_ShouldApplyOnlyOne() throws Exception {
+        UUID invoiceId = save(DianStatus.SENT, 1, NOW.plusMinutes(5)).getInvoiceId();
+
+        List<Integer> updated = race(List.of(
+                () -> repository.completeAttempt(invoiceId, 1, DianStatus.SENT, DianStatus.REJECTED, "99",
+                        "Factura rechazada", null, NOW),
+                () -> repository.deferAttempt(invoiceId, 1, DianStatus.SENT, DianStatus.RETRY_SCHEDULED,
+                        "Envío a la DIAN aplazado", NOW.plusSeconds(30), NOW)));
+
+        assertThat(updated).containsExactlyInAnyOrder(0, 1);
+        DianInvoice result = repository.findByInvoiceId(invoiceId).orElseThrow();
+        if (result.getStatus() == DianStatus.REJECTED) {
+            assertThat(result.getAttempts()).isEqualTo(1);
+        } else {
+            assertThat(result.getStatus()).isEqualTo(DianStatus.RETRY_SCHEDULED);
+            assertThat(result.getAttempts()).isZero();
+        }
+    }
+
+    @Test
+    void findDueForRetry_ShouldReturnOnlyDueReclaimableInvoicesOldestFirst() {
+        DianInvoice stuckSent = save(DianStatus.SENT, 1, NOW.minusMinutes(3));
+        DianInvoice dueRetry = save(DianStatus.RETRY_SCHEDULED, 2, NOW.minusMinutes(1));
+        DianInvoice lostPending = save(DianStatus.PENDING, 0, NOW.minusMinutes(2));
+        save(DianStatus.SENT, 1, NOW.plusMinutes(4));
+        save(DianStatus.RETRY_SCHEDULED, 1, NOW.plusSeconds(20));
+        save(DianStatus.ACCEPTED, 1, null);
+        save(DianStatus.FAILED, 6, null);
+
+        List<DianInvoice> due = repository.findDueForRetry(
+                List.of(DianStatus.PENDING, DianStatus.SENT, DianStatus.RETRY_SCHEDULED), NOW, PageRequest.of(0, 10));
+        List<DianInvoice> firstTwo = repository.findDueForRetry(
+                List.of(DianStatus.PENDING, DianStatus.SENT, DianStatus.RETRY_SCHEDULED), NOW, PageRequest.of(0, 2));
+
+        assertThat(due).extracting(DianInvoice::getInvoiceId)
+                .containsExactly(stuckSent.getInvoiceId(), lostPending.getInvoiceId(), dueRetry.getInvoiceId());
+        assertThat(firstTwo).extracting(DianInvoice::getInvoiceId)
+                .containsExactly(stuckSent.getInvoiceId(), lostPending.getInvoiceId());
+    }
+
+    private DianInvoice save(DianStatus status, int attempts, LocalDateTime nextAttemptAt) {
+        return repository.save(DianInvoice.builder()
+                .invoiceId(UUID.randomUUID())
+                .xmlPayload("<Invoice/>")
+                .status(status)
+                .attempts(attempts)
+                .nextAttemptAt(nextAttemptAt)
+                .build());
+    }
+
+    private List<Integer> race(Callable<Integer> task) throws Exception {
+        return race(Collections.nCopies(RACERS, task));
+    }
+
+    // Arranca todas las tareas a la vez, cada una en su hilo y su transacción
+    private List<Integer> race(List<Callable<Integer>> tasks) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(tasks.size());
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (Callable<Integer> task : tasks) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            start.countDown();
+            List<Integer> results = new ArrayList<>();
+            for (Future<Integer> future : futures) {
+                results.add(future.get(10, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package com.riavet.dianservice.infrastructure.adapter.input;
+
+import com.riavet.dianservice.application.dto.DianClientResponse;
+import com.riavet.dianservice.application.dto.DianInvoiceRequest;
+import com.riavet.dianservice.application.service.DianService;
+import com.riavet.dianservice.application.submission.DianClient;
+import com.riavet.dianservice.domain.repository.DianInvoiceRepository;
+import com.riavet.dianservice.infrastructure.exception.DianQueueFullException;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests for the asynchronous submission endpoints: 202 with Location, 503 with Retry-After when the
+ * submission queue is full, slots returned when the transaction rolls back, and the SSE subscription.
+ */
+@SpringBootTest(properties = {
+        // Base propia: otros contextos de prueba siguen vivos y cada uno borra su esquema al cerrarse
+        "spring.datasource.url=jdbc:h2:mem:dian-controller-test",
+        // Un worker y un hueco de cola: la tercera factura sin terminar ya no cabe
+        "dian.submission.workers=1",
+        "dian.submission.queue-capacity=1"
+})
+@AutoConfigureMockMvc
+class DianControllerTest {
+
+    private static final int CAPACITY = 2;
+
+    @MockBean
+    private DianClient dianClient;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DianService dianService;
+
+    @Autowired
+    private DianInvoiceRepository repository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        // La DIAN no responde hasta que la prueba lo permite, así los huecos siguen ocupados
+        when(dianClient.enviarFactura(any())).thenAnswer(invocation -> {
+            release.await(10, TimeUnit.SECONDS);
+            return DianClientResponse.builder().success(true).dianCode("00").message("Factura aceptada").build();
+        });
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        release.countDown();
+        awaitSlots(CAPACITY);
+        repository.deleteAll();
+    }
+
+    @Test
+    void enviarFactura_ShouldAcceptWithLocationOfTheStatus() throws Exception {
+        UUID invoiceId = UUID.randomUUID();
+
+        mockMvc.perform(post("/api/v1/dian/invoices")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(invoiceJson(invoiceId)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string(HttpHeaders.LOCATION, "http://localhost/api/v1/dian/status/" + invoiceId))
+                .andExpect(jsonPath("$.invoiceId").value(invoiceId.toString()))
+                .andExpect(jsonPath("$.status").value("PENDING"));
+
+        verify(dianClient, timeout(5000)).enviarFactura(any());
+    }
+
+    @Test
+    void enviarFactura_WhenQueueIsFull_ShouldReturn503WithRetryAfter() throws Exception {
+        for (int i = 0; i < CAPACITY; i++) {
+            mockMvc.perform(post("/api/v1/dian/invoices")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(invoiceJson(UUID.randomUUID())))
+                    .andExpect(status().isAccepted());
+        }
+        assertThat(availableSlots()).isZero();
+
+        UUID rejected = UUID.randomUUID();
+        mockMvc.perform(post("/api/v1/dian/invoices")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(invoiceJson(rejected)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "5"));
+
+        // La factura rechazada no se guarda
+        assertThat(repository.existsByInvoiceId(rejected)).isFalse();
+
+        // Al responder la DIAN los huecos vuelven y se admiten facturas otra vez
+        release.countDown();
+        awaitSlots(CAPACITY);
+        mockMvc.perform(post("/api/v1/dian/invoices")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(invoiceJson(rejected)))
+                .andExpect(status().isAccepted());
+    }
+
+    @Test
+    void enviarFactura_WhenTransactionRollsBack_ShouldReleaseTheSlotWithoutSending() {
+        UUID invoiceId = UUID.randomUUID();
+
+        transactionTemplate.executeWithoutResult(transaction -> {
+            dianService.enviarFactura(invoiceRequest(invoiceId));
+            assertThat(availableSlots()).isEqualTo(CAPACITY - 1);
+            transaction.setRollbackOnly();
+        });
+
+        assertThat(availableSlots()).isEqualTo(CAPACITY);
+        assertThat(repository.existsByInvoiceId(invoiceId)).isFalse();
+        verify(dianClient, never()).enviarFactura(any());
+    }
+
+    @Test
+    void enviarFactura_WhenQueueIsFullInsideTransaction_ShouldNotSaveTheInvoice() {
+        for (int i = 0; i < CAPACITY; i++) {
+            dianService.enviarFactura(invoiceRequest(UUID.randomUUID()));
+        }
+        UUID invoiceId = UUID.randomUUID();
+
+        assertThatThrownBy(() -> dianService.enviarFactura(invoiceRequest(invoiceId)))
+                .isInstanceOf(DianQueueFullException.class);
+
+        assertThat(availableSlots()).isZero();
+        assertThat(repository.existsByInvoiceId(invoiceId)).isFalse();
+    }
+
+    @Test
+    void suscribirEstado_ShouldSendTheFinalStatusOnceTheDianResponds() throws Exception {
+        UUID invoiceId = UUID.randomUUID();
+        mockMvc.perform(post("/api/v1/dian/invoices")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(invoiceJson(invoiceId)))
+                .andExpect(status().isAccepted());
+
+        MvcResult subscription = mockMvc.perform(get("/api/v1/dian/status/{invoiceId}/stream", invoiceId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        // Sin respuesta de la DIAN todavía no hay evento
+        assertThat(subscription.getResponse().getContentAsString()).isEmpty();
+
+        release.countDown();
+
+        String events = awaitEvent(subscription);
+        assertThat(events).contains("event:status");
+        assertThat(events).contains("\"status\":\"ACCEPTED\"");
+    }
+
+    @Test
+    void suscribirEstado_WhenInvoiceDoesNotExist_ShouldReturn404() throws Exception {
+        mockMvc.perform(get("/api/v1/dian/status/{invoiceId}/stream", UUID.randomUUID()))
+                .andExpect(status().isNotFound());
+    }
+
+    private static DianInvoiceRequest invoiceRequest(UUID invoiceId) {
+        return DianInvoiceRequest.builder()
+                .invoiceId(invoiceId)
+                .xmlPayload("<Invoice/>")
+                .build();
+    }
+
+    private static String invoiceJson(UUID invoiceId) {
+        return "{\"invoiceId\":\"" + invoiceId + "\",\"xmlPayload\":\"<Invoice/>\"}";
+    }
+
+    private double availableSlots() {
+        return meterRegistry.get("dian.submission.slots.available").gauge().value();
+    }
+
+    private void awaitSlots(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (availableSlots() != expected && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(availableSlots()).isEqualTo(expected);
+    }
+
+    // El emisor escribe el evento por partes: se espera a la línea en blanco que lo cierra
+    private static String awaitEvent(MvcResult subscription) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        String content = subscription.getResponse().getContentAsString();
+        while (!content.endsWith("\n\n") && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            content = subscription.getResponse().getContentAsString();
+        }
+        return content;
+    }
+}
@@ -0,0 +1,143 @@
+package com.riavet.dianservice.infrastructure.adapter.output;
+
+import com.riavet.dianservice.application.dto.DianClientResponse;
+import com.riavet.dianservice.application.submission.DianClient;
+import com.riavet.dianservice.application.submission.DianSubmissionProcessor;
+import com.riavet.dianservice.domain.model.DianInvoice;
+import com.riavet.dianservice.domain.model.DianInvoice.DianStatus;
+import com.riavet.dianservice.domain.repository.DianInvoiceRepository;
+import com.riavet.dianservice.infrastructure.exception.DianThrottledException;
+import com.riavet.dianservice.infrastructure.exception.DianTransportException;
+import com.riavet.dianservice.infrastructure.resilience.DianCircuitBreaker.State;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for the circuit breaker around the DIAN client as seen by the submission processor, in
+ * QUEUE mode: once the circuit opens, submissions are deferred without spending an attempt.
+ */
+@SpringBootTest(properties = {
+        // Base propia: otros contextos de prueba siguen vivos y cada uno borra su esquema al cerrarse
+        "spring.datasource.url=jdbc:h2:mem:dian-guard-test",
+        "dian.client.on-rejection=QUEUE",
+        "dian.client.circuit-breaker.window-size=4",
+        "dian.client.circuit-breaker.minimum-calls=4",
+        "dian.client.circuit-breaker.open-duration=PT1H",
+        "dian.client.circuit-breaker.half-open-calls=1",
+        "dian.retry.initial-backoff=PT1H"
+})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class DianClientGuardTest {
+
+    @MockBean
+    private DianClient dianClient;
+
+    @Autowired
+    private DianClientGuard dianClientGuard;
+
+    @Autowired
+    private DianSubmissionProcessor processor;
+
+    @Autowired
+    private DianInvoiceRepository repository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @AfterEach
+    void tearDown() {
+        repository.deleteAll();
+    }
+
+    @Test
+    void send_ShouldDeferWithoutSpendingAttemptOnceCircuitOpens() {
+        when(dianClient.enviarFactura(any())).thenThrow(new DianTransportException("Connection timeout"));
+
+        for (int i = 0; i < 4; i++) {
+            DianInvoice failed = send(claimed());
+            assertThat(failed.getStatus()).isEqualTo(DianStatus.RETRY_SCHEDULED);
+            assertThat(failed.getAttempts()).isEqualTo(1);
+        }
+        assertThat(dianClientGuard.getCircuitState()).isEqualTo(State.OPEN);
+
+        DianInvoice deferred = send(claimed());
+
+        // No se llama a la DIAN y el intento reclamado se devuelve
+        verify(dianClient, times(4)).enviarFactura(any());
+        assertThat(deferred.getStatus()).isEqualTo(DianStatus.RETRY_SCHEDULED);
+        assertThat(deferred.getAttempts()).isZero();
+        assertThat(deferred.getMessage()).startsWith("Envío a la DIAN aplazado");
+        // Se aplaza al menos lo que le queda abierto al circuito
+        assertThat(deferred.getNextAttemptAt()).isAfter(LocalDateTime.now().plusMinutes(59));
+
+        assertThat(meterRegistry.get("dian.client.circuit.state").tag("state", "open").gauge().value())
+                .isEqualTo(1.0);
+        assertThat(meterRegistry.get("dian.client.rejected").tag("reason", "circuit_open").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void send_ShouldNotCountDianRejectionsAsFailures() {
+        when(dianClient.enviarFactura(any())).thenReturn(DianClientResponse.builder()
+                .success(false)
+                .dianCode("DIAN-REJECTED")
+                .message("Factura rechazada: Formato XML incorrecto")
+                .build());
+
+        for (int i = 0; i < 8; i++) {
+            assertThat(send(claimed()).getStatus()).isEqualTo(DianStatus.REJECTED);
+        }
+
+        assertThat(dianClientGuard.getCircuitState()).isEqualTo(State.CLOSED);
+        assertThat(meterRegistry.get("dian.client.concurrency.inflight").gauge().value()).isZero();
+        assertThat(meterRegistry.get("dian.client.concurrency.limit").gauge().value()).isEqualTo(20.0);
+    }
+
+    @Test
+    void send_ShouldDeferThrottledInvoiceAndShrinkLimitWithoutOpeningCircuit() {
+        when(dianClient.enviarFactura(any()))
+                .thenThrow(new DianThrottledException("DIAN throttled the request (HTTP 429)", Duration.ofMinutes(10)));
+
+        DianInvoice throttled = send(claimed());
+
+        assertThat(throttled.getStatus()).isEqualTo(DianStatus.RETRY_SCHEDULED);
+        assertThat(throttled.getAttempts()).isZero();
+        // Se respeta el Retry-After de la DIAN
+        assertThat(throttled.getNextAttemptAt()).isAfter(LocalDateTime.now().plusMinutes(9));
+        assertThat(dianClientGuard.getCircuitState()).isEqualTo(State.CLOSED);
+        assertThat(dianClientGuard.getConcurrencyLimit()).isEqualTo(10);
+        assertThat(meterRegistry.get("dian.client.requests").tag("outcome", "throttled").timer().count())
+                .isEqualTo(1);
+    }
+
+    // Factura ya reclamada para su primer envío, como la deja DianSubmissionProcessor.process
+    private DianInvoice claimed() {
+        return repository.save(DianInvoice.builder()
+                .invoiceId(UUID.randomUUID())
+                .xmlPayload("<Invoice/>")
+                .status(DianStatus.SENT)
+                .attempts(1)
+                .nextAttemptAt(LocalDateTime.now().plusMinutes(5))
+                .build());
+    }
+
+    private DianInvoice send(DianInvoice invoice) {
+        processor.send(invoice);
+        return repository.findByInvoiceId(invoice.getInvoiceId()).orElseThrow();
+    }
+}
@@ -0,0 +1,149 @@
+package com.riavet.dianservice.infrastructure.adapter.output;
+
+import com.riavet.dianservice.application.dto.DianClientResponse;
+import com.riavet.dianservice.application.dto.DianInvoiceRequest;
+import com.riavet.dianservice.application.submission.DianClient;
+import com.riavet.dianservice.infrastructure.exception.DianThrottledException;
+import com.riavet.dianservice.infrastructure.exception.DianTransportException;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for the HTTP DIAN client against a stub server speaking the simulator contract.
+ */
+@SpringBootTest(properties = {
+        // Base propia: otros contextos de prueba siguen vivos y cada uno borra su esquema al cerrarse
+        "spring.datasource.url=jdbc:h2:mem:dian-http-test",
+        "dian.client.mode=http",
+        "dian.client.http.timeout=PT1S"
+})
+class HttpDianClientAdapterTest {
+
+    private static final HttpServer SERVER = startServer();
+    private static final AtomicReference<StubHandler> HANDLER = new AtomicReference<>();
+
+    @Autowired
+    private DianClient dianClient;
+
+    @DynamicPropertySource
+    static void dianProperties(DynamicPropertyRegistry registry) {
+        registry.add("dian.client.http.base-url", () -> "http://localhost:" + SERVER.getAddress().getPort());
+    }
+
+    @AfterAll
+    static void stopServer() {
+        SERVER.stop(0);
+    }
+
+    @Test
+    void enviarFactura_ShouldParseDianResponse() {
+        HANDLER.set(exchange -> respond(exchange, 200,
+                "{\"success\":false,\"dianCode\":\"DIAN-1234ABCD\",\"message\":\"Factura rechazada: Formato XML incorrecto\"}"));
+
+        DianClientResponse response = dianClient.enviarFactura(request());
+
+        assertThat(dianClient).isInstanceOf(HttpDianClientAdapter.class);
+        assertThat(response.isSuccess()).isFalse();
+        assertThat(response.getDianCode()).isEqualTo("DIAN-1234ABCD");
+    }
+
+    @Test
+    void enviarFactura_ShouldTurnTooManyRequestsIntoThrottledException() {
+        HANDLER.set(exchange -> {
+            exchange.getResponseHeaders().add("Retry-After", "7");
+            respond(exchange, 429, "{\"message\":\"Too many requests\"}");
+        });
+
+        assertThatThrownBy(() -> dianClient.enviarFactura(request()))
+                .isInstanceOfSatisfying(DianThrottledException.class,
+                        e -> assertThat(e.getRetryAfter()).isEqualTo(Duration.ofSeconds(7)));
+    }
+
+    @Test
+    void enviarFactura_ShouldTreatServerErrorsAsTransportFailures() {
+        HANDLER.set(exchange -> respond(exchange, 503, "{\"message\":\"Service unavailable\"}"));
+
+        assertThatThrownBy(() -> dianClient.enviarFactura(request()))
+                .isExactlyInstanceOf(DianTransportException.class)
+                .hasMessageContaining("HTTP 503");
+    }
+
+    @Test
+    void enviarFactura_ShouldCutSlowDripBodyAtTimeout() {
+        // Cabeceras enseguida y un byte cada 200 ms: la respuesta completa tardaría varios segundos
+        HANDLER.set(exchange -> {
+            byte[] body = "{\"success\":true,\"dianCode\":\"DIAN-SLOW\",\"message\":\"ok\"}"
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                for (byte b : body) {
+                    out.write(b);
+                    out.flush();
+                    Thread.sleep(200);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> dianClient.enviarFactura(request()))
+                .isInstanceOf(DianTransportException.class)
+                .hasMessageContaining("did not answer");
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(3));
+    }
+
+    private static DianInvoiceRequest request() {
+        return DianInvoiceRequest.builder()
+                .invoiceId(UUID.randomUUID())
+                .xmlPayload("<Invoice/>")
+                .build();
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static HttpServer startServer() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            server.createContext(HttpDianClientAdapter.INVOICES_PATH, exchange -> {
+                exchange.getRequestBody().readAllBytes();
+                HANDLER.get().handle(exchange);
+            });
+            server.setExecutor(Executors.newCachedThreadPool());
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface StubHandler {
+        void handle(HttpExchange exchange) throws IOException;
+    }
+}
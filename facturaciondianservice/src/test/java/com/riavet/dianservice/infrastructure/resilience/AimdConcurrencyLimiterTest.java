@@ -0,0 +1,147 @@
+package com.riavet.dianservice.infrastructure.resilience;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for the AIMD concurrency limiter.
+ */
+class AimdConcurrencyLimiterTest {
+
+    private static final long MS = 1_000_000L;
+
+    private final AimdConcurrencyLimiter limiter = new AimdConcurrencyLimiter(4, 2, 8, Duration.ofSeconds(2), 0.5);
+
+    @Test
+    void tryAcquire_ShouldRejectAboveLimit() {
+        for (int i = 0; i < 4; i++) {
+            assertThat(limiter.tryAcquire()).isTrue();
+        }
+
+        assertThat(limiter.tryAcquire()).isFalse();
+        assertThat(limiter.getInFlight()).isEqualTo(4);
+    }
+
+    @Test
+    void release_ShouldGrowUpToMaxUnderSustainedFastLoad() {
+        fill();
+        // Cada llamada que termina se reemplaza por otra: el límite sube 1 / limit con cada una, así que
+        // de 4 a 6 hacen falta unas dos rondas
+        sustain(10, 800 * MS);
+        assertThat(limiter.getLimit()).isEqualTo(6);
+        assertThat(limiter.getInFlight()).isEqualTo(6);
+
+        sustain(20, 800 * MS);
+        assertThat(limiter.getLimit()).isEqualTo(8);
+    }
+
+    @Test
+    void release_ShouldNotGrowWithoutLoad() {
+        for (int i = 0; i < 20; i++) {
+            limiter.tryAcquire();
+            limiter.release(false, 0, 800 * MS);
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(4);
+    }
+
+    @Test
+    void release_ShouldHalveOncePerRoundOfSlowCalls() {
+        fill();
+        sustain(40, 800 * MS);
+        drain(800 * MS);
+        assertThat(limiter.getLimit()).isEqualTo(8);
+
+        // Ocho respuestas lentas de la misma ronda: una sola reducción
+        assertThat(fill()).isEqualTo(8);
+        drain(3_000 * MS);
+        assertThat(limiter.getLimit()).isEqualTo(4);
+
+        // Cada ronda lenta posterior vuelve a reducir, sin bajar de min-limit
+        fill();
+        drain(3_000 * MS);
+        fill();
+        drain(3_000 * MS);
+        assertThat(limiter.getLimit()).isEqualTo(2);
+    }
+
+    @Test
+    void release_ShouldIgnoreFastFailures() {
+        fill();
+        sustain(20, 100 * MS, true);
+        drain(100 * MS);
+
+        assertThat(limiter.getLimit()).isEqualTo(4);
+    }
+
+    @Test
+    void releaseThrottled_ShouldHalveEvenWhenFast() {
+        fill();
+        long start = clock;
+        limiter.releaseThrottled(start, start + 100 * MS);
+        // Los demás 429 de la misma ronda no vuelven a reducir
+        limiter.releaseThrottled(start, start + 100 * MS);
+
+        assertThat(limiter.getLimit()).isEqualTo(2);
+        assertThat(limiter.getInFlight()).isEqualTo(2);
+    }
+
+    @Test
+    void tryAcquireWithTimeout_ShouldWaitForRelease() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            limiter.tryAcquire();
+        }
+        assertThat(limiter.tryAcquire(Duration.ofMillis(20))).isFalse();
+
+        CompletableFuture<Boolean> waiting = CompletableFuture.supplyAsync(() -> {
+            try {
+                return limiter.tryAcquire(Duration.ofSeconds(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        });
+        Thread.sleep(50);
+        limiter.release(false, 0, 800 * MS);
+
+        assertThat(waiting.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(limiter.getInFlight()).isEqualTo(4);
+    }
+
+    private long clock;
+
+    // Ocupa todos los huecos del límite con llamadas que empiezan ahora
+    private int fill() {
+        int acquired = 0;
+        while (limiter.tryAcquire()) {
+            acquired++;
+        }
+        return acquired;
+    }
+
+    // Termina las llamadas en curso una a una y las reemplaza, como hacen los envíos con carga continua
+    private void sustain(int calls, long latency) {
+        sustain(calls, latency, false);
+    }
+
+    private void sustain(int calls, long latency, boolean failed) {
+        for (int i = 0; i < calls; i++) {
+            limiter.release(failed, clock, clock + latency);
+            clock += MS;
+            fill();
+        }
+    }
+
+    private void drain(long latency) {
+        long start = clock;
+        while (limiter.getInFlight() > 0) {
+            limiter.release(false, start, start + latency);
+        }
+        clock = start + latency + MS;
+    }
+}
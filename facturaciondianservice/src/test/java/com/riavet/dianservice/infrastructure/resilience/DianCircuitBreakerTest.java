@@ -0,0 +1,123 @@
+package com.riavet.dianservice.infrastructure.resilience;
+
+import com.riavet.dianservice.infrastructure.resilience.DianCircuitBreaker.State;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for the sliding-window circuit breaker driven by a manual nanosecond clock.
+ */
+class DianCircuitBreakerTest {
+
+    private static final long MS = 1_000_000L;
+    private static final long FAST = 800 * MS;
+    private static final long SLOW = 3_000 * MS;
+
+    // Ventana de 10, se evalúa desde 5 llamadas, 50% de fallos u 80% de lentas, 30 s abierto, 3 de prueba
+    private final DianCircuitBreaker breaker = new DianCircuitBreaker(10, 5, 50, Duration.ofSeconds(2), 80,
+            Duration.ofSeconds(30), 3);
+
+    private long now;
+
+    @Test
+    void onResult_ShouldOpenWhenFailureRateReachesThresholdAfterMinimumCalls() {
+        // Cuatro fallos seguidos no bastan: aún no hay minimum-calls resultados
+        calls(4, true, FAST);
+        assertThat(breaker.getState()).isEqualTo(State.CLOSED);
+
+        calls(1, false, FAST);
+        assertThat(breaker.getState()).isEqualTo(State.OPEN);
+        assertThat(breaker.tryAcquire(now)).isFalse();
+        assertThat(breaker.remainingOpen(now)).isBetween(Duration.ofSeconds(29), Duration.ofSeconds(30));
+    }
+
+    @Test
+    void onResult_ShouldOpenWhenMostCallsAreSlow() {
+        calls(2, false, FAST);
+        calls(8, false, SLOW);
+
+        assertThat(breaker.getState()).isEqualTo(State.OPEN);
+    }
+
+    @Test
+    void onResult_ShouldOnlyCountTheLastWindowOfCalls() {
+        calls(6, false, FAST);
+        calls(4, true, FAST);
+        assertThat(breaker.getFailureRate()).isEqualTo(40.0);
+
+        // Los fallos antiguos salen de la ventana
+        calls(10, false, FAST);
+        assertThat(breaker.getFailureRate()).isZero();
+
+        calls(4, true, FAST);
+        assertThat(breaker.getState()).isEqualTo(State.CLOSED);
+        assertThat(breaker.getFailureRate()).isEqualTo(40.0);
+    }
+
+    @Test
+    void tryAcquire_ShouldMoveToHalfOpenAndCloseAfterHealthyTrialCalls() {
+        calls(5, true, FAST);
+        now += Duration.ofSeconds(29).toNanos();
+        assertThat(breaker.tryAcquire(now)).isFalse();
+
+        now += Duration.ofSeconds(1).toNanos();
+        assertThat(breaker.tryAcquire(now)).isTrue();
+        assertThat(breaker.getState()).isEqualTo(State.HALF_OPEN);
+        assertThat(breaker.tryAcquire(now)).isTrue();
+        assertThat(breaker.tryAcquire(now)).isTrue();
+        // Solo half-open-calls llamadas de prueba a la vez
+        assertThat(breaker.tryAcquire(now)).isFalse();
+
+        breaker.onResult(false, FAST, now);
+        breaker.onResult(false, FAST, now);
+        assertThat(breaker.getState()).isEqualTo(State.HALF_OPEN);
+        breaker.onResult(true, FAST, now);
+
+        assertThat(breaker.getState()).isEqualTo(State.CLOSED);
+        assertThat(breaker.getFailureRate()).isZero();
+    }
+
+    @Test
+    void onResult_ShouldReopenWhenTrialCallsFail() {
+        calls(5, true, FAST);
+        now += Duration.ofSeconds(30).toNanos();
+
+        calls(3, true, FAST);
+
+        assertThat(breaker.getState()).isEqualTo(State.OPEN);
+        assertThat(breaker.remainingOpen(now)).isBetween(Duration.ofSeconds(29), Duration.ofSeconds(30));
+    }
+
+    @Test
+    void release_ShouldReturnUnusedTrialPermit() {
+        calls(5, true, FAST);
+        now += Duration.ofSeconds(30).toNanos();
+        for (int i = 0; i < 3; i++) {
+            assertThat(breaker.tryAcquire(now)).isTrue();
+        }
+
+        breaker.release();
+
+        assertThat(breaker.tryAcquire(now)).isTrue();
+    }
+
+    @Test
+    void constructor_ShouldRejectMinimumCallsLargerThanWindow() {
+        assertThatThrownBy(() -> new DianCircuitBreaker(10, 11, 50, Duration.ofSeconds(2), 80,
+                Duration.ofSeconds(30), 3))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private void calls(int count, boolean failed, long duration) {
+        for (int i = 0; i < count; i++) {
+            if (breaker.tryAcquire(now)) {
+                breaker.onResult(failed, duration, now);
+            }
+            now += MS;
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.riavet.dianservice.infrastructure.resilience;
+
+import com.riavet.dianservice.infrastructure.resilience.DianCircuitBreaker.State;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Drives the circuit breaker and the concurrency limiter with the default settings through a
+ * discrete-event simulation of the DIAN adapter under the simulated-failures profile (500-1500 ms
+ * latency, 5% transport errors, 10% rejections) and of a degraded DIAN, on a virtual clock.
+ */
+class DianResilienceSimulationTest {
+
+    private static final long MS = 1_000_000L;
+
+    // Perfil de DianClientAdapter: los rechazos son respuestas, así que cuentan como éxito
+    private static final Profile HEALTHY = new Profile(500, 1_500, 0.05, 0.10);
+    private static final Profile DEGRADED = new Profile(2_500, 6_000, 0.60, 0.10);
+    private static final Profile DOWN = new Profile(50, 100, 1.0, 0);
+
+    // Hilos que llaman a la DIAN: envíos individuales, lotes y reintentos
+    private static final int CALLERS = 8 + 16 + 8;
+
+    private final Random random = new Random(42);
+    private DianCircuitBreaker breaker;
+    private AimdConcurrencyLimiter limiter;
+    private Simulation simulation;
+
+    @BeforeEach
+    void setUp() {
+        breaker = new DianCircuitBreaker(50, 20, 50, Duration.ofSeconds(2), 80, Duration.ofSeconds(30), 5);
+        limiter = new AimdConcurrencyLimiter(20, 2, 64, Duration.ofSeconds(2), 0.5);
+        simulation = new Simulation();
+    }
+
+    @Test
+    void healthyProfile_ShouldKeepCircuitClosedAndUseEveryCaller() {
+        // El límite inicial (20) deja esperando a parte de los hilos hasta que crece
+        Stats warmup = simulation.run(HEALTHY, Duration.ofMinutes(1));
+        assertThat(warmup.rejected).isPositive();
+        assertThat(limiter.getLimit()).isGreaterThanOrEqualTo(CALLERS);
+
+        Stats stats = simulation.run(HEALTHY, Duration.ofMinutes(5));
+
+        assertThat(stats.states).containsOnly(State.CLOSED);
+        assertThat(stats.rejected).isZero();
+        // ~32 llamadas de ~1 s en curso: unas 30 por segundo durante 300 s
+        assertThat(stats.calls).isBetween(8_000L, 10_000L);
+        assertThat(stats.failed).isBetween((long) (stats.calls * 0.03), (long) (stats.calls * 0.07));
+        assertThat(stats.rejectedByDian).isBetween((long) (stats.calls * 0.07), (long) (stats.calls * 0.13));
+    }
+
+    @Test
+    void degradedProfile_ShouldShrinkLimitOpenCircuitAndRecover() {
+        simulation.run(HEALTHY, Duration.ofMinutes(1));
+        int healthyLimit = limiter.getLimit();
+
+        Stats degraded = simulation.run(DEGRADED, Duration.ofMinutes(2));
+
+        assertThat(degraded.states).contains(State.OPEN, State.HALF_OPEN);
+        assertThat(degraded.minLimit).isLessThan(healthyLimit / 2);
+        // Con el circuito abierto casi todas las llamadas se rechazan sin llegar a la DIAN
+        assertThat(degraded.rejected).isGreaterThan(degraded.calls);
+        assertThat(degraded.maxInFlight).isLessThanOrEqualTo(healthyLimit);
+
+        Stats recovered = simulation.run(HEALTHY, Duration.ofMinutes(3));
+
+        assertThat(breaker.getState()).isEqualTo(State.CLOSED);
+        assertThat(recovered.states).contains(State.HALF_OPEN, State.CLOSED);
+        assertThat(limiter.getLimit()).isGreaterThanOrEqualTo(CALLERS);
+    }
+
+    @Test
+    void downProfile_ShouldOpenWithinMinimumCallsAndOnlyLetTrialCallsThrough() {
+        simulation.run(HEALTHY, Duration.ofSeconds(30));
+
+        Stats down = simulation.run(DOWN, Duration.ofMinutes(5));
+
+        // Unas pocas llamadas para abrir y después cinco de prueba cada 30 s
+        assertThat(down.calls).isLessThan(50 + 5 * 10 + CALLERS);
+        assertThat(breaker.getState()).isIn(State.OPEN, State.HALF_OPEN);
+        // Los fallos rápidos no reducen el límite: al volver la DIAN no hay que recuperarlo
+        assertThat(down.minLimit).isGreaterThanOrEqualTo(20);
+    }
+
+    private record Profile(long minLatencyMs, long maxLatencyMs, double transportErrorRate, double rejectionRate) {
+    }
+
+    private static final class Stats {
+        private final Set<State> states = EnumSet.noneOf(State.class);
+        private long calls;
+        private long failed;
+        private long rejectedByDian;
+        private long rejected;
+        private int minLimit = Integer.MAX_VALUE;
+        private int maxInFlight;
+    }
+
+    // Evento de la simulación: un hilo intenta llamar (end < 0) o termina una llamada que empezó en start
+    private record Event(long at, long start, boolean failed) {
+    }
+
+    /**
+     * Bucle cerrado de CALLERS hilos sobre un reloj virtual que continúa entre fases: cada hilo
+     * pide permiso, "llama" con una latencia del perfil y vuelve a intentarlo al terminar; si no
+     * obtiene permiso lo reintenta 100 ms después.
+     */
+    private final class Simulation {
+
+        private final PriorityQueue<Event> events = new PriorityQueue<>((a, b) -> Long.compare(a.at, b.at));
+        private long now;
+
+        private Simulation() {
+            for (int i = 0; i < CALLERS; i++) {
+                events.add(new Event(i * MS, -1, false));
+            }
+        }
+
+        private Stats run(Profile profile, Duration duration) {
+            Stats stats = new Stats();
+            long end = now + duration.toNanos();
+            while (events.peek().at <= end) {
+                Event event = events.poll();
+                now = event.at;
+                if (event.start >= 0) {
+                    breaker.onResult(event.failed, now - event.start, now);
+                    limiter.release(event.failed, event.start, now);
+                    events.add(new Event(now, -1, false));
+                } else if (!breaker.tryAcquire(now)) {
+                    stats.rejected++;
+                    events.add(new Event(now + 100 * MS, -1, false));
+                } else if (!limiter.tryAcquire()) {
+                    breaker.release();
+                    stats.rejected++;
+                    events.add(new Event(now + 100 * MS, -1, false));
+                } else {
+                    long latency = (profile.minLatencyMs
+                            + (long) (random.nextDouble() * (profile.maxLatencyMs - profile.minLatencyMs))) * MS;
+                    boolean failed = random.nextDouble() < profile.transportErrorRate;
+                    if (!failed && random.nextDouble() < profile.rejectionRate) {
+                        stats.rejectedByDian++;
+                    }
+                    stats.calls++;
+                    if (failed) {
+                        stats.failed++;
+                    }
+                    stats.maxInFlight = Math.max(stats.maxInFlight, limiter.getInFlight());
+                    events.add(new Event(now + latency, now, failed));
+                }
+                stats.states.add(breaker.getState());
+                stats.minLimit = Math.min(stats.minLimit, limiter.getLimit());
+            }
+            now = end;
+            return stats;
+        }
+    }
+}
@@ -4,6 +4,7 @@
 
 import axios from 'axios';
 import {
+  AppointmentPage,
   AppointmentRequest,
   AppointmentResponse,
   GetAppointmentsParams,
@@ -21,13 +22,29 @@ const appointmentsApi = axios.create({
 });
 
 /**
- * Obtiene todas las citas con filtros opcionales
+ * Obtiene una página de citas (paginación por cursor)
+ */
+export const getAppointmentsPage = async (
+  params?: GetAppointmentsParams
+): Promise<AppointmentPage> => {
+  const response = await appointmentsApi.get<AppointmentPage>('/appointments', { params });
+  return response.data;
+};
+
+/**
+ * Obtiene todas las citas con filtros opcionales, recorriendo las páginas
  */
 export const getAppointments = async (
   params?: GetAppointmentsParams
 ): Promise<AppointmentResponse[]> => {
-  const response = await appointmentsApi.get<AppointmentResponse[]>('/appointments', { params });
-  return response.data;
+  const appointments: AppointmentResponse[] = [];
+  let cursor = params?.cursor;
+  do {
+    const page = await getAppointmentsPage({ ...params, cursor });
+    appointments.push(...page.items);
+    cursor = page.hasMore && page.nextCursor ? page.nextCursor : undefined;
+  } while (cursor);
+  return appointments;
 };
 
 /**
@@ -75,6 +92,7 @@ export const deleteAppointment = async (id: string): Promise<void> => {
 };
 
 export default {
+  getAppointmentsPage,
   getAppointments,
   getAppointmentById,
   createAppointment,
@@ -0,0 +1,43 @@
+/**
+ * API Service para las vistas de calendario
+ */
+
+import axios from 'axios';
+import { DayCalendar, VeterinarianCalendar } from '../types/appointment';
+
+const CALENDAR_API_BASE_URL =
+  process.env.REACT_APP_APPOINTMENTS_API_BASE_URL || 'http://localhost:8084/api/v1';
+
+const calendarApi = axios.create({
+  baseURL: CALENDAR_API_BASE_URL,
+  headers: {
+    'Content-Type': 'application/json',
+  },
+});
+
+/**
+ * Obtiene la semana (lunes a domingo) de un veterinario que contiene la fecha indicada
+ */
+export const getVeterinarianCalendar = async (
+  veterinarianId: string,
+  week?: string
+): Promise<VeterinarianCalendar> => {
+  const response = await calendarApi.get<VeterinarianCalendar>(
+    `/veterinarians/${veterinarianId}/calendar`,
+    { params: { week } }
+  );
+  return response.data;
+};
+
+/**
+ * Obtiene el calendario de un día con una columna por veterinario activo
+ */
+export const getDayCalendar = async (date: string): Promise<DayCalendar> => {
+  const response = await calendarApi.get<DayCalendar>('/calendar', { params: { date } });
+  return response.data;
+};
+
+export default {
+  getVeterinarianCalendar,
+  getDayCalendar,
+};
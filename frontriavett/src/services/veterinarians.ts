@@ -7,6 +7,8 @@ import {
   VeterinarianRequest,
   VeterinarianResponse,
   GetVeterinariansParams,
+  SearchVeterinariansParams,
+  VeterinarianSearchResponse,
   VeterinarianUpdateRequest,
 } from '../types/veterinarian';
 
@@ -30,6 +32,16 @@ export const getVeterinarians = async (
   return response.data;
 };
 
+/**
+ * Busca veterinarios por prefijo de nombre, apellidos o especialidad (paginado en el servidor)
+ */
+export const searchVeterinarians = async (
+  params: SearchVeterinariansParams
+): Promise<VeterinarianSearchResponse> => {
+  const response = await veterinariansApi.get<VeterinarianSearchResponse>('/veterinarians/search', { params });
+  return response.data;
+};
+
 /**
  * Obtiene un veterinario por ID
  */
@@ -84,6 +96,7 @@ export const deleteVeterinarian = async (id: string): Promise<void> => {
 
 export default {
   getVeterinarians,
+  searchVeterinarians,
   getVeterinarianById,
   getVeterinarianByEmail,
   createVeterinarian,
@@ -10,6 +10,7 @@ export interface AppointmentRequest {
   patientId: string;
   veterinarianId: string;
   scheduledAt: string; // ISO 8601 format: 2025-11-25T10:00:00
+  durationMinutes?: number; // Por defecto 30
 }
 
 export interface AppointmentResponse {
@@ -18,13 +19,29 @@ export interface AppointmentResponse {
   veterinarianId: string;
   veterinarian?: VeterinarianResponse; // Información completa del veterinario
   scheduledAt: string;
+  durationMinutes?: number;
   status: AppointmentStatus;
+  version?: number; // Igual al ETag; se puede enviar en If-Match al modificar la cita
   createdAt: string;
   updatedAt: string;
 }
 
 export interface GetAppointmentsParams {
   veterinarianId?: string;
+  patientId?: string; // Historial del paciente, de la cita más reciente a la más antigua
+  status?: AppointmentStatus;
+  from?: string; // ISO 8601, inclusivo
+  to?: string; // ISO 8601, exclusivo
+  cursor?: string;
+  size?: number;
+  includeVeterinarian?: boolean; // Solo con patientId
+}
+
+export interface AppointmentPage {
+  items: AppointmentResponse[];
+  size: number;
+  hasMore: boolean;
+  nextCursor?: string | null;
 }
 
 export interface AppointmentUpdateRequest {
@@ -33,3 +50,43 @@ export interface AppointmentUpdateRequest {
   scheduledAt?: string;
   status?: AppointmentStatus;
 }
+
+/**
+ * Calendario precalculado: cada cita ya viene ubicada en la rejilla del día
+ * (fila inicial y número de filas de `slotMinutes` minutos).
+ */
+export interface CalendarEntry {
+  appointmentId: string;
+  patientId: string;
+  start: string; // HH:mm:ss
+  end: string; // HH:mm:ss
+  startSlot: number;
+  slotCount: number;
+  status: AppointmentStatus;
+  virtual: boolean; // Ocurrencia de una serie aún no materializada
+}
+
+export interface CalendarDay {
+  date: string; // YYYY-MM-DD
+  entries: CalendarEntry[];
+}
+
+export interface VeterinarianCalendar {
+  veterinarianId: string;
+  veterinarianName: string;
+  weekStart: string; // Lunes de la semana, YYYY-MM-DD
+  slotMinutes: number;
+  days: CalendarDay[];
+}
+
+export interface CalendarColumn {
+  veterinarianId: string;
+  veterinarianName: string;
+  entries: CalendarEntry[];
+}
+
+export interface DayCalendar {
+  date: string;
+  slotMinutes: number;
+  veterinarians: CalendarColumn[];
+}
@@ -30,6 +30,22 @@ export interface GetVeterinariansParams {
   onlyActive?: boolean;
 }
 
+export interface SearchVeterinariansParams {
+  q?: string;
+  specialization?: string;
+  onlyActive?: boolean;
+  page?: number;
+  size?: number;
+}
+
+export interface VeterinarianSearchResponse {
+  items: VeterinarianResponse[];
+  page: number;
+  size: number;
+  total: number;
+  hasMore: boolean;
+}
+
 export interface VeterinarianUpdateRequest {
   firstName?: string;
   lastName?: string;